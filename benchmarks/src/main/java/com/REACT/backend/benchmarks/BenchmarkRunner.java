@@ -0,0 +1,42 @@
+package com.REACT.backend.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+
+/**
+ * Runs all benchmarks of this module and writes the results as JSON, so runs of
+ * different commits can be diffed. Any JMH command line option is passed through,
+ * e.g. a benchmark regex or {@code -f 1 -wi 1 -i 3} for a quick look.
+ *
+ * Run with: java -jar benchmarks/target/demo-benchmarks.jar [jmh options]
+ * Results go to benchmarks/target/jmh-result.json unless -Djmh.result=... or -rff is given.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + ".*");
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON).result(System.getProperty("jmh.result", defaultResultFile()));
+        }
+        Options built = options.build();
+        new Runner(built).run();
+    }
+
+    /**
+     * Next to the benchmarks jar, i.e. in benchmarks/target.
+     */
+    private static String defaultResultFile() throws Exception {
+        Path jar = Path.of(BenchmarkRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return jar.resolveSibling("jmh-result.json").toString();
+    }
+}
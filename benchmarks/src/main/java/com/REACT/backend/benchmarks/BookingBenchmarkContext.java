@@ -0,0 +1,76 @@
+package com.REACT.backend.benchmarks;
+
+import com.REACT.backend.booking.service.AcceptanceDeadlineService;
+import com.REACT.backend.booking.service.BookingLogWriter;
+import com.REACT.backend.booking.service.BookingServiceImpl;
+import com.REACT.backend.config.DispatchConfig;
+import com.REACT.backend.dispatch.service.BatchDispatchService;
+import com.REACT.backend.dispatch.service.CoverageService;
+import com.REACT.backend.dispatch.service.DemandForecastService;
+import com.REACT.backend.dispatch.service.DispatchJournalService;
+import com.REACT.backend.dispatch.service.FleetIndexService;
+import com.REACT.backend.dispatch.service.PartitionedDispatchService;
+import com.REACT.backend.hospitalService.service.HospitalCapacityService;
+import com.REACT.backend.locationService.service.IncidentRoutingService;
+import com.REACT.backend.policeService.service.PoliceReservationService;
+import com.REACT.backend.routing.service.EtaService;
+import com.REACT.backend.simulator.CityModel;
+import com.REACT.backend.simulator.persistence.SimulatedPersistenceConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The booking service with exactly the collaborators it has in production, wired in a
+ * plain Spring context (no web server, no JPA). Repositories are the simulator's
+ * in-memory fakes with zero added latency, so the benchmarks measure our own code.
+ */
+final class BookingBenchmarkContext implements AutoCloseable {
+
+    private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+    /**
+     * @param properties overrides on top of the simulator and dispatch defaults, e.g. {@code simulator.ambulances}
+     */
+    BookingBenchmarkContext(Map<String, Object> properties) {
+        Map<String, Object> merged = new HashMap<>();
+        merged.put("simulator.db-latency-micros", 0);
+        merged.put("dispatch.journal.enabled", false);
+        merged.putAll(properties);
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", merged));
+
+        context.register(SimulatedPersistenceConfig.class, DispatchConfig.class,
+                DispatchJournalService.class, PartitionedDispatchService.class, FleetIndexService.class,
+                CoverageService.class, BatchDispatchService.class, DemandForecastService.class, EtaService.class,
+                PoliceReservationService.class, HospitalCapacityService.class, AcceptanceDeadlineService.class,
+                IncidentRoutingService.class, BookingLogWriter.class, BookingServiceImpl.class);
+        context.registerBean(SimpleMeterRegistry.class);
+        context.registerBean(TransactionTemplate.class,
+                () -> new TransactionTemplate(context.getBean(PlatformTransactionManager.class)));
+        context.refresh();
+
+        // normally done on ApplicationReadyEvent, which a plain context never publishes
+        context.getBean(FleetIndexService.class).loadAvailableUnits();
+        context.getBean(PoliceReservationService.class).loadStations();
+        context.getBean(HospitalCapacityService.class).loadHospitals();
+        context.getBean(CoverageService.class).refresh();
+    }
+
+    BookingServiceImpl bookingService() {
+        return context.getBean(BookingServiceImpl.class);
+    }
+
+    CityModel city() {
+        return context.getBean(CityModel.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
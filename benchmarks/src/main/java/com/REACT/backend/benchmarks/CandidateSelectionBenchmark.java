@@ -0,0 +1,91 @@
+package com.REACT.backend.benchmarks;
+
+import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
+import com.REACT.backend.booking.service.BookingServiceImpl;
+import com.REACT.backend.fireService.model.FireTruckEntity;
+import com.REACT.backend.simulator.CityModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of picking and claiming the nearest units for one incident in GREEDY mode:
+ * fleet index / coverage lookup, the claim by id and the index update. Every
+ * invocation gives its units back so the fleet stays the same size; the release
+ * is part of the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CandidateSelectionBenchmark {
+
+    private static final int INCIDENTS = 1024;
+
+    @Param({"150", "1500"})
+    int fleetSize;
+
+    @Param({"1", "3"})
+    int unitsPerIncident;
+
+    private BookingBenchmarkContext context;
+    private BookingServiceImpl bookingService;
+    private double[][] incidents;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new BookingBenchmarkContext(Map.of(
+                "simulator.ambulances", fleetSize,
+                "simulator.fire-trucks", fleetSize / 5));
+        bookingService = context.bookingService();
+        CityModel city = context.city();
+        Random random = new Random(7);
+        incidents = new double[INCIDENTS][];
+        for (int i = 0; i < INCIDENTS; i++) {
+            incidents[i] = city.randomLocation(random);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AmbulanceEntity> nearestAmbulances() {
+        double[] incident = nextIncident();
+        List<AmbulanceEntity> claimed = bookingService.findNearestAmbulances(incident[0], incident[1], unitsPerIncident);
+        bookingService.releaseVehicles(claimed, null);
+        return claimed;
+    }
+
+    @Benchmark
+    public List<FireTruckEntity> nearestFireTrucks() {
+        double[] incident = nextIncident();
+        List<FireTruckEntity> claimed = bookingService.findAvailableFireTrucks(incident[0], incident[1], unitsPerIncident);
+        bookingService.releaseVehicles(null, claimed);
+        return claimed;
+    }
+
+    private double[] nextIncident() {
+        return incidents[next++ & (INCIDENTS - 1)];
+    }
+}
@@ -0,0 +1,45 @@
+package com.REACT.backend.benchmarks;
+
+import com.REACT.backend.common.util.DispatchUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-service status strings computed for every booking. Counts are fields so
+ * the JIT cannot fold the result away.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchStatusBenchmark {
+
+    int assigned = 1;
+    int requested = 2;
+
+    @Benchmark
+    public String ambulanceStatus() {
+        return DispatchUtils.ambulanceStatus(assigned, requested);
+    }
+
+    @Benchmark
+    public String fireTruckStatus() {
+        return DispatchUtils.fireTruckStatus(assigned, requested);
+    }
+
+    @Benchmark
+    public String policeStatus() {
+        return DispatchUtils.policeStatus(assigned, requested);
+    }
+}
@@ -0,0 +1,101 @@
+package com.REACT.backend.benchmarks;
+
+import com.REACT.backend.ambulanceService.dto.AmbulanceDto;
+import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
+import com.REACT.backend.booking.dto.BookingRequestDto;
+import com.REACT.backend.booking.dto.BookingResponseDto;
+import com.REACT.backend.booking.service.BookingServiceImpl;
+import com.REACT.backend.common.util.DispatchUtils;
+import com.REACT.backend.fireService.dto.FireTruckDto;
+import com.REACT.backend.fireService.model.FireTruckEntity;
+import com.REACT.backend.policeService.model.PoliceStationEntity;
+import com.REACT.backend.simulator.persistence.SimulatedDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a booking answer: single units and the full
+ * {@link BookingResponseDto} for a typical multi-service incident
+ * (two ambulances, two police stations, one fire truck).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private BookingBenchmarkContext context;
+    private BookingServiceImpl bookingService;
+    private AmbulanceEntity ambulance;
+    private FireTruckEntity fireTruck;
+    private BookingRequestDto request;
+    private BookingServiceImpl.Assignment assignment;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new BookingBenchmarkContext(Map.of());
+        bookingService = context.bookingService();
+        SimulatedDatabase db = context.city().database();
+
+        List<AmbulanceEntity> ambulances = db.ambulances.findAll().subList(0, 2);
+        List<FireTruckEntity> fireTrucks = db.fireTrucks.findAll().subList(0, 1);
+        Map<PoliceStationEntity, Integer> police = new LinkedHashMap<>();
+        db.policeStations.findAll().subList(0, 2).forEach(station -> police.put(station, 2));
+        ambulance = ambulances.get(0);
+        fireTruck = fireTrucks.get(0);
+
+        request = BookingRequestDto.builder()
+                .latitude(18.5204)
+                .longitude(73.8567)
+                .issueType("FIRE")
+                .needAmbulance(true)
+                .requestedAmbulanceCount(2)
+                .needPolice(true)
+                .requestedPoliceCount(4)
+                .needFireBrigade(true)
+                .requestedFireTruckCount(1)
+                .isForSelf(false)
+                .victimPhoneNumber("9000000000")
+                .build();
+        assignment = new BookingServiceImpl.Assignment(ambulances, police, fireTrucks,
+                DispatchUtils.ambulanceStatus(2, 2), DispatchUtils.policeStatus(4, 4),
+                DispatchUtils.fireTruckStatus(1, 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public AmbulanceDto ambulanceDto() {
+        return new AmbulanceDto(ambulance);
+    }
+
+    @Benchmark
+    public FireTruckDto fireTruckDto() {
+        return new FireTruckDto(fireTruck);
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingResponse() {
+        return bookingService.buildResponse(request, assignment);
+    }
+}
@@ -0,0 +1,78 @@
+package com.REACT.backend.benchmarks;
+
+import com.REACT.backend.Jwt.JwtUtils;
+import com.REACT.backend.users.AppUser;
+import com.REACT.backend.users.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done by the JWT filter on every authenticated request, with the
+ * secret and expiry the application is configured with.
+ *
+ * validateJwtToken prints to stdout on every call; stdout is sent to a null stream
+ * while measuring so the JMH console stays readable. The measured time therefore
+ * does not include writing to a real console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = JwtUtils.class.getClassLoader().getResourceAsStream("application.properties")) {
+            properties.load(in);
+        }
+        jwtUtils = new JwtUtils(properties.getProperty("spring.app.jwtSecret"),
+                Long.parseLong(properties.getProperty("spring.app.jwtExpirationMs")));
+        token = jwtUtils.generateTokenFromEmail(AppUser.builder()
+                .userId(42L)
+                .userEmail("citizen42@sim.react")
+                .role(Role.USER)
+                .build());
+
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String getEmailFromJwtToken() {
+        return jwtUtils.getEmailFromJwtToken(token);
+    }
+}
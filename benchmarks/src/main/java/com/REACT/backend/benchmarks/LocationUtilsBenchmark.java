@@ -0,0 +1,41 @@
+package com.REACT.backend.benchmarks;
+
+import com.REACT.backend.common.util.LocationUtils;
+import org.locationtech.jts.geom.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point creation for incoming coordinates (bookings, location pings).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationUtilsBenchmark {
+
+    private final LocationUtils locationUtils = new LocationUtils();
+    double latitude = 18.5204;
+    double longitude = 73.8567;
+
+    @Benchmark
+    public Point createPoint() {
+        return locationUtils.createPoint(latitude, longitude);
+    }
+
+    @Benchmark
+    public double distanceMeters() {
+        return LocationUtils.distanceMeters(latitude, longitude, latitude + 0.01, longitude - 0.01);
+    }
+}
@@ -2,12 +2,17 @@ package com.REACT.backend.LocationMaping.controller;
 
 import com.REACT.backend.LocationMaping.dto.FireTruckLocationMapDto;
 import com.REACT.backend.LocationMaping.dto.LocationMapDto;
+import com.REACT.backend.LocationMaping.dto.TrajectoryDto;
 import com.REACT.backend.LocationMaping.services.FireTruckLocationService;
 import com.REACT.backend.LocationMaping.services.LocationMapService;
+import com.REACT.backend.LocationMaping.services.TrajectoryService;
+import com.REACT.backend.locationService.model.UnitType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/location-map")
 @RequiredArgsConstructor
@@ -15,6 +20,7 @@ public class LocationMapController {
 
     private final LocationMapService service;
     private final FireTruckLocationService fireTruckService;
+    private final TrajectoryService trajectoryService;
     @GetMapping("ambulance/{emergencyRequestId}")
     public ResponseEntity<LocationMapDto> getLocationMap(@PathVariable Long emergencyRequestId) {
         LocationMapDto dto = service.getLocationMap(emergencyRequestId);
@@ -26,5 +32,16 @@ public class LocationMapController {
         return ResponseEntity.ok(dto);
     }
 
+    // path travelled so far, simplified for the map's zoom level
+    @GetMapping("/ambulance/{emergencyRequestId}/track")
+    public ResponseEntity<List<TrajectoryDto>> getAmbulanceTrack(@PathVariable Long emergencyRequestId,
+                                                                 @RequestParam(defaultValue = "14") int zoom) {
+        return ResponseEntity.ok(trajectoryService.getTrajectories(emergencyRequestId, UnitType.AMBULANCE, zoom));
+    }
 
+    @GetMapping("/fire_truck/{emergencyRequestId}/track")
+    public ResponseEntity<List<TrajectoryDto>> getFireTruckTrack(@PathVariable Long emergencyRequestId,
+                                                                 @RequestParam(defaultValue = "14") int zoom) {
+        return ResponseEntity.ok(trajectoryService.getTrajectories(emergencyRequestId, UnitType.FIRE_TRUCK, zoom));
+    }
 }
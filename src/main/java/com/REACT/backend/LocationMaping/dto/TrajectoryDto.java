@@ -0,0 +1,28 @@
+package com.REACT.backend.LocationMaping.dto;
+
+import com.REACT.backend.locationService.model.UnitType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Path a unit has travelled for a booking, simplified for the requested zoom.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrajectoryDto {
+    private Long emergencyRequestId;
+    private UnitType unitType;
+    private Long unitId;
+    private Instant from;
+    private Instant to;
+    private int zoom;
+    private int recordedPoints;
+    private int points;
+    private String polyline; // encoded polyline, precision 5
+}
@@ -0,0 +1,41 @@
+package com.REACT.backend.LocationMaping.polyline;
+
+/**
+ * Encoded polyline format (precision 5, as used by Google Maps, Leaflet plugins and
+ * OSRM): each coordinate is the zigzag delta to the previous one, written in 5-bit
+ * chunks as printable characters. A city route comes out at a few bytes per point.
+ */
+public final class PolylineEncoder {
+
+    private static final double FACTOR = 1e5;
+
+    private PolylineEncoder() {
+    }
+
+    /**
+     * Encodes the points at the given indexes, in order.
+     */
+    public static String encode(double[] latitudes, double[] longitudes, int[] indexes) {
+        StringBuilder out = new StringBuilder(indexes.length * 8);
+        long lastLat = 0;
+        long lastLng = 0;
+        for (int i : indexes) {
+            long lat = Math.round(latitudes[i] * FACTOR);
+            long lng = Math.round(longitudes[i] * FACTOR);
+            write(out, lat - lastLat);
+            write(out, lng - lastLng);
+            lastLat = lat;
+            lastLng = lng;
+        }
+        return out.toString();
+    }
+
+    private static void write(StringBuilder out, long delta) {
+        long value = delta < 0 ? ~(delta << 1) : delta << 1;
+        while (value >= 0x20) {
+            out.append((char) ((0x20 | (value & 0x1f)) + 63));
+            value >>= 5;
+        }
+        out.append((char) (value + 63));
+    }
+}
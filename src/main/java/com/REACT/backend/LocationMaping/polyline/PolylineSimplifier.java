@@ -0,0 +1,88 @@
+package com.REACT.backend.LocationMaping.polyline;
+
+import java.util.PriorityQueue;
+
+/**
+ * Visvalingam–Whyatt line simplification in screen space.
+ *
+ * Points are projected to Web Mercator pixels at the requested zoom; the point
+ * spanning the smallest triangle with its neighbours is dropped first, repeatedly,
+ * until at most {@code target} points are left and every remaining point spans at
+ * least {@code minAreaPx} square pixels. The first and last points are always kept.
+ */
+public final class PolylineSimplifier {
+
+    private PolylineSimplifier() {
+    }
+
+    private record Candidate(double area, int index, int version) {
+    }
+
+    /**
+     * @return indexes of the points kept, in order
+     */
+    public static int[] simplify(double[] latitudes, double[] longitudes, int count, int zoom,
+                                 int target, double minAreaPx) {
+        if (count <= 2) {
+            int[] all = new int[count];
+            for (int i = 0; i < count; i++) all[i] = i;
+            return all;
+        }
+        double scale = 256.0 * (1L << zoom);
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            double sin = Math.sin(Math.toRadians(Math.max(-85.0511, Math.min(85.0511, latitudes[i]))));
+            x[i] = (longitudes[i] + 180) / 360 * scale;
+            y[i] = (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * scale;
+        }
+
+        int[] prev = new int[count];
+        int[] next = new int[count];
+        double[] area = new double[count];
+        int[] version = new int[count];
+        boolean[] removed = new boolean[count];
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(count, (a, b) -> Double.compare(a.area(), b.area()));
+        for (int i = 0; i < count; i++) {
+            prev[i] = i - 1;
+            next[i] = i + 1;
+        }
+        for (int i = 1; i < count - 1; i++) {
+            area[i] = triangle(x, y, i - 1, i, i + 1);
+            queue.add(new Candidate(area[i], i, 0));
+        }
+
+        int remaining = count;
+        Candidate c;
+        while (remaining > 2 && (c = queue.poll()) != null) {
+            int i = c.index();
+            if (removed[i] || c.version() != version[i]) continue; // superseded entry
+            if (remaining <= target && c.area() >= minAreaPx) break;
+            removed[i] = true;
+            remaining--;
+            int p = prev[i];
+            int n = next[i];
+            next[p] = n;
+            prev[n] = p;
+            // a neighbour never ranks below the point just dropped, so later drops stay in area order
+            if (p > 0) {
+                area[p] = Math.max(triangle(x, y, prev[p], p, n), c.area());
+                queue.add(new Candidate(area[p], p, ++version[p]));
+            }
+            if (n < count - 1) {
+                area[n] = Math.max(triangle(x, y, p, n, next[n]), c.area());
+                queue.add(new Candidate(area[n], n, ++version[n]));
+            }
+        }
+
+        int[] kept = new int[remaining];
+        for (int i = 0, k = 0; i < count; i = next[i]) {
+            kept[k++] = i;
+        }
+        return kept;
+    }
+
+    private static double triangle(double[] x, double[] y, int a, int b, int c) {
+        return Math.abs((x[b] - x[a]) * (y[c] - y[a]) - (x[c] - x[a]) * (y[b] - y[a])) / 2;
+    }
+}
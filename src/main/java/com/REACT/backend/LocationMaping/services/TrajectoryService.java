@@ -0,0 +1,114 @@
+package com.REACT.backend.LocationMaping.services;
+
+import com.REACT.backend.LocationMaping.dto.TrajectoryDto;
+import com.REACT.backend.LocationMaping.polyline.PolylineEncoder;
+import com.REACT.backend.LocationMaping.polyline.PolylineSimplifier;
+import com.REACT.backend.booking.model.EmergencyRequestEntity;
+import com.REACT.backend.booking.repository.EmergencyRequestRepository;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.locationService.service.LocationHistoryService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Paths the units of a booking have travelled, read from {@link LocationHistoryService}
+ * between the booking's creation and its completion (or now).
+ *
+ * Tracks never leave the server at full resolution: each is simplified for the
+ * client's zoom level to at most {@code location.trajectory.min-points} points at
+ * zoom 10, doubling per level above it up to {@code location.trajectory.max-points},
+ * and shipped as an encoded polyline.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrajectoryService {
+
+    private static final int MAX_ZOOM = 20;
+
+    private final EmergencyRequestRepository requestRepo;
+    private final LocationHistoryService history;
+
+    @Value("${location.trajectory.min-points:32}")
+    private int minPoints;
+
+    @Value("${location.trajectory.max-points:1000}")
+    private int maxPoints;
+
+    @Value("${location.trajectory.min-area-px:1.0}")
+    private double minAreaPx;
+
+    /**
+     * Growable track of one unit, filled straight from the history decoder.
+     */
+    private static final class Track {
+        double[] latitudes = new double[256];
+        double[] longitudes = new double[256];
+        int count;
+
+        void add(double latitude, double longitude) {
+            if (count == latitudes.length) {
+                latitudes = Arrays.copyOf(latitudes, count * 2);
+                longitudes = Arrays.copyOf(longitudes, count * 2);
+            }
+            latitudes[count] = latitude;
+            longitudes[count] = longitude;
+            count++;
+        }
+    }
+
+    @Transactional
+    public List<TrajectoryDto> getTrajectories(Long emergencyRequestId, UnitType type, int zoom) {
+        EmergencyRequestEntity request = requestRepo.findById(emergencyRequestId)
+                .orElseThrow(() -> new RuntimeException("Booking not found: " + emergencyRequestId));
+        List<Long> unitIds = type == UnitType.AMBULANCE
+                ? nullSafe(request.getAssignedAmbulances()).stream().map(a -> a.getId()).toList()
+                : nullSafe(request.getAssignedFireTruckEntities()).stream().map(f -> f.getFireTruckId()).toList();
+        if (unitIds.isEmpty()) {
+            throw new RuntimeException("No " + type.name().toLowerCase() + " assigned to this request.");
+        }
+
+        int z = Math.max(0, Math.min(zoom, MAX_ZOOM));
+        int target = targetPoints(z);
+        Instant from = request.getCreatedAt();
+        Instant to = request.getCompletedAt() != null ? request.getCompletedAt() : Instant.now();
+        List<TrajectoryDto> trajectories = new ArrayList<>(unitIds.size());
+        for (Long unitId : unitIds) {
+            Track track = new Track();
+            history.track(type, unitId, from, to, (time, latitude, longitude) -> track.add(latitude, longitude));
+            int[] kept = PolylineSimplifier.simplify(track.latitudes, track.longitudes, track.count, z, target, minAreaPx);
+            trajectories.add(TrajectoryDto.builder()
+                    .emergencyRequestId(emergencyRequestId)
+                    .unitType(type)
+                    .unitId(unitId)
+                    .from(from)
+                    .to(to)
+                    .zoom(z)
+                    .recordedPoints(track.count)
+                    .points(kept.length)
+                    .polyline(PolylineEncoder.encode(track.latitudes, track.longitudes, kept))
+                    .build());
+            log.debug("Trajectory of {} {} for request {}: {} of {} points at zoom {}",
+                    type, unitId, emergencyRequestId, kept.length, track.count, z);
+        }
+        return trajectories;
+    }
+
+    private int targetPoints(int zoom) {
+        if (zoom <= 10) return minPoints;
+        long target = (long) minPoints << (zoom - 10);
+        return (int) Math.min(target, maxPoints);
+    }
+
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
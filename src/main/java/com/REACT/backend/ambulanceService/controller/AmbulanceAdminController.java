@@ -3,6 +3,9 @@ package com.REACT.backend.ambulanceService.controller;
 import com.REACT.backend.ambulanceService.dto.AmbulanceDto;
 import com.REACT.backend.ambulanceService.service.AmbulanceService;
 import com.REACT.backend.ambulanceService.service.impl.AmbulanceLocationServiceImplementation;
+import com.REACT.backend.dispatch.dto.RelocationPlanDto;
+import com.REACT.backend.dispatch.service.DemandForecastService;
+import com.REACT.backend.locationService.model.UnitType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -25,6 +29,8 @@ public class AmbulanceAdminController
     @Autowired
     private final AmbulanceService ambulanceService;
 
+    private final DemandForecastService demandForecastService;
+
     @GetMapping("/all")
     public ResponseEntity<List<AmbulanceDto>> getAllAmbulances() {
         return ResponseEntity.ok(ambulanceService.getAllAmbulances());
@@ -39,4 +45,10 @@ public class AmbulanceAdminController
     public ResponseEntity<List<AmbulanceDto>> getAmbulancesByHospital(@PathVariable Long hospitalId) {
         return ResponseEntity.ok(ambulanceService.getAmbulancesByHospitalId(hospitalId));
     }
+
+    // Where idle ambulances should wait for the coming hour (or the given hour of the week)
+    @GetMapping("/prepositioning")
+    public ResponseEntity<RelocationPlanDto> getPrepositioningPlan(@RequestParam(required = false) Integer hourOfWeek) {
+        return ResponseEntity.ok(demandForecastService.getPlan(UnitType.AMBULANCE, hourOfWeek));
+    }
 }
@@ -28,7 +28,7 @@ public class AmbulanceController {
 
     @PostMapping("/update")
     public ResponseEntity<String> updateAmbulanceLocation(@RequestBody AmbulanceLocationUpdateDto dto) {
-        log.info("Location update request fetched for ambulance {}",dto.getAmbulanceId());
+        log.debug("Location update request fetched for ambulance {}",dto.getAmbulanceId());
         ambulanceLocationServiceImplementation.updateLocation(dto);
         return ResponseEntity.ok("Location updated and broadcasted");
     }
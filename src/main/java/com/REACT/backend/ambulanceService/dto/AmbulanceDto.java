@@ -20,6 +20,8 @@
         private double latitude;
         private double longitude;
         private Instant lastUpdated;
+        private Long destinationHospitalId;      // null until dispatched, or if no hospital had a free bed
+        private String destinationHospitalName;
 
         public AmbulanceDto(AmbulanceEntity entity) {
             this.id = entity.getId();
@@ -30,6 +32,10 @@
                 this.driverName = entity.getDriver().getUserFullName();
                 this.driverPhone = entity.getDriver().getPhoneNumber();
             }
+            if (entity.getDestinationHospital() != null) {
+                this.destinationHospitalId = entity.getDestinationHospital().getId();
+                this.destinationHospitalName = entity.getDestinationHospital().getHospitalName();
+            }
             if (entity.getLocation() != null) {
                 this.latitude = entity.getLocation().getY();
                 this.longitude = entity.getLocation().getX();
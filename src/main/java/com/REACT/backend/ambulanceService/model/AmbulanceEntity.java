@@ -34,6 +34,12 @@ public class AmbulanceEntity {
 
     private Instant lastUpdated;
 
+    /**
+     * when the ambulance was last claimed for a booking; the driver's acceptance deadline
+     * runs from here (lastUpdated also moves with every location write-back)
+     */
+    private Instant assignedAt;
+
     @OneToOne
     @JoinColumn(name = "driver_id")
     private AppUser driver;
@@ -42,6 +48,13 @@ public class AmbulanceEntity {
     @JoinColumn(name = "hospital_id", nullable = false)
     private Hospital hospital;
 
+    /**
+     * where the patient is taken; set on dispatch, cleared when the ambulance is released
+     */
+    @ManyToOne
+    @JoinColumn(name = "destination_hospital_id")
+    private Hospital destinationHospital;
+
 
 
 
@@ -1,10 +1,13 @@
 package com.REACT.backend.ambulanceService.repository;
 
 import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
+import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +42,105 @@ public interface AmbulanceRepository extends JpaRepository<AmbulanceEntity, Long
 
     List<AmbulanceEntity> findByHospitalId(Long hospitalId);
 
+    Optional<AmbulanceEntity> findByDriver_UserId(Long userId);
+
+    List<AmbulanceEntity> findByStatus(AmbulanceStatus status);
+
+    /**
+     * Claims up to :n nearest AVAILABLE ambulances in a single statement.
+     * KNN-ordered via the GiST index, rows held by a concurrent dispatcher are
+     * skipped rather than waited on, and the status flip happens in the same
+     * round-trip, so two bookings can never grab the same unit. Claimed units wait
+     * in PENDING_ACCEPTANCE until their driver accepts.
+     */
+    @Transactional
+    @Query(value = """
+        WITH claimed AS (
+            UPDATE ambulance_entity a
+            SET status = 'PENDING_ACCEPTANCE', last_updated = now(), assigned_at = now()
+            WHERE a.id IN (
+                SELECT c.id FROM ambulance_entity c
+                WHERE c.status = 'AVAILABLE'
+                  AND ST_DWithin(c.location, ST_MakePoint(:lng, :lat)::geography, :radius)
+                ORDER BY c.location <-> ST_MakePoint(:lng, :lat)::geography
+                LIMIT :n
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING a.*
+        )
+        SELECT * FROM claimed
+        ORDER BY ST_Distance(location, ST_MakePoint(:lng, :lat)::geography)
+        """, nativeQuery = true)
+    List<AmbulanceEntity> claimNearestAvailable(
+            @Param("lat") double lat,
+            @Param("lng") double lng,
+            @Param("radius") double radiusMeters,
+            @Param("n") int count
+    );
+
+    /**
+     * Claims the given ambulances if they are still AVAILABLE and not locked by
+     * another dispatcher. Returns only the rows that were actually claimed.
+     */
+    @Transactional
+    @Query(value = """
+        WITH claimed AS (
+            UPDATE ambulance_entity a
+            SET status = 'PENDING_ACCEPTANCE', last_updated = now(), assigned_at = now()
+            WHERE a.id IN (
+                SELECT c.id FROM ambulance_entity c
+                WHERE c.id IN (:ids)
+                  AND c.status = 'AVAILABLE'
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING a.*
+        )
+        SELECT * FROM claimed
+        """, nativeQuery = true)
+    List<AmbulanceEntity> claimByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Hands claimed units back, e.g. when a dispatch branch finished after its
+     * booking had already given up on it.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE ambulance_entity
+        SET status = 'AVAILABLE', destination_hospital_id = NULL, last_updated = now()
+        WHERE id IN (:ids) AND status IN ('PENDING_ACCEPTANCE', 'EN_ROUTE')
+        """, nativeQuery = true)
+    int releaseByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Driver acceptance; fails (returns 0) once the acceptance deadline released the unit.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE ambulance_entity
+        SET status = 'EN_ROUTE', last_updated = now()
+        WHERE id = :id AND status = 'PENDING_ACCEPTANCE'
+        """, nativeQuery = true)
+    int acceptIfPending(@Param("id") Long id);
+
+    /**
+     * Acceptance deadline; does nothing (returns 0) if the driver accepted first.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE ambulance_entity
+        SET status = 'AVAILABLE', destination_hospital_id = NULL, last_updated = now()
+        WHERE id = :id AND status = 'PENDING_ACCEPTANCE'
+        """, nativeQuery = true)
+    int releaseIfPending(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE ambulance_entity SET destination_hospital_id = :hospitalId WHERE id = :id", nativeQuery = true)
+    int updateDestination(@Param("id") Long id, @Param("hospitalId") Long hospitalId);
+
 
 
 
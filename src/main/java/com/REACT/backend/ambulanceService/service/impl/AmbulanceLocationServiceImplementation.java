@@ -5,11 +5,11 @@ import com.REACT.backend.ambulanceService.dto.AmbulanceLocationUpdateDto;
 import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
 import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
 import com.REACT.backend.ambulanceService.service.AmbulanceLocationService;
-import com.REACT.backend.common.util.LocationUtils;
+import com.REACT.backend.dispatch.service.FleetIndexService;
 import com.REACT.backend.locationService.model.LocationBroadcastDto;
 import com.REACT.backend.locationService.model.UnitType;
 import com.REACT.backend.locationService.service.LocationBroadcastService;
-import jakarta.transaction.Transactional;
+import com.REACT.backend.locationService.service.LocationIngestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,31 +21,30 @@ import org.springframework.stereotype.Service;
 public class AmbulanceLocationServiceImplementation implements AmbulanceLocationService {
 
     private final AmbulanceRepository ambulanceRepositoryRepo;
-    private final LocationUtils locationUtils;
     private final LocationBroadcastService broadcastService;
+    private final FleetIndexService fleetIndex;
+    private final LocationIngestService locationIngest;
 
 
+    /**
+     * The position is written to the database in the next write-behind round
+     * ({@link LocationIngestService}); index and broadcast see it immediately.
+     */
     @Override
-    @Transactional
     public void updateLocation(AmbulanceLocationUpdateDto dto){
-        log.info("Received location update for Ambulance ID: {}, lat: {}, long: {}",
+        log.debug("Received location update for Ambulance ID: {}, lat: {}, long: {}",
                 dto.getAmbulanceId(), dto.getLatitude(), dto.getLongitude());
-        AmbulanceEntity entity = ambulanceRepositoryRepo.findById(dto.getAmbulanceId())
-                .orElseThrow(()-> new RuntimeException("No such ambulance exist"+dto.getAmbulanceId()));
-
-
-        entity.setLocation(locationUtils.createPoint( dto.getLongitude(), dto.getLatitude()));
-        ambulanceRepositoryRepo.save(entity);
-        log.debug("Ambulance ID {} location updated in DB.", entity.getId());
+        locationIngest.record(UnitType.AMBULANCE, dto.getAmbulanceId(), dto.getLatitude(), dto.getLongitude());
+        fleetIndex.updatePosition(UnitType.AMBULANCE, dto.getAmbulanceId(), dto.getLatitude(), dto.getLongitude());
 
         LocationBroadcastDto broadcastDto = new LocationBroadcastDto(
-                entity.getId(),
+                dto.getAmbulanceId(),
                 UnitType.AMBULANCE,
-                dto.getLongitude(),
-                dto.getLatitude()
+                dto.getLatitude(),
+                dto.getLongitude()
         );
         broadcastService.broadcastLocation(broadcastDto);
-        log.info("Location broadcasted for Ambulance ID: {}", entity.getId());
+        log.debug("Location broadcasted for Ambulance ID: {}", dto.getAmbulanceId());
     }
 
 
@@ -55,6 +54,12 @@ public class AmbulanceLocationServiceImplementation implements AmbulanceLocation
         AmbulanceEntity entity = ambulanceRepositoryRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("No such ambulance exists: " + id));
 
-        return new AmbulanceDto(entity);
+        AmbulanceDto ambulanceDto = new AmbulanceDto(entity);
+        // the row may trail the last ping by one flush interval
+        locationIngest.latest(UnitType.AMBULANCE, id).ifPresent(p -> {
+            ambulanceDto.setLatitude(p.latitude());
+            ambulanceDto.setLongitude(p.longitude());
+        });
+        return ambulanceDto;
     }
 }
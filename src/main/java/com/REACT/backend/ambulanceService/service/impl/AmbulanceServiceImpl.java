@@ -5,6 +5,8 @@ import com.REACT.backend.ambulanceService.dto.AmbulanceLocationUpdateDto;
 import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
 import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
 import com.REACT.backend.ambulanceService.service.AmbulanceService;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.locationService.service.LocationIngestService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -22,10 +24,13 @@ public class AmbulanceServiceImpl implements AmbulanceService {
     @Autowired
     private AmbulanceRepository ambulanceRepository;
 
+    @Autowired
+    private LocationIngestService locationIngest;
+
     @Override
     public List<AmbulanceDto> getAllAmbulances() {
         return ambulanceRepository.findAll().stream()
-                .map(AmbulanceDto::new)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -33,17 +38,25 @@ public class AmbulanceServiceImpl implements AmbulanceService {
     public AmbulanceDto getAmbulanceById(Long id) {
         AmbulanceEntity entity = ambulanceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ambulance not found with id: " + id));
-        return new AmbulanceDto(entity);
+        return toDto(entity);
     }
 
     @Override
     public List<AmbulanceDto> getAmbulancesByHospitalId(Long hospitalId) {
         return ambulanceRepository.findByHospitalId(hospitalId).stream()
-                .map(AmbulanceDto::new)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
-
-
-
+    /**
+     * Rows trail the last ping by up to one write-behind round; the ping wins.
+     */
+    private AmbulanceDto toDto(AmbulanceEntity entity) {
+        AmbulanceDto dto = new AmbulanceDto(entity);
+        locationIngest.latest(UnitType.AMBULANCE, entity.getId()).ifPresent(p -> {
+            dto.setLatitude(p.latitude());
+            dto.setLongitude(p.longitude());
+        });
+        return dto;
+    }
 }
\ No newline at end of file
@@ -3,11 +3,13 @@ package com.REACT.backend.auth.service;
 import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
 import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
 import com.REACT.backend.auth.dto.*;
+import com.REACT.backend.dispatch.service.FleetIndexService;
 import com.REACT.backend.fireService.model.FireStationEntity;
 import com.REACT.backend.fireService.model.FireTruckStatus;
 import com.REACT.backend.fireService.repository.FireStationRepository;
 import com.REACT.backend.hospitalService.model.Hospital;
 import com.REACT.backend.hospitalService.repository.HospitalRepository;
+import com.REACT.backend.locationService.model.UnitType;
 import com.REACT.backend.policeService.model.PoliceStationEntity;
 import com.REACT.backend.policeService.repository.PoliceStationRepository;
 import com.REACT.backend.users.AppUser;
@@ -47,6 +49,8 @@ public class AuthService {
     private final PoliceStationRepository policeStationRepo;
     private final PoliceOfficerRepository policeOfficerRepo;
 
+    private final FleetIndexService fleetIndex;
+
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user: {}", request.getEmail());
 
@@ -121,6 +125,11 @@ public class AuthService {
         fireTruckDriverRepo.save(fireTruckDriver);
         log.info("Fire truck driver registered: {}, assigned truck: {}", savedUser.getUserEmail(), request.getVehicleRegNumber());
 
+        if (fireTruckEntity.getLocation() != null) {
+            fleetIndex.markAvailable(UnitType.FIRE_TRUCK, fireTruckEntity.getFireTruckId(),
+                    fireTruckEntity.getLocation().getY(), fireTruckEntity.getLocation().getX());
+        }
+
         return buildAuthResponse(savedUser);
     }
 
@@ -165,6 +174,11 @@ public class AuthService {
         ambulanceDriverRepo.save(driver);
         log.info("Ambulance driver registered: {}, vehicle: {}", savedUser.getUserEmail(), request.getVehicleRegNumber());
 
+        if (ambulance.getLocation() != null) {
+            fleetIndex.markAvailable(UnitType.AMBULANCE, ambulance.getId(),
+                    ambulance.getLocation().getY(), ambulance.getLocation().getX());
+        }
+
         return buildAuthResponse(savedUser);
     }
 
@@ -1,7 +1,11 @@
 package com.REACT.backend.booking.controller;
 
+import com.REACT.backend.booking.dto.ApiResponse;
+import com.REACT.backend.booking.dto.BookingProgressDto;
 import com.REACT.backend.booking.dto.BookingRequestDto;
 import com.REACT.backend.booking.dto.BookingResponseDto;
+import com.REACT.backend.booking.service.BookingIdempotencyService;
+import com.REACT.backend.booking.service.BookingPipelineService;
 import com.REACT.backend.booking.service.BookingServiceImpl;
 import com.REACT.backend.users.AppUser;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +16,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @Slf4j
 @RestController
 @RequestMapping("/booking")
@@ -19,21 +25,59 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final BookingServiceImpl bookingService;
+    private final BookingIdempotencyService idempotencyService;
+    private final BookingPipelineService bookingPipelineService;
 
     @PreAuthorize("hasRole('USER')")
     @PostMapping("/request")
-    public ResponseEntity<BookingResponseDto> handleBooking(@RequestBody BookingRequestDto requestDto) {
+    public ResponseEntity<BookingResponseDto> handleBooking(@RequestBody BookingRequestDto requestDto,
+                                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         // 🔒 Get currently authenticated user
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         AppUser user = (AppUser) authentication.getPrincipal(); // Cast it to your AppUser
 
         log.info("Booking request fetched from user with email: {}",user.getUserEmail());
-        BookingResponseDto response = bookingService.createBooking(requestDto, user.getUserId());
+        // retries with the same key get the first response instead of a second dispatch
+        BookingResponseDto response = (idempotencyKey == null || idempotencyKey.isBlank())
+                ? bookingService.createBooking(requestDto, user.getUserId())
+                : idempotencyService.execute(user.getUserId(), idempotencyKey, requestDto, BookingResponseDto.class,
+                        () -> bookingService.createBooking(requestDto, user.getUserId()));
 
         return ResponseEntity.ok(response);
     }
 
+    // Acknowledges at once; assignment progress is pushed to /topic/booking/{id}
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping("/request/async")
+    public ResponseEntity<ApiResponse> handleBookingAsync(@RequestBody BookingRequestDto requestDto,
+                                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        AppUser user = (AppUser) authentication.getPrincipal();
+
+        log.info("Async booking request fetched from user with email: {}", user.getUserEmail());
+        // a retried submission is acknowledged with the booking id of the first one
+        ApiResponse response = (idempotencyKey == null || idempotencyKey.isBlank())
+                ? bookingPipelineService.submit(requestDto, user.getUserId())
+                : idempotencyService.execute(user.getUserId(), idempotencyKey, requestDto, ApiResponse.class,
+                        () -> bookingPipelineService.submit(requestDto, user.getUserId()));
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/user/booking/" + response.getBookingID()))
+                .body(response);
+    }
+
+    // Last stage of an async booking, for clients that subscribed too late to see it pushed
+    @PreAuthorize("hasRole('USER')")
+    @GetMapping("/request/async/{bookingId}")
+    public ResponseEntity<BookingProgressDto> getBookingProgress(@PathVariable Long bookingId) {
+        AppUser user = (AppUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        return bookingPipelineService.status(bookingId, user.getUserId())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
 
 
 
@@ -4,9 +4,12 @@ import com.REACT.backend.booking.dto.BookingDto;
 import com.REACT.backend.booking.model.EmergencyRequestEntity;
 import com.REACT.backend.booking.service.BookingServiceImpl;
 import com.REACT.backend.booking.service.DriverBookingServiceImpl;
+import com.REACT.backend.users.AppUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,6 +30,16 @@ public class DriverBookingController {
         return ResponseEntity.ok("Booking accepted successfully!");
     }
 
+    // only someone assigned to the booking may close it
+    @PreAuthorize("hasRole('AMBULANCE_DRIVER') or hasRole('FIRE_DRIVER') or hasRole('POLICE_OFFICER')")
+    @PostMapping("/booking/complete")
+    public ResponseEntity<String> completeBooking(@RequestParam Long bookingId) {
+        AppUser user = (AppUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        driverBookingService.completeBooking(bookingId, user);
+        return ResponseEntity.ok("Booking completed successfully!");
+    }
+
     @GetMapping("/{driverId}/pending-requests")
     public ResponseEntity<List<BookingDto>> getPendingRequests(@PathVariable Long driverId) {
         List<EmergencyRequestEntity> pending = driverBookingService.getPendingRequestsForDriver(driverId);
@@ -1,7 +1,15 @@
 package com.REACT.backend.booking.dto;
 
 import com.REACT.backend.booking.model.EmergencyRequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ApiResponse {
     private String message;
    private  Long bookingID;
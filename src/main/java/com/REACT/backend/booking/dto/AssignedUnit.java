@@ -0,0 +1,11 @@
+package com.REACT.backend.booking.dto;
+
+/**
+ * Read-only projection of a unit assigned to an open request.
+ */
+public interface AssignedUnit {
+
+    Long getRequestId();
+
+    Long getUnitId();
+}
@@ -0,0 +1,21 @@
+package com.REACT.backend.booking.dto;
+
+import com.REACT.backend.booking.model.BookingStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingProgressDto {
+    private Long bookingId;
+    private BookingStage stage;
+    private String message;
+    private BookingResponseDto booking; // set once the stage is COMPLETED
+    private Instant timestamp;
+}
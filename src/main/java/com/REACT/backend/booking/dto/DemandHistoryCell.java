@@ -0,0 +1,20 @@
+package com.REACT.backend.booking.dto;
+
+/**
+ * Read-only projection: how many requests one grid cell saw in one hour of the week.
+ */
+public interface DemandHistoryCell {
+
+    Integer getLatCell();
+
+    Integer getLngCell();
+
+    /**
+     * 0 = Monday 00:00 local time
+     */
+    Integer getHourOfWeek();
+
+    Long getAmbulanceRequests();
+
+    Long getFireRequests();
+}
@@ -0,0 +1,15 @@
+package com.REACT.backend.booking.dto;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of an ambulance still waiting for its driver to accept a request.
+ */
+public interface PendingAcceptance {
+
+    Long getRequestId();
+
+    Long getAmbulanceId();
+
+    Instant getAssignedAt();
+}
@@ -0,0 +1,11 @@
+package com.REACT.backend.booking.model;
+
+import java.util.List;
+
+/**
+ * Published when an ambulance driver did not accept a booking in time.
+ *
+ * @param declinedBefore ambulances that already let this request time out, oldest first
+ */
+public record AcceptanceExpiredEvent(Long requestId, Long ambulanceId, List<Long> declinedBefore) {
+}
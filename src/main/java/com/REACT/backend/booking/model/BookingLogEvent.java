@@ -0,0 +1,18 @@
+package com.REACT.backend.booking.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One booking log row with its join rows, as queued for the write-behind writer.
+ *
+ * @param policeByStation station id → officers assigned
+ */
+public record BookingLogEvent(Long emergencyRequestId,
+                              String statusMessage,
+                              Instant createdAt,
+                              List<Long> ambulanceIds,
+                              Map<Long, Integer> policeByStation,
+                              List<Long> fireTruckIds) {
+}
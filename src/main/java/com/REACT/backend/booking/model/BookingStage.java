@@ -0,0 +1,12 @@
+package com.REACT.backend.booking.model;
+
+/**
+ * Steps of the asynchronous booking pipeline, in order; FAILED can follow any of them.
+ */
+public enum BookingStage {
+    ACCEPTED,
+    ASSIGNING,
+    SAVING,
+    COMPLETED,
+    FAILED
+}
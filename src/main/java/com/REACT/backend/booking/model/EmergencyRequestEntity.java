@@ -66,6 +66,8 @@ public class EmergencyRequestEntity {
 
     private Instant createdAt = Instant.now();
 
+    private Instant completedAt;
+
 
     @ElementCollection
     @CollectionTable(
@@ -4,5 +4,6 @@ public enum EmergencyRequestStatus {
     PENDING,
     PARTIALLY_ASSIGNED,
     COMPLETED,
-    ACCEPTED, IN_PROGRESS
+    ACCEPTED, IN_PROGRESS,
+    FAILED
 }
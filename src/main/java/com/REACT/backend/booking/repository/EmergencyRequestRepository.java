@@ -1,13 +1,21 @@
 package com.REACT.backend.booking.repository;
 
+import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
+import com.REACT.backend.booking.dto.AssignedUnit;
 import com.REACT.backend.booking.dto.BookingSummeryDto;
+import com.REACT.backend.booking.dto.DemandHistoryCell;
+import com.REACT.backend.booking.dto.PendingAcceptance;
 import com.REACT.backend.booking.model.EmergencyRequestEntity;
 import com.REACT.backend.booking.model.EmergencyRequestStatus;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,7 +27,85 @@ public interface EmergencyRequestRepository extends JpaRepository<EmergencyReque
         List<EmergencyRequestEntity> findByDriver_UserIdAndEmergencyRequestStatus(
                         Long driverId, EmergencyRequestStatus status);
 
+        /**
+         * Open requests with an ambulance of this driver still waiting for the driver's answer,
+         * whichever of the request's ambulances that is.
+         */
+        @Query("""
+                SELECT DISTINCT e FROM EmergencyRequestEntity e JOIN e.assignedAmbulances a
+                WHERE a.driver.userId = :driverId AND a.status = :ambulanceStatus
+                AND e.emergencyRequestStatus IN :requestStatuses
+                """)
+        List<EmergencyRequestEntity> findAwaitingDriver(
+                        @Param("driverId") Long driverId,
+                        @Param("ambulanceStatus") AmbulanceStatus ambulanceStatus,
+                        @Param("requestStatuses") Collection<EmergencyRequestStatus> requestStatuses);
+
+        /**
+         * Marks the request completed; does nothing (returns 0) if it already is, or was
+         * deleted. Whoever gets 1 returns its units and officers, so they are released once.
+         */
+        @Modifying
+        @Transactional
+        @Query("""
+                UPDATE EmergencyRequestEntity e SET e.emergencyRequestStatus = :completed, e.completedAt = :now
+                WHERE e.id = :id AND e.emergencyRequestStatus <> :completed
+                """)
+        int completeIfOpen(@Param("id") Long id,
+                           @Param("completed") EmergencyRequestStatus completed,
+                           @Param("now") Instant now);
+
         List<EmergencyRequestEntity> findByRequestedBy_UserIdAndEmergencyRequestStatus(
                         Long userId, EmergencyRequestStatus status);
 
+        /**
+         * Ambulances in the given status together with the open requests they are assigned to,
+         * newest request first.
+         */
+        @Query("""
+                SELECT e.id AS requestId, a.id AS ambulanceId, a.assignedAt AS assignedAt
+                FROM EmergencyRequestEntity e JOIN e.assignedAmbulances a
+                WHERE a.status = :ambulanceStatus AND e.emergencyRequestStatus IN :requestStatuses
+                ORDER BY e.createdAt DESC
+                """)
+        List<PendingAcceptance> findAssignedAmbulancesInStatus(
+                        @Param("ambulanceStatus") AmbulanceStatus ambulanceStatus,
+                        @Param("requestStatuses") Collection<EmergencyRequestStatus> requestStatuses);
+
+        @Query("""
+                SELECT e.id AS requestId, a.id AS unitId
+                FROM EmergencyRequestEntity e JOIN e.assignedAmbulances a
+                WHERE e.emergencyRequestStatus IN :requestStatuses
+                """)
+        List<AssignedUnit> findAssignedAmbulances(
+                        @Param("requestStatuses") Collection<EmergencyRequestStatus> requestStatuses);
+
+        @Query("""
+                SELECT e.id AS requestId, f.fireTruckId AS unitId
+                FROM EmergencyRequestEntity e JOIN e.assignedFireTruckEntities f
+                WHERE e.emergencyRequestStatus IN :requestStatuses
+                """)
+        List<AssignedUnit> findAssignedFireTrucks(
+                        @Param("requestStatuses") Collection<EmergencyRequestStatus> requestStatuses);
+
+        /**
+         * Requests since {@code since}, counted per lat/lng cell of {@code cellSizeDeg} degrees and
+         * per hour of the week in the given time zone. Aggregated in the database so years of
+         * history come back as a few thousand rows.
+         */
+        @Query(value = """
+                SELECT CAST(FLOOR(e.latitude / :cellSizeDeg) AS integer) AS latCell,
+                       CAST(FLOOR(e.longitude / :cellSizeDeg) AS integer) AS lngCell,
+                       CAST((EXTRACT(ISODOW FROM e.created_at AT TIME ZONE :zone) - 1) * 24
+                            + EXTRACT(HOUR FROM e.created_at AT TIME ZONE :zone) AS integer) AS hourOfWeek,
+                       SUM(CASE WHEN e.need_ambulance THEN 1 ELSE 0 END) AS ambulanceRequests,
+                       SUM(CASE WHEN e.need_fire_brigade THEN 1 ELSE 0 END) AS fireRequests
+                FROM emergency_request e
+                WHERE e.created_at >= :since
+                GROUP BY 1, 2, 3
+                """, nativeQuery = true)
+        List<DemandHistoryCell> findDemandHistory(@Param("cellSizeDeg") double cellSizeDeg,
+                                                  @Param("zone") String zone,
+                                                  @Param("since") Instant since);
+
 }
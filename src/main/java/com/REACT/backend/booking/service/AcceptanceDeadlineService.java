@@ -0,0 +1,166 @@
+package com.REACT.backend.booking.service;
+
+import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
+import com.REACT.backend.booking.dto.PendingAcceptance;
+import com.REACT.backend.booking.model.AcceptanceExpiredEvent;
+import com.REACT.backend.booking.model.EmergencyRequestStatus;
+import com.REACT.backend.booking.repository.EmergencyRequestRepository;
+import com.REACT.backend.dispatch.timer.HashedWheelTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acceptance deadlines of ambulances waiting in PENDING_ACCEPTANCE.
+ *
+ * Deadlines live in a {@link HashedWheelTimer}, so scheduling and cancelling are O(1)
+ * and nothing polls the database. When a driver does not accept within
+ * {@code dispatch.acceptance.timeout-ms} an {@link AcceptanceExpiredEvent} is
+ * published on the expiry executor and the unit is released and replaced. The
+ * database is read once on startup to re-arm deadlines that were pending at shutdown.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AcceptanceDeadlineService {
+
+    private static final EnumSet<EmergencyRequestStatus> OPEN_REQUESTS = EnumSet.of(
+            EmergencyRequestStatus.PENDING, EmergencyRequestStatus.PARTIALLY_ASSIGNED,
+            EmergencyRequestStatus.ACCEPTED, EmergencyRequestStatus.IN_PROGRESS);
+
+    private final EmergencyRequestRepository requestRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("acceptanceExpiryExecutor")
+    private Executor expiryExecutor;
+
+    @Value("${dispatch.acceptance.timeout-ms:60000}")
+    private long timeoutMs;
+
+    @Value("${dispatch.acceptance.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${dispatch.acceptance.wheel-size:1024}")
+    private int wheelSize;
+
+    private HashedWheelTimer timer;
+
+    /**
+     * ambulance id → its pending deadline; an ambulance waits on at most one request
+     */
+    private final Map<Long, Deadline> deadlines = new ConcurrentHashMap<>();
+
+    private static final class Deadline {
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        void cancel() {
+            HashedWheelTimer.Timeout t = timeout;
+            if (t != null) t.cancel();
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        timer = new HashedWheelTimer("acceptance-timer", tickMs, TimeUnit.MILLISECONDS, wheelSize, expiryExecutor);
+        Gauge.builder("dispatch.acceptance.pending", timer, HashedWheelTimer::pendingCount)
+                .description("Ambulances waiting for their driver to accept")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        timer.close();
+    }
+
+    /**
+     * Re-arms the deadlines of units that were still waiting when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restorePending() {
+        List<PendingAcceptance> pending = requestRepo.findAssignedAmbulancesInStatus(
+                AmbulanceStatus.PENDING_ACCEPTANCE, OPEN_REQUESTS);
+        int restored = 0;
+        for (PendingAcceptance p : pending) {
+            if (deadlines.containsKey(p.getAmbulanceId())) continue; // older request of the same unit
+            Instant assignedAt = p.getAssignedAt() != null ? p.getAssignedAt() : Instant.now();
+            arm(new AcceptanceExpiredEvent(p.getRequestId(), p.getAmbulanceId(), List.of()),
+                    assignedAt.toEpochMilli() + timeoutMs - System.currentTimeMillis());
+            restored++;
+        }
+        log.info("Restored {} driver acceptance deadlines", restored);
+    }
+
+    /**
+     * Starts the acceptance window of a freshly assigned ambulance. Inside a transaction
+     * the window starts once it commits.
+     */
+    public void schedule(Long requestId, Long ambulanceId, List<Long> declinedBefore) {
+        AcceptanceExpiredEvent expiry = new AcceptanceExpiredEvent(requestId, ambulanceId, List.copyOf(declinedBefore));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    arm(expiry, timeoutMs);
+                }
+            });
+        } else {
+            arm(expiry, timeoutMs);
+        }
+    }
+
+    /**
+     * Driver accepted (or the unit was released another way).
+     */
+    public void cancel(Long ambulanceId) {
+        Deadline deadline = deadlines.remove(ambulanceId);
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
+    public int pendingCount() {
+        return timer.pendingCount();
+    }
+
+    private void arm(AcceptanceExpiredEvent expiry, long delayMs) {
+        // registered before scheduling so even an immediate expiry finds itself in the map
+        Deadline deadline = new Deadline();
+        Deadline previous = deadlines.put(expiry.ambulanceId(), deadline);
+        if (previous != null) {
+            previous.cancel();
+        }
+        deadline.timeout = timer.schedule(() -> {
+            if (!deadlines.remove(expiry.ambulanceId(), deadline)) return; // cancelled or superseded
+            log.info("Driver of ambulance {} did not accept request {} within {} ms",
+                    expiry.ambulanceId(), expiry.requestId(), timeoutMs);
+            try {
+                eventPublisher.publishEvent(expiry);
+            } catch (RuntimeException e) {
+                log.error("Handling expired acceptance of ambulance {} for request {} failed",
+                        expiry.ambulanceId(), expiry.requestId(), e);
+            }
+        }, Math.max(0, delayMs), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,119 @@
+package com.REACT.backend.booking.service;
+
+import com.REACT.backend.booking.dto.BookingRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates booking submissions carrying the same {@code Idempotency-Key}.
+ *
+ * The first submission for a key runs the booking; concurrent duplicates wait on
+ * the same in-flight future and later ones get the stored response, so a retry
+ * never dispatches a second set of units. Keys are scoped per user, expire after
+ * {@code booking.idempotency.ttl-ms} and the store holds at most
+ * {@code booking.idempotency.max-entries}. Failed bookings are forgotten so the
+ * client can retry them.
+ *
+ * A key may only be replayed with the same payload: requests are compared by the
+ * SHA-256 of their JSON with the properties sorted, and by the kind of response
+ * (a synchronous booking or an async acknowledgement).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingIdempotencyService {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${booking.idempotency.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Value("${booking.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(Class<?> kind, byte[] fingerprint, long expiresAt, CompletableFuture<Object> result) {
+    }
+
+    /**
+     * Runs {@code booking} once per (user, key); duplicates get the original response.
+     *
+     * @param kind type of the response, a key used for one kind cannot be replayed for another
+     */
+    public <T> T execute(Long userId, String key, BookingRequestDto request, Class<T> kind, Supplier<T> booking) {
+        String scopedKey = userId + ":" + key;
+        byte[] fingerprint = fingerprint(request);
+
+        if (entries.size() >= maxEntries) {
+            purgeExpired();
+        }
+        if (entries.size() >= maxEntries) {
+            log.warn("Idempotency store full ({} entries), booking for key {} is not deduplicated", maxEntries, key);
+            return booking.get();
+        }
+
+        long now = System.currentTimeMillis();
+        Entry mine = new Entry(kind, fingerprint, now + ttlMs, new CompletableFuture<>());
+        Entry existing = entries.compute(scopedKey, (k, current) ->
+                current == null || current.expiresAt() < now ? mine : current);
+
+        if (existing != mine) {
+            if (existing.kind() != kind || !Arrays.equals(existing.fingerprint(), fingerprint)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used for a different booking request");
+            }
+            log.info("Duplicate booking submission for key {}, returning the original result", key);
+            try {
+                return kind.cast(existing.result().join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        try {
+            T response = booking.get();
+            mine.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            entries.remove(scopedKey, mine);
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() < now && entry.result().isDone());
+    }
+
+    private byte[] fingerprint(BookingRequestDto request) {
+        // a flat DTO, so sorting its top-level properties makes the JSON canonical
+        Map<String, Object> canonical = objectMapper.convertValue(request, new TypeReference<TreeMap<String, Object>>() {
+        });
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(canonical));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint booking request", e);
+        }
+    }
+}
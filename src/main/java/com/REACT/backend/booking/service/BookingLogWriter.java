@@ -0,0 +1,212 @@
+package com.REACT.backend.booking.service;
+
+import com.REACT.backend.booking.model.BookingLogEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind writer for booking audit logs.
+ *
+ * Bookings only enqueue a {@link BookingLogEvent}; a background thread writes them
+ * in JDBC batches (log rows plus the three join tables) at most
+ * {@code booking.log.max-delay-ms} after they were queued. The queue is bounded:
+ * if it stays full for {@code booking.log.enqueue-timeout-ms} the caller writes
+ * its own event synchronously, so logs are never dropped for lack of space.
+ * Remaining events are flushed on shutdown.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingLogWriter {
+
+    private static final String NEXT_IDS =
+            "SELECT nextval(pg_get_serial_sequence('booking_log', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_LOG =
+            "INSERT INTO booking_log (id, emergency_request_id, status_message, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_AMBULANCE =
+            "INSERT INTO booking_log_assigned_ambulances (booking_log_id, ambulance_id) VALUES (?, ?)";
+    private static final String INSERT_POLICE =
+            "INSERT INTO booking_log_police_map (booking_log_id, station_id, officer_count) VALUES (?, ?, ?)";
+    private static final String INSERT_FIRE_TRUCK =
+            "INSERT INTO booking_log_assigned_fire_trucks (booking_log_id, fire_truck_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booking.log.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${booking.log.batch-size:200}")
+    private int batchSize;
+
+    @Value("${booking.log.max-delay-ms:500}")
+    private long maxDelayMs;
+
+    @Value("${booking.log.enqueue-timeout-ms:50}")
+    private long enqueueTimeoutMs;
+
+    private BlockingQueue<BookingLogEvent> queue;
+    private Thread worker;
+    private volatile boolean running = true;
+
+    private Timer flushTimer;
+    private Counter written;
+    private Counter failed;
+    private Counter writtenInline;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("booking.log.queue.depth", queue, BlockingQueue::size)
+                .description("Booking log events waiting to be written")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("booking.log.flush")
+                .description("Time to write one batch of booking logs")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        written = meterRegistry.counter("booking.log.written");
+        failed = meterRegistry.counter("booking.log.failed");
+        writtenInline = meterRegistry.counter("booking.log.written.inline");
+
+        worker = new Thread(this::runLoop, "booking-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false; // the worker notices within max-delay-ms and drains the queue first
+        worker.join(10_000);
+        // anything the worker could not take before it stopped
+        List<BookingLogEvent> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            flush(rest);
+        }
+    }
+
+    /**
+     * Queues the log; inside a transaction it is queued only once that transaction commits,
+     * so a rolled-back booking never gets a log row.
+     */
+    public void submit(BookingLogEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(BookingLogEvent event) {
+        try {
+            if (queue.offer(event, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("Booking log queue full ({} events), writing log for request {} inline",
+                queueCapacity, event.emergencyRequestId());
+        flush(List.of(event));
+        writtenInline.increment();
+    }
+
+    private void runLoop() {
+        List<BookingLogEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                BookingLogEvent first = queue.poll(maxDelayMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+                while (batch.size() < batchSize) {
+                    long wait = deadline - System.nanoTime();
+                    if (wait <= 0) break;
+                    BookingLogEvent next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // treated as a stop request; the remaining queue is still written below
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<BookingLogEvent> batch) {
+        long started = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> writeBatch(batch));
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Booking log batch of {} failed, retrying one by one", batch.size(), e);
+            for (BookingLogEvent event : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> writeBatch(List.of(event)));
+                    written.increment();
+                } catch (RuntimeException single) {
+                    // e.g. the request was deleted before its log got written
+                    failed.increment();
+                    log.error("Dropping booking log for request {}", event.emergencyRequestId(), single);
+                }
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void writeBatch(List<BookingLogEvent> batch) {
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, batch.size());
+
+        List<Object[]> logs = new ArrayList<>(batch.size());
+        List<Object[]> ambulances = new ArrayList<>();
+        List<Object[]> police = new ArrayList<>();
+        List<Object[]> fireTrucks = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            BookingLogEvent event = batch.get(i);
+            Long id = ids.get(i);
+            logs.add(new Object[]{id, event.emergencyRequestId(), event.statusMessage(),
+                    Timestamp.from(event.createdAt())});
+            event.ambulanceIds().forEach(ambulanceId -> ambulances.add(new Object[]{id, ambulanceId}));
+            for (Map.Entry<Long, Integer> entry : event.policeByStation().entrySet()) {
+                police.add(new Object[]{id, entry.getKey(), entry.getValue()});
+            }
+            event.fireTruckIds().forEach(truckId -> fireTrucks.add(new Object[]{id, truckId}));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_LOG, logs);
+        if (!ambulances.isEmpty()) jdbcTemplate.batchUpdate(INSERT_AMBULANCE, ambulances);
+        if (!police.isEmpty()) jdbcTemplate.batchUpdate(INSERT_POLICE, police);
+        if (!fireTrucks.isEmpty()) jdbcTemplate.batchUpdate(INSERT_FIRE_TRUCK, fireTrucks);
+    }
+}
@@ -0,0 +1,127 @@
+package com.REACT.backend.booking.service;
+
+import com.REACT.backend.booking.dto.ApiResponse;
+import com.REACT.backend.booking.dto.BookingProgressDto;
+import com.REACT.backend.booking.dto.BookingRequestDto;
+import com.REACT.backend.booking.dto.BookingResponseDto;
+import com.REACT.backend.booking.model.BookingStage;
+import com.REACT.backend.booking.model.EmergencyRequestStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous booking: the request is stored as PENDING and acknowledged at once,
+ * then unit assignment runs as staged steps on the booking pipeline executor.
+ * Every stage is pushed to {@code /topic/booking/{id}} over the STOMP broker.
+ *
+ * The first stages are usually published before the client has subscribed, so the
+ * latest one is also kept for {@link #status} to poll, until
+ * {@code booking.pipeline.status-ttl-ms} after the booking has finished.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingPipelineService {
+
+    private final BookingServiceImpl bookingService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    @Qualifier("bookingPipelineExecutor")
+    private Executor pipelineExecutor;
+
+    @Value("${booking.pipeline.status-ttl-ms:600000}")
+    private long statusTtlMs;
+
+    /**
+     * booking id → who requested it and the last stage published
+     */
+    private final Map<Long, Tracked> tracked = new ConcurrentHashMap<>();
+
+    private record Tracked(Long requestedById, BookingProgressDto last) {
+    }
+
+    public ApiResponse submit(BookingRequestDto requestDto, Long requestedById) {
+        Long bookingId = bookingService.createPendingRequest(requestDto, requestedById);
+        tracked.put(bookingId, new Tracked(requestedById, null));
+        publish(bookingId, BookingStage.ACCEPTED, "Booking received", null);
+        pipelineExecutor.execute(() -> run(bookingId, requestDto));
+
+        return ApiResponse.builder()
+                .message("Booking accepted, follow progress on /topic/booking/" + bookingId
+                        + " or poll GET /booking/request/async/" + bookingId)
+                .bookingID(bookingId)
+                .status(EmergencyRequestStatus.PENDING)
+                .build();
+    }
+
+    private void run(Long bookingId, BookingRequestDto requestDto) {
+        BookingServiceImpl.Assignment assignment = null;
+        try {
+            publish(bookingId, BookingStage.ASSIGNING, "Searching for units", null);
+            assignment = bookingService.assignUnits(requestDto);
+
+            publish(bookingId, BookingStage.SAVING, assignment.statusMessage(), null);
+            bookingService.attachAssignment(bookingId, assignment);
+
+            BookingResponseDto response = bookingService.buildResponse(requestDto, assignment);
+            publish(bookingId, BookingStage.COMPLETED, response.getNotes(), response);
+            log.info("Async booking {} completed", bookingId);
+        } catch (RuntimeException e) {
+            log.error("Async booking {} failed", bookingId, e);
+            if (assignment != null) {
+                bookingService.releaseAssignment(assignment);
+            }
+            try {
+                bookingService.markFailed(bookingId);
+            } catch (RuntimeException markError) {
+                log.error("Could not mark booking {} as failed", bookingId, markError);
+            }
+            publish(bookingId, BookingStage.FAILED, "Booking could not be completed", null);
+        }
+    }
+
+    /**
+     * Latest stage of an async booking, if the user requested it and it is still tracked.
+     */
+    public Optional<BookingProgressDto> status(Long bookingId, Long userId) {
+        Tracked entry = tracked.get(bookingId);
+        if (entry == null || entry.last() == null || !entry.requestedById().equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.last());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.pipeline.status-purge-interval-ms:60000}")
+    public void purgeFinished() {
+        Instant cutoff = Instant.now().minusMillis(statusTtlMs);
+        tracked.values().removeIf(entry -> entry.last() != null
+                && (entry.last().getStage() == BookingStage.COMPLETED || entry.last().getStage() == BookingStage.FAILED)
+                && entry.last().getTimestamp().isBefore(cutoff));
+    }
+
+    private void publish(Long bookingId, BookingStage stage, String message, BookingResponseDto booking) {
+        BookingProgressDto progress = BookingProgressDto.builder()
+                .bookingId(bookingId)
+                .stage(stage)
+                .message(message)
+                .booking(booking)
+                .timestamp(Instant.now())
+                .build();
+        // recorded before it is sent, so a client that polls after seeing it gets this stage or a later one
+        tracked.computeIfPresent(bookingId, (id, entry) -> new Tracked(entry.requestedById(), progress));
+        messagingTemplate.convertAndSend("/topic/booking/" + bookingId, progress);
+    }
+}
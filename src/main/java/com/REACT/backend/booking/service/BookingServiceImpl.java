@@ -2,40 +2,62 @@ package com.REACT.backend.booking.service;
 
 import com.REACT.backend.ambulanceService.dto.AmbulanceDto;
 import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
-import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
 import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
 
 import com.REACT.backend.booking.dto.BookingRequestDto;
 import com.REACT.backend.booking.dto.BookingResponseDto;
 import com.REACT.backend.booking.dto.BookingSummeryDto;
 import com.REACT.backend.booking.model.EmergencyRequestEntity;
-import com.REACT.backend.booking.model.BookingLogEntity;
+import com.REACT.backend.booking.model.BookingLogEvent;
 import com.REACT.backend.booking.model.EmergencyRequestStatus;
-import com.REACT.backend.booking.repository.BookingLogRepository;
 import com.REACT.backend.booking.repository.EmergencyRequestRepository;
 import com.REACT.backend.common.util.DispatchUtils;
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.dispatch.service.BatchDispatchService;
+import com.REACT.backend.dispatch.service.CoverageService;
+import com.REACT.backend.dispatch.service.DemandForecastService;
+import com.REACT.backend.dispatch.service.DispatchJournalService;
+import com.REACT.backend.dispatch.service.FleetIndexService;
+import com.REACT.backend.dispatch.service.PartitionedDispatchService;
 
 import com.REACT.backend.fireService.dto.FireTruckDto;
 
 import com.REACT.backend.fireService.model.FireTruckEntity;
 
-import com.REACT.backend.fireService.model.FireTruckStatus;
 import com.REACT.backend.fireService.repository.FireTruckRepository;
+import com.REACT.backend.hospitalService.service.HospitalCapacityService;
 
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.locationService.service.IncidentRoutingService;
+import com.REACT.backend.locationService.service.LocationIngestService;
+import com.REACT.backend.policeService.dto.PoliceStationCandidate;
 import com.REACT.backend.policeService.model.PoliceStationEntity;
 import com.REACT.backend.policeService.repository.PoliceStationRepository;
+import com.REACT.backend.policeService.service.PoliceReservationService;
 
+import com.REACT.backend.routing.service.EtaService;
 import com.REACT.backend.users.AppUser;
 import com.REACT.backend.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.file.AccessDeniedException;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -48,78 +70,302 @@ public class BookingServiceImpl implements BookingService {
     private final FireTruckRepository fireTruckRepository;
     private final UserRepository userRepository;
     private final EmergencyRequestRepository requestRepo;
-    private final BookingLogRepository logRepo;
+    private final BookingLogWriter bookingLogWriter;
+    private final FleetIndexService fleetIndex;
+    private final BatchDispatchService batchDispatch;
+    private final PartitionedDispatchService partitions;
+    private final PoliceReservationService policeReservations;
+    private final EtaService etaService;
+    private final CoverageService coverageService;
+    private final DemandForecastService demandForecast;
+    private final HospitalCapacityService hospitalCapacity;
+    private final DispatchJournalService journal;
+    private final AcceptanceDeadlineService acceptanceDeadlines;
+    private final IncidentRoutingService incidentRouting;
+    private final LocationIngestService locationIngest;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("dispatchExecutor")
+    private Executor dispatchExecutor;
+
+    @Value("${dispatch.branch-timeout-ms:3000}")
+    private long branchTimeoutMs;
+
+    @Value("${routing.candidate-factor:3}")
+    private int etaCandidateFactor;
+
     private static final int MAX_RADIUS_KM = 10;
+    private static final int MAX_INDEX_ATTEMPTS = 3;
+    private static final int POLICE_PAGE_SIZE = 16;
+    private static final int MAX_POLICE_PAGES = 4;
+
+    /**
+     * Units found for one booking, with the per-service status strings.
+     */
+    public record Assignment(List<AmbulanceEntity> ambulances,
+                             Map<PoliceStationEntity, Integer> police,
+                             List<FireTruckEntity> fireTrucks,
+                             String ambulanceStatus,
+                             String policeStatus,
+                             String fireStatus) {
+
+        String statusMessage() {
+            return "Ambulance: " + ambulanceStatus + ", Police: " + policeStatus + ", Fire: " + fireStatus;
+        }
+    }
 
-    @Transactional
+    /**
+     * Runs the ambulance, police and fire searches in parallel, each claiming in its own
+     * short transaction, then persists the request once all branches have answered or timed out.
+     * A branch that times out contributes nothing; if it claims units afterwards they are
+     * released again so they do not leak.
+     */
     public BookingResponseDto createBooking(BookingRequestDto requestDto, Long requestedById) {
 
         log.info("🚨 New booking request received from userId {} for issue '{}'", requestedById, requestDto.getIssueType());
 
+        // 🏥🚓🔥 1-4. Search, claim and compute statuses
+        Assignment assignment = assignUnits(requestDto);
+
+        // 📌 5. Persist request + booking log; hand the units back if that fails
+        AppUser requestedBy;
+        try {
+            requestedBy = transactionTemplate.execute(tx -> persistBooking(requestDto, requestedById, assignment));
+        } catch (RuntimeException e) {
+            log.error("Persisting booking failed, releasing claimed units", e);
+            releaseAssignment(assignment);
+            throw e;
+        }
 
-        // 🏥 1. Assign ambulances
-        List<AmbulanceEntity> assignedAmbulances = new ArrayList<>();
-        if (requestDto.isNeedAmbulance()) {
-            log.info("Ambulance required: Searching for {} ambulances near [{}, {}]",
-                    requestDto.getRequestedAmbulanceCount(), requestDto.getLatitude(), requestDto.getLongitude());
-            assignedAmbulances = findNearestAmbulances(
-                    requestDto.getLatitude(),
-                    requestDto.getLongitude(),
-                    requestDto.getRequestedAmbulanceCount()
-
-            );
-            log.info("Ambulances assigned: {}", assignedAmbulances.stream().map(AmbulanceEntity::getId).toList());
+        log.info("Booking process completed successfully for user {}. Returning response.", requestedBy.getUserEmail());
 
-        }
+        // 🧾 6. Build response
+        return buildResponse(requestDto, assignment);
+    }
 
+    /**
+     * Fans out the three searches and waits for them (see {@link #createBooking}).
+     * Claimed units are held until the caller persists or releases the assignment.
+     */
+    public Assignment assignUnits(BookingRequestDto requestDto) {
+        double lat = requestDto.getLatitude();
+        double lng = requestDto.getLongitude();
+
+        CompletableFuture<List<AmbulanceEntity>> ambulanceBranch = requestDto.isNeedAmbulance()
+                ? dispatchBranch(() -> {
+                    log.info("Ambulance required: Searching for {} ambulances near [{}, {}]",
+                            requestDto.getRequestedAmbulanceCount(), lat, lng);
+                    return findNearestAmbulances(lat, lng, requestDto.getRequestedAmbulanceCount());
+                })
+                : CompletableFuture.completedFuture(new ArrayList<>());
+
+        CompletableFuture<Map<PoliceStationEntity, Integer>> policeBranch = requestDto.isNeedPolice()
+                ? dispatchBranch(() -> {
+                    log.info("Police required: {} officers near [{}, {}]",
+                            requestDto.getRequestedPoliceCount(), lat, lng);
+                    return assignPoliceOfficers(lat, lng, requestDto.getRequestedPoliceCount());
+                })
+                : CompletableFuture.completedFuture(new HashMap<>());
+
+        CompletableFuture<List<FireTruckEntity>> fireBranch = requestDto.isNeedFireBrigade()
+                ? dispatchBranch(() -> {
+                    log.info("Fire truck required: {} units near [{}, {}]",
+                            requestDto.getRequestedFireTruckCount(), lat, lng);
+                    return findAvailableFireTrucks(lat, lng, requestDto.getRequestedFireTruckCount());
+                })
+                : CompletableFuture.completedFuture(new ArrayList<>());
+
+        // one budget for all three branches, not one each
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(branchTimeoutMs);
+        List<AmbulanceEntity> assignedAmbulances =
+                awaitBranch("ambulance", ambulanceBranch, deadline, new ArrayList<>(), this::releaseAmbulances);
+        assignDestinations(lat, lng, assignedAmbulances);
+        Map<PoliceStationEntity, Integer> assignedPoliceMap =
+                awaitBranch("police", policeBranch, deadline, new HashMap<>(), policeReservations::releaseAll);
+        List<FireTruckEntity> assignedFireTruckEntities =
+                awaitBranch("fire", fireBranch, deadline, new ArrayList<>(), this::releaseFireTrucks);
 
-        // 🚓 2. Assign police
         String policeStatus = "";
-        Map<PoliceStationEntity,Integer> assignedPoliceMap = new HashMap<>();
-        if (requestDto.isNeedPolice()) {
-            log.info("Police required: {} officers near [{}, {}]",
-                    requestDto.getRequestedPoliceCount(), requestDto.getLatitude(), requestDto.getLongitude());
-            assignedPoliceMap = assignPoliceOfficers(
-                    requestDto.getLatitude(),
-                    requestDto.getLongitude(),
-                    requestDto.getRequestedPoliceCount()
-            );
-
-
-
-            if (!assignedPoliceMap.isEmpty()) {
-                policeStatus = (calculateTotalOfficers(assignedPoliceMap) == requestDto.getRequestedPoliceCount())
-                        ? "FULLY_ASSIGNED"
-                        : "PARTIALLY_ASSIGNED";
-            }
-            log.info("Police assignment: {}", assignedPoliceMap.entrySet()
-                    .stream().map(e -> e.getKey().getStationName() + "=" + e.getValue()).toList());
+        if (!assignedPoliceMap.isEmpty()) {
+            policeStatus = (calculateTotalOfficers(assignedPoliceMap) == requestDto.getRequestedPoliceCount())
+                    ? "FULLY_ASSIGNED"
+                    : "PARTIALLY_ASSIGNED";
         }
+        log.info("Police assignment: {}", assignedPoliceMap.entrySet()
+                .stream().map(e -> e.getKey().getStationName() + "=" + e.getValue()).toList());
 
 
+        // ✅ Compute status messages
+        String ambStatus = DispatchUtils.ambulanceStatus(
+                assignedAmbulances.size(), requestDto.getRequestedAmbulanceCount()
+        );
+        String fireStatus = DispatchUtils.fireTruckStatus(
+                assignedFireTruckEntities.size(), requestDto.getRequestedFireTruckCount()
+        );
+        log.info("Ambulance assignment status {} || Fire brigade Assignment status{}",ambStatus,fireStatus);
+
+        return new Assignment(assignedAmbulances, assignedPoliceMap, assignedFireTruckEntities,
+                ambStatus, policeStatus, fireStatus);
+    }
 
+    /**
+     * Gives every unit and officer of an assignment back.
+     */
+    public void releaseAssignment(Assignment assignment) {
+        releaseAmbulances(assignment.ambulances());
+        releaseFireTrucks(assignment.fireTrucks());
+        policeReservations.releaseAll(assignment.police());
+    }
 
-        // 🔥 3. Assign fire trucks
-        List<FireTruckEntity> assignedFireTruckEntities = new ArrayList<>();
-        if (requestDto.isNeedFireBrigade()) {
-            log.info("Fire truck required: {} units near [{}, {}]",
-                    requestDto.getRequestedFireTruckCount(), requestDto.getLatitude(), requestDto.getLongitude());
-            assignedFireTruckEntities = findAvailableFireTrucks(
-                    requestDto.getLatitude(),
-                    requestDto.getLongitude(),
-                    requestDto.getRequestedFireTruckCount()
-            );
+    /**
+     * Puts the vehicles of a finished booking back into service. The hospital beds
+     * stay taken: the patients have been delivered.
+     */
+    public void releaseVehicles(List<AmbulanceEntity> ambulances, List<FireTruckEntity> fireTrucks) {
+        releaseAmbulances(ambulances == null ? List.of() : ambulances, false);
+        releaseFireTrucks(fireTrucks == null ? List.of() : fireTrucks);
+    }
 
-        }
+    public BookingResponseDto buildResponse(BookingRequestDto requestDto, Assignment assignment) {
+        log.info("Started building booking Response dto");
+
+        Map<String, Integer> policeDtoMap = assignment.police().entrySet().stream()
+                .collect(Collectors.toMap(
+                        e -> e.getKey().getStationName(),  // or getName()
+                        Map.Entry::getValue
+                ));
+
+        return BookingResponseDto.builder()
+                .issueType(requestDto.getIssueType())
+                .victimPhoneNumber(requestDto.isForSelf() ? null : requestDto.getVictimPhoneNumber())
+                .ambulanceStatus(assignment.ambulanceStatus())
+                .assignedAmbulances(assignment.ambulances()
+                        .stream()
+                        .map(AmbulanceDto::new)
+                        .collect(Collectors.toList()))
+                .policeStatus(assignment.policeStatus())
+                .assignedPoliceMap(policeDtoMap)
+                .fireTruckStatus(assignment.fireStatus())
+                .assignedFireTrucks(assignment.fireTrucks()
+                        .stream()
+                        .map(FireTruckDto::new)
+                        .toList()
+                )
+                .notes(String.format("Ambulances assigned %s, Police Assigned %s, Fire Trucks Assigned %s",
+                        assignment.ambulanceStatus(), assignment.policeStatus(), assignment.fireStatus()))
+                .build();
+    }
+
+    /**
+     * Async mode, step 1: stores the request as PENDING without any units.
+     *
+     * @return id of the new request
+     */
+    public Long createPendingRequest(BookingRequestDto requestDto, Long requestedById) {
+        return transactionTemplate.execute(tx -> {
+            AppUser requestedBy = userRepository.findById(requestedById)
+                    .orElseThrow(()->new RuntimeException("No suh user exist"));
+            EmergencyRequestEntity requestEntity = newRequestEntity(requestDto, requestedBy);
+            requestEntity.setAssignedAmbulances(new ArrayList<>());
+            requestEntity.setAssignedFireTruckEntities(new ArrayList<>());
+            requestEntity.setAssignedPoliceMap(new HashMap<>());
+            requestRepo.save(requestEntity);
+            journal.requestReceived(requestEntity.getId(), requestDto.getLatitude(), requestDto.getLongitude(),
+                    requestedUnits(requestDto));
+            demandForecast.recordRequest(requestEntity);
+            log.info("Pending emergency request saved with id {}", requestEntity.getId());
+            return requestEntity.getId();
+        });
+    }
 
+    /**
+     * Async mode, last step: attaches the assignment to the pending request and writes the booking log.
+     */
+    public void attachAssignment(Long requestId, Assignment assignment) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            EmergencyRequestEntity requestEntity = requestRepo.findById(requestId)
+                    .orElseThrow(() -> new RuntimeException("Booking not found: " + requestId));
+            requestEntity.setAssignedAmbulances(assignment.ambulances());
+            requestEntity.setAssignedFireTruckEntities(assignment.fireTrucks());
+            requestEntity.setAssignedPoliceMap(assignment.police());
+            assignPrimaryAmbulance(requestEntity);
+            requestRepo.save(requestEntity);
+            saveBookingLog(requestEntity, assignment);
+            journalAssignment(requestEntity.getId(), assignment);
+            startAcceptanceDeadlines(requestEntity.getId(), assignment);
+        });
+    }
 
+    public void markFailed(Long requestId) {
+        transactionTemplate.executeWithoutResult(tx -> requestRepo.findById(requestId).ifPresent(request -> {
+            request.setEmergencyRequestStatus(EmergencyRequestStatus.FAILED);
+            requestRepo.save(request);
+            journal.bookingStatus(requestId, EmergencyRequestStatus.FAILED);
+        }));
+    }
 
-        // 👮‍♂️ 4. Resolve user
+    private AppUser persistBooking(BookingRequestDto requestDto, Long requestedById, Assignment assignment) {
+        // 👮‍♂️ Resolve user
         AppUser requestedBy = userRepository.findById(requestedById)
                 .orElseThrow(()->new RuntimeException("No suh user exist"));
 
-        // 📌 5. Save Emergency Request
-        EmergencyRequestEntity requestEntity = EmergencyRequestEntity.builder()
+        // 📌 Save Emergency Request
+        EmergencyRequestEntity requestEntity = newRequestEntity(requestDto, requestedBy);
+        //fulfillment fro request
+        requestEntity.setAssignedAmbulances(assignment.ambulances());
+        requestEntity.setAssignedFireTruckEntities(assignment.fireTrucks());
+        requestEntity.setAssignedPoliceMap(assignment.police());
+        assignPrimaryAmbulance(requestEntity);
+
+        requestRepo.save(requestEntity);
+        log.info("Emergency Request saved with id:"+requestEntity.getId());
+        journal.requestReceived(requestEntity.getId(), requestDto.getLatitude(), requestDto.getLongitude(),
+                requestedUnits(requestDto));
+        demandForecast.recordRequest(requestEntity);
+
+        saveBookingLog(requestEntity, assignment);
+        journalAssignment(requestEntity.getId(), assignment);
+        startAcceptanceDeadlines(requestEntity.getId(), assignment);
+        return requestedBy;
+    }
+
+    /**
+     * The first assigned ambulance and its driver are the ones shown to the driver app.
+     */
+    private void assignPrimaryAmbulance(EmergencyRequestEntity requestEntity) {
+        List<AmbulanceEntity> ambulances = requestEntity.getAssignedAmbulances();
+        AmbulanceEntity primary = ambulances == null || ambulances.isEmpty() ? null : ambulances.get(0);
+        requestEntity.setAmbulance(primary);
+        requestEntity.setDriver(primary == null ? null : primary.getDriver());
+    }
+
+    private void startAcceptanceDeadlines(Long requestId, Assignment assignment) {
+        assignment.ambulances().forEach(amb -> acceptanceDeadlines.schedule(requestId, amb.getId(), List.of()));
+    }
+
+    private void journalAssignment(Long requestId, Assignment assignment) {
+        journal.bookingSaved(requestId);
+        assignment.ambulances().forEach(amb -> {
+            journal.unitClaimed(UnitType.AMBULANCE, amb.getId(), requestId);
+            incidentRouting.assigned(UnitType.AMBULANCE, amb.getId(), requestId);
+        });
+        assignment.fireTrucks().forEach(truck -> {
+            journal.unitClaimed(UnitType.FIRE_TRUCK, truck.getFireTruckId(), requestId);
+            incidentRouting.assigned(UnitType.FIRE_TRUCK, truck.getFireTruckId(), requestId);
+        });
+        assignment.police().forEach((station, officers) ->
+                journal.officersReserved(station.getId(), officers, requestId));
+    }
+
+    private int requestedUnits(BookingRequestDto requestDto) {
+        return (requestDto.isNeedAmbulance() ? requestDto.getRequestedAmbulanceCount() : 0)
+                + (requestDto.isNeedPolice() ? requestDto.getRequestedPoliceCount() : 0)
+                + (requestDto.isNeedFireBrigade() ? requestDto.getRequestedFireTruckCount() : 0);
+    }
+
+    private EmergencyRequestEntity newRequestEntity(BookingRequestDto requestDto, AppUser requestedBy) {
+        return EmergencyRequestEntity.builder()
                 //location
                 .latitude(requestDto.getLatitude())
                 .longitude(requestDto.getLongitude())
@@ -140,157 +386,353 @@ public class BookingServiceImpl implements BookingService {
                 .emergencyRequestStatus(EmergencyRequestStatus.PENDING)
                 .requestedBy(requestedBy)
                 .createdAt(Instant.now())
-                //fulfillment fro request
-                .assignedAmbulances(assignedAmbulances)
-                .assignedFireTruckEntities(assignedFireTruckEntities)
-                .assignedPoliceMap(assignedPoliceMap)
                 .build();
+    }
 
-        requestRepo.save(requestEntity);
-        log.info("Emergency Request saved with id:"+requestEntity.getId());
-
-        // 🧯 6. Update statuses
-        assignedAmbulances.forEach(amb -> {
-            amb.setStatus(AmbulanceStatus.EN_ROUTE);
-            amb.setLastUpdated(Instant.now());
-            ambulanceRepository.save(amb);
-        });
-
-        assignedFireTruckEntities.forEach(truck -> {
-            truck.setStatus(FireTruckStatus.EN_ROUTE);
-            truck.setLastUpdated(Instant.now());
-            fireTruckRepository.save(truck);
-        });
+    private void saveBookingLog(EmergencyRequestEntity requestEntity, Assignment assignment) {
+        // 📖 Booking log, written in batches after this transaction commits
+        Map<Long, Integer> policeByStation = new LinkedHashMap<>();
+        assignment.police().forEach((station, officers) -> policeByStation.put(station.getId(), officers));
+
+        bookingLogWriter.submit(new BookingLogEvent(
+                requestEntity.getId(),
+                assignment.statusMessage(),
+                Instant.now(),
+                assignment.ambulances().stream().map(AmbulanceEntity::getId).toList(),
+                policeByStation,
+                assignment.fireTrucks().stream().map(FireTruckEntity::getFireTruckId).toList()));
+        log.info("Booking log queued for request {}", requestEntity.getId());
+    }
 
-        log.info("Status update for each service");
+    /**
+     * Submits one search branch to the dispatch executor. Every claim inside a branch is
+     * its own short transaction, so no connection is held while a branch waits (e.g. on
+     * the batch dispatcher) and each claim frees its row locks independently.
+     */
+    private <T> CompletableFuture<T> dispatchBranch(Supplier<T> branch) {
+        return CompletableFuture.supplyAsync(branch, dispatchExecutor);
+    }
 
-        // Update police station availability
+    /**
+     * Waits for a branch until the shared deadline. A late result is handed back with
+     * {@code onLateResult}; a failed branch has already given back what it claimed.
+     */
+    private <T> T awaitBranch(String name, CompletableFuture<T> branch, long deadlineNanos, T fallback,
+                              Consumer<T> onLateResult) {
+        try {
+            return branch.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("{} branch did not answer within the {} ms budget, continuing without it", name, branchTimeoutMs);
+            branch.thenAccept(onLateResult);
+        } catch (ExecutionException e) {
+            log.error("{} branch failed, continuing without it", name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            branch.thenAccept(onLateResult);
+        }
+        return fallback;
+    }
 
+    /**
+     * Gives each dispatched ambulance a bed at the nearest hospital with free capacity
+     * as its destination. Ambulances stay without one if no hospital in range has a bed.
+     */
+    public void assignDestinations(double lat, double lng, List<AmbulanceEntity> ambulances) {
+        for (AmbulanceEntity ambulance : ambulances) {
+            hospitalCapacity.reserveNearest(lat, lng).ifPresent(hospital -> {
+                ambulance.setDestinationHospital(hospital);
+                ambulanceRepository.updateDestination(ambulance.getId(), hospital.getId());
+                log.info("Ambulance {} will take the patient to hospital {}", ambulance.getId(), hospital.getId());
+            });
+        }
+    }
 
+    private void releaseAmbulances(List<AmbulanceEntity> ambulances) {
+        releaseAmbulances(ambulances, true);
+    }
 
+    /**
+     * @param freeBeds give back the beds held at the destination hospitals (dispatch dropped)
+     */
+    private void releaseAmbulances(List<AmbulanceEntity> ambulances, boolean freeBeds) {
+        if (ambulances.isEmpty()) return;
+        ambulances.forEach(amb -> acceptanceDeadlines.cancel(amb.getId()));
+        ambulanceRepository.releaseByIds(ambulances.stream().map(AmbulanceEntity::getId).toList());
+        for (AmbulanceEntity amb : ambulances) {
+            if (freeBeds && amb.getDestinationHospital() != null) {
+                hospitalCapacity.release(amb.getDestinationHospital().getId());
+            }
+            amb.setDestinationHospital(null);
+        }
+        ambulances.forEach(amb -> markAvailable(UnitType.AMBULANCE, amb.getId(), amb.getLocation()));
+        ambulances.forEach(amb -> {
+            journal.unitReleased(UnitType.AMBULANCE, amb.getId());
+            incidentRouting.released(UnitType.AMBULANCE, amb.getId());
+        });
+        log.info("Released ambulances {}", ambulances.stream().map(AmbulanceEntity::getId).toList());
+    }
 
-        // ✅ 7. Compute status messages
-        String ambStatus = DispatchUtils.ambulanceStatus(
-                assignedAmbulances.size(), requestDto.getRequestedAmbulanceCount()
-        );
-        String fireStatus = DispatchUtils.fireTruckStatus(
-                assignedFireTruckEntities.size(), requestDto.getRequestedFireTruckCount()
-        );
-        log.info("Ambulance assignment status {} || Fire brigade Assignment status{}",ambStatus,fireStatus);
+    private void releaseFireTrucks(List<FireTruckEntity> trucks) {
+        if (trucks.isEmpty()) return;
+        fireTruckRepository.releaseByIds(trucks.stream().map(FireTruckEntity::getFireTruckId).toList());
+        trucks.forEach(truck -> markAvailable(UnitType.FIRE_TRUCK, truck.getFireTruckId(), truck.getLocation()));
+        trucks.forEach(truck -> {
+            journal.unitReleased(UnitType.FIRE_TRUCK, truck.getFireTruckId());
+            incidentRouting.released(UnitType.FIRE_TRUCK, truck.getFireTruckId());
+        });
+        log.info("Released fire trucks {}", trucks.stream().map(FireTruckEntity::getFireTruckId).toList());
+    }
 
+    /**
+     * Indexes a released unit where it last pinged; its row trails the ping by up to one
+     * write-behind round.
+     */
+    private void markAvailable(UnitType type, Long unitId, Point stored) {
+        locationIngest.latest(type, unitId).ifPresentOrElse(
+                p -> fleetIndex.markAvailable(type, unitId, p.latitude(), p.longitude()),
+                () -> {
+                    if (stored != null) fleetIndex.markAvailable(type, unitId, stored.getY(), stored.getX());
+                });
+    }
 
+    /**
+     * Claims the nearest available ambulances. In BATCHED mode the batch dispatcher
+     * plans the units first; otherwise (and for any shortfall) candidates come from
+     * the in-memory fleet index, or in PARTITIONED mode from the incident's dispatch
+     * cell, and are claimed atomically by id. Anything the index could not supply is
+     * claimed with one KNN query against PostGIS.
+     */
+    public List<AmbulanceEntity> findNearestAmbulances(double lat, double lng, int requiredCount) {
+        return findNearestAmbulances(lat, lng, requiredCount, Set.of());
+    }
 
+    /**
+     * @param excluded ambulances not to consider from the fleet index, e.g. drivers that let this request time out
+     */
+    public List<AmbulanceEntity> findNearestAmbulances(double lat, double lng, int requiredCount, Set<Long> excluded) {
+        List<AmbulanceEntity> assigned = new ArrayList<>();
+        try {
+            claimNearestAmbulances(lat, lng, requiredCount, excluded, assigned);
+        } catch (RuntimeException e) {
+            // give back what was claimed before the failure, the caller continues without these units
+            releaseAmbulances(assigned);
+            throw e;
+        }
+        log.info("Ambulances assigned: {}", assigned.stream().map(AmbulanceEntity::getId).toList());
+        return assigned;
+    }
 
+    private void claimNearestAmbulances(double lat, double lng, int requiredCount, Set<Long> excluded,
+                                        List<AmbulanceEntity> assigned) {
+        Set<Long> seen = new HashSet<>(excluded);
 
+        // re-dispatches with exclusions are single units and go straight to the index
+        if (batchDispatch.isBatched() && excluded.isEmpty()) {
+            List<Long> planned = batchDispatch.plan(UnitType.AMBULANCE, lat, lng, requiredCount,
+                    MAX_RADIUS_KM * 1000, branchTimeoutMs);
+            seen.addAll(planned);
+            assigned.addAll(claimAmbulances(planned));
+        }
 
-        // 📖 8. Booking log
-        BookingLogEntity logg = BookingLogEntity.builder()
-                .createdAt(Instant.now())
-                .statusMessage("Ambulance: " + ambStatus + ", Police: " + policeStatus+ ", Fire: " + fireStatus)
-                .emergencyRequest(requestEntity)
-                .assignedAmbulance(assignedAmbulances) // keep for now
-                .assignedFireTruckEntities(assignedFireTruckEntities)
-                .assignedPoliceMap(assignedPoliceMap)
-                .build();
+        for (int attempt = 0; attempt < MAX_INDEX_ATTEMPTS && assigned.size() < requiredCount; attempt++) {
+            List<Long> candidateIds = candidateIds(UnitType.AMBULANCE, lat, lng, requiredCount - assigned.size(), seen);
+            if (candidateIds.isEmpty()) {
+                break;
+            }
+            seen.addAll(candidateIds);
+            assigned.addAll(claimAmbulances(candidateIds));
+        }
 
-        BookingLogEntity savedLog = logRepo.save(logg);
-        log.info("Booking log saved with id {}",logg.getId());
+        if (assigned.size() < requiredCount) {
+            List<AmbulanceEntity> extra = ambulanceRepository.claimNearestAvailable(
+                    lat, lng, MAX_RADIUS_KM * 1000, requiredCount - assigned.size());
+            extra.forEach(amb -> fleetIndex.markUnavailable(UnitType.AMBULANCE, amb.getId()));
+            assigned.addAll(extra);
+        }
+    }
 
+    /**
+     * @return the ambulances actually claimed, in candidate order
+     */
+    private List<AmbulanceEntity> claimAmbulances(List<Long> candidateIds) {
+        if (candidateIds.isEmpty()) return List.of();
+        Map<Long, AmbulanceEntity> claimed = ambulanceRepository.claimByIds(candidateIds).stream()
+                .collect(Collectors.toMap(AmbulanceEntity::getId, a -> a));
+        List<AmbulanceEntity> ordered = new ArrayList<>();
+        for (Long id : candidateIds) {
+            // claimed by us, or stale / held by another dispatcher: either way no longer available
+            fleetIndex.markUnavailable(UnitType.AMBULANCE, id);
+            if (claimed.containsKey(id)) {
+                ordered.add(claimed.get(id));
+            } else {
+                log.warn("Ambulance {} could not be claimed, skipping", id);
+            }
+        }
+        return ordered;
+    }
 
+    public List<PoliceStationEntity> getStationsByProximity(double lat, double lng) {
+        return policeStationRepository.findAllByProximity(lat, lng);
+    }
 
+    public List<FireTruckEntity> findAvailableFireTrucks(double lat, double lng, int requiredCount) {
+        List<FireTruckEntity> assigned = new ArrayList<>();
+        try {
+            claimNearestFireTrucks(lat, lng, requiredCount, assigned);
+        } catch (RuntimeException e) {
+            releaseFireTrucks(assigned);
+            throw e;
+        }
+        log.info("Fire trucks assigned: {}", assigned.stream().map(FireTruckEntity::getFireTruckId).toList());
+        return assigned;
+    }
 
-        log.info("Started building booking Response dto");
+    private void claimNearestFireTrucks(double lat, double lng, int requiredCount, List<FireTruckEntity> assigned) {
+        Set<Long> seen = new HashSet<>();
 
-        Map<String, Integer> policeDtoMap = assignedPoliceMap.entrySet().stream()
-                .collect(Collectors.toMap(
-                        e -> e.getKey().getStationName(),  // or getName()
-                        Map.Entry::getValue
-                ));
+        if (batchDispatch.isBatched()) {
+            List<Long> planned = batchDispatch.plan(UnitType.FIRE_TRUCK, lat, lng, requiredCount,
+                    MAX_RADIUS_KM * 1000, branchTimeoutMs);
+            seen.addAll(planned);
+            assigned.addAll(claimFireTrucks(planned));
+        }
 
-        log.info("Booking process completed successfully for user {}. Returning response.", requestedBy.getUserEmail());
+        for (int attempt = 0; attempt < MAX_INDEX_ATTEMPTS && assigned.size() < requiredCount; attempt++) {
+            List<Long> candidateIds = candidateIds(UnitType.FIRE_TRUCK, lat, lng, requiredCount - assigned.size(), seen);
+            if (candidateIds.isEmpty()) {
+                break;
+            }
+            seen.addAll(candidateIds);
+            assigned.addAll(claimFireTrucks(candidateIds));
+        }
 
+        if (assigned.size() < requiredCount) {
+            List<FireTruckEntity> extra = fireTruckRepository.claimNearestAvailable(
+                    lat, lng, MAX_RADIUS_KM * 1000, requiredCount - assigned.size());
+            extra.forEach(truck -> fleetIndex.markUnavailable(UnitType.FIRE_TRUCK, truck.getFireTruckId()));
+            assigned.addAll(extra);
+        }
+    }
 
-        // 🧾 9. Build response
-        return BookingResponseDto.builder()
-                .issueType(requestDto.getIssueType())
-                .victimPhoneNumber(requestDto.isForSelf() ? null : requestDto.getVictimPhoneNumber())
-                .ambulanceStatus(ambStatus)
-                .assignedAmbulances(assignedAmbulances
-                        .stream()
-                        .map(AmbulanceDto::new)
-                        .collect(Collectors.toList()))
-                .policeStatus(policeStatus)
-                .assignedPoliceMap(policeDtoMap)
-                .fireTruckStatus(fireStatus)
-                .assignedFireTrucks(assignedFireTruckEntities
-                        .stream()
-                        .map(FireTruckDto::new)
-                        .toList()
-                )
-                .notes(String.format("Ambulances assigned %s, Police Assigned %s, Fire Trucks Assigned %s",
-                        ambStatus, policeStatus, fireStatus))
-                .build();
+    private List<FireTruckEntity> claimFireTrucks(List<Long> candidateIds) {
+        if (candidateIds.isEmpty()) return List.of();
+        Map<Long, FireTruckEntity> claimed = fireTruckRepository.claimByIds(candidateIds).stream()
+                .collect(Collectors.toMap(FireTruckEntity::getFireTruckId, t -> t));
+        List<FireTruckEntity> ordered = new ArrayList<>();
+        for (Long id : candidateIds) {
+            fleetIndex.markUnavailable(UnitType.FIRE_TRUCK, id);
+            if (claimed.containsKey(id)) {
+                ordered.add(claimed.get(id));
+            } else {
+                log.warn("Fire truck {} could not be claimed, skipping", id);
+            }
+        }
+        return ordered;
     }
 
-    public List<AmbulanceEntity> findNearestAmbulances(double lat, double lng, int requiredCount) {
-        List<AmbulanceEntity> assigned = new ArrayList<>();
+    private List<Long> candidateIds(UnitType type, double lat, double lng, int count, Set<Long> excluded) {
+        return batchDispatch.isPartitioned()
+                ? reservedCandidateIds(type, lat, lng, count, excluded)
+                : nearestCandidateIds(type, lat, lng, count, excluded);
+    }
 
-        for (int radius = 1000; radius <= MAX_RADIUS_KM * 1000; radius += 1000) {
-            List<AmbulanceEntity> ambulances = ambulanceRepository.findAvailableWithinRadius(lat, lng, radius);
-            System.out.println("🚑 Found " + ambulances.size() + " ambulances within radius " + radius);
-
-            for (AmbulanceEntity amb : ambulances) {
-                if (!assigned.contains(amb)) {
-                    assigned.add(amb);
-                    if (assigned.size() == requiredCount) {
-                        return assigned;
-                    }
-                }
-            }
+    /**
+     * Like {@link #nearestCandidateIds}, but the units come out of their dispatch cells
+     * already reserved for this booking, so no other booking is offered them. The
+     * ETA shortlist surplus goes straight back to the cells.
+     */
+    private List<Long> reservedCandidateIds(UnitType type, double lat, double lng, int count, Set<Long> excluded) {
+        boolean byEta = etaService.isReady();
+        int wanted = byEta ? count * etaCandidateFactor : count;
+        List<GeoGridIndex.Neighbour> reserved = partitions.reserve(type, lat, lng, wanted,
+                MAX_RADIUS_KM * 1000, excluded, branchTimeoutMs);
+        if (reserved.size() <= count) {
+            return reserved.stream().map(GeoGridIndex.Neighbour::unitId).toList();
         }
-        log.info("Ambulances assigned: {}", assigned.stream().map(AmbulanceEntity::getId).toList());
-        return assigned;
+        List<Long> kept = byEta
+                ? rankByEta(reserved, lat, lng).subList(0, count)
+                : reserved.stream().map(GeoGridIndex.Neighbour::unitId).limit(count).toList();
+        partitions.release(type, reserved.stream().filter(n -> !kept.contains(n.unitId())).toList());
+        return kept;
     }
 
-    public List<PoliceStationEntity> getStationsByProximity(double lat, double lng) {
-        return policeStationRepository.findAllByProximity(lat, lng);
+    /**
+     * Nearest units by straight line, or, once the road graph is loaded, a wider
+     * straight-line shortlist re-ranked by road travel time. The shortlist comes from
+     * the incident's coverage tile when the tile proves it exact, else from the index.
+     */
+    private List<Long> nearestCandidateIds(UnitType type, double lat, double lng, int count, Set<Long> excluded) {
+        boolean byEta = etaService.isReady();
+        int wanted = byEta ? count * etaCandidateFactor : count;
+        List<GeoGridIndex.Neighbour> nearby = coverageService.candidates(type, lat, lng, wanted,
+                MAX_RADIUS_KM * 1000, excluded);
+        if (nearby.size() < wanted) {
+            nearby = fleetIndex.nearest(type, lat, lng, wanted, MAX_RADIUS_KM * 1000, excluded);
+        }
+        if (!byEta || nearby.size() <= 1) {
+            return nearby.stream().map(GeoGridIndex.Neighbour::unitId).limit(count).toList();
+        }
+        return rankByEta(nearby, lat, lng).stream().limit(count).toList();
     }
 
-    public List<FireTruckEntity> findAvailableFireTrucks(double lat, double lng, int requiredCount) {
-        List<FireTruckEntity> assigned = new ArrayList<>();
-        for (int radius = 1000; radius <= MAX_RADIUS_KM * 1000; radius += 1000) {
-            List<FireTruckEntity> trucks = fireTruckRepository.findAvailableWithinRadius(lat, lng, radius);
-            System.out.println("🚑 Found " + trucks.size() + " ambulances within radius " + radius);
-            for (FireTruckEntity truck : trucks) {
-                if (!assigned.contains(truck)) {
-                    assigned.add(truck);
-                    if (assigned.size() == requiredCount) {
-                        return assigned;
-                    }
-                }
-            }
+    private List<Long> rankByEta(List<GeoGridIndex.Neighbour> candidates, double lat, double lng) {
+        double[] lats = new double[candidates.size()];
+        double[] lngs = new double[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            lats[i] = candidates.get(i).latitude();
+            lngs[i] = candidates.get(i).longitude();
         }
-        return assigned;
+        long[] eta = etaService.etaMillis(lats, lngs, lat, lng);
+
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        // units without a route keep their straight-line order behind the routable ones
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> eta[i] == EtaService.UNKNOWN ? Long.MAX_VALUE : eta[i])
+                .thenComparingInt(i -> i));
+        List<Long> ranked = new ArrayList<>(order.length);
+        for (Integer i : order) ranked.add(candidates.get(i).unitId());
+        return ranked;
     }
 
+    /**
+     * Walks the nearest stations a small page at a time and reserves officers from each
+     * until the count is covered. Only the stations actually needed are read, as
+     * projections; the map keys are id-only references for the booking tables.
+     */
     private Map<PoliceStationEntity, Integer> assignPoliceOfficers(double lat, double lng, int requiredCount) {
         Map<PoliceStationEntity, Integer> result = new LinkedHashMap<>();
+        try {
+            reservePoliceOfficers(lat, lng, requiredCount, result);
+        } catch (RuntimeException e) {
+            policeReservations.releaseAll(result);
+            throw e;
+        }
+        return result;
+    }
+
+    private void reservePoliceOfficers(double lat, double lng, int requiredCount, Map<PoliceStationEntity, Integer> result) {
         int remaining = requiredCount;
+        int skip = 0;
 
-        List<PoliceStationEntity> nearbyStations = policeStationRepository.findAllByProximity(lat, lng);
+        for (int page = 0; page < MAX_POLICE_PAGES && remaining > 0; page++) {
+            List<PoliceStationCandidate> stations = policeStationRepository.findNearestCovering(
+                    lat, lng, remaining, POLICE_PAGE_SIZE, skip);
+            if (stations.isEmpty()) break;
+            skip += stations.size();
 
-        for (PoliceStationEntity station : nearbyStations) {
-            int available = station.getAvailableOfficers();
-            if (available <= 0) continue;
+            for (PoliceStationCandidate station : stations) {
+                int reserved = policeReservations.reserve(station.getId(), remaining);
+                if (reserved <= 0) continue;
 
-            int toAssign = Math.min(available, remaining);
-            result.put(station, toAssign);
-            remaining -= toAssign;
+                result.put(PoliceStationEntity.builder()
+                        .id(station.getId())
+                        .stationName(station.getStationName())
+                        .build(), reserved);
+                remaining -= reserved;
 
-            if (remaining <= 0) break;
+                if (remaining <= 0) break;
+            }
         }
-
-        return result;
     }
 
     private int calculateTotalOfficers(Map<PoliceStationEntity, Integer> map) {
@@ -328,14 +770,28 @@ public class BookingServiceImpl implements BookingService {
         if (!entity.getRequestedBy().getUserId().equals(userId)) {
             throw  new AccessDeniedException("You are now owner of this request");
         }
+        BookingResponseDto deleted = mapToDetailedDto(entity);
+        List<AmbulanceEntity> ambulances = new ArrayList<>(nullSafe(entity.getAssignedAmbulances()));
+        List<FireTruckEntity> fireTrucks = new ArrayList<>(nullSafe(entity.getAssignedFireTruckEntities()));
+        // closed first, conditionally: a complete or delete racing this one then releases nothing twice
+        boolean open = requestRepo.completeIfOpen(bookingId, EmergencyRequestStatus.COMPLETED, Instant.now()) == 1;
         requestRepo.delete(entity);
-
-        return mapToDetailedDto(requestRepo.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not Found")));
+        if (open) {
+            // nobody is taken anywhere: units back into service and the index, beds given back,
+            // positions no longer routed to the deleted incident's topic
+            policeReservations.releaseAll(entity.getAssignedPoliceMap());
+            releaseAmbulances(ambulances, true);
+            releaseFireTrucks(fireTrucks);
+        }
+        return deleted;
     }
 
 
 
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
     private  BookingSummeryDto mapToSummaryDto(EmergencyRequestEntity entity){
 
         return BookingSummeryDto.builder()
@@ -354,7 +810,7 @@ public class BookingServiceImpl implements BookingService {
                 .ambulanceStatus(DispatchUtils.ambulanceStatus(entity.getAssignedAmbulances().size(), entity.getRequestedAmbulancesCount()))
                 .assignedAmbulances(entity.getAssignedAmbulances()
                         .stream()
-                        .map(AmbulanceDto::new)
+                        .map(this::liveAmbulanceDto)
                         .collect(Collectors.toList())) // or map to DTOs if you prefer
                 .policeStatus(DispatchUtils.policeStatus(
                         entity.getAssignedPoliceMap().values().stream().mapToInt(i -> i).sum(),
@@ -367,12 +823,30 @@ public class BookingServiceImpl implements BookingService {
                 .fireTruckStatus(DispatchUtils.fireTruckStatus(
                         entity.getAssignedFireTruckEntities().size(), entity.getRequestedFireTruckCount()))
                 .assignedFireTrucks(entity.getAssignedFireTruckEntities().stream()
-                        .map(FireTruckDto::new)
+                        .map(this::liveFireTruckDto)
                         .collect(Collectors.toList()))
                 .notes(entity.getNotes())
                 .build();
     }
 
+    private AmbulanceDto liveAmbulanceDto(AmbulanceEntity entity) {
+        AmbulanceDto dto = new AmbulanceDto(entity);
+        locationIngest.latest(UnitType.AMBULANCE, entity.getId()).ifPresent(p -> {
+            dto.setLatitude(p.latitude());
+            dto.setLongitude(p.longitude());
+        });
+        return dto;
+    }
+
+    private FireTruckDto liveFireTruckDto(FireTruckEntity entity) {
+        FireTruckDto dto = new FireTruckDto(entity);
+        locationIngest.latest(UnitType.FIRE_TRUCK, entity.getFireTruckId()).ifPresent(p -> {
+            dto.setLatitude(p.latitude());
+            dto.setLongitude(p.longitude());
+        });
+        return dto;
+    }
+
 
 
 
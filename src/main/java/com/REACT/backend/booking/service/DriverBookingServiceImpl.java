@@ -3,21 +3,62 @@ package com.REACT.backend.booking.service;
 import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
 import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
 import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
+import com.REACT.backend.booking.model.AcceptanceExpiredEvent;
 import com.REACT.backend.booking.model.EmergencyRequestEntity;
 import com.REACT.backend.booking.model.EmergencyRequestStatus;
 import com.REACT.backend.booking.repository.EmergencyRequestRepository;
+import com.REACT.backend.dispatch.service.DispatchJournalService;
+import com.REACT.backend.dispatch.service.FleetIndexService;
+import com.REACT.backend.hospitalService.model.Hospital;
+import com.REACT.backend.hospitalService.service.HospitalCapacityService;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.locationService.service.IncidentRoutingService;
+import com.REACT.backend.locationService.service.LocationIngestService;
+import com.REACT.backend.policeService.model.PoliceStationEntity;
+import com.REACT.backend.policeService.service.PoliceReservationService;
+import com.REACT.backend.users.AppUser;
+import com.REACT.backend.users.repository.FireTruckDriverRepository;
+import com.REACT.backend.users.repository.PoliceOfficerRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DriverBookingServiceImpl {
+
+    private static final EnumSet<EmergencyRequestStatus> AWAITING_DRIVER = EnumSet.of(
+            EmergencyRequestStatus.PENDING, EmergencyRequestStatus.PARTIALLY_ASSIGNED,
+            EmergencyRequestStatus.ACCEPTED, EmergencyRequestStatus.IN_PROGRESS);
+
     private final EmergencyRequestRepository requestRepo;
     private final AmbulanceRepository ambulanceRepository;
+    private final FleetIndexService fleetIndex;
+    private final PoliceReservationService policeReservations;
+    private final DispatchJournalService journal;
+    private final AcceptanceDeadlineService acceptanceDeadlines;
+    private final BookingServiceImpl bookingService;
+    private final HospitalCapacityService hospitalCapacity;
+    private final IncidentRoutingService incidentRouting;
+    private final LocationIngestService locationIngest;
+    private final FireTruckDriverRepository fireTruckDriverRepository;
+    private final PoliceOfficerRepository policeOfficerRepository;
+
+    @Value("${dispatch.acceptance.max-reassignments:3}")
+    private int maxReassignments;
 
     /**
      * Driver accepts a booking: updates ambulance & request status.
@@ -29,35 +70,172 @@ public class DriverBookingServiceImpl {
                 .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
 
         // check assigned ambulance & driver
-        AmbulanceEntity ambulance = request.getAmbulance();
+        List<AmbulanceEntity> assigned = request.getAssignedAmbulances() == null || request.getAssignedAmbulances().isEmpty()
+                ? (request.getAmbulance() == null ? List.of() : List.of(request.getAmbulance()))
+                : request.getAssignedAmbulances();
 
-        if (ambulance == null) {
+        if (assigned.isEmpty()) {
             throw new RuntimeException("No ambulance assigned to this request.");
         }
 
-        if (ambulance.getDriver() == null || !ambulance.getDriver().getUserId().equals(driverId)) {
-            throw new RuntimeException("This booking is not assigned to this driver.");
-        }
+        AmbulanceEntity ambulance = assigned.stream()
+                .filter(amb -> amb.getDriver() != null && amb.getDriver().getUserId().equals(driverId))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("This booking is not assigned to this driver."));
 
-        if (!ambulance.getStatus().equals(AmbulanceStatus.PENDING_ACCEPTANCE)) {
+        // conditional update: loses cleanly against an acceptance deadline that already released the unit
+        if (ambulanceRepository.acceptIfPending(ambulance.getId()) == 0) {
             throw new RuntimeException("Booking is not in PENDING_ACCEPTANCE state.");
         }
-
-        // update ambulance & request
-        ambulance.setStatus(AmbulanceStatus.EN_ROUTE);
-        ambulance.setLastUpdated(Instant.now());
-        ambulanceRepository.save(ambulance);
+        acceptanceDeadlines.cancel(ambulance.getId());
+        fleetIndex.markUnavailable(UnitType.AMBULANCE, ambulance.getId());
 
         request.setEmergencyRequestStatus(EmergencyRequestStatus.IN_PROGRESS);
         requestRepo.save(request);
+        journal.bookingStatus(bookingId, EmergencyRequestStatus.IN_PROGRESS);
+    }
+
+    /**
+     * Marks a booking as completed and returns its vehicles and police officers to service.
+     * Only a driver of one of its vehicles or an officer of one of its stations may do so.
+     */
+    @Transactional
+    public void completeBooking(Long bookingId, AppUser caller) {
+        EmergencyRequestEntity request = requestRepo.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
+        if (!isAssigned(request, caller)) {
+            throw new AccessDeniedException("This booking is not assigned to you.");
+        }
+
+        // conditional so a second complete, or a delete racing this one, releases nothing
+        if (requestRepo.completeIfOpen(bookingId, EmergencyRequestStatus.COMPLETED, Instant.now()) == 0) {
+            throw new RuntimeException("Booking is already completed.");
+        }
+        journal.bookingStatus(bookingId, EmergencyRequestStatus.COMPLETED);
+        policeReservations.releaseAll(request.getAssignedPoliceMap());
+        bookingService.releaseVehicles(request.getAssignedAmbulances(), request.getAssignedFireTruckEntities());
+    }
+
+    private boolean isAssigned(EmergencyRequestEntity request, AppUser caller) {
+        return switch (caller.getRole()) {
+            case AMBULANCE_DRIVER -> request.getAssignedAmbulances() != null && request.getAssignedAmbulances().stream()
+                    .anyMatch(amb -> amb.getDriver() != null && amb.getDriver().getUserId().equals(caller.getUserId()));
+            case FIRE_DRIVER -> request.getAssignedFireTruckEntities() != null && fireTruckDriverRepository.findByDriver(caller)
+                    .map(driver -> driver.getFireTruckEntity().getFireTruckId())
+                    .map(truckId -> request.getAssignedFireTruckEntities().stream()
+                            .anyMatch(truck -> truck.getFireTruckId().equals(truckId)))
+                    .orElse(false);
+            case POLICE_OFFICER -> request.getAssignedPoliceMap() != null && policeOfficerRepository.findByPoliceOfficer(caller)
+                    .map(officer -> officer.getPoliceStation().getId())
+                    .map(stationId -> request.getAssignedPoliceMap().keySet().stream()
+                            .map(PoliceStationEntity::getId)
+                            .anyMatch(stationId::equals))
+                    .orElse(false);
+            default -> false;
+        };
+    }
+
+    /**
+     * The driver did not accept in time: the ambulance goes back to the pool and the
+     * next nearest one (never one that already timed out on this request) takes its
+     * place, up to {@code dispatch.acceptance.max-reassignments} times.
+     */
+    @EventListener
+    @Transactional
+    public void onAcceptanceExpired(AcceptanceExpiredEvent event) {
+        Long ambulanceId = event.ambulanceId();
+        // read before the release clears the destination
+        AmbulanceEntity expired = ambulanceRepository.findById(ambulanceId).orElse(null);
+        Hospital destination = expired == null ? null : expired.getDestinationHospital();
+        if (ambulanceRepository.releaseIfPending(ambulanceId) == 0) {
+            return; // accepted or released in the meantime
+        }
+        afterCommit(() -> {
+            journal.unitReleased(UnitType.AMBULANCE, ambulanceId);
+            incidentRouting.released(UnitType.AMBULANCE, ambulanceId);
+            if (destination != null) {
+                hospitalCapacity.release(destination.getId());
+            }
+            // the row trails the last ping by one flush interval
+            locationIngest.latest(UnitType.AMBULANCE, ambulanceId).ifPresentOrElse(
+                    p -> fleetIndex.markAvailable(UnitType.AMBULANCE, ambulanceId, p.latitude(), p.longitude()),
+                    () -> {
+                        if (expired != null && expired.getLocation() != null) {
+                            fleetIndex.markAvailable(UnitType.AMBULANCE, ambulanceId,
+                                    expired.getLocation().getY(), expired.getLocation().getX());
+                        }
+                    });
+        });
+
+        EmergencyRequestEntity request = requestRepo.findById(event.requestId()).orElse(null);
+        if (request == null
+                || request.getEmergencyRequestStatus() == EmergencyRequestStatus.COMPLETED
+                || request.getEmergencyRequestStatus() == EmergencyRequestStatus.FAILED) {
+            return;
+        }
+
+        List<AmbulanceEntity> ambulances = new ArrayList<>(request.getAssignedAmbulances());
+        ambulances.removeIf(amb -> amb.getId().equals(ambulanceId));
+
+        List<Long> declined = new ArrayList<>(event.declinedBefore());
+        declined.add(ambulanceId);
+        if (declined.size() <= maxReassignments) {
+            List<AmbulanceEntity> replacement = bookingService.findNearestAmbulances(
+                    request.getLatitude(), request.getLongitude(), 1, new HashSet<>(declined));
+            bookingService.assignDestinations(request.getLatitude(), request.getLongitude(), replacement);
+            for (AmbulanceEntity amb : replacement) {
+                ambulances.add(amb);
+                afterCommit(() -> {
+                    journal.unitClaimed(UnitType.AMBULANCE, amb.getId(), request.getId());
+                    incidentRouting.assigned(UnitType.AMBULANCE, amb.getId(), request.getId());
+                });
+                // defers itself to the commit (a synchronization registered inside afterCommit never runs)
+                acceptanceDeadlines.schedule(request.getId(), amb.getId(), declined);
+            }
+            log.info("Request {}: ambulance {} timed out, re-dispatched to {}", request.getId(), ambulanceId,
+                    replacement.stream().map(AmbulanceEntity::getId).toList());
+        } else {
+            log.warn("Request {}: ambulance {} timed out, {} drivers already declined, not re-dispatching",
+                    request.getId(), ambulanceId, declined.size());
+        }
+
+        request.setAssignedAmbulances(ambulances);
+        if (request.getAmbulance() == null || request.getAmbulance().getId().equals(ambulanceId)) {
+            AmbulanceEntity primary = ambulances.isEmpty() ? null : ambulances.get(0);
+            request.setAmbulance(primary);
+            request.setDriver(primary == null ? null : primary.getDriver());
+        }
+        if (ambulances.isEmpty() && request.getEmergencyRequestStatus() == EmergencyRequestStatus.PENDING) {
+            request.setEmergencyRequestStatus(EmergencyRequestStatus.PARTIALLY_ASSIGNED);
+            afterCommit(() -> journal.bookingStatus(request.getId(), EmergencyRequestStatus.PARTIALLY_ASSIGNED));
+        }
+        requestRepo.save(request);
+    }
+
+    /**
+     * Runs the action once the surrounding transaction commits, so a rolled-back expiry
+     * leaves the fleet index, journal, routing and deadlines untouched; right away if
+     * there is no transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
-     * Get all pending requests assigned to a driver.
+     * Open requests where one of the driver's ambulances is waiting for the driver to accept.
+     * Matched through the assigned ambulances rather than {@code request.driver}, which only
+     * names the primary ambulance's driver.
      */
     public List<EmergencyRequestEntity> getPendingRequestsForDriver(Long driverId) {
-        return requestRepo.findByDriver_UserIdAndEmergencyRequestStatus(
-                driverId,
-                EmergencyRequestStatus.PENDING);
+        return requestRepo.findAwaitingDriver(driverId, AmbulanceStatus.PENDING_ACCEPTANCE, AWAITING_DRIVER);
     }
 }
\ No newline at end of file
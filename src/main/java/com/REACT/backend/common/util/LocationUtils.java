@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 public class LocationUtils {
 
     private static final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
 
     public Point createPoint(double latitude, double longitude) {
         log.info("Location conversion request for latitude={} and longitude={} fetched",latitude,longitude);
@@ -16,4 +17,16 @@ public class LocationUtils {
         log.info("Location converted to point: {}",conversion.toString());
         return conversion;
     }
+
+    /**
+     * Great-circle (haversine) distance, good enough to rank units inside a city.
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
 }
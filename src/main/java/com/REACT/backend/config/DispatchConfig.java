@@ -0,0 +1,105 @@
+package com.REACT.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class DispatchConfig {
+
+    /**
+     * Runs the per-service search branches of a booking (ambulance, police, fire) in parallel.
+     * Kept small on purpose: every branch holds a DB connection while it claims.
+     */
+    @Bean(name = "dispatchExecutor")
+    public ThreadPoolTaskExecutor dispatchExecutor(
+            @Value("${dispatch.executor.core-pool-size:3}") int corePoolSize,
+            @Value("${dispatch.executor.max-pool-size:6}") int maxPoolSize,
+            @Value("${dispatch.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dispatch-");
+        // when saturated the booking thread runs the branch itself instead of failing the booking
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs asynchronous bookings after they have been acknowledged. Separate from the
+     * dispatch pool because each pipeline waits on its own dispatch branches.
+     */
+    @Bean(name = "bookingPipelineExecutor")
+    public ThreadPoolTaskExecutor bookingPipelineExecutor(
+            @Value("${booking.pipeline.core-pool-size:4}") int corePoolSize,
+            @Value("${booking.pipeline.max-pool-size:8}") int maxPoolSize,
+            @Value("${booking.pipeline.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("booking-pipeline-");
+        // saturated: the request thread runs the pipeline itself, i.e. degrades to synchronous
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Handles expired driver-acceptance deadlines (release + re-dispatch) off the timer thread.
+     */
+    @Bean(name = "acceptanceExpiryExecutor")
+    public ThreadPoolTaskExecutor acceptanceExpiryExecutor(
+            @Value("${dispatch.acceptance.core-pool-size:2}") int corePoolSize,
+            @Value("${dispatch.acceptance.max-pool-size:4}") int maxPoolSize,
+            @Value("${dispatch.acceptance.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("acceptance-");
+        // saturated: the timer thread handles the expiry itself; later deadlines fire late, none are lost
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs the {@code @Scheduled} jobs: write-behind flushes, journal fsync, forecast,
+     * retention. Declared by name so it stays the default next to the STOMP broker's own
+     * scheduler and {@link #frameScheduler}.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        // the last write-behind flush still runs when the app stops
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * Runs only the location/viewport frame ticks, so a slow JDBC flush on
+     * {@link #taskScheduler} never delays a frame.
+     */
+    @Bean(name = "frameScheduler")
+    public ThreadPoolTaskScheduler frameScheduler(@Value("${location.frame-scheduler.pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("frames-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
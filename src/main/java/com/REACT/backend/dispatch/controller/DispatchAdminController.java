@@ -0,0 +1,51 @@
+package com.REACT.backend.dispatch.controller;
+
+import com.REACT.backend.dispatch.dto.CoverageCellDto;
+import com.REACT.backend.dispatch.model.DispatchMode;
+import com.REACT.backend.dispatch.service.BatchDispatchService;
+import com.REACT.backend.dispatch.service.CoverageService;
+import com.REACT.backend.locationService.model.UnitType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/dispatch/admin")
+@RequiredArgsConstructor
+public class DispatchAdminController {
+
+    private final BatchDispatchService batchDispatchService;
+    private final CoverageService coverageService;
+
+    @PreAuthorize("hasRole('FIRE_STATION_ADMIN')")
+    @GetMapping("/mode")
+    public ResponseEntity<DispatchMode> getMode() {
+        return ResponseEntity.ok(batchDispatchService.getMode());
+    }
+
+    // Switch between GREEDY, BATCHED and PARTITIONED dispatch at runtime
+    @PreAuthorize("hasRole('FIRE_STATION_ADMIN')")
+    @PutMapping("/mode/{mode}")
+    public ResponseEntity<DispatchMode> setMode(@PathVariable DispatchMode mode) {
+        log.info("Dispatch mode change to {} requested", mode);
+        batchDispatchService.setMode(mode);
+        return ResponseEntity.ok(batchDispatchService.getMode());
+    }
+
+    // Cells in the box that no available unit of this type can reach within maxDistanceMeters
+    @PreAuthorize("hasRole('FIRE_STATION_ADMIN')")
+    @GetMapping("/coverage/gaps")
+    public ResponseEntity<List<CoverageCellDto>> getCoverageGaps(@RequestParam UnitType type,
+                                                                 @RequestParam double minLat,
+                                                                 @RequestParam double minLng,
+                                                                 @RequestParam double maxLat,
+                                                                 @RequestParam double maxLng,
+                                                                 @RequestParam(defaultValue = "3000") double maxDistanceMeters) {
+        return ResponseEntity.ok(coverageService.gaps(type, minLat, minLng, maxLat, maxLng, maxDistanceMeters));
+    }
+}
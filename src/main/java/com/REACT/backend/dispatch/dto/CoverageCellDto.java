@@ -0,0 +1,14 @@
+package com.REACT.backend.dispatch.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CoverageCellDto {
+
+    private double latitude;   // cell centre
+    private double longitude;
+    private int unitCount;     // available units within the coverage radius, capped at k
+    private Double nearestMeters; // null when no unit is within the coverage radius
+}
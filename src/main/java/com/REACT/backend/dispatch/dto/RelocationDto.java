@@ -0,0 +1,17 @@
+package com.REACT.backend.dispatch.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RelocationDto {
+
+    private Long unitId;
+    private double fromLatitude;
+    private double fromLongitude;
+    private double toLatitude;    // centre of the demand cell to wait in
+    private double toLongitude;
+    private double moveMeters;
+    private double gainMeters;    // drop in expected response distance from this move
+}
@@ -0,0 +1,21 @@
+package com.REACT.backend.dispatch.dto;
+
+import com.REACT.backend.locationService.model.UnitType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+public class RelocationPlanDto {
+
+    private UnitType unitType;
+    private int hourOfWeek;                 // forecast hour, 0 = Monday 00:00 local time
+    private Instant computedAt;
+    private int availableUnits;
+    private double expectedDistanceMeters;  // demand-weighted distance to the nearest unit now
+    private double expectedDistanceAfterMeters;
+    private List<RelocationDto> relocations;
+}
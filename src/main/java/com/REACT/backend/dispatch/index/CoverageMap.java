@@ -0,0 +1,166 @@
+package com.REACT.backend.dispatch.index;
+
+import com.REACT.backend.common.util.LocationUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed answer to "which units are closest" for every grid cell of the
+ * service area: each tile holds the k nearest available units to the cell centre.
+ *
+ * A tile exists exactly for the cells that have at least one unit within the
+ * coverage radius, so a missing tile is a coverage gap. Tiles are immutable and
+ * swapped atomically; reads are lock-free. Updates must come from a single thread.
+ */
+public class CoverageMap {
+
+    private final double cellSizeDeg;
+    private final int k;
+    private final double radiusMeters;
+
+    private final ConcurrentHashMap<Long, Tile> tiles = new ConcurrentHashMap<>();
+
+    /**
+     * unit id → cells whose tile lists it; writer thread only
+     */
+    private final Map<Long, Set<Long>> listedIn = new HashMap<>();
+
+    public CoverageMap(double cellSizeDeg, int k, double radiusMeters) {
+        if (cellSizeDeg <= 0 || k <= 0 || radiusMeters <= 0) {
+            throw new IllegalArgumentException("Cell size, k and radius must be positive");
+        }
+        this.cellSizeDeg = cellSizeDeg;
+        this.k = k;
+        this.radiusMeters = radiusMeters;
+    }
+
+    /**
+     * @param units nearest first, distances measured to the cell centre
+     */
+    public record Tile(long cell, double centreLatitude, double centreLongitude, List<GeoGridIndex.Neighbour> units) {
+
+        double kthDistance(int k) {
+            return units.size() < k ? Double.POSITIVE_INFINITY : units.get(k - 1).distanceMeters();
+        }
+    }
+
+    public Tile tileAt(double latitude, double longitude) {
+        return tiles.get(GeoGridIndex.key(row(latitude), col(longitude)));
+    }
+
+    public Tile tile(int row, int col) {
+        return tiles.get(GeoGridIndex.key(row, col));
+    }
+
+    public Collection<Tile> tiles() {
+        return tiles.values();
+    }
+
+    /**
+     * Re-evaluates every tile the unit is listed in or could now enter, reading
+     * current positions from {@code units}. Call after the unit moved, appeared
+     * or disappeared from the index.
+     */
+    public void refresh(GeoGridIndex units, long unitId) {
+        Set<Long> listed = listedIn.remove(unitId);
+        if (listed != null) {
+            // the unit may have left or moved away; rebuild those tiles from the index
+            for (Long cell : listed) {
+                recompute(units, cell);
+            }
+        }
+
+        GeoGridIndex.UnitPosition position = units.get(unitId);
+        if (position == null) {
+            return;
+        }
+        double dLat = Math.toDegrees(radiusMeters / LocationUtils.EARTH_RADIUS_METERS);
+        double dLng = dLat / Math.max(0.01, Math.cos(Math.toRadians(position.latitude())));
+        for (int r = row(position.latitude() - dLat); r <= row(position.latitude() + dLat); r++) {
+            for (int c = col(position.longitude() - dLng); c <= col(position.longitude() + dLng); c++) {
+                double centreLat = centre(r);
+                double centreLng = centre(c);
+                double distance = LocationUtils.distanceMeters(centreLat, centreLng,
+                        position.latitude(), position.longitude());
+                if (distance > radiusMeters) continue;
+
+                long cell = GeoGridIndex.key(r, c);
+                Tile tile = tiles.get(cell);
+                if (tile == null || distance < tile.kthDistance(k)) {
+                    insert(cell, centreLat, centreLng, tile,
+                            new GeoGridIndex.Neighbour(unitId, position.latitude(), position.longitude(), distance));
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        tiles.clear();
+        listedIn.clear();
+    }
+
+    public double getCellSizeDeg() {
+        return cellSizeDeg;
+    }
+
+    public int row(double latitude) {
+        return (int) Math.floor(latitude / cellSizeDeg);
+    }
+
+    public int col(double longitude) {
+        return (int) Math.floor(longitude / cellSizeDeg);
+    }
+
+    public double centre(int rowOrCol) {
+        return (rowOrCol + 0.5) * cellSizeDeg;
+    }
+
+    private void insert(long cell, double centreLat, double centreLng, Tile tile, GeoGridIndex.Neighbour unit) {
+        List<GeoGridIndex.Neighbour> units = new ArrayList<>(k + 1);
+        if (tile != null) {
+            for (GeoGridIndex.Neighbour n : tile.units()) {
+                if (n.unitId() != unit.unitId()) units.add(n);
+            }
+        }
+        units.add(unit);
+        units.sort(Comparator.comparingDouble(GeoGridIndex.Neighbour::distanceMeters));
+        if (units.size() > k) {
+            GeoGridIndex.Neighbour evicted = units.remove(k);
+            unlist(evicted.unitId(), cell);
+        }
+        tiles.put(cell, new Tile(cell, centreLat, centreLng, List.copyOf(units)));
+        listedIn.computeIfAbsent(unit.unitId(), id -> new HashSet<>()).add(cell);
+    }
+
+    private void recompute(GeoGridIndex units, long cell) {
+        int r = (int) (cell >> 32);
+        int c = (int) cell;
+        double centreLat = centre(r);
+        double centreLng = centre(c);
+        List<GeoGridIndex.Neighbour> nearest = units.nearest(centreLat, centreLng, k, radiusMeters, Set.of());
+
+        Tile previous = nearest.isEmpty()
+                ? tiles.remove(cell)
+                : tiles.put(cell, new Tile(cell, centreLat, centreLng, List.copyOf(nearest)));
+        if (previous != null) {
+            previous.units().forEach(n -> unlist(n.unitId(), cell));
+        }
+        nearest.forEach(n -> listedIn.computeIfAbsent(n.unitId(), id -> new HashSet<>()).add(cell));
+    }
+
+    private void unlist(long unitId, long cell) {
+        Set<Long> cells = listedIn.get(unitId);
+        if (cells != null) {
+            cells.remove(cell);
+            if (cells.isEmpty()) listedIn.remove(unitId);
+        }
+    }
+}
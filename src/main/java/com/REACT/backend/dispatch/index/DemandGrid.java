@@ -0,0 +1,101 @@
+package com.REACT.backend.dispatch.index;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Request counts per lat/lng cell and hour of the week (Monday 00:00 is hour 0).
+ *
+ * Filled once from the request history and then bumped for every new booking;
+ * counts are only ever added, so readers need no locking.
+ */
+public class DemandGrid {
+
+    public static final int HOURS_PER_WEEK = 7 * 24;
+
+    private final double cellSizeDeg;
+
+    /**
+     * cell key → requests per hour of the week
+     */
+    private final ConcurrentHashMap<Long, AtomicLongArray> cells = new ConcurrentHashMap<>();
+
+    public DemandGrid(double cellSizeDeg) {
+        if (cellSizeDeg <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSizeDeg);
+        }
+        this.cellSizeDeg = cellSizeDeg;
+    }
+
+    /**
+     * @param weight expected requests of the cell in the forecast hour, in the grid's own units (counts)
+     */
+    public record CellDemand(double latitude, double longitude, double weight) {
+    }
+
+    public void add(double latitude, double longitude, int hourOfWeek, long count) {
+        addCell(row(latitude), col(longitude), hourOfWeek, count);
+    }
+
+    public void addCell(int row, int col, int hourOfWeek, long count) {
+        cells.computeIfAbsent(GeoGridIndex.key(row, col), c -> new AtomicLongArray(HOURS_PER_WEEK))
+                .addAndGet(Math.floorMod(hourOfWeek, HOURS_PER_WEEK), count);
+    }
+
+    /**
+     * Demand of every cell for one hour, smoothed with its neighbouring hours (1-2-1)
+     * so a single busy hour in the history does not dominate.
+     *
+     * @return at most {@code maxCells} cells with demand, heaviest first
+     */
+    public List<CellDemand> demandAt(int hourOfWeek, int maxCells) {
+        int hour = Math.floorMod(hourOfWeek, HOURS_PER_WEEK);
+        int before = Math.floorMod(hour - 1, HOURS_PER_WEEK);
+        int after = Math.floorMod(hour + 1, HOURS_PER_WEEK);
+
+        List<CellDemand> demand = new ArrayList<>();
+        cells.forEach((key, counts) -> {
+            double weight = 0.25 * counts.get(before) + 0.5 * counts.get(hour) + 0.25 * counts.get(after);
+            if (weight > 0) {
+                demand.add(new CellDemand(centre((int) (key >> 32)), centre((int) (long) key), weight));
+            }
+        });
+        demand.sort(Comparator.comparingDouble(CellDemand::weight).reversed());
+        return demand.size() > maxCells ? new ArrayList<>(demand.subList(0, maxCells)) : demand;
+    }
+
+    public int cellCount() {
+        return cells.size();
+    }
+
+    public void clear() {
+        cells.clear();
+    }
+
+    public double getCellSizeDeg() {
+        return cellSizeDeg;
+    }
+
+    public int row(double latitude) {
+        return (int) Math.floor(latitude / cellSizeDeg);
+    }
+
+    public int col(double longitude) {
+        return (int) Math.floor(longitude / cellSizeDeg);
+    }
+
+    public double centre(int rowOrCol) {
+        return (rowOrCol + 0.5) * cellSizeDeg;
+    }
+
+    public static int hourOfWeek(Instant instant, ZoneId zone) {
+        ZonedDateTime local = instant.atZone(zone);
+        return (local.getDayOfWeek().getValue() - 1) * 24 + local.getHour();
+    }
+}
@@ -0,0 +1,253 @@
+package com.REACT.backend.dispatch.index;
+
+import com.REACT.backend.common.util.LocationUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Uniform lat/lng grid over unit positions.
+ *
+ * Each unit lives in exactly one cell; a k-nearest query walks rings of cells
+ * outwards from the query cell and stops as soon as the next ring cannot hold
+ * anything closer than the current k-th best match.
+ */
+public class GeoGridIndex {
+
+    private static final double METERS_PER_DEGREE = 111_320d;
+
+    private final double cellSizeDeg;
+
+    /**
+     * cell key → ids of the units currently inside that cell
+     */
+    private final ConcurrentHashMap<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    /**
+     * unit id → last known position
+     */
+    private final ConcurrentHashMap<Long, UnitPosition> positions = new ConcurrentHashMap<>();
+
+    public GeoGridIndex(double cellSizeDeg) {
+        if (cellSizeDeg <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSizeDeg);
+        }
+        this.cellSizeDeg = cellSizeDeg;
+    }
+
+    public record UnitPosition(long unitId, double latitude, double longitude, long cell) {
+    }
+
+    public record Neighbour(long unitId, double latitude, double longitude, double distanceMeters) {
+    }
+
+    /**
+     * Inserts the unit or moves it to its new cell.
+     */
+    public void upsert(long unitId, double latitude, double longitude) {
+        long cell = cellOf(latitude, longitude);
+        positions.compute(unitId, (id, previous) -> {
+            if (previous != null && previous.cell() != cell) {
+                removeFromCell(previous.cell(), id);
+            }
+            cells.computeIfAbsent(cell, c -> ConcurrentHashMap.newKeySet()).add(id);
+            return new UnitPosition(id, latitude, longitude, cell);
+        });
+    }
+
+    /**
+     * Moves the unit only if it is already indexed.
+     *
+     * @return true if the unit was present and has been moved
+     */
+    public boolean move(long unitId, double latitude, double longitude) {
+        long cell = cellOf(latitude, longitude);
+        return positions.computeIfPresent(unitId, (id, previous) -> {
+            if (previous.cell() != cell) {
+                removeFromCell(previous.cell(), id);
+                cells.computeIfAbsent(cell, c -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            return new UnitPosition(id, latitude, longitude, cell);
+        }) != null;
+    }
+
+    public void remove(long unitId) {
+        positions.computeIfPresent(unitId, (id, previous) -> {
+            removeFromCell(previous.cell(), id);
+            return null;
+        });
+    }
+
+    public boolean contains(long unitId) {
+        return positions.containsKey(unitId);
+    }
+
+    public UnitPosition get(long unitId) {
+        return positions.get(unitId);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * @return live view of every indexed unit
+     */
+    public Collection<UnitPosition> all() {
+        return positions.values();
+    }
+
+    public void clear() {
+        positions.clear();
+        cells.clear();
+    }
+
+    /**
+     * @param latitude        query latitude
+     * @param longitude       query longitude
+     * @param k               how many units to return at most
+     * @param maxRadiusMeters units farther than this are never returned
+     * @param excluded        unit ids to skip (may be empty, never null)
+     * @return up to k units ordered by great-circle distance, nearest first
+     */
+    public List<Neighbour> nearest(double latitude, double longitude, int k, double maxRadiusMeters, Set<Long> excluded) {
+        if (k <= 0 || positions.isEmpty()) {
+            return List.of();
+        }
+
+        // max-heap on distance so the worst of the current k sits on top
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble(Neighbour::distanceMeters).reversed());
+
+        int row = row(latitude);
+        int col = col(longitude);
+        double ringWidthMeters = minCellWidthMeters(latitude);
+        int maxRing = (int) Math.ceil(maxRadiusMeters / ringWidthMeters) + 1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // nothing in this ring (or beyond) can be closer than (ring - 1) whole cells
+            double ringLowerBound = Math.max(0, ring - 1) * ringWidthMeters;
+            if (ringLowerBound > maxRadiusMeters) {
+                break;
+            }
+            if (best.size() == k && ringLowerBound > best.peek().distanceMeters()) {
+                break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                for (int c = col - ring; c <= col + ring; c++) {
+                    if (Math.abs(r - row) != ring && Math.abs(c - col) != ring) {
+                        continue; // interior cells were scanned by earlier rings
+                    }
+                    scanCell(key(r, c), latitude, longitude, k, maxRadiusMeters, excluded, best);
+                }
+            }
+        }
+
+        List<Neighbour> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbour::distanceMeters));
+        return result;
+    }
+
+    /**
+     * Calls the action for every unit inside the box, edges included.
+     */
+    public void forEachWithin(double minLat, double minLng, double maxLat, double maxLng,
+                              Consumer<UnitPosition> action) {
+        int minRow = row(minLat);
+        int maxRow = row(maxLat);
+        int minCol = col(minLng);
+        int maxCol = col(maxLng);
+        // each side fits a long, their product not always (2^32 x 2^32 on tiny cells)
+        if ((double) ((long) maxRow - minRow + 1) * ((long) maxCol - minCol + 1) > cells.size()) {
+            // the box spans more cells than are occupied, cheaper to look at every unit
+            for (UnitPosition position : positions.values()) {
+                if (inside(position, minLat, minLng, maxLat, maxLng)) action.accept(position);
+            }
+            return;
+        }
+        // long counters, an int one wraps past Integer.MAX_VALUE and never ends
+        for (long r = minRow; r <= maxRow; r++) {
+            for (long c = minCol; c <= maxCol; c++) {
+                long cell = key((int) r, (int) c);
+                Set<Long> members = cells.get(cell);
+                if (members == null) continue;
+                for (Long unitId : members) {
+                    UnitPosition position = positions.get(unitId);
+                    if (position != null && position.cell() == cell
+                            && inside(position, minLat, minLng, maxLat, maxLng)) {
+                        action.accept(position);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean inside(UnitPosition p, double minLat, double minLng, double maxLat, double maxLng) {
+        return p.latitude() >= minLat && p.latitude() <= maxLat
+                && p.longitude() >= minLng && p.longitude() <= maxLng;
+    }
+
+    private void scanCell(long cell, double latitude, double longitude, int k, double maxRadiusMeters,
+                          Set<Long> excluded, PriorityQueue<Neighbour> best) {
+        Set<Long> members = cells.get(cell);
+        if (members == null) {
+            return;
+        }
+        for (Long unitId : members) {
+            UnitPosition position = positions.get(unitId);
+            // a concurrent move can leave the id briefly in two cells; only trust the cell it points at
+            if (position == null || position.cell() != cell || excluded.contains(unitId)) {
+                continue;
+            }
+            double distance = LocationUtils.distanceMeters(latitude, longitude, position.latitude(), position.longitude());
+            if (distance > maxRadiusMeters) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(new Neighbour(unitId, position.latitude(), position.longitude(), distance));
+            } else if (distance < best.peek().distanceMeters()) {
+                best.poll();
+                best.add(new Neighbour(unitId, position.latitude(), position.longitude(), distance));
+            }
+        }
+    }
+
+    private void removeFromCell(long cell, long unitId) {
+        cells.computeIfPresent(cell, (c, members) -> {
+            members.remove(unitId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    public long cellOf(double latitude, double longitude) {
+        return key(row(latitude), col(longitude));
+    }
+
+    public double getCellSizeDeg() {
+        return cellSizeDeg;
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellSizeDeg);
+    }
+
+    private int col(double longitude) {
+        return (int) Math.floor(longitude / cellSizeDeg);
+    }
+
+    private double minCellWidthMeters(double latitude) {
+        // cells get narrower towards the poles; use the narrowest edge at this latitude
+        double cos = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + cellSizeDeg)));
+        return cellSizeDeg * METERS_PER_DEGREE * cos;
+    }
+
+    static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
@@ -0,0 +1,45 @@
+package com.REACT.backend.dispatch.journal;
+
+/**
+ * Kinds of dispatch events; the code is what is stored on disk, so never renumber.
+ */
+public enum JournalEventType {
+    REQUEST_RECEIVED(1),
+    BOOKING_SAVED(2),
+    BOOKING_STATUS(3),
+    UNIT_CLAIMED(4),
+    UNIT_RELEASED(5),
+    UNIT_AVAILABLE(6),
+    UNIT_UNAVAILABLE(7),
+    UNIT_MOVED(8),
+    CHECKPOINT_BEGIN(9),
+    CHECKPOINT_END(10),
+    OFFICERS_RESERVED(11),
+    OFFICERS_RELEASED(12);
+
+    private static final JournalEventType[] BY_CODE = new JournalEventType[16];
+
+    static {
+        for (JournalEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    JournalEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static JournalEventType fromCode(byte code) {
+        JournalEventType type = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown journal event code " + code);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,18 @@
+package com.REACT.backend.dispatch.journal;
+
+/**
+ * One fixed-size journal entry. Fields that do not apply to an event type are 0.
+ *
+ * @param unitType {@code UnitType} ordinal, or -1 when the event is not about a unit
+ * @param value    event specific: requested count, status ordinal, units in a checkpoint
+ */
+public record JournalRecord(long sequence,
+                            long timestampMillis,
+                            JournalEventType type,
+                            byte unitType,
+                            int value,
+                            long bookingId,
+                            long unitId,
+                            double latitude,
+                            double longitude) {
+}
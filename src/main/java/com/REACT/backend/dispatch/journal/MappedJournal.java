@@ -0,0 +1,246 @@
+package com.REACT.backend.dispatch.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of fixed-size records in memory-mapped segment files.
+ *
+ * Every record is {@value #RECORD_SIZE} bytes and its sequence number is its position,
+ * so the byte offset of any sequence is computed, never searched. A segment holds
+ * {@code recordsPerSegment} records and is named after its first sequence; when it is
+ * full the next one is created. Each record ends with a commit marker derived from its
+ * sequence, written last: a torn or never-written slot fails the check, which is where
+ * replay stops and where appends resume after a restart.
+ *
+ * Appends are serialised on the journal; reads may run concurrently with appends.
+ */
+public class MappedJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 64;
+
+    private static final String SUFFIX = ".journal";
+    private static final int MARKER_SALT = 0x5EED_D15C;
+
+    // record layout
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int TYPE = 16;
+    private static final int UNIT_TYPE = 17;
+    private static final int VALUE = 20;
+    private static final int BOOKING_ID = 24;
+    private static final int UNIT_ID = 32;
+    private static final int LATITUDE = 40;
+    private static final int LONGITUDE = 48;
+    private static final int MARKER = 56;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+
+    private MappedByteBuffer current;
+    private long currentFirst = -1;
+    private long nextSequence;
+
+    public MappedJournal(Path directory, int recordsPerSegment) throws IOException {
+        if (recordsPerSegment <= 0) {
+            throw new IllegalArgumentException("Segment must hold at least one record");
+        }
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        Files.createDirectories(directory);
+
+        List<Long> segments = segmentStarts();
+        if (!segments.isEmpty()) {
+            long last = segments.get(segments.size() - 1);
+            map(last);
+            int slot = 0;
+            while (slot < recordsPerSegment && committed(current, slot, last + slot)) {
+                slot++;
+            }
+            nextSequence = last + slot;
+        }
+    }
+
+    /**
+     * @return the sequence assigned to the record
+     */
+    public synchronized long append(JournalEventType type, int unitType, int value, long bookingId,
+                                    long unitId, double latitude, double longitude) {
+        long sequence = nextSequence;
+        long first = sequence - Math.floorMod(sequence, (long) recordsPerSegment);
+        if (first != currentFirst) {
+            roll(first);
+        }
+        int offset = (int) (sequence - first) * RECORD_SIZE;
+        current.putLong(offset + SEQUENCE, sequence);
+        current.putLong(offset + TIMESTAMP, System.currentTimeMillis());
+        current.put(offset + TYPE, type.code());
+        current.put(offset + UNIT_TYPE, (byte) unitType);
+        current.putInt(offset + VALUE, value);
+        current.putLong(offset + BOOKING_ID, bookingId);
+        current.putLong(offset + UNIT_ID, unitId);
+        current.putDouble(offset + LATITUDE, latitude);
+        current.putDouble(offset + LONGITUDE, longitude);
+        current.putInt(offset + MARKER, marker(sequence)); // commit point
+        nextSequence = sequence + 1;
+        return sequence;
+    }
+
+    /**
+     * @return the sequence the next append will get
+     */
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * @return sequence of the oldest record still on disk
+     */
+    public long firstSequence() {
+        List<Long> segments = segmentStarts();
+        return segments.isEmpty() ? 0 : segments.get(0);
+    }
+
+    /**
+     * Reads committed records from {@code fromSequence} on. Call again with the returned
+     * value to tail the journal.
+     *
+     * @return the sequence after the last record delivered
+     */
+    public long replay(long fromSequence, Consumer<JournalRecord> consumer) {
+        long limit = nextSequence();
+        long sequence = Math.max(fromSequence, firstSequence());
+        while (sequence < limit) {
+            long first = sequence - Math.floorMod(sequence, (long) recordsPerSegment);
+            Path file = segmentPath(first);
+            if (!Files.exists(file)) {
+                break; // removed by retention while we were reading
+            }
+            MappedByteBuffer segment = mapReadOnly(file);
+            for (int slot = (int) (sequence - first); slot < recordsPerSegment && sequence < limit; slot++, sequence++) {
+                if (!committed(segment, slot, sequence)) {
+                    return sequence;
+                }
+                consumer.accept(read(segment, slot * RECORD_SIZE));
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Forces written records of the current segment to disk.
+     */
+    public synchronized void force() {
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    /**
+     * Deletes whole segments that end before {@code sequence}.
+     *
+     * @return number of segments deleted
+     */
+    public synchronized int deleteBefore(long sequence) {
+        int deleted = 0;
+        for (Long first : segmentStarts()) {
+            if (first + recordsPerSegment <= sequence && first != currentFirst) {
+                try {
+                    Files.deleteIfExists(segmentPath(first));
+                    deleted++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    public int segmentCount() {
+        return segmentStarts().size();
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+        current = null;
+        currentFirst = -1;
+    }
+
+    private void roll(long first) {
+        if (current != null) {
+            current.force();
+        }
+        map(first);
+    }
+
+    private void map(long first) {
+        try (FileChannel channel = FileChannel.open(segmentPath(first),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            current = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+            currentFirst = first;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map journal segment " + first, e);
+        }
+    }
+
+    private MappedByteBuffer mapReadOnly(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(),
+                    (long) recordsPerSegment * RECORD_SIZE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read journal segment " + file, e);
+        }
+    }
+
+    private boolean committed(MappedByteBuffer segment, int slot, long sequence) {
+        int offset = slot * RECORD_SIZE;
+        return offset + RECORD_SIZE <= segment.limit()
+                && segment.getInt(offset + MARKER) == marker(sequence)
+                && segment.getLong(offset + SEQUENCE) == sequence;
+    }
+
+    private static JournalRecord read(MappedByteBuffer segment, int offset) {
+        return new JournalRecord(
+                segment.getLong(offset + SEQUENCE),
+                segment.getLong(offset + TIMESTAMP),
+                JournalEventType.fromCode(segment.get(offset + TYPE)),
+                segment.get(offset + UNIT_TYPE),
+                segment.getInt(offset + VALUE),
+                segment.getLong(offset + BOOKING_ID),
+                segment.getLong(offset + UNIT_ID),
+                segment.getDouble(offset + LATITUDE),
+                segment.getDouble(offset + LONGITUDE));
+    }
+
+    private static int marker(long sequence) {
+        return (int) (sequence ^ (sequence >>> 32)) ^ MARKER_SALT;
+    }
+
+    private Path segmentPath(long first) {
+        return directory.resolve(String.format("%020d%s", first, SUFFIX));
+    }
+
+    private List<Long> segmentStarts() {
+        List<Long> starts = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .forEach(name -> starts.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length()))));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        starts.sort(null);
+        return starts;
+    }
+}
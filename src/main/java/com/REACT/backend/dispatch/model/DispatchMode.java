@@ -0,0 +1,7 @@
+package com.REACT.backend.dispatch.model;
+
+public enum DispatchMode {
+    GREEDY,     // every booking takes its own nearest units immediately
+    BATCHED,    // bookings are collected for a short window and assigned jointly
+    PARTITIONED // each geographic cell's single-writer event loop hands out its own units
+}
@@ -0,0 +1,92 @@
+package com.REACT.backend.dispatch.optimizer;
+
+import com.REACT.backend.common.util.LocationUtils;
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Solves the unit-to-incident assignment for a whole batch of incidents at once,
+ * minimising the summed straight-line distance instead of letting each incident
+ * greedily take its own nearest units.
+ */
+public final class BatchAssignmentPlanner {
+
+    /**
+     * cost of leaving a slot without a unit; larger than any real in-radius distance
+     */
+    private static final double UNASSIGNED_COST = 1e9;
+
+    /**
+     * cost of a unit outside the search radius; worse than leaving the slot empty
+     */
+    private static final double OUT_OF_RANGE_COST = 1e12;
+
+    private BatchAssignmentPlanner() {
+    }
+
+    public record Demand(double latitude, double longitude, int count) {
+    }
+
+    /**
+     * @param index             available units of one type
+     * @param demands           incidents collected in this batch
+     * @param maxRadiusMeters   units farther than this are never assigned
+     * @param candidatesPerSlot how many nearest units per requested unit are considered
+     * @return for every demand (same order) the units planned for it
+     */
+    public static List<List<GeoGridIndex.Neighbour>> plan(GeoGridIndex index, List<Demand> demands,
+                                                          double maxRadiusMeters, int candidatesPerSlot) {
+        // candidate pool: union of every incident's nearest units
+        Map<Long, GeoGridIndex.Neighbour> pool = new LinkedHashMap<>();
+        int slots = 0;
+        for (Demand demand : demands) {
+            slots += Math.max(0, demand.count());
+            for (GeoGridIndex.Neighbour n : index.nearest(demand.latitude(), demand.longitude(),
+                    demand.count() * candidatesPerSlot, maxRadiusMeters, Set.of())) {
+                pool.putIfAbsent(n.unitId(), n);
+            }
+        }
+
+        List<List<GeoGridIndex.Neighbour>> result = new ArrayList<>(demands.size());
+        demands.forEach(d -> result.add(new ArrayList<>()));
+        if (slots == 0 || pool.isEmpty()) {
+            return result;
+        }
+
+        List<GeoGridIndex.Neighbour> units = new ArrayList<>(pool.values());
+        int[] slotOwner = new int[slots];
+        int columns = units.size() + slots; // one "no unit" column per slot keeps the matrix solvable
+        double[][] cost = new double[slots][columns];
+
+        int slot = 0;
+        for (int d = 0; d < demands.size(); d++) {
+            Demand demand = demands.get(d);
+            for (int c = 0; c < demand.count(); c++, slot++) {
+                slotOwner[slot] = d;
+                for (int u = 0; u < units.size(); u++) {
+                    GeoGridIndex.Neighbour unit = units.get(u);
+                    double distance = LocationUtils.distanceMeters(demand.latitude(), demand.longitude(),
+                            unit.latitude(), unit.longitude());
+                    cost[slot][u] = distance <= maxRadiusMeters ? distance : OUT_OF_RANGE_COST;
+                }
+                for (int dummy = units.size(); dummy < columns; dummy++) {
+                    cost[slot][dummy] = UNASSIGNED_COST;
+                }
+            }
+        }
+
+        int[] assignment = HungarianAssignment.solve(cost);
+        for (int s = 0; s < slots; s++) {
+            int col = assignment[s];
+            if (col < units.size() && cost[s][col] < OUT_OF_RANGE_COST) {
+                result.get(slotOwner[s]).add(units.get(col));
+            }
+        }
+        return result;
+    }
+}
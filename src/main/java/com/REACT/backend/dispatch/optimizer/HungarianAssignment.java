@@ -0,0 +1,89 @@
+package com.REACT.backend.dispatch.optimizer;
+
+import java.util.Arrays;
+
+/**
+ * Minimum-cost assignment (Hungarian / Kuhn-Munkres with potentials), O(n²·m).
+ */
+public final class HungarianAssignment {
+
+    private HungarianAssignment() {
+    }
+
+    /**
+     * @param cost n × m cost matrix with n &lt;= m; {@code Double.POSITIVE_INFINITY} marks a
+     *             pair that must never be assigned
+     * @return for every row the column assigned to it
+     * @throws IllegalArgumentException if no assignment of finite cost exists
+     */
+    public static int[] solve(double[][] cost) {
+        int n = cost.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int m = cost[0].length;
+        if (n > m) {
+            throw new IllegalArgumentException("Need at least as many columns as rows: " + n + " x " + m);
+        }
+
+        // 1-based potentials and matching, column 0 is the virtual start
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] match = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minv = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int row = 1; row <= n; row++) {
+            match[0] = row;
+            int col0 = 0;
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[col0] = true;
+                int row0 = match[col0];
+                double delta = Double.POSITIVE_INFINITY;
+                int col1 = 0;
+                for (int col = 1; col <= m; col++) {
+                    if (used[col]) continue;
+                    double reduced = cost[row0 - 1][col - 1] - u[row0] - v[col];
+                    if (reduced < minv[col]) {
+                        minv[col] = reduced;
+                        way[col] = col0;
+                    }
+                    if (minv[col] < delta) {
+                        delta = minv[col];
+                        col1 = col;
+                    }
+                }
+                if (delta == Double.POSITIVE_INFINITY) {
+                    // every column still reachable is forbidden; shifting potentials by ∞ would only give NaN
+                    throw new IllegalArgumentException("No finite-cost assignment for the first " + row + " rows");
+                }
+                for (int col = 0; col <= m; col++) {
+                    if (used[col]) {
+                        u[match[col]] += delta;
+                        v[col] -= delta;
+                    } else {
+                        minv[col] -= delta;
+                    }
+                }
+                col0 = col1;
+            } while (match[col0] != 0);
+            // flip the augmenting path
+            do {
+                int col1 = way[col0];
+                match[col0] = match[col1];
+                col0 = col1;
+            } while (col0 != 0);
+        }
+
+        int[] assignment = new int[n];
+        for (int col = 1; col <= m; col++) {
+            if (match[col] != 0) {
+                assignment[match[col] - 1] = col - 1;
+            }
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,171 @@
+package com.REACT.backend.dispatch.optimizer;
+
+import com.REACT.backend.common.util.LocationUtils;
+import com.REACT.backend.dispatch.index.DemandGrid;
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks relocations of idle units that lower the expected response distance, i.e. the
+ * demand-weighted distance from every demand cell to its nearest unit (a k-median
+ * objective with the fleet size fixed).
+ *
+ * Local search: each round applies the single move "unit u drives to demand cell t"
+ * that lowers the objective the most, until no move gains enough or the move budget
+ * is spent. Every unit moves at most once per plan, and only to one of the busiest
+ * cells, so a plan stays short and is cheap to recompute.
+ */
+public final class PrepositioningPlanner {
+
+    /**
+     * stands in for "no unit left" so removal gains stay finite
+     */
+    private static final double UNCOVERED_METERS = 100_000;
+
+    private PrepositioningPlanner() {
+    }
+
+    public record Move(long unitId,
+                       double fromLatitude, double fromLongitude,
+                       double toLatitude, double toLongitude,
+                       double moveMeters,
+                       double gainMeters) {
+    }
+
+    /**
+     * @param expectedMetersBefore demand-weighted distance to the nearest unit with the fleet as it is
+     * @param expectedMetersAfter  the same after all moves
+     */
+    public record Plan(List<Move> moves, double expectedMetersBefore, double expectedMetersAfter) {
+    }
+
+    /**
+     * @param units         available units and where they are now
+     * @param demand        forecast demand, heaviest cell first
+     * @param targetCells   how many of the heaviest cells are considered as destinations
+     * @param maxMoves      move budget of the plan
+     * @param minGainMeters a move must lower the expected distance by at least this much
+     * @param maxMoveMeters units are never sent farther than this
+     */
+    public static Plan plan(List<GeoGridIndex.UnitPosition> units, List<DemandGrid.CellDemand> demand,
+                            int targetCells, int maxMoves, double minGainMeters, double maxMoveMeters) {
+        double totalWeight = demand.stream().mapToDouble(DemandGrid.CellDemand::weight).sum();
+        if (units.isEmpty() || totalWeight <= 0) {
+            return new Plan(List.of(), 0, 0);
+        }
+
+        int n = units.size();
+        int m = demand.size();
+        int targets = Math.min(targetCells, m);
+        double[] weight = new double[m];
+        for (int c = 0; c < m; c++) {
+            weight[c] = demand.get(c).weight() / totalWeight;
+        }
+
+        double[] lat = new double[n];
+        double[] lng = new double[n];
+        double[][] unitDistance = new double[n][];
+        for (int u = 0; u < n; u++) {
+            lat[u] = units.get(u).latitude();
+            lng[u] = units.get(u).longitude();
+            unitDistance[u] = distances(lat[u], lng[u], demand);
+        }
+        double[][] targetDistance = new double[targets][];
+        for (int t = 0; t < targets; t++) {
+            DemandGrid.CellDemand target = demand.get(t);
+            targetDistance[t] = distances(target.latitude(), target.longitude(), demand);
+        }
+
+        double[] best = new double[m];
+        double[] second = new double[m];
+        int[] nearest = new int[m];
+        boolean[] moved = new boolean[n];
+        double before = assignNearest(unitDistance, weight, best, second, nearest);
+        double current = before;
+        List<Move> moves = new ArrayList<>();
+
+        while (moves.size() < maxMoves) {
+            double bestGain = minGainMeters;
+            int bestUnit = -1;
+            int bestTarget = -1;
+            for (int u = 0; u < n; u++) {
+                if (moved[u]) continue;
+                double removalCost = 0;
+                for (int c = 0; c < m; c++) {
+                    if (nearest[c] == u) removalCost += weight[c] * (second[c] - best[c]);
+                }
+                for (int t = 0; t < targets; t++) {
+                    DemandGrid.CellDemand target = demand.get(t);
+                    if (LocationUtils.distanceMeters(lat[u], lng[u], target.latitude(), target.longitude()) > maxMoveMeters) {
+                        continue;
+                    }
+                    double gain = -removalCost;
+                    double[] fromTarget = targetDistance[t];
+                    for (int c = 0; c < m; c++) {
+                        double without = nearest[c] == u ? second[c] : best[c];
+                        if (fromTarget[c] < without) gain += weight[c] * (without - fromTarget[c]);
+                    }
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestUnit = u;
+                        bestTarget = t;
+                    }
+                }
+            }
+            if (bestUnit < 0) break;
+
+            DemandGrid.CellDemand target = demand.get(bestTarget);
+            moves.add(new Move(units.get(bestUnit).unitId(), lat[bestUnit], lng[bestUnit],
+                    target.latitude(), target.longitude(),
+                    LocationUtils.distanceMeters(lat[bestUnit], lng[bestUnit], target.latitude(), target.longitude()),
+                    bestGain));
+            lat[bestUnit] = target.latitude();
+            lng[bestUnit] = target.longitude();
+            unitDistance[bestUnit] = targetDistance[bestTarget];
+            moved[bestUnit] = true;
+            current = assignNearest(unitDistance, weight, best, second, nearest);
+        }
+        return new Plan(moves, before, current);
+    }
+
+    private static double[] distances(double latitude, double longitude, List<DemandGrid.CellDemand> demand) {
+        double[] d = new double[demand.size()];
+        for (int c = 0; c < d.length; c++) {
+            DemandGrid.CellDemand cell = demand.get(c);
+            d[c] = LocationUtils.distanceMeters(latitude, longitude, cell.latitude(), cell.longitude());
+        }
+        return d;
+    }
+
+    /**
+     * Fills nearest / best / second-best per demand cell.
+     *
+     * @return the expected distance to the nearest unit
+     */
+    private static double assignNearest(double[][] unitDistance, double[] weight,
+                                        double[] best, double[] second, int[] nearest) {
+        double expected = 0;
+        for (int c = 0; c < weight.length; c++) {
+            double b = UNCOVERED_METERS;
+            double s = UNCOVERED_METERS;
+            int bi = -1;
+            for (int u = 0; u < unitDistance.length; u++) {
+                double d = unitDistance[u][c];
+                if (d < b) {
+                    s = b;
+                    b = d;
+                    bi = u;
+                } else if (d < s) {
+                    s = d;
+                }
+            }
+            best[c] = b;
+            second[c] = s;
+            nearest[c] = bi;
+            expected += weight[c] * b;
+        }
+        return expected;
+    }
+}
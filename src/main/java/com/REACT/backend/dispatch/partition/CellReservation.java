@@ -0,0 +1,129 @@
+package com.REACT.backend.dispatch.partition;
+
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.locationService.model.UnitType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One booking's search for units, run on the event loop of the cell the incident lies in.
+ *
+ * Works outwards ring by ring over the partition cells: every cell of the ring lends
+ * its nearest units, and the next ring is only asked if it could still hold a closer
+ * unit than the current k-th best. When the search stops the best units are kept and
+ * every lender is told which of its units to take back. Nothing here blocks, so two
+ * cells borrowing from each other cannot deadlock.
+ */
+final class CellReservation {
+
+    private final PartitionGrid grid;
+    private final UnitType type;
+    private final double latitude;
+    private final double longitude;
+    private final int count;
+    private final double maxRadiusMeters;
+    private final Set<Long> excluded;
+    private final EventLoop home;
+    private final CompletableFuture<List<GeoGridIndex.Neighbour>> result = new CompletableFuture<>();
+
+    private final List<GeoGridIndex.Neighbour> granted = new ArrayList<>();
+    private final Map<Long, Long> lenderOf = new HashMap<>();
+    private int ring = -1;
+    private int awaiting;
+
+    CellReservation(PartitionGrid grid, UnitType type, double latitude, double longitude, int count,
+                    double maxRadiusMeters, Set<Long> excluded, EventLoop home) {
+        this.grid = grid;
+        this.type = type;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.maxRadiusMeters = maxRadiusMeters;
+        this.excluded = excluded;
+        this.home = home;
+    }
+
+    double latitude() {
+        return latitude;
+    }
+
+    double longitude() {
+        return longitude;
+    }
+
+    int count() {
+        return count;
+    }
+
+    double maxRadiusMeters() {
+        return maxRadiusMeters;
+    }
+
+    Set<Long> excluded() {
+        return excluded;
+    }
+
+    EventLoop home() {
+        return home;
+    }
+
+    CompletableFuture<List<GeoGridIndex.Neighbour>> result() {
+        return result;
+    }
+
+    void start() {
+        nextRing();
+    }
+
+    void onLent(long cellKey, List<GeoGridIndex.Neighbour> units) {
+        for (GeoGridIndex.Neighbour unit : units) {
+            granted.add(unit);
+            lenderOf.put(unit.unitId(), cellKey);
+        }
+        if (--awaiting == 0) nextRing();
+    }
+
+    private void nextRing() {
+        granted.sort(Comparator.comparingDouble(GeoGridIndex.Neighbour::distanceMeters));
+        double kthBest = granted.size() >= count ? granted.get(count - 1).distanceMeters() : Double.MAX_VALUE;
+        while (true) {
+            ring++;
+            double lowerBound = grid.ringLowerBoundMeters(latitude, ring);
+            if (lowerBound > maxRadiusMeters || lowerBound > kthBest) {
+                finish();
+                return;
+            }
+            List<DispatchCell> cells = grid.ringCells(type, latitude, longitude, ring);
+            if (cells.isEmpty()) continue;
+            awaiting = cells.size();
+            if (ring > 0) grid.borrows.increment();
+            for (DispatchCell cell : cells) {
+                cell.loop().post(() -> cell.onLend(this, kthBest));
+            }
+            return;
+        }
+    }
+
+    private void finish() {
+        List<GeoGridIndex.Neighbour> kept = granted.size() > count ? new ArrayList<>(granted.subList(0, count)) : granted;
+        Map<Long, List<Long>> keptByCell = new HashMap<>();
+        Map<Long, List<Long>> returnedByCell = new HashMap<>();
+        for (int i = 0; i < granted.size(); i++) {
+            long unitId = granted.get(i).unitId();
+            (i < count ? keptByCell : returnedByCell)
+                    .computeIfAbsent(lenderOf.get(unitId), c -> new ArrayList<>()).add(unitId);
+        }
+        for (Long cellKey : lenderOf.values().stream().distinct().toList()) {
+            List<Long> keep = keptByCell.getOrDefault(cellKey, List.of());
+            List<Long> give = returnedByCell.getOrDefault(cellKey, List.of());
+            grid.forward(type, cellKey, cell -> cell.onSettle(keep, give));
+        }
+        result.complete(kept);
+    }
+}
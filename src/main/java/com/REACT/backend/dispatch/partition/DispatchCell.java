@@ -0,0 +1,187 @@
+package com.REACT.backend.dispatch.partition;
+
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.locationService.model.UnitType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owner of the available units of one type inside one partition cell.
+ *
+ * All handlers run on the cell's {@link EventLoop}. A unit is held by at most one
+ * cell at a time: the one recorded in {@link PartitionGrid#owners}. Only the owning
+ * cell changes or clears that entry; a free unit is taken with putIfAbsent. Messages
+ * that reach a cell which no longer owns the unit are forwarded to the current owner.
+ */
+final class DispatchCell {
+
+    private final PartitionGrid grid;
+    private final UnitType type;
+    private final long key;
+    private final EventLoop loop;
+    private final ConcurrentHashMap<Long, Long> owners;
+
+    private final GeoGridIndex units;
+
+    /**
+     * units lent to a reservation and not yet settled → latest position
+     */
+    private final Map<Long, double[]> onLoan = new HashMap<>();
+
+    /**
+     * messages for units handed to this cell whose adoption has not arrived yet
+     */
+    private final Map<Long, List<Runnable>> early = new HashMap<>();
+
+    DispatchCell(PartitionGrid grid, UnitType type, long key, EventLoop loop, double unitCellSizeDeg) {
+        this.grid = grid;
+        this.type = type;
+        this.key = key;
+        this.loop = loop;
+        this.owners = grid.owners(type);
+        this.units = new GeoGridIndex(unitCellSizeDeg);
+    }
+
+    EventLoop loop() {
+        return loop;
+    }
+
+    void onAvailable(long unitId, double latitude, double longitude) {
+        Long owner = owners.get(unitId);
+        if (owner == null) {
+            long target = grid.cellOf(latitude, longitude);
+            if (target != key) {
+                grid.forward(type, target, cell -> cell.onAvailable(unitId, latitude, longitude));
+                return;
+            }
+            Long winner = owners.putIfAbsent(unitId, key);
+            if (winner != null) {
+                grid.forward(type, winner, cell -> cell.onAvailable(unitId, latitude, longitude));
+                return;
+            }
+            units.upsert(unitId, latitude, longitude);
+            return;
+        }
+        if (owner != key) {
+            grid.forward(type, owner, cell -> cell.onAvailable(unitId, latitude, longitude));
+            return;
+        }
+        if (onLoan.remove(unitId) != null) {
+            // handed back before its reservation settled (e.g. a surplus candidate)
+            restore(unitId, latitude, longitude);
+            return;
+        }
+        place(unitId, latitude, longitude, () -> onAvailable(unitId, latitude, longitude));
+    }
+
+    void onMoved(long unitId, double latitude, double longitude) {
+        Long owner = owners.get(unitId);
+        if (owner == null) return; // not available, nothing to track
+        if (owner != key) {
+            grid.forward(type, owner, cell -> cell.onMoved(unitId, latitude, longitude));
+            return;
+        }
+        double[] loaned = onLoan.get(unitId);
+        if (loaned != null) {
+            loaned[0] = latitude;
+            loaned[1] = longitude;
+            return;
+        }
+        place(unitId, latitude, longitude, () -> onMoved(unitId, latitude, longitude));
+    }
+
+    void onUnavailable(long unitId) {
+        Long owner = owners.get(unitId);
+        if (owner == null) return;
+        if (owner != key) {
+            grid.forward(type, owner, cell -> cell.onUnavailable(unitId));
+            return;
+        }
+        if (onLoan.remove(unitId) != null || units.contains(unitId)) {
+            units.remove(unitId);
+            owners.remove(unitId, key);
+            return;
+        }
+        defer(unitId, () -> onUnavailable(unitId));
+    }
+
+    /**
+     * Second half of a handoff: the previous owner already recorded this cell as owner.
+     */
+    void onAdopt(long unitId, double latitude, double longitude) {
+        units.upsert(unitId, latitude, longitude);
+        List<Runnable> pending = early.remove(unitId);
+        if (pending != null) pending.forEach(Runnable::run);
+    }
+
+    /**
+     * Lends the nearest units of this cell to a reservation. They leave the index at
+     * once, so no other reservation can see them until they are settled.
+     *
+     * @param bound only units closer than this are of use to the reservation
+     */
+    void onLend(CellReservation reservation, double bound) {
+        double radius = Math.min(reservation.maxRadiusMeters(), bound);
+        List<GeoGridIndex.Neighbour> lent = units.nearest(reservation.latitude(), reservation.longitude(),
+                reservation.count(), radius, reservation.excluded());
+        for (GeoGridIndex.Neighbour unit : lent) {
+            units.remove(unit.unitId());
+            onLoan.put(unit.unitId(), new double[]{unit.latitude(), unit.longitude()});
+        }
+        if (!lent.isEmpty()) grid.lent.add(lent.size());
+        reservation.home().post(() -> reservation.onLent(key, lent));
+    }
+
+    /**
+     * End of a reservation: kept units leave this cell for good, the rest go back into the index.
+     */
+    void onSettle(List<Long> kept, List<Long> returned) {
+        for (Long unitId : kept) {
+            // a unit made unavailable while on loan is already gone
+            if (onLoan.remove(unitId) != null) owners.remove(unitId, key);
+        }
+        for (Long unitId : returned) {
+            double[] position = onLoan.remove(unitId);
+            if (position != null) restore(unitId, position[0], position[1]);
+        }
+    }
+
+    /**
+     * Puts an owned unit at its new position, handing it to another cell if it left this one.
+     */
+    private void place(long unitId, double latitude, double longitude, Runnable retry) {
+        if (!units.contains(unitId)) {
+            defer(unitId, retry);
+            return;
+        }
+        restore(unitId, latitude, longitude);
+    }
+
+    private void restore(long unitId, double latitude, double longitude) {
+        long target = grid.cellOf(latitude, longitude);
+        if (target == key) {
+            units.upsert(unitId, latitude, longitude);
+            return;
+        }
+        units.remove(unitId);
+        // owner first, then the adoption; messages that overtake the adoption are deferred there
+        owners.put(unitId, target);
+        grid.handoffs.increment();
+        grid.forward(type, target, cell -> cell.onAdopt(unitId, latitude, longitude));
+    }
+
+    /**
+     * The unit is recorded as ours but its adoption message is still queued: replay afterwards.
+     */
+    private void defer(long unitId, Runnable message) {
+        early.computeIfAbsent(unitId, id -> new ArrayList<>()).add(message);
+    }
+
+    int size() {
+        return units.size();
+    }
+}
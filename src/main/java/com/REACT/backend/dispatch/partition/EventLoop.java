@@ -0,0 +1,64 @@
+package com.REACT.backend.dispatch.partition;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One thread draining one mailbox. Every {@link DispatchCell} is bound to exactly one
+ * loop and its state is only touched from that thread, so cells need no locks.
+ */
+@Slf4j
+public final class EventLoop implements AutoCloseable {
+
+    private final LinkedBlockingQueue<Runnable> mailbox = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public EventLoop(String name) {
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void post(Runnable message) {
+        mailbox.add(message);
+    }
+
+    /**
+     * @return messages waiting to be processed
+     */
+    public int backlog() {
+        return mailbox.size();
+    }
+
+    private void run() {
+        while (running) {
+            Runnable message;
+            try {
+                message = mailbox.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (message == null) continue;
+            try {
+                message.run();
+            } catch (RuntimeException e) {
+                // one bad message must not stop the cells living on this loop
+                log.error("Dispatch cell message failed on {}", thread.getName(), e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
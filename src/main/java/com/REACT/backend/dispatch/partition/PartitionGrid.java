@@ -0,0 +1,190 @@
+package com.REACT.backend.dispatch.partition;
+
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.locationService.model.UnitType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Available units split over a coarse lat/lng grid, one {@link DispatchCell} per
+ * occupied cell and unit type, the cells spread over a fixed set of event loops.
+ *
+ * Fleet changes and reservations are messages to the owning cell; no cell state is
+ * shared between threads except the unit → owning cell map, which only the owner
+ * may change. Units therefore cannot be handed to two reservations, and cells on
+ * different loops work in parallel.
+ */
+public final class PartitionGrid implements AutoCloseable {
+
+    private static final double METERS_PER_DEGREE = 111_320d;
+
+    private final double cellSizeDeg;
+    private final double unitCellSizeDeg;
+    private final EventLoop[] loops;
+    private final Map<UnitType, ConcurrentHashMap<Long, DispatchCell>> cells = new EnumMap<>(UnitType.class);
+    private final Map<UnitType, ConcurrentHashMap<Long, Long>> owners = new EnumMap<>(UnitType.class);
+
+    final LongAdder handoffs = new LongAdder();
+    final LongAdder borrows = new LongAdder();
+    final LongAdder lent = new LongAdder();
+
+    /**
+     * @param cellSizeDeg     edge of a partition cell
+     * @param unitCellSizeDeg edge of the grid index each cell keeps its units in
+     * @param eventLoops      number of single-writer threads the cells are spread over
+     */
+    public PartitionGrid(double cellSizeDeg, double unitCellSizeDeg, int eventLoops) {
+        if (cellSizeDeg <= 0 || eventLoops <= 0) {
+            throw new IllegalArgumentException("Cell size and event loop count must be positive");
+        }
+        this.cellSizeDeg = cellSizeDeg;
+        this.unitCellSizeDeg = unitCellSizeDeg;
+        this.loops = new EventLoop[eventLoops];
+        for (int i = 0; i < eventLoops; i++) {
+            loops[i] = new EventLoop("dispatch-cell-" + i);
+        }
+        for (UnitType type : UnitType.values()) {
+            cells.put(type, new ConcurrentHashMap<>());
+            owners.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void unitAvailable(UnitType type, long unitId, double latitude, double longitude) {
+        Long owner = owners.get(type).get(unitId);
+        forward(type, owner != null ? owner : cellOf(latitude, longitude),
+                cell -> cell.onAvailable(unitId, latitude, longitude));
+    }
+
+    /**
+     * A unit that no cell holds is ignored; the claim against the database stays the
+     * final check for a unit that became unavailable while its release was in flight.
+     */
+    public void unitUnavailable(UnitType type, long unitId) {
+        Long owner = owners.get(type).get(unitId);
+        if (owner != null) forward(type, owner, cell -> cell.onUnavailable(unitId));
+    }
+
+    public void unitMoved(UnitType type, long unitId, double latitude, double longitude) {
+        Long owner = owners.get(type).get(unitId);
+        if (owner != null) forward(type, owner, cell -> cell.onMoved(unitId, latitude, longitude));
+    }
+
+    /**
+     * Takes up to {@code count} units nearest to the incident out of the grid. They are
+     * owned by no cell afterwards; hand unused ones back with {@link #unitAvailable}.
+     */
+    public CompletableFuture<List<GeoGridIndex.Neighbour>> reserve(UnitType type, double latitude, double longitude,
+                                                                   int count, double maxRadiusMeters,
+                                                                   Set<Long> excluded) {
+        EventLoop home = loopFor(type, cellOf(latitude, longitude));
+        CellReservation reservation = new CellReservation(this, type, latitude, longitude, count,
+                maxRadiusMeters, Set.copyOf(excluded), home);
+        home.post(reservation::start);
+        return reservation.result();
+    }
+
+    /**
+     * @return units currently held by the cells (available or lent to a running reservation)
+     */
+    public int heldUnits(UnitType type) {
+        return owners.get(type).size();
+    }
+
+    public int cellCount() {
+        return cells.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public int eventLoopCount() {
+        return loops.length;
+    }
+
+    public int backlog() {
+        int backlog = 0;
+        for (EventLoop loop : loops) backlog += loop.backlog();
+        return backlog;
+    }
+
+    public long handoffCount() {
+        return handoffs.sum();
+    }
+
+    public long borrowCount() {
+        return borrows.sum();
+    }
+
+    public long lentCount() {
+        return lent.sum();
+    }
+
+    @Override
+    public void close() {
+        for (EventLoop loop : loops) loop.close();
+    }
+
+    ConcurrentHashMap<Long, Long> owners(UnitType type) {
+        return owners.get(type);
+    }
+
+    void forward(UnitType type, long cellKey, Consumer<DispatchCell> message) {
+        DispatchCell cell = cells.get(type).computeIfAbsent(cellKey,
+                k -> new DispatchCell(this, type, k, loopFor(type, k), unitCellSizeDeg));
+        cell.loop().post(() -> message.accept(cell));
+    }
+
+    /**
+     * @return the existing cells exactly {@code ring} cells away from the one holding the point
+     */
+    List<DispatchCell> ringCells(UnitType type, double latitude, double longitude, int ring) {
+        int row = row(latitude);
+        int col = col(longitude);
+        Map<Long, DispatchCell> byKey = cells.get(type);
+        List<DispatchCell> result = new ArrayList<>();
+        for (int r = row - ring; r <= row + ring; r++) {
+            for (int c = col - ring; c <= col + ring; c++) {
+                if (Math.abs(r - row) != ring && Math.abs(c - col) != ring) continue;
+                DispatchCell cell = byKey.get(key(r, c));
+                if (cell != null) result.add(cell);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Nothing in ring {@code ring} (or beyond) can be closer than this to a point at the given latitude.
+     */
+    double ringLowerBoundMeters(double latitude, int ring) {
+        // cells get narrower towards the poles; use the narrowest edge at this latitude
+        double cos = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + cellSizeDeg)));
+        return Math.max(0, ring - 1) * cellSizeDeg * METERS_PER_DEGREE * cos;
+    }
+
+    long cellOf(double latitude, double longitude) {
+        return key(row(latitude), col(longitude));
+    }
+
+    private EventLoop loopFor(UnitType type, long cellKey) {
+        // mix the key so neighbouring cells, which share hot spots, land on different loops
+        long mixed = (cellKey * 31 + type.ordinal()) * 0x9E3779B97F4A7C15L;
+        return loops[Math.floorMod((int) (mixed >>> 32), loops.length)];
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellSizeDeg);
+    }
+
+    private int col(double longitude) {
+        return (int) Math.floor(longitude / cellSizeDeg);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
@@ -0,0 +1,159 @@
+package com.REACT.backend.dispatch.service;
+
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.dispatch.model.DispatchMode;
+import com.REACT.backend.dispatch.optimizer.BatchAssignmentPlanner;
+import com.REACT.backend.locationService.model.UnitType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dispatch queue in front of the booking flow for {@link DispatchMode#BATCHED}.
+ *
+ * Unit requests arriving within one window are solved jointly by
+ * {@link BatchAssignmentPlanner}, so an early booking cannot take the only close
+ * unit away from a later one. The caller then claims the planned ids itself.
+ * Planned units are taken out of the fleet index immediately so the next window
+ * cannot plan them again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchDispatchService {
+
+    private final FleetIndexService fleetIndex;
+    private final PartitionedDispatchService partitions;
+
+    @Value("${dispatch.mode:GREEDY}")
+    private DispatchMode initialMode;
+
+    @Value("${dispatch.batch.window-ms:100}")
+    private long windowMs;
+
+    @Value("${dispatch.batch.candidates-per-slot:3}")
+    private int candidatesPerSlot;
+
+    private final AtomicReference<DispatchMode> mode = new AtomicReference<>(DispatchMode.GREEDY);
+    private final LinkedBlockingQueue<PlanRequest> queue = new LinkedBlockingQueue<>();
+    private ScheduledExecutorService ticker;
+
+    private record PlanRequest(UnitType type, BatchAssignmentPlanner.Demand demand, double maxRadiusMeters,
+                               CompletableFuture<List<GeoGridIndex.Neighbour>> result) {
+    }
+
+    @PostConstruct
+    void start() {
+        requireSupported(initialMode);
+        mode.set(initialMode);
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dispatch-batcher");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleWithFixedDelay(this::solveWindow, windowMs, windowMs, TimeUnit.MILLISECONDS);
+        log.info("Batch dispatcher started in {} mode with a {} ms window", initialMode, windowMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+        solveWindow(); // do not leave callers waiting on shutdown
+    }
+
+    public DispatchMode getMode() {
+        return mode.get();
+    }
+
+    public void setMode(DispatchMode newMode) {
+        requireSupported(newMode);
+        DispatchMode previous = mode.getAndSet(newMode);
+        log.info("Dispatch mode switched from {} to {}", previous, newMode);
+    }
+
+    private void requireSupported(DispatchMode newMode) {
+        if (newMode == DispatchMode.PARTITIONED && !partitions.isEnabled()) {
+            throw new RuntimeException("Partitioned dispatch is disabled (dispatch.partition.enabled=false)");
+        }
+    }
+
+    public boolean isBatched() {
+        return mode.get() == DispatchMode.BATCHED;
+    }
+
+    public boolean isPartitioned() {
+        return mode.get() == DispatchMode.PARTITIONED;
+    }
+
+    /**
+     * Queues a unit request for the current window and waits for its plan.
+     *
+     * @return ids of the units planned for this incident, possibly fewer than requested;
+     * empty if the plan did not arrive in time
+     */
+    public List<Long> plan(UnitType type, double latitude, double longitude, int count,
+                           double maxRadiusMeters, long timeoutMs) {
+        PlanRequest request = new PlanRequest(type, new BatchAssignmentPlanner.Demand(latitude, longitude, count),
+                maxRadiusMeters, new CompletableFuture<>());
+        queue.add(request);
+        try {
+            return request.result().get(timeoutMs, TimeUnit.MILLISECONDS).stream()
+                    .map(GeoGridIndex.Neighbour::unitId)
+                    .toList();
+        } catch (TimeoutException e) {
+            log.warn("Batch plan for {} at [{}, {}] timed out", type, latitude, longitude);
+        } catch (ExecutionException e) {
+            log.error("Batch plan for {} failed", type, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // anything planned after we gave up goes back into the index
+        request.result().thenAccept(units -> units.forEach(
+                n -> fleetIndex.markAvailable(type, n.unitId(), n.latitude(), n.longitude())));
+        return List.of();
+    }
+
+    void solveWindow() {
+        List<PlanRequest> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<UnitType, List<PlanRequest>> byType = new EnumMap<>(UnitType.class);
+        batch.forEach(r -> byType.computeIfAbsent(r.type(), t -> new ArrayList<>()).add(r));
+
+        long started = System.nanoTime();
+        byType.forEach((type, requests) -> {
+            try {
+                double radius = requests.stream().mapToDouble(PlanRequest::maxRadiusMeters).max().orElse(0);
+                List<List<GeoGridIndex.Neighbour>> plans = BatchAssignmentPlanner.plan(fleetIndex.index(type),
+                        requests.stream().map(PlanRequest::demand).toList(), radius, candidatesPerSlot);
+                for (int i = 0; i < requests.size(); i++) {
+                    plans.get(i).forEach(n -> fleetIndex.markUnavailable(type, n.unitId()));
+                    requests.get(i).result().complete(plans.get(i));
+                }
+            } catch (RuntimeException e) {
+                log.error("Batch solve for {} failed", type, e);
+                requests.forEach(r -> r.result().completeExceptionally(e));
+            }
+        });
+        log.info("Solved dispatch batch of {} requests in {} µs", batch.size(), (System.nanoTime() - started) / 1000);
+    }
+}
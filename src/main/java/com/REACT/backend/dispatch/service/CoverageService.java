@@ -0,0 +1,140 @@
+package com.REACT.backend.dispatch.service;
+
+import com.REACT.backend.common.util.LocationUtils;
+import com.REACT.backend.dispatch.dto.CoverageCellDto;
+import com.REACT.backend.dispatch.index.CoverageMap;
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.locationService.model.UnitType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a {@link CoverageMap} per unit type in step with the fleet index.
+ *
+ * Location pings and status changes only mark a unit as changed; a background
+ * task folds the changes into the tiles, so the booking path reads a ready
+ * ranked list for its cell instead of searching.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CoverageService {
+
+    private static final int MAX_GAP_CELLS = 10_000;
+
+    private final FleetIndexService fleetIndex;
+
+    @Value("${dispatch.coverage.cell-size-deg:0.01}")
+    private double cellSizeDeg;
+
+    @Value("${dispatch.coverage.top-k:8}")
+    private int topK;
+
+    @Value("${dispatch.coverage.radius-meters:5000}")
+    private double radiusMeters;
+
+    private final Map<UnitType, CoverageMap> maps = new EnumMap<>(UnitType.class);
+
+    @PostConstruct
+    void init() {
+        for (UnitType type : UnitType.values()) {
+            maps.put(type, new CoverageMap(cellSizeDeg, topK, radiusMeters));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.coverage.refresh-ms:250}")
+    public void refresh() {
+        for (UnitType type : UnitType.values()) {
+            List<Long> changed = fleetIndex.drainChanged(type);
+            if (changed.isEmpty()) continue;
+            CoverageMap map = maps.get(type);
+            GeoGridIndex index = fleetIndex.index(type);
+            for (Long unitId : changed) {
+                map.refresh(index, unitId);
+            }
+            log.debug("Coverage for {} refreshed for {} units", type, changed.size());
+        }
+    }
+
+    /**
+     * The {@code count} available units nearest to the incident, taken from the incident's tile
+     * when the tile alone proves they are the nearest.
+     *
+     * A unit missing from the tile is at least the tile's k-th centre distance from the centre
+     * (the coverage radius if the tile is not full), so by the triangle inequality at least that
+     * minus the incident's offset from the centre away from the incident. The tile's answer is
+     * only taken when its {@code count}-th unit is no farther than that bound; units that moved
+     * since the last {@link #refresh} are not covered by it.
+     *
+     * @return exactly {@code count} units nearest first, or none if the tile cannot prove them
+     *         (callers fall back to the index)
+     */
+    public List<GeoGridIndex.Neighbour> candidates(UnitType type, double latitude, double longitude,
+                                                   int count, double maxRadiusMeters, Set<Long> excluded) {
+        CoverageMap.Tile tile = maps.get(type).tileAt(latitude, longitude);
+        if (tile == null || count <= 0) return List.of();
+
+        List<GeoGridIndex.Neighbour> result = new ArrayList<>(tile.units().size());
+        for (GeoGridIndex.Neighbour unit : tile.units()) {
+            // tiles trail the index by one refresh; re-check against it
+            GeoGridIndex.UnitPosition position = fleetIndex.position(type, unit.unitId());
+            if (position == null || excluded.contains(unit.unitId())) continue;
+            double distance = LocationUtils.distanceMeters(latitude, longitude, position.latitude(), position.longitude());
+            if (distance <= maxRadiusMeters) {
+                result.add(new GeoGridIndex.Neighbour(unit.unitId(), position.latitude(), position.longitude(), distance));
+            }
+        }
+        if (result.size() < count) return List.of();
+        result.sort(Comparator.comparingDouble(GeoGridIndex.Neighbour::distanceMeters));
+
+        double outside = tile.units().size() >= topK ? tile.units().get(topK - 1).distanceMeters() : radiusMeters;
+        double offset = LocationUtils.distanceMeters(latitude, longitude, tile.centreLatitude(), tile.centreLongitude());
+        if (result.get(count - 1).distanceMeters() > outside - offset) return List.of();
+        return result.subList(0, count);
+    }
+
+    /**
+     * Cells in the box whose nearest available unit is farther than {@code maxDistanceMeters}
+     * (or outside the coverage radius altogether).
+     */
+    public List<CoverageCellDto> gaps(UnitType type, double minLat, double minLng, double maxLat, double maxLng,
+                                      double maxDistanceMeters) {
+        CoverageMap map = maps.get(type);
+        int rows = map.row(maxLat) - map.row(minLat) + 1;
+        int cols = map.col(maxLng) - map.col(minLng) + 1;
+        if (rows <= 0 || cols <= 0) {
+            throw new RuntimeException("Invalid bounding box");
+        }
+        if ((long) rows * cols > MAX_GAP_CELLS) {
+            throw new RuntimeException("Bounding box too large: " + rows * cols + " cells, max " + MAX_GAP_CELLS);
+        }
+
+        List<CoverageCellDto> gaps = new ArrayList<>();
+        for (int r = map.row(minLat); r <= map.row(maxLat); r++) {
+            for (int c = map.col(minLng); c <= map.col(maxLng); c++) {
+                CoverageMap.Tile tile = map.tile(r, c);
+                Double nearest = tile == null ? null : tile.units().get(0).distanceMeters();
+                if (nearest == null || nearest > maxDistanceMeters) {
+                    gaps.add(CoverageCellDto.builder()
+                            .latitude(map.centre(r))
+                            .longitude(map.centre(c))
+                            .unitCount(tile == null ? 0 : tile.units().size())
+                            .nearestMeters(nearest)
+                            .build());
+                }
+            }
+        }
+        return gaps;
+    }
+}
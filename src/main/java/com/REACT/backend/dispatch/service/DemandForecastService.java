@@ -0,0 +1,193 @@
+package com.REACT.backend.dispatch.service;
+
+import com.REACT.backend.booking.dto.DemandHistoryCell;
+import com.REACT.backend.booking.model.EmergencyRequestEntity;
+import com.REACT.backend.booking.repository.EmergencyRequestRepository;
+import com.REACT.backend.dispatch.dto.RelocationDto;
+import com.REACT.backend.dispatch.dto.RelocationPlanDto;
+import com.REACT.backend.dispatch.index.DemandGrid;
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.dispatch.optimizer.PrepositioningPlanner;
+import com.REACT.backend.locationService.model.UnitType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Forecasts where requests will come from and suggests where idle units should wait.
+ *
+ * Past requests are counted per grid cell and hour of the week, separately for
+ * ambulance and fire demand; every new booking adds to the counts. A background task
+ * turns the demand of the coming hour into a relocation plan for the AVAILABLE units
+ * (see {@link PrepositioningPlanner}) whenever demand, the hour or the fleet changed,
+ * so the admin consoles read a ready plan.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DemandForecastService {
+
+    private final EmergencyRequestRepository requestRepo;
+    private final FleetIndexService fleetIndex;
+
+    @Value("${dispatch.forecast.cell-size-deg:0.01}")
+    private double cellSizeDeg;
+
+    @Value("${dispatch.forecast.history-days:730}")
+    private int historyDays;
+
+    @Value("${dispatch.forecast.zone:Asia/Kolkata}")
+    private String zone;
+
+    @Value("${dispatch.forecast.lead-minutes:30}")
+    private int leadMinutes;
+
+    @Value("${dispatch.forecast.demand-cells:500}")
+    private int demandCells;
+
+    @Value("${dispatch.forecast.target-cells:50}")
+    private int targetCells;
+
+    @Value("${dispatch.forecast.max-moves:10}")
+    private int maxMoves;
+
+    @Value("${dispatch.forecast.min-gain-meters:50}")
+    private double minGainMeters;
+
+    @Value("${dispatch.forecast.max-move-meters:5000}")
+    private double maxMoveMeters;
+
+    private final Map<UnitType, DemandGrid> grids = new EnumMap<>(UnitType.class);
+    private final Map<UnitType, RelocationPlanDto> plans = new ConcurrentHashMap<>();
+    private final Set<UnitType> changed = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        for (UnitType type : UnitType.values()) {
+            grids.put(type, new DemandGrid(cellSizeDeg));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHistory() {
+        Instant since = Instant.now().minus(Duration.ofDays(historyDays));
+        List<DemandHistoryCell> history;
+        try {
+            history = requestRepo.findDemandHistory(cellSizeDeg, zone, since);
+        } catch (RuntimeException e) {
+            // forecasting is advisory; start with an empty grid rather than failing start-up
+            log.warn("Request history could not be loaded, demand forecast starts empty", e);
+            return;
+        }
+        for (DemandHistoryCell cell : history) {
+            add(UnitType.AMBULANCE, cell.getLatCell(), cell.getLngCell(), cell.getHourOfWeek(), cell.getAmbulanceRequests());
+            add(UnitType.FIRE_TRUCK, cell.getLatCell(), cell.getLngCell(), cell.getHourOfWeek(), cell.getFireRequests());
+        }
+        changed.addAll(grids.keySet());
+        log.info("Demand forecast loaded from {} history rows: {} ambulance cells, {} fire cells",
+                history.size(), grids.get(UnitType.AMBULANCE).cellCount(), grids.get(UnitType.FIRE_TRUCK).cellCount());
+    }
+
+    /**
+     * Counts a new booking into the forecast.
+     */
+    public void recordRequest(EmergencyRequestEntity request) {
+        Instant createdAt = request.getCreatedAt() != null ? request.getCreatedAt() : Instant.now();
+        int hour = DemandGrid.hourOfWeek(createdAt, ZoneId.of(zone));
+        if (request.isNeedAmbulance()) {
+            grids.get(UnitType.AMBULANCE).add(request.getLatitude(), request.getLongitude(), hour, 1);
+            changed.add(UnitType.AMBULANCE);
+        }
+        if (request.isNeedFireBrigade()) {
+            grids.get(UnitType.FIRE_TRUCK).add(request.getLatitude(), request.getLongitude(), hour, 1);
+            changed.add(UnitType.FIRE_TRUCK);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.forecast.refresh-ms:30000}")
+    public void refresh() {
+        int hour = upcomingHour();
+        for (UnitType type : UnitType.values()) {
+            RelocationPlanDto current = plans.get(type);
+            boolean stale = current == null
+                    || current.getHourOfWeek() != hour
+                    || current.getAvailableUnits() != fleetIndex.availableCount(type);
+            if (changed.remove(type) || stale) {
+                plans.put(type, computePlan(type, hour));
+            }
+        }
+    }
+
+    /**
+     * @param hourOfWeek forecast hour (0 = Monday 00:00), null for the coming hour
+     */
+    public RelocationPlanDto getPlan(UnitType type, Integer hourOfWeek) {
+        if (hourOfWeek != null && (hourOfWeek < 0 || hourOfWeek >= DemandGrid.HOURS_PER_WEEK)) {
+            throw new RuntimeException("Hour of week must be between 0 and " + (DemandGrid.HOURS_PER_WEEK - 1));
+        }
+        int hour = hourOfWeek != null ? hourOfWeek : upcomingHour();
+        RelocationPlanDto cached = plans.get(type);
+        if (cached != null && cached.getHourOfWeek() == hour) {
+            return cached;
+        }
+        return computePlan(type, hour);
+    }
+
+    private RelocationPlanDto computePlan(UnitType type, int hour) {
+        long start = System.nanoTime();
+        List<GeoGridIndex.UnitPosition> units = new ArrayList<>(fleetIndex.index(type).all());
+        List<DemandGrid.CellDemand> demand = grids.get(type).demandAt(hour, demandCells);
+        PrepositioningPlanner.Plan plan = PrepositioningPlanner.plan(units, demand, targetCells, maxMoves,
+                minGainMeters, maxMoveMeters);
+
+        List<RelocationDto> relocations = plan.moves().stream()
+                .map(move -> RelocationDto.builder()
+                        .unitId(move.unitId())
+                        .fromLatitude(move.fromLatitude())
+                        .fromLongitude(move.fromLongitude())
+                        .toLatitude(move.toLatitude())
+                        .toLongitude(move.toLongitude())
+                        .moveMeters(move.moveMeters())
+                        .gainMeters(move.gainMeters())
+                        .build())
+                .toList();
+        log.debug("Relocation plan for {} at hour {}: {} moves, expected {} m -> {} m in {} ms", type, hour,
+                relocations.size(), Math.round(plan.expectedMetersBefore()), Math.round(plan.expectedMetersAfter()),
+                (System.nanoTime() - start) / 1_000_000);
+
+        return RelocationPlanDto.builder()
+                .unitType(type)
+                .hourOfWeek(hour)
+                .computedAt(Instant.now())
+                .availableUnits(units.size())
+                .expectedDistanceMeters(plan.expectedMetersBefore())
+                .expectedDistanceAfterMeters(plan.expectedMetersAfter())
+                .relocations(relocations)
+                .build();
+    }
+
+    private void add(UnitType type, Integer latCell, Integer lngCell, Integer hourOfWeek, Long count) {
+        if (count != null && count > 0) {
+            grids.get(type).addCell(latCell, lngCell, hourOfWeek, count);
+        }
+    }
+
+    private int upcomingHour() {
+        return DemandGrid.hourOfWeek(Instant.now().plus(Duration.ofMinutes(leadMinutes)), ZoneId.of(zone));
+    }
+}
@@ -0,0 +1,207 @@
+package com.REACT.backend.dispatch.service;
+
+import com.REACT.backend.dispatch.journal.JournalEventType;
+import com.REACT.backend.dispatch.journal.JournalRecord;
+import com.REACT.backend.dispatch.journal.MappedJournal;
+import com.REACT.backend.locationService.model.UnitType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Records every dispatch decision in the local {@link MappedJournal}: requests,
+ * claims, releases, status changes and the availability/position changes of the
+ * fleet index. Fleet checkpoints written at startup and periodically let the
+ * index be rebuilt by replaying from the last complete checkpoint.
+ *
+ * With {@code dispatch.journal.enabled=false} every method is a no-op.
+ */
+@Slf4j
+@Service
+public class DispatchJournalService {
+
+    private static final int NO_UNIT = -1;
+
+    @Value("${dispatch.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dispatch.journal.dir:journal}")
+    private String directory;
+
+    /**
+     * 1M records of 64 bytes = 64 MB per segment
+     */
+    @Value("${dispatch.journal.records-per-segment:1048576}")
+    private int recordsPerSegment;
+
+    @Value("${dispatch.journal.max-segments:16}")
+    private int maxSegments;
+
+    private MappedJournal journal;
+
+    /**
+     * sequence of the CHECKPOINT_BEGIN of the last complete checkpoint, -1 if none
+     */
+    private volatile long lastCheckpoint = -1;
+
+    @PostConstruct
+    void open() {
+        if (!enabled) {
+            log.info("Dispatch journal disabled");
+            return;
+        }
+        try {
+            journal = new MappedJournal(Path.of(directory), recordsPerSegment);
+            log.info("Dispatch journal opened in {} at sequence {}", directory, journal.nextSequence());
+        } catch (IOException e) {
+            log.error("Could not open dispatch journal in {}, journaling disabled", directory, e);
+            journal = null;
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * Written once the request has its id, so replay can tie it to the claims that follow.
+     */
+    public void requestReceived(long bookingId, double latitude, double longitude, int requestedUnits) {
+        append(JournalEventType.REQUEST_RECEIVED, NO_UNIT, requestedUnits, bookingId, 0, latitude, longitude);
+    }
+
+    public void bookingSaved(long bookingId) {
+        append(JournalEventType.BOOKING_SAVED, NO_UNIT, 0, bookingId, 0, 0, 0);
+    }
+
+    public void bookingStatus(long bookingId, Enum<?> status) {
+        append(JournalEventType.BOOKING_STATUS, NO_UNIT, status.ordinal(), bookingId, 0, 0, 0);
+    }
+
+    public void unitClaimed(UnitType type, long unitId, long bookingId) {
+        append(JournalEventType.UNIT_CLAIMED, type.ordinal(), 0, bookingId, unitId, 0, 0);
+    }
+
+    public void unitReleased(UnitType type, long unitId) {
+        append(JournalEventType.UNIT_RELEASED, type.ordinal(), 0, 0, unitId, 0, 0);
+    }
+
+    public void officersReserved(long stationId, int officers, long bookingId) {
+        append(JournalEventType.OFFICERS_RESERVED, NO_UNIT, officers, bookingId, stationId, 0, 0);
+    }
+
+    public void officersReleased(long stationId, int officers) {
+        append(JournalEventType.OFFICERS_RELEASED, NO_UNIT, officers, 0, stationId, 0, 0);
+    }
+
+    void unitAvailable(UnitType type, long unitId, double latitude, double longitude) {
+        append(JournalEventType.UNIT_AVAILABLE, type.ordinal(), 0, 0, unitId, latitude, longitude);
+    }
+
+    void unitUnavailable(UnitType type, long unitId) {
+        append(JournalEventType.UNIT_UNAVAILABLE, type.ordinal(), 0, 0, unitId, 0, 0);
+    }
+
+    void unitMoved(UnitType type, long unitId, double latitude, double longitude) {
+        append(JournalEventType.UNIT_MOVED, type.ordinal(), 0, 0, unitId, latitude, longitude);
+    }
+
+    /**
+     * Writes the full available fleet between CHECKPOINT_BEGIN/END markers.
+     *
+     * @param snapshot called with an appender for one UNIT_AVAILABLE record per unit
+     */
+    void checkpoint(Consumer<CheckpointWriter> snapshot) {
+        if (journal == null) return;
+        long begin = journal.append(JournalEventType.CHECKPOINT_BEGIN, NO_UNIT, 0, 0, 0, 0, 0);
+        int[] units = {0};
+        snapshot.accept((type, unitId, latitude, longitude) -> {
+            unitAvailable(type, unitId, latitude, longitude);
+            units[0]++;
+        });
+        journal.append(JournalEventType.CHECKPOINT_END, NO_UNIT, units[0], begin, 0, 0, 0);
+        journal.force();
+        lastCheckpoint = begin;
+        log.info("Fleet checkpoint of {} units written at journal sequence {}", units[0], begin);
+    }
+
+    /**
+     * Replays from the last complete checkpoint to the end of the journal.
+     *
+     * @return false if the journal holds no complete checkpoint (nothing is replayed)
+     */
+    boolean replayFromLastCheckpoint(Consumer<JournalRecord> consumer) {
+        if (journal == null) return false;
+        long[] begin = {-1};
+        journal.replay(journal.firstSequence(), record -> {
+            if (record.type() == JournalEventType.CHECKPOINT_END) {
+                begin[0] = record.bookingId(); // END carries the sequence of its BEGIN
+            }
+        });
+        if (begin[0] < 0) return false;
+        journal.replay(begin[0], consumer);
+        return true;
+    }
+
+    /**
+     * Reads journal records from a sequence onwards; call again with the result to tail.
+     *
+     * @return the sequence to continue from
+     */
+    public long replay(long fromSequence, Consumer<JournalRecord> consumer) {
+        return journal == null ? fromSequence : journal.replay(fromSequence, consumer);
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.journal.force-interval-ms:1000}")
+    public void force() {
+        if (journal != null) {
+            journal.force();
+        }
+    }
+
+    /**
+     * Keeps at most {@code dispatch.journal.max-segments} segments, but never drops one
+     * needed to replay from the last checkpoint.
+     */
+    @Scheduled(fixedDelayString = "${dispatch.journal.retention-check-ms:60000}")
+    public void trim() {
+        if (journal == null || lastCheckpoint < 0) return;
+        int excess = journal.segmentCount() - maxSegments;
+        if (excess <= 0) return;
+        long keepFrom = Math.min(lastCheckpoint, journal.firstSequence() + (long) excess * recordsPerSegment);
+        int deleted = journal.deleteBefore(keepFrom);
+        if (deleted > 0) {
+            log.info("Deleted {} journal segments before sequence {}", deleted, keepFrom);
+        }
+    }
+
+    private void append(JournalEventType type, int unitType, int value, long bookingId, long unitId,
+                        double latitude, double longitude) {
+        if (journal == null) return;
+        try {
+            journal.append(type, unitType, value, bookingId, unitId, latitude, longitude);
+        } catch (RuntimeException e) {
+            // the journal is an audit aid; never fail dispatch because of it
+            log.error("Failed to journal {} for unit {} / booking {}", type, unitId, bookingId, e);
+        }
+    }
+
+    @FunctionalInterface
+    interface CheckpointWriter {
+        void unit(UnitType type, long unitId, double latitude, double longitude);
+    }
+}
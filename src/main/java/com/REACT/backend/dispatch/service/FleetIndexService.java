@@ -0,0 +1,208 @@
+package com.REACT.backend.dispatch.service;
+
+import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
+import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
+import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.fireService.model.FireTruckEntity;
+import com.REACT.backend.fireService.model.FireTruckStatus;
+import com.REACT.backend.fireService.repository.FireTruckRepository;
+import com.REACT.backend.locationService.model.UnitType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process spatial index of AVAILABLE ambulances and fire trucks.
+ *
+ * Loaded once from the database on startup and then kept current from the
+ * location-update and status-change paths, so nearest-unit lookups never hit
+ * PostGIS. The database is only consulted to confirm the claim.
+ *
+ * Every change is also written to the dispatch journal. With
+ * {@code dispatch.journal.restore-fleet=true} the index is rebuilt on startup by
+ * replaying the journal from its last fleet checkpoint instead of querying the
+ * database. Changes are passed on to the partitioned dispatcher's cells as well.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FleetIndexService {
+
+    private final AmbulanceRepository ambulanceRepository;
+    private final FireTruckRepository fireTruckRepository;
+    private final DispatchJournalService journal;
+    private final PartitionedDispatchService partitions;
+
+    @Value("${dispatch.index.cell-size-deg:0.01}")
+    private double cellSizeDeg;
+
+    @Value("${dispatch.journal.restore-fleet:false}")
+    private boolean restoreFromJournal;
+
+    private final Map<UnitType, GeoGridIndex> indexes = new EnumMap<>(UnitType.class);
+
+    /**
+     * units touched since the coverage map last caught up
+     */
+    private final Map<UnitType, Set<Long>> changed = new EnumMap<>(UnitType.class);
+
+    @PostConstruct
+    void init() {
+        for (UnitType type : UnitType.values()) {
+            indexes.put(type, new GeoGridIndex(cellSizeDeg));
+            changed.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAvailableUnits() {
+        if (!(restoreFromJournal && restoreFromJournal())) {
+            loadFromDatabase();
+        }
+        for (UnitType type : UnitType.values()) {
+            indexes.get(type).all().forEach(unit -> changed.get(type).add(unit.unitId()));
+            partitions.load(type, indexes.get(type).all());
+        }
+        checkpoint();
+        log.info("Fleet index loaded: {} ambulances, {} fire trucks available",
+                availableCount(UnitType.AMBULANCE), availableCount(UnitType.FIRE_TRUCK));
+    }
+
+    private void loadFromDatabase() {
+        GeoGridIndex ambulances = indexes.get(UnitType.AMBULANCE);
+        for (AmbulanceEntity amb : ambulanceRepository.findByStatus(AmbulanceStatus.AVAILABLE)) {
+            if (amb.getLocation() != null) {
+                ambulances.upsert(amb.getId(), amb.getLocation().getY(), amb.getLocation().getX());
+            }
+        }
+
+        GeoGridIndex trucks = indexes.get(UnitType.FIRE_TRUCK);
+        for (FireTruckEntity truck : fireTruckRepository.findByStatus(FireTruckStatus.AVAILABLE)) {
+            if (truck.getLocation() != null) {
+                trucks.upsert(truck.getFireTruckId(), truck.getLocation().getY(), truck.getLocation().getX());
+            }
+        }
+    }
+
+    /**
+     * @return false if the journal has no complete checkpoint to start from
+     */
+    private boolean restoreFromJournal() {
+        UnitType[] types = UnitType.values();
+        boolean restored = journal.replayFromLastCheckpoint(record -> {
+            if (record.unitType() < 0 || record.unitType() >= types.length) return;
+            GeoGridIndex index = indexes.get(types[record.unitType()]);
+            switch (record.type()) {
+                case UNIT_AVAILABLE -> index.upsert(record.unitId(), record.latitude(), record.longitude());
+                case UNIT_UNAVAILABLE -> index.remove(record.unitId());
+                case UNIT_MOVED -> index.move(record.unitId(), record.latitude(), record.longitude());
+                default -> {
+                }
+            }
+        });
+        if (restored) {
+            log.info("Fleet index restored from dispatch journal");
+        } else {
+            log.info("No fleet checkpoint in dispatch journal, loading fleet index from database");
+        }
+        return restored;
+    }
+
+    /**
+     * Snapshots the available fleet into the journal so a restore replays only what
+     * happened since.
+     */
+    @Scheduled(initialDelayString = "${dispatch.journal.checkpoint-interval-ms:600000}",
+            fixedDelayString = "${dispatch.journal.checkpoint-interval-ms:600000}")
+    public void checkpoint() {
+        journal.checkpoint(writer -> {
+            for (UnitType type : UnitType.values()) {
+                for (GeoGridIndex.UnitPosition unit : indexes.get(type).all()) {
+                    writer.unit(type, unit.unitId(), unit.latitude(), unit.longitude());
+                }
+            }
+        });
+    }
+
+    /**
+     * Unit became AVAILABLE (registered, released, completed).
+     */
+    public void markAvailable(UnitType type, Long unitId, double latitude, double longitude) {
+        indexes.get(type).upsert(unitId, latitude, longitude);
+        changed.get(type).add(unitId);
+        journal.unitAvailable(type, unitId, latitude, longitude);
+        partitions.unitAvailable(type, unitId, latitude, longitude);
+        log.debug("{} {} indexed as available at [{}, {}]", type, unitId, latitude, longitude);
+    }
+
+    /**
+     * Unit left AVAILABLE (claimed, en route, busy).
+     */
+    public void markUnavailable(UnitType type, Long unitId) {
+        indexes.get(type).remove(unitId);
+        changed.get(type).add(unitId);
+        journal.unitUnavailable(type, unitId);
+        partitions.unitUnavailable(type, unitId);
+        log.debug("{} {} removed from available index", type, unitId);
+    }
+
+    /**
+     * GPS ping. Units that are not available are not indexed and are ignored here.
+     */
+    public void updatePosition(UnitType type, Long unitId, double latitude, double longitude) {
+        if (indexes.get(type).move(unitId, latitude, longitude)) {
+            changed.get(type).add(unitId);
+            journal.unitMoved(type, unitId, latitude, longitude);
+            partitions.unitMoved(type, unitId, latitude, longitude);
+        }
+    }
+
+    public boolean isAvailable(UnitType type, Long unitId) {
+        return indexes.get(type).contains(unitId);
+    }
+
+    public GeoGridIndex.UnitPosition position(UnitType type, Long unitId) {
+        return indexes.get(type).get(unitId);
+    }
+
+    /**
+     * @return up to k available units of the given type within the radius, nearest first
+     */
+    public List<GeoGridIndex.Neighbour> nearest(UnitType type, double latitude, double longitude,
+                                                int k, double maxRadiusMeters, Set<Long> excluded) {
+        return indexes.get(type).nearest(latitude, longitude, k, maxRadiusMeters, excluded);
+    }
+
+    GeoGridIndex index(UnitType type) {
+        return indexes.get(type);
+    }
+
+    /**
+     * @return ids of units added, moved or removed since the previous call
+     */
+    List<Long> drainChanged(UnitType type) {
+        Set<Long> pending = changed.get(type);
+        List<Long> drained = new ArrayList<>(pending.size());
+        for (Long unitId : pending) {
+            if (pending.remove(unitId)) drained.add(unitId);
+        }
+        return drained;
+    }
+
+    public int availableCount(UnitType type) {
+        return indexes.get(type).size();
+    }
+}
@@ -0,0 +1,146 @@
+package com.REACT.backend.dispatch.service;
+
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.dispatch.model.DispatchMode;
+import com.REACT.backend.dispatch.partition.PartitionGrid;
+import com.REACT.backend.locationService.model.UnitType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Claims units for {@link DispatchMode#PARTITIONED}: the available fleet is split over
+ * geographic cells, each owned by a single-writer event loop (see {@link PartitionGrid}).
+ *
+ * A booking is routed to the cell of its incident, which borrows from neighbouring
+ * cells when it has to; a unit handed to one booking has left every cell, so two
+ * bookings can never be given the same unit and bookings in different parts of the
+ * city never wait for each other. The fleet index feeds every status change and
+ * position ping in here, so the cells are current whichever mode is active.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartitionedDispatchService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dispatch.partition.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dispatch.partition.cell-size-deg:0.05}")
+    private double cellSizeDeg;
+
+    @Value("${dispatch.index.cell-size-deg:0.01}")
+    private double unitCellSizeDeg;
+
+    @Value("${dispatch.partition.event-loops:0}")
+    private int eventLoops;
+
+    private PartitionGrid grid;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Partitioned dispatch disabled");
+            return;
+        }
+        int loops = eventLoops > 0 ? eventLoops : Runtime.getRuntime().availableProcessors();
+        grid = new PartitionGrid(cellSizeDeg, unitCellSizeDeg, loops);
+
+        Gauge.builder("dispatch.partition.backlog", grid, PartitionGrid::backlog)
+                .description("Messages waiting on the dispatch cell event loops")
+                .register(meterRegistry);
+        Gauge.builder("dispatch.partition.cells", grid, PartitionGrid::cellCount)
+                .description("Partition cells holding or having held units")
+                .register(meterRegistry);
+        FunctionCounter.builder("dispatch.partition.handoffs", grid, PartitionGrid::handoffCount)
+                .description("Units handed from one cell to another after moving")
+                .register(meterRegistry);
+        FunctionCounter.builder("dispatch.partition.borrows", grid, PartitionGrid::borrowCount)
+                .description("Reservation rounds that asked neighbouring cells for units")
+                .register(meterRegistry);
+        FunctionCounter.builder("dispatch.partition.lent", grid, PartitionGrid::lentCount)
+                .description("Units lent by cells to reservations")
+                .register(meterRegistry);
+        log.info("Partitioned dispatch started: {}° cells on {} event loops", cellSizeDeg, loops);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (grid != null) grid.close();
+    }
+
+    public boolean isEnabled() {
+        return grid != null;
+    }
+
+    void load(UnitType type, Collection<GeoGridIndex.UnitPosition> units) {
+        if (grid == null) return;
+        units.forEach(unit -> grid.unitAvailable(type, unit.unitId(), unit.latitude(), unit.longitude()));
+    }
+
+    void unitAvailable(UnitType type, Long unitId, double latitude, double longitude) {
+        if (grid != null) grid.unitAvailable(type, unitId, latitude, longitude);
+    }
+
+    void unitUnavailable(UnitType type, Long unitId) {
+        if (grid != null) grid.unitUnavailable(type, unitId);
+    }
+
+    void unitMoved(UnitType type, Long unitId, double latitude, double longitude) {
+        if (grid != null) grid.unitMoved(type, unitId, latitude, longitude);
+    }
+
+    /**
+     * Takes the nearest units out of their cells. The caller claims them in the
+     * database and hands back any it does not use with {@link #release}.
+     *
+     * @return up to count units, nearest first; empty if the cells did not answer in time
+     */
+    public List<GeoGridIndex.Neighbour> reserve(UnitType type, double latitude, double longitude, int count,
+                                                double maxRadiusMeters, Set<Long> excluded, long timeoutMs) {
+        if (grid == null) {
+            throw new RuntimeException("Partitioned dispatch is disabled (dispatch.partition.enabled=false)");
+        }
+        CompletableFuture<List<GeoGridIndex.Neighbour>> result =
+                grid.reserve(type, latitude, longitude, count, maxRadiusMeters, excluded);
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Partitioned reservation for {} at [{}, {}] timed out", type, latitude, longitude);
+        } catch (ExecutionException e) {
+            log.error("Partitioned reservation for {} failed", type, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // anything reserved after we gave up goes back to its cell
+        result.thenAccept(units -> release(type, units));
+        return List.of();
+    }
+
+    /**
+     * Hands reserved but unused units back to their cells.
+     */
+    public void release(UnitType type, List<GeoGridIndex.Neighbour> units) {
+        units.forEach(unit -> grid.unitAvailable(type, unit.unitId(), unit.latitude(), unit.longitude()));
+    }
+
+    public int heldUnits(UnitType type) {
+        return grid == null ? 0 : grid.heldUnits(type);
+    }
+}
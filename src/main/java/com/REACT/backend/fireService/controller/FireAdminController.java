@@ -1,7 +1,10 @@
 package com.REACT.backend.fireService.controller;
 
+import com.REACT.backend.dispatch.dto.RelocationPlanDto;
+import com.REACT.backend.dispatch.service.DemandForecastService;
 import com.REACT.backend.fireService.dto.FireTruckDto;
 import com.REACT.backend.fireService.service.FireAdminService;
+import com.REACT.backend.locationService.model.UnitType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +17,7 @@ import java.util.List;
 public class FireAdminController {
 
     private final FireAdminService fireAdminService;
+    private final DemandForecastService demandForecastService;
 
     // Get all trucks of a fire station
     @GetMapping("/station/{stationId}/trucks")
@@ -32,4 +36,10 @@ public class FireAdminController {
     public ResponseEntity<?> getTruckHistory(@PathVariable Long truckId) {
         return ResponseEntity.ok(fireAdminService.getBookingHistoryByTruck(truckId));
     }
+
+    // Where idle fire trucks should wait for the coming hour (or the given hour of the week)
+    @GetMapping("/prepositioning")
+    public ResponseEntity<RelocationPlanDto> getPrepositioningPlan(@RequestParam(required = false) Integer hourOfWeek) {
+        return ResponseEntity.ok(demandForecastService.getPlan(UnitType.FIRE_TRUCK, hourOfWeek));
+    }
 }
@@ -9,7 +9,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,15 +22,13 @@ public class FireTruckController {
 
     @Autowired
     FireTruckLocationUpdateServiceImplementation fireTruckLocationUpdateServiceImplementation;
-    private final SimpMessagingTemplate messagingTemplate;
 
 
 
     @PostMapping("/update")
     public ResponseEntity<String> updateLocation(@RequestBody FireTruckLocationUpdateDto dto) {
         fireTruckLocationUpdateServiceImplementation.updateLocation(dto);
-        log.info("Location update request fetched for fire truck {}",dto.getTruckId());
-        messagingTemplate.convertAndSend("/topic/location", dto);
+        log.debug("Location update request fetched for fire truck {}",dto.getTruckId());
         return ResponseEntity.ok("Location updated and broadcasted");
     }
 
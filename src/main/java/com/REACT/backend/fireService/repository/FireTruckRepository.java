@@ -1,11 +1,14 @@
 package com.REACT.backend.fireService.repository;
 
 import com.REACT.backend.fireService.model.FireTruckEntity;
+import com.REACT.backend.fireService.model.FireTruckStatus;
 
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,5 +29,69 @@ public interface FireTruckRepository extends JpaRepository<FireTruckEntity, Long
 
     List<FireTruckEntity> findByFireStationEntityId(Long stationId);
 
+    List<FireTruckEntity> findByStatus(FireTruckStatus status);
+
+    /**
+     * Claims up to :n nearest AVAILABLE fire trucks in a single statement
+     * (KNN order, SKIP LOCKED, status flip). See AmbulanceRepository#claimNearestAvailable.
+     */
+    @Transactional
+    @Query(value = """
+        WITH claimed AS (
+            UPDATE fire_truck_entity f
+            SET status = 'EN_ROUTE', last_updated = now()
+            WHERE f.fire_truck_id IN (
+                SELECT c.fire_truck_id FROM fire_truck_entity c
+                WHERE c.status = 'AVAILABLE'
+                  AND ST_DWithin(c.location, ST_MakePoint(:lng, :lat)::geography, :radius)
+                ORDER BY c.location <-> ST_MakePoint(:lng, :lat)::geography
+                LIMIT :n
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING f.*
+        )
+        SELECT * FROM claimed
+        ORDER BY ST_Distance(location, ST_MakePoint(:lng, :lat)::geography)
+        """, nativeQuery = true)
+    List<FireTruckEntity> claimNearestAvailable(
+            @Param("lat") double latitude,
+            @Param("lng") double longitude,
+            @Param("radius") double radiusInMeters,
+            @Param("n") int count
+    );
+
+    /**
+     * Claims the given fire trucks if they are still AVAILABLE and unlocked.
+     */
+    @Transactional
+    @Query(value = """
+        WITH claimed AS (
+            UPDATE fire_truck_entity f
+            SET status = 'EN_ROUTE', last_updated = now()
+            WHERE f.fire_truck_id IN (
+                SELECT c.fire_truck_id FROM fire_truck_entity c
+                WHERE c.fire_truck_id IN (:ids)
+                  AND c.status = 'AVAILABLE'
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING f.*
+        )
+        SELECT * FROM claimed
+        """, nativeQuery = true)
+    List<FireTruckEntity> claimByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Hands claimed units back, e.g. when a dispatch branch finished after its
+     * booking had already given up on it.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE fire_truck_entity
+        SET status = 'AVAILABLE', last_updated = now()
+        WHERE fire_truck_id IN (:ids) AND status = 'EN_ROUTE'
+        """, nativeQuery = true)
+    int releaseByIds(@Param("ids") Collection<Long> ids);
+
 
 }
@@ -9,6 +9,8 @@ import com.REACT.backend.fireService.model.FireTruckEntity;
 import com.REACT.backend.fireService.repository.FireStationRepository;
 import com.REACT.backend.fireService.repository.FireTruckRepository;
 import com.REACT.backend.fireService.service.FireAdminService;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.locationService.service.LocationIngestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,7 @@ public class FireAdminServiceImpl implements FireAdminService {
     private final FireStationRepository fireStationRepository;
     private final FireTruckRepository fireTruckRepository;
     private final BookingLogRepository bookingLogRepository;
+    private final LocationIngestService locationIngest;
 
     @Override
     public List<FireTruckDto> getTrucksByStation(Long stationId) {
@@ -30,7 +33,7 @@ public class FireAdminServiceImpl implements FireAdminService {
                 .orElseThrow(() -> new RuntimeException("Fire Station not found"));
 
         return station.getFireTruckEntities().stream()
-                .map(FireTruckDto::new)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -46,4 +49,15 @@ public class FireAdminServiceImpl implements FireAdminService {
         return bookings.stream().map(BookingDto::new).toList();
     }
 
+    /**
+     * Rows trail the last ping by up to one write-behind round; the ping wins.
+     */
+    private FireTruckDto toDto(FireTruckEntity entity) {
+        FireTruckDto dto = new FireTruckDto(entity);
+        locationIngest.latest(UnitType.FIRE_TRUCK, entity.getFireTruckId()).ifPresent(p -> {
+            dto.setLatitude(p.latitude());
+            dto.setLongitude(p.longitude());
+        });
+        return dto;
+    }
 }
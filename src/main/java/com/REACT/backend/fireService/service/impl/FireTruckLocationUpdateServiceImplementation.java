@@ -1,12 +1,13 @@
 package com.REACT.backend.fireService.service.impl;
 
 
-import com.REACT.backend.common.util.LocationUtils;
+import com.REACT.backend.dispatch.service.FleetIndexService;
 import com.REACT.backend.fireService.dto.FireTruckLocationUpdateDto;
-import com.REACT.backend.fireService.model.FireTruckEntity;
-import com.REACT.backend.fireService.repository.FireTruckRepository;
 import com.REACT.backend.fireService.service.FireTruckLocationUpdateService;
-import jakarta.transaction.Transactional;
+import com.REACT.backend.locationService.model.LocationBroadcastDto;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.locationService.service.LocationBroadcastService;
+import com.REACT.backend.locationService.service.LocationIngestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,21 +19,20 @@ public class FireTruckLocationUpdateServiceImplementation implements FireTruckLo
 
 
 
-    private final FireTruckRepository fireTruckRepo;
-    private final LocationUtils locationUtils;
+    private final LocationIngestService locationIngest;
+    private final FleetIndexService fleetIndex;
+    private final LocationBroadcastService broadcastService;
 
 
     @Override
-    @Transactional
     public void updateLocation(FireTruckLocationUpdateDto locationUpdateDto) {
-      log.info("No such truck with truckId={} present in DB",locationUpdateDto.getTruckId());
-      FireTruckEntity entity = fireTruckRepo.findById(locationUpdateDto.getTruckId())
-              .orElseThrow(()-> new RuntimeException("No such fire Truck Exist"+locationUpdateDto.getTruckId()));
-
-
-      entity.setLocation(locationUtils.createPoint(locationUpdateDto.getLongitude(),locationUpdateDto.getLatitude()));
-      fireTruckRepo.save(entity);
-      log.info("Location of fire truckId={} updated",locationUpdateDto.getTruckId());
+      // written to the database in the next write-behind round, see LocationIngestService
+      locationIngest.record(UnitType.FIRE_TRUCK, locationUpdateDto.getTruckId(),
+              locationUpdateDto.getLatitude(), locationUpdateDto.getLongitude());
+      fleetIndex.updatePosition(UnitType.FIRE_TRUCK, locationUpdateDto.getTruckId(), locationUpdateDto.getLatitude(), locationUpdateDto.getLongitude());
+      log.debug("Location of fire truckId={} updated",locationUpdateDto.getTruckId());
+      broadcastService.broadcastLocation(new LocationBroadcastDto(locationUpdateDto.getTruckId(), UnitType.FIRE_TRUCK,
+              locationUpdateDto.getLatitude(), locationUpdateDto.getLongitude()));
     }
 
 
@@ -0,0 +1,39 @@
+package com.REACT.backend.hospitalService.controller;
+
+import com.REACT.backend.hospitalService.dto.HospitalCapacityDto;
+import com.REACT.backend.hospitalService.service.HospitalCapacityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/hospital")
+public class HospitalController {
+
+    private final HospitalCapacityService hospitalCapacityService;
+
+    // Live bed availability of all hospitals
+    @GetMapping("/capacity")
+    public ResponseEntity<List<HospitalCapacityDto>> getCapacities() {
+        return ResponseEntity.ok(hospitalCapacityService.capacities());
+    }
+
+    // Patient admitted without an ambulance dispatch (walk-in, transfer)
+    @PreAuthorize("hasRole('FIRE_STATION_ADMIN')")
+    @PostMapping("/{hospitalId}/admit")
+    public ResponseEntity<Integer> admit(@PathVariable Long hospitalId) {
+        hospitalCapacityService.admit(hospitalId);
+        return ResponseEntity.ok(hospitalCapacityService.freeBeds(hospitalId));
+    }
+
+    @PreAuthorize("hasRole('FIRE_STATION_ADMIN')")
+    @PostMapping("/{hospitalId}/discharge")
+    public ResponseEntity<Integer> discharge(@PathVariable Long hospitalId) {
+        hospitalCapacityService.release(hospitalId);
+        return ResponseEntity.ok(hospitalCapacityService.freeBeds(hospitalId));
+    }
+}
@@ -0,0 +1,16 @@
+package com.REACT.backend.hospitalService.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class HospitalCapacityDto {
+
+    private Long hospitalId;
+    private String hospitalName;
+    private double latitude;
+    private double longitude;
+    private int bedCapacity;
+    private int freeBeds;      // live count, includes beds held for patients on their way in
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.locationtech.jts.geom.Point;
 
 @Entity
@@ -24,4 +25,10 @@ public class Hospital {
     private Point location;
     private int bedCapacity;
 
+    /**
+     * beds taken by admitted patients and by patients an ambulance is bringing in
+     */
+    @ColumnDefault("0") // lets ddl-auto add the column to existing rows
+    private int occupiedBeds;
+
 }
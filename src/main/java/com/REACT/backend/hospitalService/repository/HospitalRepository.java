@@ -2,6 +2,18 @@ package com.REACT.backend.hospitalService.repository;
 
 import com.REACT.backend.hospitalService.model.Hospital;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface HospitalRepository extends JpaRepository<Hospital,Long> {
+
+    /**
+     * Write-behind target of HospitalCapacityService.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Hospital h SET h.occupiedBeds = :occupied WHERE h.id = :id")
+    int updateOccupiedBeds(@Param("id") Long id, @Param("occupied") int occupied);
 }
@@ -1,4 +0,0 @@
-package com.REACT.backend.hospitalService;
-
-public class service {
-}
@@ -0,0 +1,216 @@
+package com.REACT.backend.hospitalService.service;
+
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.hospitalService.dto.HospitalCapacityDto;
+import com.REACT.backend.hospitalService.model.Hospital;
+import com.REACT.backend.hospitalService.repository.HospitalRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the free-bed count of every hospital and picks ambulance destinations.
+ *
+ * Each hospital has its own atomic counter; a grid index holds the hospitals that
+ * still have a free bed, so the nearest one is found by a ring search around the
+ * incident instead of a table scan. A bed is taken when an ambulance is dispatched
+ * towards the hospital (or a walk-in is admitted) and given back on discharge or
+ * when the dispatch is dropped. Changed counts are written back to {@code hospital}
+ * periodically, like the police officer counters.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HospitalCapacityService {
+
+    private static final int CANDIDATES_PER_ROUND = 4;
+    private static final int MAX_ROUNDS = 8;
+
+    private final HospitalRepository hospitalRepository;
+
+    @Value("${hospital.index.cell-size-deg:0.02}")
+    private double cellSizeDeg;
+
+    @Value("${hospital.destination.max-radius-meters:50000}")
+    private double maxRadiusMeters;
+
+    private GeoGridIndex withFreeBeds;
+    private final Map<Long, Hospital> hospitals = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> freeBeds = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        withFreeBeds = new GeoGridIndex(cellSizeDeg);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHospitals() {
+        for (Hospital hospital : hospitalRepository.findAll()) {
+            track(hospital);
+        }
+        log.info("Hospital capacity index loaded: {} hospitals, {} with free beds",
+                hospitals.size(), withFreeBeds.size());
+    }
+
+    /**
+     * Starts tracking a hospital, e.g. one created after start-up.
+     */
+    public void track(Hospital hospital) {
+        hospitals.put(hospital.getId(), hospital);
+        AtomicInteger free = new AtomicInteger(Math.max(0, hospital.getBedCapacity() - hospital.getOccupiedBeds()));
+        freeBeds.put(hospital.getId(), free);
+        if (free.get() > 0) {
+            index(hospital);
+        }
+    }
+
+    /**
+     * Takes a bed at the nearest hospital that has one.
+     *
+     * @return the hospital, empty if none within {@code hospital.destination.max-radius-meters} has a free bed
+     */
+    public Optional<Hospital> reserveNearest(double latitude, double longitude) {
+        Set<Long> tried = new HashSet<>();
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            List<GeoGridIndex.Neighbour> nearest = withFreeBeds.nearest(latitude, longitude, CANDIDATES_PER_ROUND,
+                    maxRadiusMeters, tried);
+            if (nearest.isEmpty()) break;
+            for (GeoGridIndex.Neighbour candidate : nearest) {
+                // the index may trail the counters by one update; the counter decides
+                if (tryTake(candidate.unitId())) {
+                    return Optional.of(hospitals.get(candidate.unitId()));
+                }
+                tried.add(candidate.unitId());
+            }
+        }
+        log.warn("No hospital with a free bed within {} m of [{}, {}]", maxRadiusMeters, latitude, longitude);
+        return Optional.empty();
+    }
+
+    /**
+     * Admits a patient who did not come through dispatch.
+     */
+    public void admit(Long hospitalId) {
+        counter(hospitalId);
+        if (!tryTake(hospitalId)) {
+            throw new RuntimeException("No free beds at hospital " + hospitalId);
+        }
+    }
+
+    /**
+     * Gives a bed back (patient discharged, or the ambulance bringing them was released).
+     */
+    public void release(Long hospitalId) {
+        Hospital hospital = hospital(hospitalId);
+        AtomicInteger counter = counter(hospitalId);
+        int now = counter.updateAndGet(free -> Math.min(free + 1, hospital.getBedCapacity()));
+        dirty.add(hospitalId);
+        if (now == 1) {
+            index(hospital);
+        }
+        log.debug("Bed released at hospital {}, {} free", hospitalId, now);
+    }
+
+    public int freeBeds(Long hospitalId) {
+        return counter(hospitalId).get();
+    }
+
+    public List<HospitalCapacityDto> capacities() {
+        List<HospitalCapacityDto> result = new ArrayList<>();
+        for (Hospital hospital : hospitals.values()) {
+            int free = freeBeds.get(hospital.getId()).get();
+            result.add(HospitalCapacityDto.builder()
+                    .hospitalId(hospital.getId())
+                    .hospitalName(hospital.getHospitalName())
+                    .latitude(hospital.getLocation() == null ? 0 : hospital.getLocation().getY())
+                    .longitude(hospital.getLocation() == null ? 0 : hospital.getLocation().getX())
+                    .bedCapacity(hospital.getBedCapacity())
+                    .freeBeds(free)
+                    .build());
+        }
+        result.sort(Comparator.comparing(HospitalCapacityDto::getHospitalId));
+        return result;
+    }
+
+    /**
+     * Writes changed occupancy back to the database.
+     */
+    @Scheduled(fixedDelayString = "${hospital.capacity.flush-interval-ms:1000}")
+    public void flush() {
+        if (dirty.isEmpty()) return;
+        List<Long> changed = new ArrayList<>(dirty);
+        for (Long hospitalId : changed) {
+            // remove before reading: a concurrent update re-marks the hospital and is flushed next round
+            dirty.remove(hospitalId);
+            try {
+                Hospital hospital = hospitals.get(hospitalId);
+                hospitalRepository.updateOccupiedBeds(hospitalId,
+                        hospital.getBedCapacity() - freeBeds.get(hospitalId).get());
+            } catch (RuntimeException e) {
+                dirty.add(hospitalId);
+                log.error("Failed to persist bed occupancy of hospital {}", hospitalId, e);
+            }
+        }
+        log.debug("Persisted bed occupancy of {} hospitals", changed.size());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean tryTake(long hospitalId) {
+        AtomicInteger counter = freeBeds.get(hospitalId);
+        if (counter == null) return false;
+        while (true) {
+            int current = counter.get();
+            if (current <= 0) return false;
+            if (counter.compareAndSet(current, current - 1)) {
+                dirty.add(hospitalId);
+                if (current == 1) {
+                    withFreeBeds.remove(hospitalId);
+                    // a release may have raced in between the CAS and the removal
+                    if (counter.get() > 0) index(hospitals.get(hospitalId));
+                }
+                return true;
+            }
+        }
+    }
+
+    private void index(Hospital hospital) {
+        if (hospital.getLocation() != null) {
+            withFreeBeds.upsert(hospital.getId(), hospital.getLocation().getY(), hospital.getLocation().getX());
+        }
+    }
+
+    private Hospital hospital(Long hospitalId) {
+        counter(hospitalId);
+        return hospitals.get(hospitalId);
+    }
+
+    private AtomicInteger counter(Long hospitalId) {
+        AtomicInteger counter = freeBeds.get(hospitalId);
+        if (counter != null) return counter;
+        // hospitals created outside this service (e.g. directly in the DB) are picked up on first use
+        track(hospitalRepository.findById(hospitalId)
+                .orElseThrow(() -> new RuntimeException("Hospital not found: " + hospitalId)));
+        return freeBeds.get(hospitalId);
+    }
+}
@@ -0,0 +1,167 @@
+package com.REACT.backend.locationService.config;
+
+import com.REACT.backend.Jwt.JwtUtils;
+import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
+import com.REACT.backend.booking.repository.EmergencyRequestRepository;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.locationService.service.IncidentRoutingService;
+import com.REACT.backend.locationService.service.LocationBroadcastService;
+import com.REACT.backend.users.AppUser;
+import com.REACT.backend.users.Role;
+import com.REACT.backend.users.repository.FireTruckDriverRepository;
+import com.REACT.backend.users.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticates a STOMP session once, at CONNECT, with the same bearer token the
+ * REST API takes (native header {@code Authorization: Bearer <jwt>}).
+ *
+ * A driver's session is also bound to the vehicle they drive, so location frames
+ * carry only coordinates and cannot speak for another unit. Every later frame of
+ * the session reuses this; nothing is looked up per frame.
+ *
+ * SUBSCRIBE is checked once per subscription: the fleet-wide and map view topics are for staff,
+ * a unit topic for staff and the unit's own driver, and an incident (or booking
+ * progress) topic for staff, the requester and the drivers assigned to it.
+ *
+ * SEND is only accepted to {@code /app/**} handlers; the simple broker would otherwise
+ * relay a client's frame to {@code /topic/**} subscribers as if the server had sent it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    public static final String UNIT_TYPE = "unitType";
+    public static final String UNIT_ID = "unitId";
+    public static final String USER_ID = "userId";
+    public static final String ROLE = "role";
+
+    private static final EnumSet<Role> STAFF = EnumSet.of(Role.POLICE_OFFICER, Role.FIRE_STATION_ADMIN);
+    private static final String BOOKING_TOPIC_PREFIX = "/topic/booking/";
+
+    private final JwtUtils jwtUtils;
+    private final UserRepository userRepository;
+    private final AmbulanceRepository ambulanceRepository;
+    private final FireTruckDriverRepository fireTruckDriverRepository;
+    private final EmergencyRequestRepository requestRepo;
+    private final IncidentRoutingService incidentRouting;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.SEND) {
+            authorizeSend(accessor.getDestination(), accessor.getSessionAttributes());
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            authorizeSubscription(accessor.getDestination(), accessor.getSessionAttributes());
+            return message;
+        }
+        if (accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String header = accessor.getFirstNativeHeader("Authorization");
+        String jwt = header != null && header.startsWith("Bearer ") ? header.substring(7) : null;
+        if (jwt == null || !jwtUtils.validateJwtToken(jwt)) {
+            throw new AccessDeniedException("Missing or invalid token on STOMP CONNECT");
+        }
+        AppUser user = userRepository.findByUserEmail(jwtUtils.getEmailFromJwtToken(jwt));
+        if (user == null) {
+            throw new AccessDeniedException("Unknown user on STOMP CONNECT");
+        }
+        accessor.setUser(new UsernamePasswordAuthenticationToken(user, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))));
+        bindUnit(user, accessor.getSessionAttributes());
+        log.info("STOMP session {} opened by {}", accessor.getSessionId(), user.getUserEmail());
+        return message;
+    }
+
+    private void bindUnit(AppUser user, Map<String, Object> session) {
+        if (session == null) return;
+        session.put(USER_ID, user.getUserId());
+        session.put(ROLE, user.getRole());
+        if (user.getRole() == Role.AMBULANCE_DRIVER) {
+            ambulanceRepository.findByDriver_UserId(user.getUserId()).ifPresent(ambulance -> {
+                session.put(UNIT_TYPE, UnitType.AMBULANCE);
+                session.put(UNIT_ID, ambulance.getId());
+            });
+        } else if (user.getRole() == Role.FIRE_DRIVER) {
+            fireTruckDriverRepository.findByDriver(user).ifPresent(driver -> {
+                session.put(UNIT_TYPE, UnitType.FIRE_TRUCK);
+                session.put(UNIT_ID, driver.getFireTruckEntity().getFireTruckId());
+            });
+        }
+    }
+
+    private void authorizeSend(String destination, Map<String, Object> session) {
+        if (session == null || session.get(ROLE) == null) {
+            throw new AccessDeniedException("Session is not authenticated");
+        }
+        if (destination == null || !destination.startsWith(WebSocketConfig.APP_PREFIX + "/")) {
+            throw new AccessDeniedException("Clients may only send to " + WebSocketConfig.APP_PREFIX + " destinations");
+        }
+    }
+
+    private void authorizeSubscription(String destination, Map<String, Object> session) {
+        if (destination == null || !destination.startsWith("/topic/")) return;
+        Role role = session == null ? null : (Role) session.get(ROLE);
+        if (role == null) {
+            throw new AccessDeniedException("Session is not authenticated");
+        }
+        if (STAFF.contains(role)) return;
+
+        UnitType ownType = (UnitType) session.get(UNIT_TYPE);
+        Long ownUnit = (Long) session.get(UNIT_ID);
+        if (destination.equals(LocationBroadcastService.FLEET_TOPIC)
+                || destination.equals(LocationBroadcastService.VIEWPORT_TOPIC)) {
+            throw new AccessDeniedException("Fleet-wide locations are for staff only");
+        }
+        if (destination.startsWith(LocationBroadcastService.UNIT_TOPIC_PREFIX)) {
+            if (ownType == null || !destination.equals(LocationBroadcastService.unitTopic(ownType, ownUnit))) {
+                throw new AccessDeniedException("Not allowed to follow " + destination);
+            }
+            return;
+        }
+        Long requestId = idAfter(destination, LocationBroadcastService.INCIDENT_TOPIC_PREFIX);
+        if (requestId == null) requestId = idAfter(destination, BOOKING_TOPIC_PREFIX);
+        if (requestId == null) return;
+
+        if (ownType != null && incidentRouting.incidentsOf(ownType, ownUnit).contains(requestId)) return;
+        Long userId = (Long) session.get(USER_ID);
+        boolean requester = requestRepo.findById(requestId)
+                .map(request -> request.getRequestedBy().getUserId().equals(userId))
+                .orElse(false);
+        if (!requester) {
+            throw new AccessDeniedException("Not allowed to follow " + destination);
+        }
+    }
+
+    private static Long idAfter(String destination, String prefix) {
+        if (!destination.startsWith(prefix)) return null;
+        try {
+            return Long.parseLong(destination.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            throw new AccessDeniedException("Unknown destination " + destination);
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package com.REACT.backend.locationService.config;
 
+import com.REACT.backend.locationService.service.LocationConflationService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.*;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    public static final String APP_PREFIX = "/app";
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final LocationConflationService locationConflation;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-location")
@@ -18,6 +27,18 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
-        config.setApplicationDestinationPrefixes("/app");
+        config.setApplicationDestinationPrefixes(APP_PREFIX);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // the handshake is open (see SecurityConfig); sessions authenticate with their CONNECT frame
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // tells the conflation layer when a session has finished writing its last frame
+        registration.interceptors(locationConflation);
     }
 }
@@ -0,0 +1,70 @@
+package com.REACT.backend.locationService.controller;
+
+import com.REACT.backend.ambulanceService.dto.AmbulanceLocationUpdateDto;
+import com.REACT.backend.ambulanceService.service.AmbulanceLocationService;
+import com.REACT.backend.fireService.dto.FireTruckLocationUpdateDto;
+import com.REACT.backend.fireService.service.FireTruckLocationUpdateService;
+import com.REACT.backend.locationService.config.StompAuthChannelInterceptor;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.locationService.service.LocationIngestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+/**
+ * STOMP ingest for GPS fixes, the streaming counterpart of
+ * {@code /ambulance/location/update} and {@code /fire/location/update}.
+ *
+ * The driver connects once to {@code /ws-location} (authenticated at CONNECT, see
+ * {@link StompAuthChannelInterceptor}) and then sends each fix to
+ * {@code /app/location} as the plain text frame {@code "<lat>,<lng>"}. The unit is
+ * the one bound to the session. Positions that are NaN, infinite or outside
+ * ±90/±180 are refused by {@link LocationIngestService#record} before they reach
+ * the fleet index, the history or any subscriber.
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class LocationStreamController {
+
+    private final AmbulanceLocationService ambulanceLocationService;
+    private final FireTruckLocationUpdateService fireTruckLocationUpdateService;
+
+    @MessageMapping("/location")
+    public void receiveLocation(@Payload String frame, SimpMessageHeaderAccessor headers) {
+        Map<String, Object> session = headers.getSessionAttributes();
+        UnitType type = session == null ? null : (UnitType) session.get(StompAuthChannelInterceptor.UNIT_TYPE);
+        if (type == null) {
+            throw new RuntimeException("Session " + headers.getSessionId() + " is not bound to a vehicle");
+        }
+        Long unitId = (Long) session.get(StompAuthChannelInterceptor.UNIT_ID);
+
+        int comma = frame.indexOf(',');
+        if (comma < 0) {
+            throw new RuntimeException("Malformed location frame: " + frame);
+        }
+        double latitude;
+        double longitude;
+        try {
+            latitude = Double.parseDouble(frame.substring(0, comma).trim());
+            longitude = Double.parseDouble(frame.substring(comma + 1).trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Malformed location frame: " + frame);
+        }
+
+        if (type == UnitType.AMBULANCE) {
+            ambulanceLocationService.updateLocation(new AmbulanceLocationUpdateDto(unitId, latitude, longitude));
+        } else {
+            FireTruckLocationUpdateDto dto = new FireTruckLocationUpdateDto();
+            dto.setTruckId(unitId);
+            dto.setLatitude(latitude);
+            dto.setLongitude(longitude);
+            fireTruckLocationUpdateService.updateLocation(dto);
+        }
+    }
+}
@@ -1,21 +1,69 @@
 package com.REACT.backend.locationService.controller;
 
+import com.REACT.backend.ambulanceService.dto.AmbulanceLocationUpdateDto;
+import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
+import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
+import com.REACT.backend.ambulanceService.service.AmbulanceLocationService;
+import com.REACT.backend.fireService.dto.FireTruckLocationUpdateDto;
+import com.REACT.backend.fireService.service.FireTruckLocationUpdateService;
 import com.REACT.backend.locationService.model.LocationBroadcastDto;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.users.AppUser;
+import com.REACT.backend.users.repository.FireTruckDriverRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Objects;
+
+/**
+ * Generic position ping for either kind of vehicle. Only the vehicle's own driver may
+ * post it, and it goes through the same validated ingest as
+ * {@code /ambulance/location/update} and {@code /fire/location/update}.
+ */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/location")
 public class LocationUpdateController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final AmbulanceLocationService ambulanceLocationService;
+    private final FireTruckLocationUpdateService fireTruckLocationUpdateService;
+    private final AmbulanceRepository ambulanceRepository;
+    private final FireTruckDriverRepository fireTruckDriverRepository;
 
     @PostMapping("/update")
     public void receiveLocation(@RequestBody LocationBroadcastDto locationBroadcastDto) {
-        messagingTemplate.convertAndSend("/topic/location", locationBroadcastDto); // push to clients
+        AppUser user = (AppUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UnitType type = locationBroadcastDto.getUnitType();
+        Long unitId = locationBroadcastDto.getUnitId();
+        if (type == null || unitId == null || !Objects.equals(ownUnit(user, type), unitId)) {
+            throw new AccessDeniedException("Only the driver of " + type + " " + unitId + " may post its position.");
+        }
+
+        if (type == UnitType.AMBULANCE) {
+            ambulanceLocationService.updateLocation(new AmbulanceLocationUpdateDto(
+                    unitId, locationBroadcastDto.getLatitude(), locationBroadcastDto.getLongitude()));
+        } else {
+            FireTruckLocationUpdateDto dto = new FireTruckLocationUpdateDto();
+            dto.setTruckId(unitId);
+            dto.setLatitude(locationBroadcastDto.getLatitude());
+            dto.setLongitude(locationBroadcastDto.getLongitude());
+            fireTruckLocationUpdateService.updateLocation(dto);
+        }
+    }
+
+    /**
+     * @return id of the vehicle of this type the user drives, or null
+     */
+    private Long ownUnit(AppUser user, UnitType type) {
+        return switch (type) {
+            case AMBULANCE -> ambulanceRepository.findByDriver_UserId(user.getUserId())
+                    .map(AmbulanceEntity::getId).orElse(null);
+            case FIRE_TRUCK -> fireTruckDriverRepository.findByDriver(user)
+                    .map(driver -> driver.getFireTruckEntity().getFireTruckId()).orElse(null);
+        };
     }
 }
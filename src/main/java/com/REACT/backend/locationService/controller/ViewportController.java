@@ -0,0 +1,42 @@
+package com.REACT.backend.locationService.controller;
+
+import com.REACT.backend.locationService.index.ViewportIndex;
+import com.REACT.backend.locationService.service.ViewportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Map clients send their view to {@code /app/viewport} as the text frame
+ * {@code "<minLat>,<minLng>,<maxLat>,<maxLng>,<zoom>"}, after subscribing to
+ * {@code /topic/viewport} and again on every pan or zoom. Boxes must be finite,
+ * within ±90/±180 and have min ≤ max on both axes.
+ */
+@Controller
+@RequiredArgsConstructor
+public class ViewportController {
+
+    private final ViewportService viewportService;
+
+    @MessageMapping("/viewport")
+    public void setViewport(@Payload String frame, SimpMessageHeaderAccessor headers) {
+        String[] parts = frame.split(",");
+        if (parts.length != 5) {
+            throw new RuntimeException("Malformed viewport frame: " + frame);
+        }
+        ViewportIndex.Box box;
+        int zoom;
+        try {
+            box = new ViewportIndex.Box(
+                    Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+            zoom = Integer.parseInt(parts[4].trim());
+        } catch (IllegalArgumentException e) {
+            // unparseable numbers, or a box that is inverted, not finite or off the globe
+            throw new RuntimeException("Malformed viewport frame: " + frame);
+        }
+        viewportService.update(headers.getSessionId(), box, zoom);
+    }
+}
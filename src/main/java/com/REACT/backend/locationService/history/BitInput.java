@@ -0,0 +1,36 @@
+package com.REACT.backend.locationService.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a bit stream written by {@link BitOutput} straight out of a buffer, without
+ * copying it. Reusable: {@link #reset} points it at the next block.
+ */
+final class BitInput {
+
+    private ByteBuffer buffer;
+    private int base;
+    private long position;
+
+    void reset(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.base = offset;
+        this.position = 0;
+    }
+
+    /**
+     * @return the next {@code n} bits (1 ≤ n ≤ 64) as an unsigned value
+     */
+    long read(int n) {
+        long value = 0;
+        while (n > 0) {
+            int available = 8 - (int) (position & 7);
+            int take = Math.min(available, n);
+            int current = buffer.get(base + (int) (position >>> 3)) & 0xff;
+            value = (value << take) | ((current >>> (available - take)) & ((1 << take) - 1));
+            position += take;
+            n -= take;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,43 @@
+package com.REACT.backend.locationService.history;
+
+import java.util.Arrays;
+
+/**
+ * Growable bit stream, written most significant bit first.
+ */
+final class BitOutput {
+
+    private long[] words = new long[16];
+    private int bits;
+
+    /**
+     * Appends the low {@code n} bits of {@code value} (1 ≤ n ≤ 64).
+     */
+    void write(long value, int n) {
+        if (n < 64) value &= (1L << n) - 1;
+        int word = bits >>> 6;
+        int free = 64 - (bits & 63);
+        if (word + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        if (n <= free) {
+            words[word] |= value << (free - n);
+        } else {
+            words[word] |= value >>> (n - free);
+            words[word + 1] |= value << (64 - (n - free));
+        }
+        bits += n;
+    }
+
+    int bitCount() {
+        return bits;
+    }
+
+    byte[] toByteArray() {
+        byte[] bytes = new byte[(bits + 7) >>> 3];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> (56 - 8 * (i & 7)));
+        }
+        return bytes;
+    }
+}
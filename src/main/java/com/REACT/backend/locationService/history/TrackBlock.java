@@ -0,0 +1,84 @@
+package com.REACT.backend.locationService.history;
+
+import com.REACT.backend.locationService.model.UnitType;
+
+/**
+ * A sealed, immutable block of one unit's track. Its bytes stay in memory until
+ * {@link TrackStore#append} has written them; after that they are read from disk.
+ */
+public final class TrackBlock {
+
+    private final UnitType unitType;
+    private final long unitId;
+    private final long firstTime;
+    private final long lastTime;
+    private final int count;
+    private final int length;
+
+    private volatile byte[] data;
+    private volatile long segmentDay = -1;
+    private volatile long position = -1;
+
+    public TrackBlock(UnitType unitType, long unitId, long firstTime, long lastTime, int count, byte[] data) {
+        this(unitType, unitId, firstTime, lastTime, count, data.length);
+        this.data = data;
+    }
+
+    TrackBlock(UnitType unitType, long unitId, long firstTime, long lastTime, int count, int length) {
+        this.unitType = unitType;
+        this.unitId = unitId;
+        this.firstTime = firstTime;
+        this.lastTime = lastTime;
+        this.count = count;
+        this.length = length;
+    }
+
+    public UnitType unitType() {
+        return unitType;
+    }
+
+    public long unitId() {
+        return unitId;
+    }
+
+    public long firstTime() {
+        return firstTime;
+    }
+
+    public long lastTime() {
+        return lastTime;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the block's bytes if not written yet, otherwise null
+     */
+    public byte[] data() {
+        return data;
+    }
+
+    public long segmentDay() {
+        return segmentDay;
+    }
+
+    long position() {
+        return position;
+    }
+
+    void stored(long segmentDay, long position) {
+        this.segmentDay = segmentDay;
+        this.position = position;
+        this.data = null; // location first: a reader that sees no data finds it on disk
+    }
+
+    public boolean overlaps(long from, long to) {
+        return lastTime >= from && firstTime <= to;
+    }
+}
@@ -0,0 +1,49 @@
+package com.REACT.backend.locationService.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Streams the points of blocks written by {@link TrackEncoder}. One decoder can be
+ * reused for any number of blocks; decoding allocates nothing. Not thread-safe.
+ */
+public final class TrackDecoder {
+
+    private final BitInput in = new BitInput();
+
+    /**
+     * Passes the block's points with a time in [from, to] to the consumer, oldest first.
+     *
+     * @param data      buffer holding the block
+     * @param offset    where the block starts in the buffer
+     * @param firstTime time of the block's first point, from its header
+     * @param count     number of points in the block
+     * @return number of points passed on
+     */
+    public int decode(ByteBuffer data, int offset, long firstTime, int count, long from, long to,
+                      TrackPointConsumer consumer) {
+        if (count == 0) return 0;
+        in.reset(data, offset);
+        long time = firstTime;
+        long lat = (int) in.read(32);
+        long lng = (int) in.read(32);
+        long timeDelta = 0;
+        long latDelta = 0;
+        long lngDelta = 0;
+        int passed = 0;
+        for (int i = 0; ; i++) {
+            if (time > to) break;
+            if (time >= from) {
+                consumer.accept(time, lat / TrackEncoder.SCALE, lng / TrackEncoder.SCALE);
+                passed++;
+            }
+            if (i + 1 == count) break;
+            timeDelta += TrackEncoder.readValue(in);
+            latDelta += TrackEncoder.readValue(in);
+            lngDelta += TrackEncoder.readValue(in);
+            time += timeDelta;
+            lat += latDelta;
+            lng += lngDelta;
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,119 @@
+package com.REACT.backend.locationService.history;
+
+/**
+ * Compresses one unit's track into a block, Gorilla style.
+ *
+ * Times (milliseconds) and coordinates (fixed point, {@value #SCALE} per degree,
+ * about 0.1 m) are stored as the change of their change from the previous point.
+ * A unit pinging at a steady rate and moving at a steady speed produces values
+ * near zero, which take 1 to 15 bits:
+ * <pre>
+ *   0                 the value is 0
+ *   10   + 7 bits     zigzag value below 2^7
+ *   110  + 12 bits    below 2^12
+ *   1110 + 20 bits    below 2^20
+ *   1111 + 64 bits    anything else
+ * </pre>
+ * The first point's coordinates are stored in full and its time in the block header.
+ * Not thread-safe.
+ */
+public final class TrackEncoder {
+
+    static final double SCALE = 1e6;
+
+    private final BitOutput out = new BitOutput();
+    private int count;
+    private long firstTime;
+    private long lastTime;
+    private long lastTimeDelta;
+    private long lastLat;
+    private long lastLng;
+    private long lastLatDelta;
+    private long lastLngDelta;
+
+    /**
+     * Times going backwards are stored as equal to the previous one.
+     */
+    public void append(long epochMillis, double latitude, double longitude) {
+        long lat = Math.round(latitude * SCALE);
+        long lng = Math.round(longitude * SCALE);
+        if (count == 0) {
+            firstTime = epochMillis;
+            lastTime = epochMillis;
+            out.write(lat, 32);
+            out.write(lng, 32);
+        } else {
+            long time = Math.max(epochMillis, lastTime);
+            long timeDelta = time - lastTime;
+            long latDelta = lat - lastLat;
+            long lngDelta = lng - lastLng;
+            writeValue(out, timeDelta - lastTimeDelta);
+            writeValue(out, latDelta - lastLatDelta);
+            writeValue(out, lngDelta - lastLngDelta);
+            lastTime = time;
+            lastTimeDelta = timeDelta;
+            lastLatDelta = latDelta;
+            lastLngDelta = lngDelta;
+        }
+        lastLat = lat;
+        lastLng = lng;
+        count++;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long firstTime() {
+        return firstTime;
+    }
+
+    public long lastTime() {
+        return lastTime;
+    }
+
+    public int sizeInBits() {
+        return out.bitCount();
+    }
+
+    /**
+     * @return the block so far; the encoder can keep appending
+     */
+    public byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    private static void writeValue(BitOutput out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        if (zigzag == 0) {
+            out.write(0, 1);
+        } else if (zigzag < 1L << 7) {
+            out.write(0b10, 2);
+            out.write(zigzag, 7);
+        } else if (zigzag < 1L << 12) {
+            out.write(0b110, 3);
+            out.write(zigzag, 12);
+        } else if (zigzag < 1L << 20) {
+            out.write(0b1110, 4);
+            out.write(zigzag, 20);
+        } else {
+            out.write(0b1111, 4);
+            out.write(zigzag, 64);
+        }
+    }
+
+    static long readValue(BitInput in) {
+        if (in.read(1) == 0) return 0;
+        long zigzag;
+        if (in.read(1) == 0) {
+            zigzag = in.read(7);
+        } else if (in.read(1) == 0) {
+            zigzag = in.read(12);
+        } else if (in.read(1) == 0) {
+            zigzag = in.read(20);
+        } else {
+            zigzag = in.read(64);
+        }
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,11 @@
+package com.REACT.backend.locationService.history;
+
+/**
+ * Receives decoded track points one by one, as primitives, so reading a long track
+ * allocates nothing per point.
+ */
+@FunctionalInterface
+public interface TrackPointConsumer {
+
+    void accept(long epochMillis, double latitude, double longitude);
+}
@@ -0,0 +1,225 @@
+package com.REACT.backend.locationService.history;
+
+import com.REACT.backend.locationService.model.UnitType;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only files of {@link TrackBlock}s, one segment per UTC day named
+ * {@code yyyy-MM-dd.track}.
+ *
+ * A record is the magic number, unit type, unit id, first and last point time, point
+ * count, payload length, the payload and a CRC32 of everything after the magic. On
+ * open only the headers are read back to list the blocks; the newest segment, the
+ * only one a crash can have left half-written, is also checked against its CRCs and
+ * cut after its last intact record.
+ *
+ * Appends are serialised on the store; reads may run concurrently with appends.
+ */
+public class TrackStore implements Closeable {
+
+    private static final int MAGIC = 0x54524B31; // "TRK1"
+    private static final int HEADER = 4 + 1 + 8 + 8 + 8 + 4 + 4;
+    private static final int TRAILER = 4;
+    private static final String SUFFIX = ".track";
+
+    private final Path directory;
+    private final Map<Long, FileChannel> readers = new ConcurrentHashMap<>();
+
+    private FileChannel writer;
+    private long writerDay = -1;
+    private long writerSize;
+
+    public TrackStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Lists the stored blocks, oldest segment first.
+     */
+    public void load(Consumer<TrackBlock> consumer) throws IOException {
+        List<Long> days = segmentDays();
+        for (int i = 0; i < days.size(); i++) {
+            loadSegment(days.get(i), i == days.size() - 1, consumer);
+        }
+    }
+
+    private void loadSegment(long day, boolean verify, Consumer<TrackBlock> consumer) throws IOException {
+        Path file = segmentPath(day);
+        long size = Files.size(file);
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        ByteBuffer payload = ByteBuffer.allocate(4096);
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (position + HEADER + TRAILER <= size) {
+                header.clear();
+                readFully(channel, header, position);
+                int type = header.get(4);
+                int count = header.getInt(29);
+                int length = header.getInt(33);
+                if (header.getInt(0) != MAGIC || type < 0 || type >= UnitType.values().length
+                        || length < 0 || position + HEADER + length + TRAILER > size) {
+                    break;
+                }
+                if (verify) {
+                    if (payload.capacity() < length + TRAILER) payload = ByteBuffer.allocate(length + TRAILER);
+                    payload.clear().limit(length + TRAILER);
+                    readFully(channel, payload, position + HEADER);
+                    crc.reset();
+                    crc.update(header.array(), 4, HEADER - 4);
+                    crc.update(payload.array(), 0, length);
+                    if ((int) crc.getValue() != payload.getInt(length)) break;
+                }
+                TrackBlock block = new TrackBlock(UnitType.values()[type], header.getLong(5), header.getLong(13),
+                        header.getLong(21), count, length);
+                block.stored(day, position + HEADER);
+                consumer.accept(block);
+                position += HEADER + length + TRAILER;
+            }
+        }
+        if (verify && position < size) {
+            // torn tail of the last run; appends continue right after the last good record
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(position);
+            }
+        }
+    }
+
+    /**
+     * Writes the block to today's segment; from then on its bytes are read from there.
+     */
+    public synchronized void append(TrackBlock block) throws IOException {
+        byte[] data = block.data();
+        if (data == null) return; // already stored
+        long day = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+        if (writer == null || day != writerDay) {
+            roll(day);
+        }
+        ByteBuffer record = ByteBuffer.allocate(HEADER + data.length + TRAILER);
+        record.putInt(MAGIC)
+                .put((byte) block.unitType().ordinal())
+                .putLong(block.unitId())
+                .putLong(block.firstTime())
+                .putLong(block.lastTime())
+                .putInt(block.count())
+                .putInt(data.length)
+                .put(data);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, HEADER - 4 + data.length);
+        record.putInt((int) crc.getValue());
+        record.flip();
+
+        long position = writerSize;
+        while (record.hasRemaining()) {
+            writer.write(record, position + record.position());
+        }
+        writerSize += record.limit();
+        block.stored(day, position + HEADER);
+    }
+
+    /**
+     * Reads a stored block's bytes.
+     *
+     * @param buffer reused if large enough, may be null
+     * @return the buffer holding the block from position 0
+     */
+    public ByteBuffer read(TrackBlock block, ByteBuffer buffer) throws IOException {
+        FileChannel channel = readers.computeIfAbsent(block.segmentDay(), day -> {
+            try {
+                return FileChannel.open(segmentPath(day), StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open track segment " + segmentPath(day), e);
+            }
+        });
+        if (buffer == null || buffer.capacity() < block.length()) {
+            buffer = ByteBuffer.allocate(Math.max(block.length(), 4096));
+        }
+        buffer.clear().limit(block.length());
+        readFully(channel, buffer, block.position());
+        buffer.flip();
+        return buffer;
+    }
+
+    public synchronized void force() throws IOException {
+        if (writer != null) writer.force(false);
+    }
+
+    /**
+     * Deletes the segments of days before {@code epochDay}.
+     *
+     * @return number of segments deleted
+     */
+    public synchronized int deleteBefore(long epochDay) throws IOException {
+        int deleted = 0;
+        for (Long day : segmentDays()) {
+            if (day >= epochDay || day == writerDay) continue;
+            FileChannel reader = readers.remove(day);
+            if (reader != null) reader.close();
+            if (Files.deleteIfExists(segmentPath(day))) deleted++;
+        }
+        return deleted;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (writer != null) writer.close();
+            for (FileChannel reader : readers.values()) reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        readers.clear();
+        writer = null;
+    }
+
+    private void roll(long day) throws IOException {
+        if (writer != null) {
+            writer.force(false);
+            writer.close();
+        }
+        writer = FileChannel.open(segmentPath(day), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        writerDay = day;
+        writerSize = writer.size();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, at);
+            if (read < 0) throw new EOFException("Track segment ends at " + at);
+            at += read;
+        }
+    }
+
+    private Path segmentPath(long day) {
+        return directory.resolve(LocalDate.ofEpochDay(day) + SUFFIX);
+    }
+
+    private List<Long> segmentDays() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> LocalDate.parse(name.substring(0, name.length() - SUFFIX.length())).toEpochDay())
+                    .sorted()
+                    .toList();
+        }
+    }
+}
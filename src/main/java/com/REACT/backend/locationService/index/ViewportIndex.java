@@ -0,0 +1,136 @@
+package com.REACT.backend.locationService.index;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Uniform lat/lng grid over map viewports, for "which viewports see this point".
+ *
+ * A viewport is listed in every cell it overlaps, so a lookup only checks the
+ * viewports listed in the point's cell. Viewports spanning more than
+ * {@code maxCells} cells (zoomed far out) are kept in one list every lookup checks
+ * instead of being copied into thousands of cells.
+ *
+ * @param <K> viewport handle, compared by identity or equals
+ */
+public class ViewportIndex<K> {
+
+    public record Box(double minLat, double minLng, double maxLat, double maxLng) {
+
+        public Box {
+            // NaN fails the comparisons, infinities the range
+            if (!(Math.abs(minLat) <= 90) || !(Math.abs(maxLat) <= 90)
+                    || !(Math.abs(minLng) <= 180) || !(Math.abs(maxLng) <= 180)) {
+                throw new IllegalArgumentException("Invalid box: " + minLat + "," + minLng + " " + maxLat + "," + maxLng);
+            }
+            if (minLat > maxLat || minLng > maxLng) {
+                throw new IllegalArgumentException("Empty box: " + minLat + "," + minLng + " " + maxLat + "," + maxLng);
+            }
+        }
+
+        public boolean contains(double latitude, double longitude) {
+            return latitude >= minLat && latitude <= maxLat && longitude >= minLng && longitude <= maxLng;
+        }
+    }
+
+    private final double cellSizeDeg;
+    private final int maxCells;
+
+    /**
+     * cell key → viewports overlapping that cell
+     */
+    private final Map<Long, Set<K>> cells = new ConcurrentHashMap<>();
+    private final Set<K> wide = ConcurrentHashMap.newKeySet();
+    private final Map<K, Box> boxes = new ConcurrentHashMap<>();
+
+    public ViewportIndex(double cellSizeDeg, int maxCells) {
+        if (cellSizeDeg <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSizeDeg);
+        }
+        this.cellSizeDeg = cellSizeDeg;
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * Adds the viewport or moves it to its new box.
+     */
+    public synchronized void put(K viewport, Box box) {
+        remove(viewport);
+        boxes.put(viewport, box);
+        if (cellCount(box) > maxCells) {
+            wide.add(viewport);
+            return;
+        }
+        // long counters, an int one wraps past Integer.MAX_VALUE and never ends
+        for (long r = row(box.minLat()); r <= row(box.maxLat()); r++) {
+            for (long c = col(box.minLng()); c <= col(box.maxLng()); c++) {
+                cells.computeIfAbsent(key((int) r, (int) c), k -> ConcurrentHashMap.newKeySet()).add(viewport);
+            }
+        }
+    }
+
+    public synchronized void remove(K viewport) {
+        Box box = boxes.remove(viewport);
+        if (box == null) return;
+        if (wide.remove(viewport)) return;
+        for (long r = row(box.minLat()); r <= row(box.maxLat()); r++) {
+            for (long c = col(box.minLng()); c <= col(box.maxLng()); c++) {
+                cells.computeIfPresent(key((int) r, (int) c), (k, members) -> {
+                    members.remove(viewport);
+                    return members.isEmpty() ? null : members;
+                });
+            }
+        }
+    }
+
+    /**
+     * Calls the action once for every viewport containing either point, e.g. where
+     * a unit was and where it is now, so views it just left hear about it too.
+     */
+    public void forEachMatch(double fromLat, double fromLng, double toLat, double toLng, Consumer<K> action) {
+        long fromCell = key(row(fromLat), col(fromLng));
+        long toCell = key(row(toLat), col(toLng));
+        // a viewport containing the first point is listed in its cell, so the second pass skips it
+        forEachIn(cells.get(fromCell), box -> box.contains(fromLat, fromLng), action);
+        if (toCell != fromCell) {
+            forEachIn(cells.get(toCell), box -> box.contains(toLat, toLng) && !box.contains(fromLat, fromLng), action);
+        }
+        forEachIn(wide, box -> box.contains(fromLat, fromLng) || box.contains(toLat, toLng), action);
+    }
+
+    public Box box(K viewport) {
+        return boxes.get(viewport);
+    }
+
+    public int size() {
+        return boxes.size();
+    }
+
+    private void forEachIn(Set<K> candidates, Predicate<Box> test, Consumer<K> action) {
+        if (candidates == null) return;
+        for (K viewport : candidates) {
+            Box box = boxes.get(viewport);
+            if (box != null && test.test(box)) action.accept(viewport);
+        }
+    }
+
+    private double cellCount(Box box) {
+        // each side fits a long, their product not always (2^32 x 2^32 on tiny cells)
+        return (double) ((long) row(box.maxLat()) - row(box.minLat()) + 1) * ((long) col(box.maxLng()) - col(box.minLng()) + 1);
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellSizeDeg);
+    }
+
+    private int col(double longitude) {
+        return (int) Math.floor(longitude / cellSizeDeg);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
@@ -0,0 +1,18 @@
+package com.REACT.backend.locationService.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Units of one cluster cell of a zoomed-out map view, placed at their centroid.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnitClusterDto {
+    private double latitude;
+    private double longitude;
+    private int ambulances;
+    private int fireTrucks;
+}
@@ -0,0 +1,24 @@
+package com.REACT.backend.locationService.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One frame on {@code /topic/viewport}.
+ *
+ * With {@code snapshot} set it replaces everything the client shows: all units in
+ * the view, or all clusters when {@code clustered}. Otherwise it carries only the
+ * units that moved in (or out of) the view since the previous frame.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViewportFrameDto {
+    private boolean snapshot;
+    private boolean clustered;
+    private List<LocationBroadcastDto> units;
+    private List<UnitClusterDto> clusters;
+}
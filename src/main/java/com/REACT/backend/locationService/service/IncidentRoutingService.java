@@ -0,0 +1,80 @@
+package com.REACT.backend.locationService.service;
+
+import com.REACT.backend.booking.dto.AssignedUnit;
+import com.REACT.backend.booking.model.EmergencyRequestStatus;
+import com.REACT.backend.booking.repository.EmergencyRequestRepository;
+import com.REACT.backend.locationService.model.UnitType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which open incidents each unit is assigned to, so a position update can be routed
+ * to the incident topics without reading the database.
+ *
+ * Kept current from the claim and release paths of the booking services; the
+ * assignments of requests still open at shutdown are read back on startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IncidentRoutingService {
+
+    private static final EnumSet<EmergencyRequestStatus> OPEN_REQUESTS = EnumSet.of(
+            EmergencyRequestStatus.PENDING, EmergencyRequestStatus.PARTIALLY_ASSIGNED,
+            EmergencyRequestStatus.ACCEPTED, EmergencyRequestStatus.IN_PROGRESS);
+
+    private final EmergencyRequestRepository requestRepo;
+
+    /**
+     * unit id → ids of the open requests it is assigned to
+     */
+    private final Map<UnitType, Map<Long, Set<Long>>> incidents = new EnumMap<>(UnitType.class);
+
+    @PostConstruct
+    void init() {
+        for (UnitType type : UnitType.values()) {
+            incidents.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenAssignments() {
+        load(UnitType.AMBULANCE, requestRepo.findAssignedAmbulances(OPEN_REQUESTS));
+        load(UnitType.FIRE_TRUCK, requestRepo.findAssignedFireTrucks(OPEN_REQUESTS));
+        log.info("Incident routing loaded: {} ambulances, {} fire trucks on open requests",
+                incidents.get(UnitType.AMBULANCE).size(), incidents.get(UnitType.FIRE_TRUCK).size());
+    }
+
+    private void load(UnitType type, List<AssignedUnit> assigned) {
+        assigned.forEach(a -> assigned(type, a.getUnitId(), a.getRequestId()));
+    }
+
+    public void assigned(UnitType type, long unitId, long requestId) {
+        incidents.get(type).computeIfAbsent(unitId, k -> ConcurrentHashMap.newKeySet()).add(requestId);
+    }
+
+    /**
+     * The unit left every request it was on (completed, expired or dispatch dropped).
+     */
+    public void released(UnitType type, long unitId) {
+        incidents.get(type).remove(unitId);
+    }
+
+    /**
+     * @return ids of the open requests the unit is assigned to, empty if none
+     */
+    public Set<Long> incidentsOf(UnitType type, long unitId) {
+        return incidents.get(type).getOrDefault(unitId, Set.of());
+    }
+}
@@ -1,18 +1,61 @@
 package com.REACT.backend.locationService.service;
 
 import com.REACT.backend.locationService.model.LocationBroadcastDto;
+import com.REACT.backend.locationService.model.UnitType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+/**
+ * Publishes a unit's position to the topics that want it: {@code /topic/unit/{type}/{id}},
+ * {@code /topic/incident/{id}} of every open request the unit is assigned to, and the
+ * fleet-wide {@code /topic/location} for staff. Who may subscribe to which is checked
+ * once per SUBSCRIBE, see {@link com.REACT.backend.locationService.config.StompAuthChannelInterceptor}.
+ *
+ * Map views following {@code /topic/viewport} get it through {@link ViewportService}.
+ *
+ * Subscribers get the positions conflated and batched by {@link LocationConflationService};
+ * with {@code location.conflation.enabled=false} every update goes through the simple broker.
+ */
 @Service
 public class LocationBroadcastService {
 
+    public static final String FLEET_TOPIC = "/topic/location";
+    public static final String UNIT_TOPIC_PREFIX = "/topic/unit/";
+    public static final String INCIDENT_TOPIC_PREFIX = "/topic/incident/";
+    public static final String VIEWPORT_TOPIC = "/topic/viewport";
+
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private IncidentRoutingService incidentRouting;
+
+    @Autowired
+    private LocationConflationService conflation;
+
+    @Autowired
+    private ViewportService viewports;
+
     public void broadcastLocation(LocationBroadcastDto dto) {
-        messagingTemplate.convertAndSend("/topic/location", dto);
+        send(unitTopic(dto.getUnitType(), dto.getUnitId()), dto);
+        for (Long requestId : incidentRouting.incidentsOf(dto.getUnitType(), dto.getUnitId())) {
+            send(INCIDENT_TOPIC_PREFIX + requestId, dto);
+        }
+        send(FLEET_TOPIC, dto);
+        viewports.unitMoved(dto);
+    }
+
+    private void send(String destination, LocationBroadcastDto dto) {
+        if (conflation.isEnabled()) {
+            conflation.publish(destination, dto);
+        } else {
+            messagingTemplate.convertAndSend(destination, dto);
+        }
+    }
+
+    public static String unitTopic(UnitType type, Long unitId) {
+        return UNIT_TOPIC_PREFIX + type.name().toLowerCase() + "/" + unitId;
     }
 
-}
\ No newline at end of file
+}
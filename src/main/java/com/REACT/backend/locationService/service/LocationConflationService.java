@@ -0,0 +1,274 @@
+package com.REACT.backend.locationService.service;
+
+import com.REACT.backend.locationService.model.LocationBroadcastDto;
+import com.REACT.backend.locationService.model.UnitType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conflating delivery of location topics, in place of the simple broker.
+ *
+ * Each subscription keeps only the newest position per unit; every
+ * {@code location.conflation.flush-interval-ms} the pending positions of a
+ * subscription go out as one JSON array frame. A session whose previous frames are
+ * still being written is skipped for that round, so a slow client keeps
+ * conflating in a bounded buffer ({@code location.conflation.max-pending-per-session}
+ * units) instead of queueing every intermediate position.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LocationConflationService implements ExecutorChannelInterceptor {
+
+    /**
+     * marks frames sent from here, so their completion can be told apart on the outbound channel
+     */
+    private static final String SESSION_HEADER = "conflatedFor";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    @Lazy
+    @Qualifier("clientOutboundChannel")
+    private MessageChannel clientOutboundChannel;
+
+    @Value("${location.conflation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${location.conflation.max-pending-per-session:2000}")
+    private int maxPendingPerSession;
+
+    private record UnitKey(UnitType type, Long unitId) {
+    }
+
+    private static final class Session {
+        final String id;
+        final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        Session(String id) {
+            this.id = id;
+        }
+    }
+
+    private static final class Subscription {
+        final Session session;
+        final String id;
+        final String destination;
+        final Map<UnitKey, LocationBroadcastDto> latest = new ConcurrentHashMap<>();
+
+        Subscription(Session session, String id, String destination) {
+            this.session = session;
+            this.id = id;
+            this.destination = destination;
+        }
+    }
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscription>> byDestination = new ConcurrentHashMap<>();
+
+    private Counter offered;
+    private Counter conflated;
+    private Counter dropped;
+    private Counter frames;
+    private Counter skipped;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("location.broadcast.pending", sessions,
+                        s -> s.values().stream().mapToInt(session -> session.pending.get()).sum())
+                .description("Positions waiting for the next conflated frame")
+                .register(meterRegistry);
+        Gauge.builder("location.broadcast.subscriptions", byDestination,
+                        d -> d.values().stream().mapToInt(Set::size).sum())
+                .description("Subscriptions to location topics")
+                .register(meterRegistry);
+        offered = meterRegistry.counter("location.broadcast.offered");
+        conflated = meterRegistry.counter("location.broadcast.conflated");
+        dropped = meterRegistry.counter("location.broadcast.dropped");
+        frames = meterRegistry.counter("location.broadcast.frames");
+        skipped = meterRegistry.counter("location.broadcast.skipped");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the position for every subscriber of the destination, replacing one of the
+     * same unit that has not gone out yet.
+     */
+    public void publish(String destination, LocationBroadcastDto dto) {
+        Set<Subscription> subscribers = byDestination.get(destination);
+        if (subscribers == null) return;
+        UnitKey key = new UnitKey(dto.getUnitType(), dto.getUnitId());
+        for (Subscription sub : subscribers) {
+            offered.increment();
+            if (!sub.latest.containsKey(key) && sub.session.pending.get() >= maxPendingPerSession) {
+                dropped.increment();
+            } else if (sub.latest.put(key, dto) != null) {
+                conflated.increment();
+            } else {
+                sub.session.pending.incrementAndGet();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${location.conflation.flush-interval-ms:333}", scheduler = "frameScheduler")
+    public void flush() {
+        for (Session session : sessions.values()) {
+            if (session.pending.get() == 0) continue;
+            if (session.inFlight.get() > 0) {
+                skipped.increment(); // still writing the last round, keep conflating
+                continue;
+            }
+            for (Subscription sub : session.subscriptions.values()) {
+                send(sub);
+            }
+        }
+    }
+
+    private void send(Subscription sub) {
+        if (sub.latest.isEmpty()) return;
+        List<LocationBroadcastDto> batch = new ArrayList<>(sub.latest.size());
+        for (UnitKey key : sub.latest.keySet()) {
+            LocationBroadcastDto dto = sub.latest.remove(key);
+            if (dto != null) batch.add(dto);
+        }
+        sub.session.pending.addAndGet(-batch.size());
+        if (!batch.isEmpty()) send(sub.session, sub.id, sub.destination, batch);
+    }
+
+    /**
+     * @return true while the session is still writing an earlier frame
+     */
+    public boolean isBusy(String sessionId) {
+        Session session = sessions.get(sessionId);
+        return session != null && session.inFlight.get() > 0;
+    }
+
+    /**
+     * Sends one JSON frame to a subscription of a session that subscribed to a location
+     * topic, counted against the session's in-flight frames like the conflated ones.
+     */
+    public void sendFrame(String sessionId, String subscriptionId, String destination, Object payload) {
+        Session session = sessions.get(sessionId);
+        if (session != null) send(session, subscriptionId, destination, payload);
+    }
+
+    private void send(Session session, String subscriptionId, String destination, Object body) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize a frame for {}", destination, e);
+            return;
+        }
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(session.id);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setHeader(SESSION_HEADER, session.id);
+        headers.setLeaveMutable(true);
+
+        session.inFlight.incrementAndGet();
+        try {
+            if (!clientOutboundChannel.send(MessageBuilder.createMessage(payload, headers.getMessageHeaders()))) {
+                session.inFlight.decrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            session.inFlight.decrementAndGet();
+            log.warn("Could not send positions to session {}", session.id, e);
+            return;
+        }
+        frames.increment();
+    }
+
+    /**
+     * Outbound channel callback: a conflated frame has been written (or failed) on its session.
+     */
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        Object sessionId = message.getHeaders().get(SESSION_HEADER);
+        if (sessionId == null) return;
+        Session session = sessions.get(sessionId.toString());
+        if (session != null) session.inFlight.decrementAndGet();
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        if (!isLocationTopic(destination)) return;
+        Session session = sessions.computeIfAbsent(headers.getSessionId(), Session::new);
+        Subscription sub = new Subscription(session, headers.getSubscriptionId(), destination);
+        session.subscriptions.put(sub.id, sub);
+        byDestination.computeIfAbsent(destination, k -> ConcurrentHashMap.newKeySet()).add(sub);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Session session = sessions.get(headers.getSessionId());
+        if (session == null) return;
+        Subscription sub = session.subscriptions.remove(headers.getSubscriptionId());
+        if (sub != null) remove(sub);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Session session = sessions.remove(event.getSessionId());
+        if (session == null) return;
+        session.subscriptions.values().forEach(this::remove);
+    }
+
+    private void remove(Subscription sub) {
+        sub.session.pending.addAndGet(-sub.latest.size());
+        byDestination.computeIfPresent(sub.destination, (destination, subs) -> {
+            subs.remove(sub);
+            return subs.isEmpty() ? null : subs;
+        });
+    }
+
+    private static boolean isLocationTopic(String destination) {
+        return destination != null && (destination.equals(LocationBroadcastService.FLEET_TOPIC)
+                || destination.startsWith(LocationBroadcastService.UNIT_TOPIC_PREFIX)
+                || destination.startsWith(LocationBroadcastService.INCIDENT_TOPIC_PREFIX)
+                || destination.equals(LocationBroadcastService.VIEWPORT_TOPIC));
+    }
+}
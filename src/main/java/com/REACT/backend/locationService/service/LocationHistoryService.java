@@ -0,0 +1,257 @@
+package com.REACT.backend.locationService.service;
+
+import com.REACT.backend.locationService.history.TrackBlock;
+import com.REACT.backend.locationService.history.TrackDecoder;
+import com.REACT.backend.locationService.history.TrackEncoder;
+import com.REACT.backend.locationService.history.TrackPointConsumer;
+import com.REACT.backend.locationService.history.TrackStore;
+import com.REACT.backend.locationService.model.UnitType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trajectory history of every unit, compressed to a few bytes per ping.
+ *
+ * Each unit's pings are appended to an open {@link TrackEncoder}; once it holds
+ * {@code location.history.block-points} points or its first point is older than
+ * {@code location.history.block-max-age-ms}, it is sealed into an immutable
+ * {@link TrackBlock} and written to the local {@link TrackStore} on the next flush.
+ * Range queries decode blocks straight from a reused buffer into a
+ * {@link TrackPointConsumer}. Whole days older than
+ * {@code location.history.retention-days} are deleted.
+ *
+ * With {@code location.history.enabled=false} nothing is recorded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LocationHistoryService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${location.history.enabled:true}")
+    private boolean enabled;
+
+    @Value("${location.history.dir:location-history}")
+    private String directory;
+
+    @Value("${location.history.block-points:1024}")
+    private int blockPoints;
+
+    @Value("${location.history.block-max-age-ms:300000}")
+    private long blockMaxAgeMs;
+
+    @Value("${location.history.retention-days:7}")
+    private int retentionDays;
+
+    private TrackStore store;
+
+    /**
+     * unit id → the sealed blocks of its track, oldest first
+     */
+    private final Map<UnitType, Map<Long, List<TrackBlock>>> blocks = new EnumMap<>(UnitType.class);
+
+    /**
+     * unit id → points not sealed into a block yet
+     */
+    private final Map<UnitType, Map<Long, TrackEncoder>> open = new EnumMap<>(UnitType.class);
+
+    private final Queue<TrackBlock> unwritten = new ConcurrentLinkedQueue<>();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    private Counter points;
+    private Counter sealed;
+
+    @PostConstruct
+    void open() {
+        for (UnitType type : UnitType.values()) {
+            blocks.put(type, new ConcurrentHashMap<>());
+            open.put(type, new ConcurrentHashMap<>());
+        }
+        points = meterRegistry.counter("location.history.points");
+        sealed = meterRegistry.counter("location.history.blocks");
+        Gauge.builder("location.history.stored.bytes", storedBytes, AtomicLong::get)
+                .description("Compressed track bytes on disk")
+                .register(meterRegistry);
+        if (!enabled) {
+            log.info("Location history disabled");
+            return;
+        }
+        try {
+            store = new TrackStore(Path.of(directory));
+            store.deleteBefore(LocalDate.now(ZoneOffset.UTC).toEpochDay() - retentionDays);
+            store.load(this::index);
+            log.info("Location history opened in {}: {} blocks, {} bytes", directory,
+                    blocks.values().stream().flatMap(m -> m.values().stream()).mapToInt(List::size).sum(),
+                    storedBytes.get());
+        } catch (IOException e) {
+            log.error("Could not open location history in {}, history disabled", directory, e);
+            store = null;
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (store == null) return;
+        open.forEach((type, encoders) -> encoders.keySet().forEach(unitId -> seal(type, unitId)));
+        flush();
+        store.close();
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    public void record(UnitType type, long unitId, Instant at, double latitude, double longitude) {
+        if (store == null) return;
+        // appending and sealing happen under the map's per-key lock, so a full encoder is
+        // swapped out before anyone appends to it again
+        open.get(type).compute(unitId, (id, encoder) -> {
+            if (encoder == null) encoder = new TrackEncoder();
+            synchronized (encoder) {
+                encoder.append(at.toEpochMilli(), latitude, longitude);
+            }
+            if (encoder.count() < blockPoints) return encoder;
+            seal(type, unitId, encoder);
+            return null;
+        });
+        points.increment();
+    }
+
+    /**
+     * Passes the unit's points between {@code from} and {@code to} (inclusive) to the
+     * consumer, oldest first.
+     *
+     * @return number of points passed on
+     */
+    public int track(UnitType type, long unitId, Instant from, Instant to, TrackPointConsumer consumer) {
+        if (store == null) return 0;
+        long fromMs = from.toEpochMilli();
+        long toMs = to.toEpochMilli();
+        // the open points first: if they are sealed meanwhile, the block shows up below and is
+        // skipped as starting at or after them
+        byte[] head = null;
+        long headTime = Long.MAX_VALUE;
+        int headCount = 0;
+        TrackEncoder encoder = open.get(type).get(unitId);
+        if (encoder != null) {
+            synchronized (encoder) {
+                head = encoder.toByteArray();
+                headTime = encoder.firstTime();
+                headCount = encoder.count();
+            }
+        }
+
+        TrackDecoder decoder = new TrackDecoder();
+        ByteBuffer buffer = null;
+        int passed = 0;
+        for (TrackBlock block : blocks.get(type).getOrDefault(unitId, List.of())) {
+            if (block.firstTime() >= headTime || !block.overlaps(fromMs, toMs)) continue;
+            byte[] data = block.data();
+            ByteBuffer bytes;
+            if (data != null) {
+                bytes = ByteBuffer.wrap(data);
+            } else {
+                try {
+                    bytes = buffer = store.read(block, buffer);
+                } catch (IOException e) {
+                    throw new RuntimeException("Could not read the track of " + type + " " + unitId, e);
+                }
+            }
+            passed += decoder.decode(bytes, 0, block.firstTime(), block.count(), fromMs, toMs, consumer);
+        }
+        if (headCount > 0) {
+            passed += decoder.decode(ByteBuffer.wrap(head), 0, headTime, headCount, fromMs, toMs, consumer);
+        }
+        return passed;
+    }
+
+    /**
+     * Writes sealed blocks, after sealing open ones that have been collecting for too long.
+     */
+    @Scheduled(fixedDelayString = "${location.history.flush-interval-ms:5000}")
+    public void flush() {
+        if (store == null) return;
+        long cutoff = System.currentTimeMillis() - blockMaxAgeMs;
+        open.forEach((type, encoders) -> encoders.forEach((unitId, encoder) -> {
+            if (encoder.firstTime() < cutoff) seal(type, unitId);
+        }));
+        TrackBlock block;
+        int written = 0;
+        try {
+            while ((block = unwritten.peek()) != null) {
+                store.append(block);
+                storedBytes.addAndGet(block.length());
+                unwritten.poll();
+                written++;
+            }
+            if (written > 0) store.force();
+        } catch (IOException e) {
+            log.error("Could not write location history, {} blocks kept for the next round", unwritten.size(), e);
+        }
+    }
+
+    @Scheduled(cron = "${location.history.retention-cron:0 15 0 * * *}", zone = "UTC")
+    public void trim() {
+        if (store == null) return;
+        long firstKept = LocalDate.now(ZoneOffset.UTC).toEpochDay() - retentionDays;
+        try {
+            int deleted = store.deleteBefore(firstKept);
+            if (deleted == 0) return;
+            for (Map<Long, List<TrackBlock>> units : blocks.values()) {
+                for (List<TrackBlock> track : units.values()) {
+                    track.removeIf(b -> b.segmentDay() >= 0 && b.segmentDay() < firstKept);
+                }
+            }
+            log.info("Deleted {} days of location history", deleted);
+        } catch (IOException e) {
+            log.error("Could not trim location history", e);
+        }
+    }
+
+    private void seal(UnitType type, long unitId) {
+        open.get(type).computeIfPresent(unitId, (id, encoder) -> {
+            seal(type, unitId, encoder);
+            return null;
+        });
+    }
+
+    private void seal(UnitType type, long unitId, TrackEncoder encoder) {
+        TrackBlock block;
+        synchronized (encoder) {
+            block = new TrackBlock(type, unitId, encoder.firstTime(), encoder.lastTime(), encoder.count(),
+                    encoder.toByteArray());
+        }
+        blocks.get(type).computeIfAbsent(unitId, id -> new CopyOnWriteArrayList<>()).add(block);
+        unwritten.add(block);
+        sealed.increment();
+    }
+
+    private void index(TrackBlock block) {
+        blocks.get(block.unitType()).computeIfAbsent(block.unitId(), id -> new CopyOnWriteArrayList<>()).add(block);
+        storedBytes.addAndGet(block.length());
+    }
+}
@@ -0,0 +1,169 @@
+package com.REACT.backend.locationService.service;
+
+import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
+import com.REACT.backend.fireService.repository.FireTruckRepository;
+import com.REACT.backend.locationService.model.UnitType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind store for unit GPS pings.
+ *
+ * A ping only replaces the unit's latest position in memory and marks the unit
+ * dirty; every {@code location.flush-interval-ms} the newest position of each
+ * dirty unit is written in JDBC batches, so a unit pinging ten times between two
+ * flushes costs one UPDATE. Position reads go through {@link #latest} and so see
+ * pings that are not flushed yet. Remaining positions are flushed on shutdown.
+ * Every ping is also kept in the unit's track, see {@link LocationHistoryService}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LocationIngestService {
+
+    private static final String UPDATE_AMBULANCE =
+            "UPDATE ambulance_entity SET location = ST_SetSRID(ST_MakePoint(?, ?), 4326)::geography, last_updated = ? WHERE id = ?";
+    private static final String UPDATE_FIRE_TRUCK =
+            "UPDATE fire_truck_entity SET location = ST_SetSRID(ST_MakePoint(?, ?), 4326)::geography, last_updated = ? WHERE fire_truck_id = ?";
+
+    private final AmbulanceRepository ambulanceRepository;
+    private final FireTruckRepository fireTruckRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final LocationHistoryService history;
+
+    @Value("${location.flush.batch-size:500}")
+    private int batchSize;
+
+    public record Position(double latitude, double longitude, Instant at) {
+    }
+
+    private final Map<UnitType, Map<Long, Position>> latest = new EnumMap<>(UnitType.class);
+    private final Map<UnitType, Set<Long>> dirty = new EnumMap<>(UnitType.class);
+
+    /**
+     * units confirmed to exist, so only a unit's first ping reads the database
+     */
+    private final Map<UnitType, Set<Long>> known = new EnumMap<>(UnitType.class);
+
+    private Counter received;
+    private Counter written;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void init() {
+        for (UnitType type : UnitType.values()) {
+            latest.put(type, new ConcurrentHashMap<>());
+            dirty.put(type, ConcurrentHashMap.newKeySet());
+            known.put(type, ConcurrentHashMap.newKeySet());
+        }
+        Gauge.builder("location.pending", dirty, d -> d.values().stream().mapToInt(Set::size).sum())
+                .description("Units whose latest position is not written yet")
+                .register(meterRegistry);
+        received = meterRegistry.counter("location.pings");
+        written = meterRegistry.counter("location.written");
+        flushTimer = Timer.builder("location.flush")
+                .description("Time to write one round of coalesced positions")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a ping. Throws if the unit does not exist or the position is not a valid
+     * WGS84 coordinate.
+     */
+    public void record(UnitType type, Long unitId, double latitude, double longitude) {
+        // NaN fails both comparisons, infinities the range
+        if (!(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180)) {
+            throw new RuntimeException("Invalid position [" + latitude + ", " + longitude + "] for " + type + " " + unitId);
+        }
+        requireKnown(type, unitId);
+        Instant now = Instant.now();
+        latest.get(type).put(unitId, new Position(latitude, longitude, now));
+        dirty.get(type).add(unitId);
+        history.record(type, unitId, now, latitude, longitude);
+        received.increment();
+    }
+
+    /**
+     * @return the newest position received since start-up, empty if the unit has not pinged
+     */
+    public Optional<Position> latest(UnitType type, Long unitId) {
+        return Optional.ofNullable(latest.get(type).get(unitId));
+    }
+
+    @Scheduled(fixedDelayString = "${location.flush-interval-ms:1000}")
+    public void flush() {
+        for (UnitType type : UnitType.values()) {
+            Set<Long> pending = dirty.get(type);
+            if (pending.isEmpty()) continue;
+            List<Long> units = new ArrayList<>(pending.size());
+            for (Long unitId : pending) {
+                // remove before reading: a ping arriving meanwhile re-marks the unit for the next round
+                if (pending.remove(unitId)) units.add(unitId);
+            }
+            for (int from = 0; from < units.size(); from += batchSize) {
+                List<Long> chunk = units.subList(from, Math.min(from + batchSize, units.size()));
+                flushTimer.record(() -> write(type, chunk));
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(UnitType type, List<Long> units) {
+        Map<Long, Position> positions = latest.get(type);
+        List<Object[]> rows = new ArrayList<>(units.size());
+        for (Long unitId : units) {
+            Position p = positions.get(unitId);
+            rows.add(new Object[]{p.longitude(), p.latitude(), Timestamp.from(p.at()), unitId});
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(
+                    type == UnitType.AMBULANCE ? UPDATE_AMBULANCE : UPDATE_FIRE_TRUCK, rows));
+            written.increment(rows.size());
+            log.debug("Persisted latest position of {} {} units", rows.size(), type);
+        } catch (RuntimeException e) {
+            dirty.get(type).addAll(units);
+            log.error("Failed to persist positions of {} {} units, retrying next round", units.size(), type, e);
+        }
+    }
+
+    private void requireKnown(UnitType type, Long unitId) {
+        Set<Long> ids = known.get(type);
+        if (ids.contains(unitId)) return;
+        boolean exists = type == UnitType.AMBULANCE
+                ? ambulanceRepository.existsById(unitId)
+                : fireTruckRepository.existsById(unitId);
+        if (!exists) {
+            throw new RuntimeException("No such " + (type == UnitType.AMBULANCE ? "ambulance" : "fire truck")
+                    + " exists: " + unitId);
+        }
+        ids.add(unitId);
+    }
+}
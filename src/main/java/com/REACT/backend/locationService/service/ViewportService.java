@@ -0,0 +1,245 @@
+package com.REACT.backend.locationService.service;
+
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.locationService.index.ViewportIndex;
+import com.REACT.backend.locationService.model.LocationBroadcastDto;
+import com.REACT.backend.locationService.model.UnitClusterDto;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.locationService.model.ViewportFrameDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live fleet map limited to what a client's map shows.
+ *
+ * A client subscribes to {@code /topic/viewport} and sends its bounding box and zoom
+ * level to {@code /app/viewport}, again whenever it pans or zooms. Each position
+ * update is matched against the viewports through a {@link ViewportIndex}, so its
+ * cost depends on the views that contain the unit, not on how many are open. Below
+ * {@code location.viewport.cluster-below-zoom} a view gets unit counts per cluster
+ * cell instead of single units.
+ *
+ * Frames go out at the conflation rate and skip sessions still writing, see
+ * {@link LocationConflationService}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewportService {
+
+    private final LocationConflationService conflation;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${location.viewport.cell-size-deg:0.05}")
+    private double cellSizeDeg;
+
+    @Value("${location.viewport.max-cells:400}")
+    private int maxCells;
+
+    @Value("${location.viewport.cluster-below-zoom:13}")
+    private int clusterBelowZoom;
+
+    @Value("${location.viewport.cluster-size-px:64}")
+    private int clusterSizePx;
+
+    @Value("${location.conflation.max-pending-per-session:2000}")
+    private int maxPending;
+
+    private record UnitKey(UnitType type, Long unitId) {
+    }
+
+    private static final class Viewport {
+        final String sessionId;
+        final String subscriptionId;
+        volatile int zoom;
+        final Map<UnitKey, LocationBroadcastDto> pending = new ConcurrentHashMap<>();
+        /**
+         * the whole view is to be sent again (new box or zoom, or the client fell too far behind)
+         */
+        volatile boolean snapshot;
+        /**
+         * a unit moved inside a clustered view
+         */
+        volatile boolean changed;
+
+        Viewport(String sessionId, String subscriptionId) {
+            this.sessionId = sessionId;
+            this.subscriptionId = subscriptionId;
+        }
+    }
+
+    private ViewportIndex<Viewport> viewports;
+    private final Map<UnitType, GeoGridIndex> positions = new EnumMap<>(UnitType.class);
+    private final Map<String, Viewport> bySession = new ConcurrentHashMap<>();
+
+    private Counter matched;
+
+    @PostConstruct
+    void init() {
+        viewports = new ViewportIndex<>(cellSizeDeg, maxCells);
+        for (UnitType type : UnitType.values()) {
+            positions.put(type, new GeoGridIndex(cellSizeDeg));
+        }
+        Gauge.builder("location.viewport.active", viewports, ViewportIndex::size)
+                .description("Map views with a bounding box set")
+                .register(meterRegistry);
+        matched = meterRegistry.counter("location.viewport.matched");
+    }
+
+    /**
+     * Takes a position that is being broadcast and queues it for the views that
+     * contain it now or contained it before.
+     */
+    public void unitMoved(LocationBroadcastDto dto) {
+        GeoGridIndex units = positions.get(dto.getUnitType());
+        GeoGridIndex.UnitPosition before = units.get(dto.getUnitId());
+        units.upsert(dto.getUnitId(), dto.getLatitude(), dto.getLongitude());
+        if (viewports.size() == 0) return;
+        double fromLat = before == null ? dto.getLatitude() : before.latitude();
+        double fromLng = before == null ? dto.getLongitude() : before.longitude();
+        viewports.forEachMatch(fromLat, fromLng, dto.getLatitude(), dto.getLongitude(), v -> offer(v, dto));
+    }
+
+    private void offer(Viewport viewport, LocationBroadcastDto dto) {
+        matched.increment();
+        if (clustered(viewport)) {
+            viewport.changed = true;
+        } else if (!viewport.snapshot) {
+            if (viewport.pending.size() >= maxPending) {
+                // too far behind to send as changes, resend the whole view instead
+                viewport.snapshot = true;
+                viewport.pending.clear();
+            } else {
+                viewport.pending.put(new UnitKey(dto.getUnitType(), dto.getUnitId()), dto);
+            }
+        }
+    }
+
+    /**
+     * Sets or moves the session's map view; the next frame is a snapshot of it.
+     */
+    public void update(String sessionId, ViewportIndex.Box box, int zoom) {
+        Viewport viewport = bySession.get(sessionId);
+        if (viewport == null) {
+            throw new RuntimeException("Subscribe to " + LocationBroadcastService.VIEWPORT_TOPIC
+                    + " before sending a viewport");
+        }
+        viewport.zoom = zoom;
+        viewport.pending.clear();
+        viewport.snapshot = true;
+        viewports.put(viewport, box);
+    }
+
+    @Scheduled(fixedRateString = "${location.conflation.flush-interval-ms:333}", scheduler = "frameScheduler")
+    public void flush() {
+        for (Viewport viewport : bySession.values()) {
+            ViewportIndex.Box box = viewports.box(viewport);
+            if (box == null || conflation.isBusy(viewport.sessionId)) continue;
+            ViewportFrameDto frame = nextFrame(viewport, box);
+            if (frame != null) {
+                conflation.sendFrame(viewport.sessionId, viewport.subscriptionId,
+                        LocationBroadcastService.VIEWPORT_TOPIC, frame);
+            }
+        }
+    }
+
+    private ViewportFrameDto nextFrame(Viewport viewport, ViewportIndex.Box box) {
+        if (clustered(viewport)) {
+            if (!viewport.snapshot && !viewport.changed) return null;
+            viewport.snapshot = false;
+            viewport.changed = false;
+            return new ViewportFrameDto(true, true, List.of(), clusters(box, viewport.zoom));
+        }
+        if (viewport.snapshot) {
+            viewport.snapshot = false;
+            viewport.pending.clear();
+            return new ViewportFrameDto(true, false, unitsIn(box), List.of());
+        }
+        if (viewport.pending.isEmpty()) return null;
+        List<LocationBroadcastDto> moved = new ArrayList<>(viewport.pending.size());
+        for (UnitKey key : viewport.pending.keySet()) {
+            LocationBroadcastDto dto = viewport.pending.remove(key);
+            if (dto != null) moved.add(dto);
+        }
+        return new ViewportFrameDto(false, false, moved, List.of());
+    }
+
+    private List<LocationBroadcastDto> unitsIn(ViewportIndex.Box box) {
+        List<LocationBroadcastDto> units = new ArrayList<>();
+        positions.forEach((type, index) -> index.forEachWithin(box.minLat(), box.minLng(), box.maxLat(), box.maxLng(),
+                p -> units.add(new LocationBroadcastDto(p.unitId(), type, p.latitude(), p.longitude()))));
+        return units;
+    }
+
+    /**
+     * Groups the units in view by square cells about {@code location.viewport.cluster-size-px}
+     * screen pixels wide at this zoom (256 px map tiles).
+     */
+    private List<UnitClusterDto> clusters(ViewportIndex.Box box, int zoom) {
+        double cellDeg = 360.0 / (1L << Math.max(0, Math.min(zoom, 30))) * clusterSizePx / 256;
+        // cell → latitude sum, longitude sum, ambulances, fire trucks
+        Map<Long, double[]> sums = new HashMap<>();
+        positions.forEach((type, index) -> index.forEachWithin(box.minLat(), box.minLng(), box.maxLat(), box.maxLng(), p -> {
+            long cell = ((long) Math.floor(p.latitude() / cellDeg) << 32)
+                    | ((long) Math.floor(p.longitude() / cellDeg) & 0xffffffffL);
+            double[] sum = sums.computeIfAbsent(cell, c -> new double[4]);
+            sum[0] += p.latitude();
+            sum[1] += p.longitude();
+            sum[type == UnitType.AMBULANCE ? 2 : 3]++;
+        }));
+        List<UnitClusterDto> clusters = new ArrayList<>(sums.size());
+        for (double[] sum : sums.values()) {
+            double count = sum[2] + sum[3];
+            clusters.add(new UnitClusterDto(sum[0] / count, sum[1] / count, (int) sum[2], (int) sum[3]));
+        }
+        return clusters;
+    }
+
+    private boolean clustered(Viewport viewport) {
+        return viewport.zoom < clusterBelowZoom;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        if (!LocationBroadcastService.VIEWPORT_TOPIC.equals(headers.getDestination())) return;
+        Viewport previous = bySession.put(headers.getSessionId(),
+                new Viewport(headers.getSessionId(), headers.getSubscriptionId()));
+        if (previous != null) viewports.remove(previous);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Viewport viewport = bySession.get(headers.getSessionId());
+        if (viewport != null && viewport.subscriptionId.equals(headers.getSubscriptionId())) {
+            bySession.remove(headers.getSessionId());
+            viewports.remove(viewport);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Viewport viewport = bySession.remove(event.getSessionId());
+        if (viewport != null) viewports.remove(viewport);
+    }
+}
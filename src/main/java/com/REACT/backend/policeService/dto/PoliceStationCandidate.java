@@ -0,0 +1,15 @@
+package com.REACT.backend.policeService.dto;
+
+/**
+ * Read-only projection of a police station considered for a booking.
+ */
+public interface PoliceStationCandidate {
+
+    Long getId();
+
+    String getStationName();
+
+    int getAvailableOfficers();
+
+    double getDistanceMeters();
+}
@@ -1,6 +1,8 @@
 package com.REACT.backend.policeService.repository;
 
+import com.REACT.backend.policeService.dto.PoliceStationCandidate;
 import com.REACT.backend.policeService.model.PoliceStationEntity;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,6 +23,52 @@ public interface PoliceStationRepository extends JpaRepository<PoliceStationEnti
             @Param("lng") double longitude
     );
 
+    /**
+     * Nearest stations with officers, just enough of them to cover :needed officers.
+     *
+     * The inner KNN scan (GiST {@code <->}) stops after :maxStations rows, so the cost
+     * does not grow with the size of the table; the running sum then drops every
+     * station beyond the one that completes the count. :skip pages past stations
+     * already tried. Counts come from the table and can lag the in-memory
+     * reservation counters by one flush, so callers reserve and page on.
+     */
+    @Query(value = """
+        SELECT c.id AS id, c.station_name AS stationName,
+               c.available_officers AS availableOfficers, c.distance_meters AS distanceMeters
+        FROM (
+            SELECT k.*,
+                   COALESCE(SUM(k.available_officers) OVER (
+                       ORDER BY k.distance_meters, k.id ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0) AS covered_before
+            FROM (
+                SELECT p.id, p.station_name, p.available_officers,
+                       ST_Distance(p.location, ST_MakePoint(:lng, :lat)::geography) AS distance_meters
+                FROM (
+                    SELECT * FROM police_station_entity
+                    WHERE available_officers > 0
+                    ORDER BY location <-> ST_MakePoint(:lng, :lat)::geography
+                    LIMIT :maxStations OFFSET :skip
+                ) p
+            ) k
+        ) c
+        WHERE c.covered_before < :needed
+        ORDER BY c.distance_meters, c.id
+        """, nativeQuery = true)
+    List<PoliceStationCandidate> findNearestCovering(
+            @Param("lat") double latitude,
+            @Param("lng") double longitude,
+            @Param("needed") int neededOfficers,
+            @Param("maxStations") int maxStations,
+            @Param("skip") int skip
+    );
+
     Optional<PoliceStationEntity> findByStationName(String stationName);
 
+    /**
+     * Write-behind target of PoliceReservationService.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PoliceStationEntity p SET p.availableOfficers = :available WHERE p.id = :id")
+    int updateAvailableOfficers(@Param("id") Long id, @Param("available") int available);
+
 }
@@ -3,6 +3,7 @@ package com.REACT.backend.policeService.service.Impl;
 import com.REACT.backend.policeService.dto.PoliceStationDto;
 import com.REACT.backend.policeService.model.PoliceStationEntity;
 import com.REACT.backend.policeService.repository.PoliceStationRepository;
+import com.REACT.backend.policeService.service.PoliceReservationService;
 import com.REACT.backend.policeService.service.PoliceStationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Service;
 public class PoliceStationServiceImpl implements PoliceStationService {
 
     private final PoliceStationRepository policeStationRepository;
+    private final PoliceReservationService policeReservations;
     private final GeometryFactory geometryFactory = new GeometryFactory();
 
     @Override
@@ -29,6 +31,7 @@ public class PoliceStationServiceImpl implements PoliceStationService {
                 .build();
 
         PoliceStationEntity saved = policeStationRepository.save(entity);
+        policeReservations.track(saved);
 
         dto.setId(saved.getId()); // ensure saved ID is returned
         return dto;
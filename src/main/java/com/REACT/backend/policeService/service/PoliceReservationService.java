@@ -0,0 +1,130 @@
+package com.REACT.backend.policeService.service;
+
+import com.REACT.backend.dispatch.service.DispatchJournalService;
+import com.REACT.backend.policeService.model.PoliceStationEntity;
+import com.REACT.backend.policeService.repository.PoliceStationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the free-officer count of every police station.
+ *
+ * Each station has its own atomic counter, so bookings near different stations
+ * never contend and bookings near the same station only retry a CAS instead of
+ * waiting on a row lock. Changed counters are written back to
+ * {@code police_station_entity} periodically (write-behind); the in-memory value
+ * is authoritative while the application runs.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PoliceReservationService {
+
+    private final PoliceStationRepository policeStationRepository;
+    private final DispatchJournalService journal;
+
+    private final Map<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStations() {
+        for (PoliceStationEntity station : policeStationRepository.findAll()) {
+            available.put(station.getId(), new AtomicInteger(station.getAvailableOfficers()));
+        }
+        log.info("Police reservation counters loaded for {} stations", available.size());
+    }
+
+    /**
+     * Starts tracking a newly created station.
+     */
+    public void track(PoliceStationEntity station) {
+        available.put(station.getId(), new AtomicInteger(station.getAvailableOfficers()));
+    }
+
+    /**
+     * Takes up to {@code wanted} officers from the station.
+     *
+     * @return how many were actually reserved, 0 if the station has none left
+     */
+    public int reserve(Long stationId, int wanted) {
+        if (wanted <= 0) return 0;
+        AtomicInteger counter = counter(stationId);
+        while (true) {
+            int current = counter.get();
+            if (current <= 0) return 0;
+            int granted = Math.min(current, wanted);
+            if (counter.compareAndSet(current, current - granted)) {
+                dirty.add(stationId);
+                log.debug("Reserved {} officers at station {}, {} left", granted, stationId, current - granted);
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * Gives officers back to the station (booking cancelled, completed or dropped).
+     */
+    public void release(Long stationId, int count) {
+        if (count <= 0) return;
+        int now = counter(stationId).addAndGet(count);
+        dirty.add(stationId);
+        log.debug("Released {} officers at station {}, {} available", count, stationId, now);
+    }
+
+    public void releaseAll(Map<PoliceStationEntity, Integer> assignment) {
+        if (assignment == null) return;
+        assignment.forEach((station, count) -> {
+            release(station.getId(), count);
+            journal.officersReleased(station.getId(), count);
+        });
+    }
+
+    public int available(Long stationId) {
+        return counter(stationId).get();
+    }
+
+    /**
+     * Writes changed counters back to the database.
+     */
+    @Scheduled(fixedDelayString = "${police.reservation.flush-interval-ms:1000}")
+    public void flush() {
+        if (dirty.isEmpty()) return;
+        List<Long> changed = new ArrayList<>(dirty);
+        for (Long stationId : changed) {
+            // remove before reading: a concurrent update re-marks the station and is flushed next round
+            dirty.remove(stationId);
+            try {
+                policeStationRepository.updateAvailableOfficers(stationId, available.get(stationId).get());
+            } catch (RuntimeException e) {
+                dirty.add(stationId);
+                log.error("Failed to persist officer count of station {}", stationId, e);
+            }
+        }
+        log.debug("Persisted officer counts of {} stations", changed.size());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private AtomicInteger counter(Long stationId) {
+        // stations created outside this service (e.g. directly in the DB) are picked up on first use
+        return available.computeIfAbsent(stationId, id -> new AtomicInteger(
+                policeStationRepository.findById(id)
+                        .map(PoliceStationEntity::getAvailableOfficers)
+                        .orElseThrow(() -> new RuntimeException("Police station not found: " + id))));
+    }
+}
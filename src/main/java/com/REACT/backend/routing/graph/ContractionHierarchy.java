@@ -0,0 +1,462 @@
+package com.REACT.backend.routing.graph;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Contraction hierarchy over a {@link RoadGraph} for fast travel-time queries.
+ *
+ * Preprocessing contracts nodes one by one in order of importance (edge
+ * difference plus contracted neighbours, updated lazily) and adds a shortcut
+ * wherever a local witness search cannot find a path that avoids the node.
+ * A query then only relaxes edges towards more important nodes, from the source
+ * forwards and from the target backwards, which settles a few hundred nodes even
+ * on a city-sized graph.
+ *
+ * Instances are immutable after {@link #build}; queries are thread-safe.
+ */
+public final class ContractionHierarchy {
+
+    public static final int UNREACHABLE = -1;
+
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * nodes settled per witness search; higher means fewer shortcuts but slower preprocessing
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final int nodeCount;
+    private final int shortcutCount;
+
+    // edges towards higher-ranked nodes, by tail
+    private final int[] upFirst;
+    private final int[] upHead;
+    private final int[] upWeight;
+
+    // edges coming from higher-ranked nodes, by head (walked backwards)
+    private final int[] downFirst;
+    private final int[] downTail;
+    private final int[] downWeight;
+
+    private final ThreadLocal<QueryState> queryState;
+
+    private ContractionHierarchy(int nodeCount, int shortcutCount,
+                                 int[] upFirst, int[] upHead, int[] upWeight,
+                                 int[] downFirst, int[] downTail, int[] downWeight) {
+        this.nodeCount = nodeCount;
+        this.shortcutCount = shortcutCount;
+        this.upFirst = upFirst;
+        this.upHead = upHead;
+        this.upWeight = upWeight;
+        this.downFirst = downFirst;
+        this.downTail = downTail;
+        this.downWeight = downWeight;
+        this.queryState = ThreadLocal.withInitial(() -> new QueryState(nodeCount));
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int shortcutCount() {
+        return shortcutCount;
+    }
+
+    /**
+     * @return travel time in ms from source to target, or {@link #UNREACHABLE}
+     */
+    public int travelMillis(int source, int target) {
+        return travelMillis(new int[]{source}, target)[0];
+    }
+
+    /**
+     * Many-to-one query: the backward search from the target runs once and is
+     * shared by every source.
+     *
+     * @return travel time in ms from each source to the target, {@link #UNREACHABLE} where there is no path
+     */
+    public int[] travelMillis(int[] sources, int target) {
+        QueryState state = queryState.get();
+        state.reserveStamps(sources.length + 1);
+        int backward = state.nextStamp();
+        state.heap.clear();
+        state.settle(state.distB, state.stampB, backward, target, 0);
+        state.heap.push(0, target);
+        while (!state.heap.isEmpty()) {
+            long top = state.heap.pop();
+            int node = MinHeap.node(top);
+            int dist = MinHeap.dist(top);
+            if (dist > state.distB[node]) continue;
+            for (int e = downFirst[node]; e < downFirst[node + 1]; e++) {
+                int next = downTail[e];
+                int candidate = dist + downWeight[e];
+                if (state.stampB[next] != backward || candidate < state.distB[next]) {
+                    state.settle(state.distB, state.stampB, backward, next, candidate);
+                    state.heap.push(candidate, next);
+                }
+            }
+        }
+
+        int[] result = new int[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            result[i] = forward(state, sources[i], backward);
+        }
+        return result;
+    }
+
+    private int forward(QueryState state, int source, int backward) {
+        int forward = state.nextStamp();
+        int best = INFINITY;
+        state.heap.clear();
+        state.settle(state.distF, state.stampF, forward, source, 0);
+        state.heap.push(0, source);
+        while (!state.heap.isEmpty()) {
+            long top = state.heap.pop();
+            int node = MinHeap.node(top);
+            int dist = MinHeap.dist(top);
+            if (dist >= best) break; // nothing left can improve the meeting point
+            if (dist > state.distF[node]) continue;
+            if (state.stampB[node] == backward) {
+                best = Math.min(best, dist + state.distB[node]);
+            }
+            if (stalled(state, forward, node, dist)) continue;
+            for (int e = upFirst[node]; e < upFirst[node + 1]; e++) {
+                int next = upHead[e];
+                int candidate = dist + upWeight[e];
+                if (state.stampF[next] != forward || candidate < state.distF[next]) {
+                    state.settle(state.distF, state.stampF, forward, next, candidate);
+                    state.heap.push(candidate, next);
+                }
+            }
+        }
+        return best == INFINITY ? UNREACHABLE : best;
+    }
+
+    /**
+     * Stall-on-demand: if a higher-ranked node already reached reaches this one more
+     * cheaply, the upward search from here cannot lie on a shortest path.
+     */
+    private boolean stalled(QueryState state, int forward, int node, int dist) {
+        for (int e = downFirst[node]; e < downFirst[node + 1]; e++) {
+            int higher = downTail[e];
+            if (state.stampF[higher] == forward && state.distF[higher] + downWeight[e] < dist) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Contracts the whole graph. Runs in roughly linear time on road networks;
+     * a city of 50k nodes takes a few seconds.
+     */
+    public static ContractionHierarchy build(RoadGraph graph) {
+        int n = graph.nodeCount();
+        Adjacency[] out = new Adjacency[n];
+        Adjacency[] in = new Adjacency[n];
+        for (int v = 0; v < n; v++) {
+            out[v] = new Adjacency();
+            in[v] = new Adjacency();
+        }
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.firstOut(v); e < graph.endOut(v); e++) {
+                int w = graph.head(e);
+                if (w == v) continue;
+                out[v].put(w, graph.weightMillis(e));
+                in[w].put(v, graph.weightMillis(e));
+            }
+        }
+
+        Contractor contractor = new Contractor(n, out, in);
+        int[] rank = contractor.contractAll();
+
+        // split every remaining edge (original or shortcut) into the upward and downward graphs
+        int[] upFirst = new int[n + 1];
+        int[] downFirst = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            Adjacency adj = out[v];
+            for (int i = 0; i < adj.size; i++) {
+                if (rank[v] < rank[adj.to[i]]) upFirst[v + 1]++;
+                else downFirst[adj.to[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upFirst[v + 1] += upFirst[v];
+            downFirst[v + 1] += downFirst[v];
+        }
+        int[] upHead = new int[upFirst[n]];
+        int[] upWeight = new int[upFirst[n]];
+        int[] downTail = new int[downFirst[n]];
+        int[] downWeight = new int[downFirst[n]];
+        int[] upNext = Arrays.copyOf(upFirst, n);
+        int[] downNext = Arrays.copyOf(downFirst, n);
+        for (int v = 0; v < n; v++) {
+            Adjacency adj = out[v];
+            for (int i = 0; i < adj.size; i++) {
+                int w = adj.to[i];
+                if (rank[v] < rank[w]) {
+                    upHead[upNext[v]] = w;
+                    upWeight[upNext[v]++] = adj.weight[i];
+                } else {
+                    downTail[downNext[w]] = v;
+                    downWeight[downNext[w]++] = adj.weight[i];
+                }
+            }
+        }
+        return new ContractionHierarchy(n, contractor.shortcuts,
+                upFirst, upHead, upWeight, downFirst, downTail, downWeight);
+    }
+
+    private static final class Contractor {
+
+        private final int n;
+        private final Adjacency[] out;
+        private final Adjacency[] in;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbours;
+        private int shortcuts;
+
+        // witness search scratch space
+        private final int[] dist;
+        private final int[] stamp;
+        private int currentStamp;
+        private final MinHeap heap = new MinHeap();
+
+        Contractor(int n, Adjacency[] out, Adjacency[] in) {
+            this.n = n;
+            this.out = out;
+            this.in = in;
+            this.contracted = new boolean[n];
+            this.contractedNeighbours = new int[n];
+            this.dist = new int[n];
+            this.stamp = new int[n];
+        }
+
+        int[] contractAll() {
+            PriorityQueue<long[]> queue = new PriorityQueue<>(n, (a, b) -> Long.compare(a[0], b[0]));
+            for (int v = 0; v < n; v++) {
+                queue.add(new long[]{priority(v), v});
+            }
+
+            int[] rank = new int[n];
+            int next = 0;
+            while (!queue.isEmpty()) {
+                long[] top = queue.poll();
+                int v = (int) top[1];
+                // lazy update: re-queue if the node became more important since it was queued
+                long current = priority(v);
+                if (!queue.isEmpty() && current > queue.peek()[0]) {
+                    queue.add(new long[]{current, v});
+                    continue;
+                }
+                contract(v, true);
+                contracted[v] = true;
+                rank[v] = next++;
+            }
+            return rank;
+        }
+
+        private long priority(int v) {
+            int added = contract(v, false);
+            int removed = activeDegree(in[v]) + activeDegree(out[v]);
+            return 2L * (added - removed) + contractedNeighbours[v];
+        }
+
+        private int activeDegree(Adjacency adj) {
+            int degree = 0;
+            for (int i = 0; i < adj.size; i++) {
+                if (!contracted[adj.to[i]]) degree++;
+            }
+            return degree;
+        }
+
+        /**
+         * @param apply false to only count the shortcuts contracting v would need
+         * @return number of shortcuts (to be) added
+         */
+        private int contract(int v, boolean apply) {
+            Adjacency incoming = in[v];
+            Adjacency outgoing = out[v];
+            int maxOut = 0;
+            for (int j = 0; j < outgoing.size; j++) {
+                if (!contracted[outgoing.to[j]]) maxOut = Math.max(maxOut, outgoing.weight[j]);
+            }
+
+            int added = 0;
+            for (int i = 0; i < incoming.size; i++) {
+                int u = incoming.to[i];
+                if (contracted[u]) continue;
+                int toV = incoming.weight[i];
+                witnessSearch(u, v, toV + maxOut);
+                for (int j = 0; j < outgoing.size; j++) {
+                    int w = outgoing.to[j];
+                    if (contracted[w] || w == u) continue;
+                    int viaV = toV + outgoing.weight[j];
+                    if (stamp[w] == currentStamp && dist[w] <= viaV) continue; // witness path exists
+                    added++;
+                    if (apply) {
+                        if (out[u].put(w, viaV)) shortcuts++;
+                        in[w].put(u, viaV);
+                    }
+                }
+            }
+            if (apply) {
+                for (int i = 0; i < incoming.size; i++) contractedNeighbours[incoming.to[i]]++;
+                for (int j = 0; j < outgoing.size; j++) contractedNeighbours[outgoing.to[j]]++;
+            }
+            return added;
+        }
+
+        /**
+         * Bounded Dijkstra from u over uncontracted nodes, never passing through {@code skip}.
+         */
+        private void witnessSearch(int u, int skip, int maxDist) {
+            currentStamp++;
+            heap.clear();
+            dist[u] = 0;
+            stamp[u] = currentStamp;
+            heap.push(0, u);
+            int settled = 0;
+            while (!heap.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+                long top = heap.pop();
+                int x = MinHeap.node(top);
+                int d = MinHeap.dist(top);
+                if (d > dist[x]) continue;
+                if (d > maxDist) break;
+                settled++;
+                Adjacency adj = out[x];
+                for (int i = 0; i < adj.size; i++) {
+                    int y = adj.to[i];
+                    if (y == skip || contracted[y]) continue;
+                    int candidate = d + adj.weight[i];
+                    if (stamp[y] != currentStamp || candidate < dist[y]) {
+                        dist[y] = candidate;
+                        stamp[y] = currentStamp;
+                        heap.push(candidate, y);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable neighbour list that keeps only the cheapest edge per neighbour.
+     */
+    private static final class Adjacency {
+        int[] to = new int[4];
+        int[] weight = new int[4];
+        int size;
+
+        /**
+         * @return true if a new neighbour was added, false if an existing edge was kept or lowered
+         */
+        boolean put(int node, int w) {
+            for (int i = 0; i < size; i++) {
+                if (to[i] == node) {
+                    weight[i] = Math.min(weight[i], w);
+                    return false;
+                }
+            }
+            if (size == to.length) {
+                to = Arrays.copyOf(to, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+            }
+            to[size] = node;
+            weight[size++] = w;
+            return true;
+        }
+    }
+
+    /**
+     * Binary min-heap of (distance, node) packed into longs; stale entries are skipped by the caller.
+     */
+    private static final class MinHeap {
+        private long[] items = new long[64];
+        private int size;
+
+        static int node(long item) {
+            return (int) item;
+        }
+
+        static int dist(long item) {
+            return (int) (item >>> 32);
+        }
+
+        void push(int dist, int node) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            long item = ((long) dist << 32) | (node & 0xffffffffL);
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (items[parent] <= item) break;
+                items[i] = items[parent];
+                i = parent;
+            }
+            items[i] = item;
+        }
+
+        long pop() {
+            long top = items[0];
+            long last = items[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && items[child + 1] < items[child]) child++;
+                if (last <= items[child]) break;
+                items[i] = items[child];
+                i = child;
+            }
+            items[i] = last;
+            return top;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /**
+     * Per-thread query buffers; version stamps avoid clearing the arrays between queries.
+     */
+    private static final class QueryState {
+        final int[] distF;
+        final int[] distB;
+        final int[] stampF;
+        final int[] stampB;
+        final MinHeap heap = new MinHeap();
+        int stamp;
+
+        QueryState(int n) {
+            distF = new int[n];
+            distB = new int[n];
+            stampF = new int[n];
+            stampB = new int[n];
+        }
+
+        /**
+         * Resets the stamps up front if one query would run past the int range.
+         */
+        void reserveStamps(int count) {
+            if (stamp > Integer.MAX_VALUE - count - 1) {
+                Arrays.fill(stampF, 0);
+                Arrays.fill(stampB, 0);
+                stamp = 0;
+            }
+        }
+
+        int nextStamp() {
+            return ++stamp;
+        }
+
+        void settle(int[] dist, int[] stamps, int stampValue, int node, int value) {
+            dist[node] = value;
+            stamps[node] = stampValue;
+        }
+    }
+}
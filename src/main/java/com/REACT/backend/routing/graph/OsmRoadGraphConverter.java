@@ -0,0 +1,176 @@
+package com.REACT.backend.routing.graph;
+
+import com.REACT.backend.common.util.LocationUtils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts an OSM XML extract ({@code .osm}, e.g. cut with osmium or downloaded from
+ * Overpass) into the text format read by {@link RoadGraphLoader}.
+ *
+ * Only ways with a drivable {@code highway} tag are kept. Their speed is the numeric
+ * {@code maxspeed} (km/h, or mph when marked so), else a default per road class;
+ * {@code oneway}, {@code oneway=-1}, roundabouts and motorways are honoured. Every
+ * pair of consecutive way nodes becomes one edge, so intermediate nodes are kept.
+ *
+ * <pre>
+ * java -cp backend.jar com.REACT.backend.routing.graph.OsmRoadGraphConverter pune.osm pune.graph
+ * </pre>
+ */
+public final class OsmRoadGraphConverter {
+
+    private static final Map<String, Double> DEFAULT_SPEED_KMH = Map.ofEntries(
+            Map.entry("motorway", 90.0), Map.entry("motorway_link", 50.0),
+            Map.entry("trunk", 70.0), Map.entry("trunk_link", 40.0),
+            Map.entry("primary", 50.0), Map.entry("primary_link", 40.0),
+            Map.entry("secondary", 40.0), Map.entry("secondary_link", 30.0),
+            Map.entry("tertiary", 30.0), Map.entry("tertiary_link", 25.0),
+            Map.entry("unclassified", 25.0), Map.entry("road", 20.0),
+            Map.entry("residential", 20.0), Map.entry("living_street", 10.0),
+            Map.entry("service", 15.0));
+
+    private static final Pattern SPEED = Pattern.compile("^\\s*(\\d+(?:\\.\\d+)?)\\s*(mph)?");
+    private static final double KMH_PER_MPH = 1.609344;
+
+    private record Way(List<Long> nodes, double speedKmh, boolean oneWay) {
+    }
+
+    private OsmRoadGraphConverter() {
+    }
+
+    public static void main(String[] args) throws IOException, XMLStreamException {
+        if (args.length != 2) {
+            System.err.println("Usage: OsmRoadGraphConverter <extract.osm> <graph-file>");
+            System.exit(2);
+        }
+        try (InputStream in = Files.newInputStream(Path.of(args[0]));
+             BufferedWriter out = Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8)) {
+            int edges = convert(in, out);
+            System.out.printf("Wrote %d road segments to %s%n", edges, args[1]);
+        }
+    }
+
+    /**
+     * @return number of E records written
+     */
+    public static int convert(InputStream osm, Writer out) throws IOException, XMLStreamException {
+        Map<Long, double[]> positions = new HashMap<>();
+        List<Way> ways = new ArrayList<>();
+        read(osm, positions, ways);
+
+        Set<Long> used = new LinkedHashSet<>();
+        for (Way way : ways) {
+            for (Long node : way.nodes()) {
+                if (positions.containsKey(node)) used.add(node);
+            }
+        }
+
+        out.write("# converted from OSM by OsmRoadGraphConverter\n");
+        for (Long node : used) {
+            double[] position = positions.get(node);
+            out.write(String.format(Locale.ROOT, "N %d %.7f %.7f%n", node, position[0], position[1]));
+        }
+        int edges = 0;
+        for (Way way : ways) {
+            List<Long> nodes = way.nodes();
+            for (int i = 0; i + 1 < nodes.size(); i++) {
+                double[] from = positions.get(nodes.get(i));
+                double[] to = positions.get(nodes.get(i + 1));
+                // nodes outside the extract cut the way
+                if (from == null || to == null || nodes.get(i).equals(nodes.get(i + 1))) continue;
+                double meters = LocationUtils.distanceMeters(from[0], from[1], to[0], to[1]);
+                out.write(String.format(Locale.ROOT, "E %d %d %.1f %.1f %d%n", nodes.get(i), nodes.get(i + 1),
+                        meters, way.speedKmh(), way.oneWay() ? 1 : 0));
+                edges++;
+            }
+        }
+        out.flush();
+        return edges;
+    }
+
+    private static void read(InputStream osm, Map<Long, double[]> positions, List<Way> ways) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XMLStreamReader xml = factory.createXMLStreamReader(osm, StandardCharsets.UTF_8.name());
+
+        List<Long> wayNodes = null;
+        Map<String, String> tags = new HashMap<>();
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "node" -> positions.put(Long.parseLong(xml.getAttributeValue(null, "id")), new double[]{
+                                Double.parseDouble(xml.getAttributeValue(null, "lat")),
+                                Double.parseDouble(xml.getAttributeValue(null, "lon"))});
+                        case "way" -> {
+                            wayNodes = new ArrayList<>();
+                            tags.clear();
+                        }
+                        case "nd" -> {
+                            if (wayNodes != null) wayNodes.add(Long.parseLong(xml.getAttributeValue(null, "ref")));
+                        }
+                        case "tag" -> {
+                            if (wayNodes != null) tags.put(xml.getAttributeValue(null, "k"), xml.getAttributeValue(null, "v"));
+                        }
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "way".equals(xml.getLocalName())) {
+                    Way way = toWay(wayNodes, tags);
+                    if (way != null) ways.add(way);
+                    wayNodes = null;
+                }
+            }
+        } finally {
+            xml.close();
+        }
+    }
+
+    /**
+     * @return the drivable way, or null if it is not a road for vehicles
+     */
+    private static Way toWay(List<Long> nodes, Map<String, String> tags) {
+        String highway = tags.get("highway");
+        Double defaultSpeed = highway == null ? null : DEFAULT_SPEED_KMH.get(highway);
+        if (defaultSpeed == null || nodes.size() < 2 || "no".equals(tags.get("motor_vehicle"))) return null;
+
+        double speed = defaultSpeed;
+        Matcher maxspeed = SPEED.matcher(tags.getOrDefault("maxspeed", ""));
+        if (maxspeed.find()) {
+            speed = Double.parseDouble(maxspeed.group(1)) * (maxspeed.group(2) != null ? KMH_PER_MPH : 1);
+            if (speed <= 0) speed = defaultSpeed;
+        }
+
+        String oneway = tags.getOrDefault("oneway", "");
+        if (oneway.equals("-1") || oneway.equals("reverse")) {
+            List<Long> reversed = new ArrayList<>(nodes);
+            Collections.reverse(reversed);
+            return new Way(reversed, speed, true);
+        }
+        boolean implied = highway.equals("motorway") || "roundabout".equals(tags.get("junction"));
+        boolean oneWay = oneway.equals("yes") || oneway.equals("1") || oneway.equals("true")
+                || (implied && !oneway.equals("no"));
+        return new Way(nodes, speed, oneWay);
+    }
+}
@@ -0,0 +1,132 @@
+package com.REACT.backend.routing.graph;
+
+import java.util.Arrays;
+
+/**
+ * Directed road graph in compressed sparse row form.
+ *
+ * Nodes are dense ints 0..n-1 with a position; the out-edges of node {@code v}
+ * are {@code head[firstOut[v]] .. head[firstOut[v + 1] - 1]}, weighted by travel
+ * time in milliseconds.
+ */
+public final class RoadGraph {
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] firstOut;
+    private final int[] head;
+    private final int[] weightMillis;
+
+    private RoadGraph(double[] latitudes, double[] longitudes, int[] firstOut, int[] head, int[] weightMillis) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.firstOut = firstOut;
+        this.head = head;
+        this.weightMillis = weightMillis;
+    }
+
+    public int nodeCount() {
+        return latitudes.length;
+    }
+
+    public int edgeCount() {
+        return head.length;
+    }
+
+    public double latitude(int node) {
+        return latitudes[node];
+    }
+
+    public double longitude(int node) {
+        return longitudes[node];
+    }
+
+    public int firstOut(int node) {
+        return firstOut[node];
+    }
+
+    public int endOut(int node) {
+        return firstOut[node + 1];
+    }
+
+    public int head(int edge) {
+        return head[edge];
+    }
+
+    public int weightMillis(int edge) {
+        return weightMillis[edge];
+    }
+
+    public static Builder builder(int expectedNodes) {
+        return new Builder(expectedNodes);
+    }
+
+    public static final class Builder {
+
+        private double[] latitudes;
+        private double[] longitudes;
+        private int nodes;
+
+        private int[] tails = new int[16];
+        private int[] heads = new int[16];
+        private int[] weights = new int[16];
+        private int edges;
+
+        private Builder(int expectedNodes) {
+            latitudes = new double[Math.max(16, expectedNodes)];
+            longitudes = new double[Math.max(16, expectedNodes)];
+        }
+
+        /**
+         * @return the id of the new node
+         */
+        public int addNode(double latitude, double longitude) {
+            if (nodes == latitudes.length) {
+                latitudes = Arrays.copyOf(latitudes, nodes * 2);
+                longitudes = Arrays.copyOf(longitudes, nodes * 2);
+            }
+            latitudes[nodes] = latitude;
+            longitudes[nodes] = longitude;
+            return nodes++;
+        }
+
+        public Builder addEdge(int from, int to, int weightMillis) {
+            if (from < 0 || from >= nodes || to < 0 || to >= nodes) {
+                throw new IllegalArgumentException("Edge " + from + " -> " + to + " references an unknown node");
+            }
+            if (weightMillis < 0) {
+                throw new IllegalArgumentException("Negative travel time on edge " + from + " -> " + to);
+            }
+            if (edges == tails.length) {
+                tails = Arrays.copyOf(tails, edges * 2);
+                heads = Arrays.copyOf(heads, edges * 2);
+                weights = Arrays.copyOf(weights, edges * 2);
+            }
+            tails[edges] = from;
+            heads[edges] = to;
+            weights[edges] = weightMillis;
+            edges++;
+            return this;
+        }
+
+        public RoadGraph build() {
+            int[] firstOut = new int[nodes + 1];
+            for (int e = 0; e < edges; e++) {
+                firstOut[tails[e] + 1]++;
+            }
+            for (int v = 0; v < nodes; v++) {
+                firstOut[v + 1] += firstOut[v];
+            }
+            int[] next = Arrays.copyOf(firstOut, nodes);
+            int[] head = new int[edges];
+            int[] weight = new int[edges];
+            for (int e = 0; e < edges; e++) {
+                int slot = next[tails[e]]++;
+                head[slot] = heads[e];
+                weight[slot] = weights[e];
+            }
+            return new RoadGraph(Arrays.copyOf(latitudes, nodes), Arrays.copyOf(longitudes, nodes),
+                    firstOut, head, weight);
+        }
+    }
+}
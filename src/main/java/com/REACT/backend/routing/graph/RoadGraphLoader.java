@@ -0,0 +1,79 @@
+package com.REACT.backend.routing.graph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads a road graph from the plain-text format that {@link OsmRoadGraphConverter}
+ * produces from an OSM extract.
+ *
+ * <pre>
+ * # comment
+ * N &lt;nodeId&gt; &lt;lat&gt; &lt;lng&gt;
+ * E &lt;fromId&gt; &lt;toId&gt; &lt;lengthMeters&gt; &lt;speedKmh&gt; &lt;oneway 0|1&gt;
+ * </pre>
+ *
+ * Node ids may be any long (OSM ids); they are remapped to dense ints. Nodes must be
+ * listed before the edges that use them. A two-way edge becomes two directed edges.
+ */
+public final class RoadGraphLoader {
+
+    private RoadGraphLoader() {
+    }
+
+    public static RoadGraph load(Path file) throws IOException {
+        RoadGraph.Builder builder = RoadGraph.builder(1 << 16);
+        Map<Long, Integer> nodeIds = new HashMap<>();
+        int lineNo = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] parts = line.split("\\s+");
+                try {
+                    switch (parts[0]) {
+                        case "N" -> nodeIds.put(Long.parseLong(parts[1]),
+                                builder.addNode(Double.parseDouble(parts[2]), Double.parseDouble(parts[3])));
+                        case "E" -> {
+                            int from = node(nodeIds, Long.parseLong(parts[1]));
+                            int to = node(nodeIds, Long.parseLong(parts[2]));
+                            int millis = travelMillis(Double.parseDouble(parts[3]), Double.parseDouble(parts[4]));
+                            builder.addEdge(from, to, millis);
+                            if (!"1".equals(parts[5])) {
+                                builder.addEdge(to, from, millis);
+                            }
+                        }
+                        default -> throw new IllegalArgumentException("Unknown record type " + parts[0]);
+                    }
+                } catch (RuntimeException e) {
+                    throw new IOException("Malformed road graph line " + lineNo + ": " + line, e);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    public static int travelMillis(double lengthMeters, double speedKmh) {
+        if (speedKmh <= 0) {
+            throw new IllegalArgumentException("Speed must be positive: " + speedKmh);
+        }
+        return (int) Math.round(lengthMeters / (speedKmh / 3.6) * 1000);
+    }
+
+    private static int node(Map<Long, Integer> nodeIds, long id) {
+        Integer node = nodeIds.get(id);
+        if (node == null) {
+            throw new IllegalArgumentException("Unknown node " + id);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,130 @@
+package com.REACT.backend.routing.service;
+
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.routing.graph.ContractionHierarchy;
+import com.REACT.backend.routing.graph.RoadGraph;
+import com.REACT.backend.routing.graph.RoadGraphLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Road-network travel times for dispatch ranking.
+ *
+ * The graph is read from {@code routing.graph-file} (see {@link RoadGraphLoader}) and
+ * contracted in the background after startup; until that finishes, or when no file
+ * is configured, {@link #isReady()} is false and callers fall back to straight-line
+ * distance. Everything runs in-process, no routing server is involved.
+ */
+@Slf4j
+@Service
+public class EtaService {
+
+    public static final long UNKNOWN = -1;
+
+    @Value("${routing.graph-file:}")
+    private String graphFile;
+
+    /**
+     * speed assumed for the leg between a position and its nearest road node
+     */
+    @Value("${routing.snap-speed-kmh:15}")
+    private double snapSpeedKmh;
+
+    @Value("${routing.max-snap-meters:500}")
+    private double maxSnapMeters;
+
+    private volatile Routing routing;
+
+    private record Routing(RoadGraph graph, ContractionHierarchy hierarchy, GeoGridIndex nodes) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadGraph() {
+        if (graphFile == null || graphFile.isBlank()) {
+            log.info("No routing.graph-file configured, dispatch ranks units by straight-line distance");
+            return;
+        }
+        Path path = Path.of(graphFile);
+        if (!Files.isReadable(path)) {
+            log.warn("Road graph {} not found, dispatch ranks units by straight-line distance", path);
+            return;
+        }
+        Thread loader = new Thread(() -> load(path), "routing-preprocess");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void load(Path path) {
+        try {
+            long started = System.currentTimeMillis();
+            RoadGraph graph = RoadGraphLoader.load(path);
+            ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+            GeoGridIndex nodes = new GeoGridIndex(0.005);
+            for (int v = 0; v < graph.nodeCount(); v++) {
+                nodes.upsert(v, graph.latitude(v), graph.longitude(v));
+            }
+            routing = new Routing(graph, hierarchy, nodes);
+            log.info("Road graph ready: {} nodes, {} edges, {} shortcuts in {} ms", graph.nodeCount(),
+                    graph.edgeCount(), hierarchy.shortcutCount(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Failed to load road graph {}", path, e);
+        }
+    }
+
+    public boolean isReady() {
+        return routing != null;
+    }
+
+    /**
+     * Travel time from every source position to the target, sharing one backward search.
+     *
+     * @return ms per source, {@link #UNKNOWN} where a position is off the road graph or cannot reach the target
+     */
+    public long[] etaMillis(double[] latitudes, double[] longitudes, double targetLat, double targetLng) {
+        long[] result = new long[latitudes.length];
+        Arrays.fill(result, UNKNOWN);
+        Routing current = routing;
+        if (current == null) return result;
+
+        GeoGridIndex.Neighbour target = snap(current, targetLat, targetLng);
+        if (target == null) return result;
+
+        int[] sources = new int[latitudes.length];
+        long[] snapMillis = new long[latitudes.length];
+        int[] slots = new int[latitudes.length];
+        int known = 0;
+        for (int i = 0; i < latitudes.length; i++) {
+            GeoGridIndex.Neighbour source = snap(current, latitudes[i], longitudes[i]);
+            if (source == null) continue;
+            sources[known] = (int) source.unitId();
+            snapMillis[known] = snapMillis(source.distanceMeters());
+            slots[known++] = i;
+        }
+
+        int[] travel = current.hierarchy().travelMillis(Arrays.copyOf(sources, known), (int) target.unitId());
+        for (int i = 0; i < known; i++) {
+            if (travel[i] != ContractionHierarchy.UNREACHABLE) {
+                result[slots[i]] = travel[i] + snapMillis[i] + snapMillis(target.distanceMeters());
+            }
+        }
+        return result;
+    }
+
+    private GeoGridIndex.Neighbour snap(Routing current, double latitude, double longitude) {
+        List<GeoGridIndex.Neighbour> nearest = current.nodes().nearest(latitude, longitude, 1, maxSnapMeters, Set.of());
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    private long snapMillis(double meters) {
+        return Math.round(meters / (snapSpeedKmh / 3.6) * 1000);
+    }
+}
@@ -0,0 +1,85 @@
+package com.REACT.backend.LocationMaping.polyline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PolylineEncoderTest {
+
+    @Test
+    void matchesTheReferenceExample() {
+        // the example from Google's encoded polyline algorithm documentation
+        double[] latitudes = {38.5, 40.7, 43.252};
+        double[] longitudes = {-120.2, -120.95, -126.453};
+
+        assertEquals("_p~iF~ps|U_ulLnnqC_mqNvxq`@",
+                PolylineEncoder.encode(latitudes, longitudes, new int[]{0, 1, 2}));
+    }
+
+    @Test
+    void encodesOnlyTheGivenIndexes() {
+        double[] latitudes = {38.5, 0, 40.7, 0, 43.252};
+        double[] longitudes = {-120.2, 0, -120.95, 0, -126.453};
+
+        assertEquals("_p~iF~ps|U_ulLnnqC_mqNvxq`@",
+                PolylineEncoder.encode(latitudes, longitudes, new int[]{0, 2, 4}));
+        assertEquals("", PolylineEncoder.encode(latitudes, longitudes, new int[0]));
+    }
+
+    @Test
+    void decodesBackToTheRoundedPoints() {
+        Random random = new Random(3);
+        int count = 500;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        int[] all = new int[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = 18.52 + (random.nextDouble() - 0.5) * 0.2;
+            longitudes[i] = 73.85 + (random.nextDouble() - 0.5) * 0.2;
+            all[i] = i;
+        }
+
+        List<long[]> decoded = decode(PolylineEncoder.encode(latitudes, longitudes, all));
+        assertEquals(count, decoded.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Math.round(latitudes[i] * 1e5), decoded.get(i)[0]);
+            assertEquals(Math.round(longitudes[i] * 1e5), decoded.get(i)[1]);
+        }
+    }
+
+    /**
+     * Reference decoder: points as {lat, lng} in 1e-5 degrees.
+     */
+    private static List<long[]> decode(String encoded) {
+        List<long[]> points = new ArrayList<>();
+        long lat = 0;
+        long lng = 0;
+        int at = 0;
+        while (at < encoded.length()) {
+            long[] value = new long[1];
+            at = readValue(encoded, at, value);
+            lat += value[0];
+            at = readValue(encoded, at, value);
+            lng += value[0];
+            points.add(new long[]{lat, lng});
+        }
+        return points;
+    }
+
+    private static int readValue(String encoded, int at, long[] value) {
+        long result = 0;
+        int shift = 0;
+        int chunk;
+        do {
+            chunk = encoded.charAt(at++) - 63;
+            result |= (long) (chunk & 0x1f) << shift;
+            shift += 5;
+        } while (chunk >= 0x20);
+        value[0] = (result & 1) != 0 ? ~(result >> 1) : result >> 1;
+        return at;
+    }
+}
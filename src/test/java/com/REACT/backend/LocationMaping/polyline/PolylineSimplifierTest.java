@@ -0,0 +1,83 @@
+package com.REACT.backend.LocationMaping.polyline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolylineSimplifierTest {
+
+    private static final int ZOOM = 15;
+
+    @Test
+    void keepsEndpointsAndRespectsTheTarget() {
+        int count = 2_000;
+        double[][] track = randomWalk(count, 11);
+
+        for (int target : new int[]{2, 10, 100, 1_000}) {
+            int[] kept = PolylineSimplifier.simplify(track[0], track[1], count, ZOOM, target, 0);
+            assertEquals(target, kept.length);
+            assertEquals(0, kept[0]);
+            assertEquals(count - 1, kept[kept.length - 1]);
+            for (int i = 1; i < kept.length; i++) {
+                assertTrue(kept[i] > kept[i - 1], "indexes are in track order");
+            }
+        }
+    }
+
+    @Test
+    void dropsPointsBelowTheMinimumAreaEvenUnderTheTarget() {
+        int count = 100;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = 18.5 + i * 1e-4;
+            longitudes[i] = 73.8 + i * 1e-4;
+        }
+
+        assertArrayEquals(new int[]{0, count - 1},
+                PolylineSimplifier.simplify(latitudes, longitudes, count, ZOOM, 1_000, 1));
+    }
+
+    @Test
+    void keepsTheCornerOfAnLShapedRoute() {
+        // 50 points north, then 50 points east
+        int count = 100;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = 18.5 + Math.min(i, 49) * 1e-4;
+            longitudes[i] = 73.8 + Math.max(0, i - 49) * 1e-4;
+        }
+
+        assertArrayEquals(new int[]{0, 49, count - 1},
+                PolylineSimplifier.simplify(latitudes, longitudes, count, ZOOM, 3, 0));
+    }
+
+    @Test
+    void shortTracksAreReturnedWhole() {
+        double[] latitudes = {18.5, 18.6};
+        double[] longitudes = {73.8, 73.9};
+
+        assertArrayEquals(new int[]{0, 1}, PolylineSimplifier.simplify(latitudes, longitudes, 2, ZOOM, 1, 10));
+        assertArrayEquals(new int[]{0}, PolylineSimplifier.simplify(latitudes, longitudes, 1, ZOOM, 1, 10));
+    }
+
+    private static double[][] randomWalk(int count, long seed) {
+        Random random = new Random(seed);
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        double lat = 18.52;
+        double lng = 73.85;
+        for (int i = 0; i < count; i++) {
+            lat += (random.nextDouble() - 0.5) * 5e-4;
+            lng += (random.nextDouble() - 0.5) * 5e-4;
+            latitudes[i] = lat;
+            longitudes[i] = lng;
+        }
+        return new double[][]{latitudes, longitudes};
+    }
+}
@@ -0,0 +1,133 @@
+package com.REACT.backend.dispatch;
+
+import com.REACT.backend.common.util.LocationUtils;
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.dispatch.optimizer.BatchAssignmentPlanner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compares GREEDY and BATCHED dispatch on a synthetic city: total response distance
+ * and per-incident decision latency (p50/p99). Batched latency includes the time an
+ * incident waits for its window to close.
+ *
+ * Run with: java -cp target/classes:target/test-classes com.REACT.backend.dispatch.DispatchModeBenchmark
+ * [units] [incidentsPerWindow] [rounds] [windowMs]
+ */
+public class DispatchModeBenchmark {
+
+    private static final double CENTER_LAT = 18.52;
+    private static final double CENTER_LNG = 73.85;
+    private static final double SPAN_DEG = 0.18; // roughly 20 km across
+    private static final double MAX_RADIUS_METERS = 10_000;
+
+    public static void main(String[] args) {
+        int units = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int incidentsPerWindow = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+        long windowMs = args.length > 3 ? Long.parseLong(args[3]) : 100;
+
+        Result greedy = new Result(rounds * incidentsPerWindow);
+        Result batched = new Result(rounds * incidentsPerWindow);
+
+        for (int round = 0; round < rounds; round++) {
+            long seed = 31L * round;
+            List<BatchAssignmentPlanner.Demand> incidents = incidents(new Random(seed), incidentsPerWindow);
+            runGreedy(fleet(new Random(seed + 1), units), incidents, greedy);
+            runBatched(fleet(new Random(seed + 1), units), incidents, batched, windowMs, new Random(seed + 2));
+        }
+
+        System.out.printf("units=%d incidents/window=%d rounds=%d window=%dms%n", units, incidentsPerWindow, rounds, windowMs);
+        greedy.print("GREEDY ");
+        batched.print("BATCHED");
+    }
+
+    private static void runGreedy(GeoGridIndex index, List<BatchAssignmentPlanner.Demand> incidents, Result result) {
+        for (BatchAssignmentPlanner.Demand incident : incidents) {
+            long start = System.nanoTime();
+            List<GeoGridIndex.Neighbour> chosen = index.nearest(incident.latitude(), incident.longitude(),
+                    incident.count(), MAX_RADIUS_METERS, Set.of());
+            chosen.forEach(n -> index.remove(n.unitId()));
+            result.latency(System.nanoTime() - start);
+            chosen.forEach(n -> result.assigned(n.distanceMeters()));
+            result.missed(incident.count() - chosen.size());
+        }
+    }
+
+    private static void runBatched(GeoGridIndex index, List<BatchAssignmentPlanner.Demand> incidents, Result result,
+                                   long windowMs, Random arrivals) {
+        long start = System.nanoTime();
+        List<List<GeoGridIndex.Neighbour>> plans = BatchAssignmentPlanner.plan(index, incidents, MAX_RADIUS_METERS, 3);
+        long solveNanos = System.nanoTime() - start;
+
+        for (int i = 0; i < incidents.size(); i++) {
+            BatchAssignmentPlanner.Demand incident = incidents.get(i);
+            long waitNanos = (long) (arrivals.nextDouble() * windowMs * 1_000_000);
+            result.latency(waitNanos + solveNanos);
+            for (GeoGridIndex.Neighbour n : plans.get(i)) {
+                index.remove(n.unitId());
+                result.assigned(LocationUtils.distanceMeters(
+                        incident.latitude(), incident.longitude(), n.latitude(), n.longitude()));
+            }
+            result.missed(incident.count() - plans.get(i).size());
+        }
+    }
+
+    private static GeoGridIndex fleet(Random random, int units) {
+        GeoGridIndex index = new GeoGridIndex(0.01);
+        for (long id = 1; id <= units; id++) {
+            index.upsert(id, CENTER_LAT + (random.nextDouble() - 0.5) * SPAN_DEG,
+                    CENTER_LNG + (random.nextDouble() - 0.5) * SPAN_DEG);
+        }
+        return index;
+    }
+
+    private static List<BatchAssignmentPlanner.Demand> incidents(Random random, int count) {
+        List<BatchAssignmentPlanner.Demand> incidents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            incidents.add(new BatchAssignmentPlanner.Demand(
+                    CENTER_LAT + (random.nextDouble() - 0.5) * SPAN_DEG,
+                    CENTER_LNG + (random.nextDouble() - 0.5) * SPAN_DEG,
+                    1 + random.nextInt(2)));
+        }
+        return incidents;
+    }
+
+    private static final class Result {
+        private final long[] latencies;
+        private int samples;
+        private double totalDistance;
+        private long assigned;
+        private long missed;
+
+        Result(int capacity) {
+            latencies = new long[capacity];
+        }
+
+        void latency(long nanos) {
+            latencies[samples++] = nanos;
+        }
+
+        void assigned(double meters) {
+            totalDistance += meters;
+            assigned++;
+        }
+
+        void missed(int count) {
+            missed += count;
+        }
+
+        void print(String label) {
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            System.out.printf("%s total distance %.1f km, mean %.0f m/unit, assigned %d, unserved %d, "
+                            + "latency p50 %.3f ms p99 %.3f ms%n",
+                    label, totalDistance / 1000, totalDistance / Math.max(1, assigned), assigned, missed,
+                    sorted[samples / 2] / 1e6, sorted[(int) (samples * 0.99)] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.REACT.backend.dispatch.index;
+
+import com.REACT.backend.common.util.LocationUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoverageMapTest {
+
+    private static final double CELL = 0.01;
+    private static final int K = 8;
+    private static final double RADIUS = 5000;
+
+    // Pune-sized service area
+    private static final double MIN_LAT = 18.4;
+    private static final double MIN_LNG = 73.7;
+    private static final double SPAN = 0.3;
+
+    private final GeoGridIndex units = new GeoGridIndex(CELL);
+    private final CoverageMap map = new CoverageMap(CELL, K, RADIUS);
+
+    @Test
+    void tilesStayTheKNearestUnitsThroughMovesRemovalsAndReturns() {
+        Random random = new Random(7);
+        for (long id = 0; id < 400; id++) {
+            units.upsert(id, MIN_LAT + random.nextDouble() * SPAN, MIN_LNG + random.nextDouble() * SPAN);
+            map.refresh(units, id);
+        }
+        assertMatchesBruteForce();
+
+        for (int op = 0; op < 3000; op++) {
+            long id = random.nextInt(400);
+            double roll = random.nextDouble();
+            if (!units.contains(id) || roll < 0.6) {
+                // short hops mostly stay in the unit's tiles, the rest jump anywhere in the area
+                GeoGridIndex.UnitPosition at = units.get(id);
+                if (at != null && roll < 0.3) {
+                    units.upsert(id, at.latitude() + (random.nextDouble() - 0.5) * 0.002,
+                            at.longitude() + (random.nextDouble() - 0.5) * 0.002);
+                } else {
+                    units.upsert(id, MIN_LAT + random.nextDouble() * SPAN, MIN_LNG + random.nextDouble() * SPAN);
+                }
+            } else {
+                units.remove(id);
+            }
+            map.refresh(units, id);
+            if (op % 1000 == 999) assertMatchesBruteForce();
+        }
+    }
+
+    @Test
+    void unitMovingOutOfAFullTileIsReplacedByTheNextNearest() {
+        CoverageMap small = new CoverageMap(CELL, 2, RADIUS);
+        double lat = small.centre(small.row(18.52));
+        double lng = small.centre(small.col(73.85));
+        units.upsert(1, lat + 0.0001, lng);
+        units.upsert(2, lat + 0.0002, lng);
+        units.upsert(3, lat + 0.0003, lng);
+        for (long id = 1; id <= 3; id++) small.refresh(units, id);
+        assertEquals(List.of(1L, 2L), ids(small.tileAt(lat, lng)));
+
+        // far outside the radius: every tile listing it must drop it and take unit 3 back in
+        units.upsert(1, lat + 0.2, lng);
+        small.refresh(units, 1);
+        assertEquals(List.of(2L, 3L), ids(small.tileAt(lat, lng)));
+        assertEquals(List.of(1L), ids(small.tileAt(lat + 0.2, lng)));
+        for (CoverageMap.Tile tile : small.tiles()) {
+            if (ids(tile).contains(1L)) {
+                assertTrue(LocationUtils.distanceMeters(tile.centreLatitude(), tile.centreLongitude(), lat + 0.2, lng) <= RADIUS);
+            }
+        }
+    }
+
+    @Test
+    void unitRemovedWhileListedInSeveralTilesLeavesNoTrace() {
+        units.upsert(1, 18.52, 73.85);
+        units.upsert(2, 18.80, 73.85);
+        map.refresh(units, 1);
+        map.refresh(units, 2);
+        long listing = map.tiles().stream().filter(tile -> ids(tile).contains(1L)).count();
+        assertTrue(listing > 50, "a 5 km radius over 0.01° cells spans ~65 tiles, got " + listing);
+
+        units.remove(1);
+        map.refresh(units, 1);
+        assertFalse(map.tiles().stream().anyMatch(tile -> ids(tile).contains(1L)));
+        // tiles only unit 1 reached are coverage gaps now
+        assertNull(map.tileAt(18.52, 73.85));
+        assertEquals(List.of(2L), ids(map.tileAt(18.80, 73.85)));
+        assertMatchesBruteForce();
+    }
+
+    /**
+     * Every cell of the service area (plus the radius) has a tile exactly when some unit is
+     * within the radius of its centre, holding the k nearest of them, nearest first.
+     */
+    private void assertMatchesBruteForce() {
+        double margin = 0.1;
+        for (int r = map.row(MIN_LAT - margin); r <= map.row(MIN_LAT + SPAN + margin); r++) {
+            for (int c = map.col(MIN_LNG - margin); c <= map.col(MIN_LNG + SPAN + margin); c++) {
+                double lat = map.centre(r);
+                double lng = map.centre(c);
+                List<GeoGridIndex.Neighbour> inRange = new ArrayList<>();
+                for (GeoGridIndex.UnitPosition unit : units.all()) {
+                    double distance = LocationUtils.distanceMeters(lat, lng, unit.latitude(), unit.longitude());
+                    if (distance <= RADIUS) {
+                        inRange.add(new GeoGridIndex.Neighbour(unit.unitId(), unit.latitude(), unit.longitude(), distance));
+                    }
+                }
+                inRange.sort(Comparator.comparingDouble(GeoGridIndex.Neighbour::distanceMeters));
+                List<Long> expected = inRange.subList(0, Math.min(K, inRange.size())).stream()
+                        .map(GeoGridIndex.Neighbour::unitId).toList();
+
+                CoverageMap.Tile tile = map.tile(r, c);
+                if (expected.isEmpty()) {
+                    assertNull(tile, "cell " + r + "," + c + " has no unit in range but a tile");
+                } else {
+                    assertEquals(expected, ids(tile), "cell " + r + "," + c);
+                }
+            }
+        }
+    }
+
+    private static List<Long> ids(CoverageMap.Tile tile) {
+        return tile == null ? List.of() : tile.units().stream().map(GeoGridIndex.Neighbour::unitId).toList();
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.REACT.backend.dispatch.index;
+
+import com.REACT.backend.common.util.LocationUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoGridIndexTest {
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(11);
+        GeoGridIndex index = new GeoGridIndex(0.01);
+        for (long id = 0; id < 500; id++) {
+            index.upsert(id, 18.4 + random.nextDouble() * 0.3, 73.7 + random.nextDouble() * 0.3);
+        }
+        for (int q = 0; q < 2000; q++) {
+            double lat = 18.35 + random.nextDouble() * 0.4;
+            double lng = 73.65 + random.nextDouble() * 0.4;
+            int k = 1 + random.nextInt(10);
+            double radius = 500 + random.nextDouble() * 10_000;
+            Set<Long> excluded = new HashSet<>();
+            for (int e = random.nextInt(4); e > 0; e--) excluded.add((long) random.nextInt(500));
+
+            List<GeoGridIndex.Neighbour> found = index.nearest(lat, lng, k, radius, excluded);
+            assertEquals(bruteForce(index, lat, lng, k, radius, excluded), ids(found),
+                    "query " + lat + "," + lng + " k=" + k + " radius=" + radius + " excluded=" + excluded);
+            for (int i = 1; i < found.size(); i++) {
+                assertTrue(found.get(i - 1).distanceMeters() <= found.get(i).distanceMeters(), "nearest first");
+            }
+        }
+    }
+
+    @Test
+    void radiusCutsOffFartherUnits() {
+        GeoGridIndex index = new GeoGridIndex(0.01);
+        index.upsert(1, 18.5200, 73.85);
+        index.upsert(2, 18.5290, 73.85); // ~1 km north
+        index.upsert(3, 18.5650, 73.85); // ~5 km north
+
+        assertEquals(List.of(1L, 2L), ids(index.nearest(18.52, 73.85, 10, 1500, Set.of())));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.nearest(18.52, 73.85, 10, 6000, Set.of())));
+        assertTrue(index.nearest(18.60, 73.85, 10, 1000, Set.of()).isEmpty());
+    }
+
+    @Test
+    void unitMovingAcrossCellsIsFoundOnlyWhereItIsNow() {
+        GeoGridIndex index = new GeoGridIndex(0.01);
+        index.upsert(1, 18.5205, 73.8505);
+        index.upsert(2, 18.5400, 73.8700);
+        long before = index.get(1).cell();
+
+        assertTrue(index.move(1, 18.5795, 73.9095));
+        assertTrue(before != index.get(1).cell(), "moved to another cell");
+        assertEquals(List.of(2L), ids(index.nearest(18.5205, 73.8505, 1, 3000, Set.of())));
+        assertEquals(List.of(1L), ids(index.nearest(18.5795, 73.9095, 1, 100, Set.of())));
+
+        List<Long> inOldCell = new ArrayList<>();
+        index.forEachWithin(18.52, 73.85, 18.53, 73.86, p -> inOldCell.add(p.unitId()));
+        assertTrue(inOldCell.isEmpty());
+
+        // move() never inserts, upsert() does
+        assertFalse(index.move(9, 18.52, 73.85));
+        assertFalse(index.contains(9));
+        index.remove(1);
+        assertTrue(index.nearest(18.5795, 73.9095, 1, 100, Set.of()).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void excludedUnitsAreSkippedNotCounted() {
+        GeoGridIndex index = new GeoGridIndex(0.01);
+        for (long id = 1; id <= 5; id++) {
+            index.upsert(id, 18.52 + id * 0.001, 73.85);
+        }
+        // the k slots go to the nearest units that are not excluded
+        assertEquals(List.of(3L, 5L), ids(index.nearest(18.52, 73.85, 2, 5000, Set.of(1L, 2L, 4L))));
+        assertTrue(index.nearest(18.52, 73.85, 3, 5000, Set.of(1L, 2L, 3L, 4L, 5L)).isEmpty());
+    }
+
+    @Test
+    void extremeBoxesFallBackToScanningUnits() {
+        // on 1e-9° cells the whole globe spans more cells than an int can count
+        GeoGridIndex index = new GeoGridIndex(1e-9);
+        index.upsert(1, 18.52, 73.85);
+        index.upsert(2, -33.86, 151.21);
+
+        List<Long> seen = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> index.forEachWithin(-90, -180, 90, 180, p -> seen.add(p.unitId())));
+        assertEquals(List.of(1L, 2L), seen.stream().sorted().toList());
+
+        seen.clear();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> index.forEachWithin(
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                p -> seen.add(p.unitId())));
+        assertEquals(2, seen.size());
+    }
+
+    @Test
+    void invertedBoxMatchesNothing() {
+        GeoGridIndex index = new GeoGridIndex(0.01);
+        index.upsert(1, 18.52, 73.85);
+
+        List<Long> seen = new ArrayList<>();
+        index.forEachWithin(18.6, 73.9, 18.4, 73.8, p -> seen.add(p.unitId()));
+        assertTrue(seen.isEmpty());
+    }
+
+    private static List<Long> bruteForce(GeoGridIndex index, double lat, double lng, int k, double radius,
+                                         Set<Long> excluded) {
+        return index.all().stream()
+                .filter(p -> !excluded.contains(p.unitId()))
+                .map(p -> new GeoGridIndex.Neighbour(p.unitId(), p.latitude(), p.longitude(),
+                        LocationUtils.distanceMeters(lat, lng, p.latitude(), p.longitude())))
+                .filter(n -> n.distanceMeters() <= radius)
+                .sorted(Comparator.comparingDouble(GeoGridIndex.Neighbour::distanceMeters))
+                .limit(k)
+                .map(GeoGridIndex.Neighbour::unitId)
+                .toList();
+    }
+
+    private static List<Long> ids(List<GeoGridIndex.Neighbour> neighbours) {
+        return neighbours.stream().map(GeoGridIndex.Neighbour::unitId).toList();
+    }
+}
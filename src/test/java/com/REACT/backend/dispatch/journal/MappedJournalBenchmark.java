@@ -0,0 +1,90 @@
+package com.REACT.backend.dispatch.journal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append throughput of the dispatch journal, single writer and four contending writers.
+ * Small segments make the benchmark roll files as it runs.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.REACT.backend.dispatch.journal.MappedJournalBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedJournalBenchmark {
+
+    private Path directory;
+    private MappedJournal journal;
+    private long unitId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-bench");
+        journal = new MappedJournal(directory, 1 << 16);
+    }
+
+    @Setup(Level.Iteration)
+    public void checkReplay() {
+        // never benchmark a journal that cannot be read back
+        long[] count = {0};
+        long from = journal.firstSequence();
+        long end = journal.replay(from, record -> count[0]++);
+        if (end != journal.nextSequence() || count[0] != end - from) {
+            throw new IllegalStateException("Replayed " + count[0] + " records, journal holds " + (end - from));
+        }
+        journal.deleteBefore(journal.nextSequence());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public long append() {
+        return journal.append(JournalEventType.UNIT_MOVED, 0, 0, 0, unitId++ & 1023, 18.52, 73.85);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long appendContended() {
+        return journal.append(JournalEventType.UNIT_CLAIMED, 0, 0, 17, 42, 0, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MappedJournalBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.REACT.backend.dispatch.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedJournalTest {
+
+    private static final int RECORDS_PER_SEGMENT = 4;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rollsSegmentsAndReplaysEveryRecord() throws IOException {
+        try (MappedJournal journal = new MappedJournal(dir, RECORDS_PER_SEGMENT)) {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, journal.append(JournalEventType.UNIT_MOVED, 1, i, 100 + i, 200 + i, 18.5 + i, 73.8 - i));
+            }
+            assertEquals(3, journal.segmentCount());
+
+            List<JournalRecord> records = replay(journal, 0);
+            assertEquals(10, records.size());
+            for (int i = 0; i < 10; i++) {
+                JournalRecord record = records.get(i);
+                assertEquals(i, record.sequence());
+                assertEquals(JournalEventType.UNIT_MOVED, record.type());
+                assertEquals(1, record.unitType());
+                assertEquals(i, record.value());
+                assertEquals(100 + i, record.bookingId());
+                assertEquals(200 + i, record.unitId());
+                assertEquals(18.5 + i, record.latitude());
+                assertEquals(73.8 - i, record.longitude());
+            }
+            // tailing from the middle of a segment
+            assertEquals(List.of(6L, 7L, 8L, 9L), replay(journal, 6).stream().map(JournalRecord::sequence).toList());
+            assertEquals(10, journal.replay(10, record -> {
+            }));
+        }
+    }
+
+    @Test
+    void reopeningResumesAfterTheLastRecord() throws IOException {
+        try (MappedJournal journal = new MappedJournal(dir, RECORDS_PER_SEGMENT)) {
+            for (int i = 0; i < 6; i++) {
+                journal.append(JournalEventType.BOOKING_SAVED, -1, 0, i, 0, 0, 0);
+            }
+        }
+        try (MappedJournal journal = new MappedJournal(dir, RECORDS_PER_SEGMENT)) {
+            assertEquals(6, journal.nextSequence());
+            assertEquals(6, journal.append(JournalEventType.BOOKING_SAVED, -1, 0, 6, 0, 0, 0));
+            assertEquals(7, replay(journal, 0).size());
+        }
+    }
+
+    @Test
+    void tornTailIsDroppedAndOverwritten() throws IOException {
+        try (MappedJournal journal = new MappedJournal(dir, RECORDS_PER_SEGMENT)) {
+            for (int i = 0; i < 6; i++) {
+                journal.append(JournalEventType.UNIT_CLAIMED, 0, 0, i, i, 0, 0);
+            }
+        }
+        // a crash half-way through sequence 5 (slot 1 of the second segment): the commit
+        // marker (the int at byte 56 of the record) never made it
+        try (FileChannel channel = FileChannel.open(dir.resolve(String.format("%020d.journal", 4)),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), MappedJournal.RECORD_SIZE + 56);
+        }
+
+        try (MappedJournal journal = new MappedJournal(dir, RECORDS_PER_SEGMENT)) {
+            assertEquals(5, journal.nextSequence());
+            assertEquals(List.of(0L, 1L, 2L, 3L, 4L), replay(journal, 0).stream().map(JournalRecord::sequence).toList());
+
+            assertEquals(5, journal.append(JournalEventType.UNIT_RELEASED, 0, 0, 0, 42, 0, 0));
+            JournalRecord rewritten = replay(journal, 5).get(0);
+            assertEquals(JournalEventType.UNIT_RELEASED, rewritten.type());
+            assertEquals(42, rewritten.unitId());
+        }
+    }
+
+    @Test
+    void deletesOnlyWholeSegmentsBeforeTheSequence() throws IOException {
+        try (MappedJournal journal = new MappedJournal(dir, RECORDS_PER_SEGMENT)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(JournalEventType.UNIT_MOVED, 0, 0, 0, i, 0, 0);
+            }
+            // segment 4..7 ends at 8, segment 8..11 is the open one
+            assertEquals(2, journal.deleteBefore(9));
+            assertEquals(1, journal.segmentCount());
+            assertEquals(8, journal.firstSequence());
+            assertEquals(List.of(8L, 9L), replay(journal, 0).stream().map(JournalRecord::sequence).toList());
+        }
+    }
+
+    private static List<JournalRecord> replay(MappedJournal journal, long from) {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(from, records::add);
+        return records;
+    }
+}
@@ -0,0 +1,125 @@
+package com.REACT.backend.dispatch.optimizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class HungarianAssignmentTest {
+
+    private static final double INF = Double.POSITIVE_INFINITY;
+
+    @Test
+    void rectangularMatricesReachTheBruteForceOptimum() {
+        Random random = new Random(3);
+        for (int trial = 0; trial < 500; trial++) {
+            int rows = 1 + random.nextInt(5);
+            int cols = rows + random.nextInt(4);
+            double[][] cost = new double[rows][cols];
+            for (double[] row : cost) {
+                for (int c = 0; c < cols; c++) {
+                    // whole metres, so equal-cost optima are common
+                    row[c] = random.nextInt(20);
+                }
+            }
+
+            int[] assignment = HungarianAssignment.solve(cost);
+            assertDistinctColumns(assignment, cols);
+            assertEquals(bruteForce(cost), total(cost, assignment), 1e-9, "trial " + trial);
+        }
+    }
+
+    @Test
+    void infeasiblePairsAreNeverAssigned() {
+        Random random = new Random(5);
+        for (int trial = 0; trial < 500; trial++) {
+            int rows = 1 + random.nextInt(5);
+            int cols = rows + random.nextInt(4);
+            double[][] cost = new double[rows][cols];
+            for (double[] row : cost) {
+                for (int c = 0; c < cols; c++) {
+                    row[c] = random.nextDouble() < 0.4 ? INF : random.nextDouble() * 10_000;
+                }
+            }
+            double optimum = bruteForce(cost);
+            if (optimum == INF) continue; // covered below
+
+            int[] assignment = HungarianAssignment.solve(cost);
+            assertDistinctColumns(assignment, cols);
+            assertEquals(optimum, total(cost, assignment), 1e-6, "trial " + trial);
+        }
+    }
+
+    @Test
+    void forcedChoiceAroundForbiddenPairs() {
+        // row 0 prefers column 0, but row 1 can only go there
+        double[][] cost = {
+                {1, 5, INF},
+                {2, INF, INF},
+        };
+        assertArrayEquals(new int[]{1, 0}, HungarianAssignment.solve(cost));
+    }
+
+    @Test
+    void noFiniteAssignmentFailsInsteadOfLooping() {
+        double[][] rowWithoutOptions = {
+                {1, 2},
+                {INF, INF},
+        };
+        double[][] twoRowsOneColumn = {
+                {1, INF, INF},
+                {3, INF, INF},
+        };
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(IllegalArgumentException.class, () -> HungarianAssignment.solve(rowWithoutOptions));
+            assertThrows(IllegalArgumentException.class, () -> HungarianAssignment.solve(twoRowsOneColumn));
+        });
+    }
+
+    @Test
+    void moreRowsThanColumnsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> HungarianAssignment.solve(new double[3][2]));
+        assertEquals(0, HungarianAssignment.solve(new double[0][0]).length);
+    }
+
+    private static void assertDistinctColumns(int[] assignment, int cols) {
+        boolean[] taken = new boolean[cols];
+        for (int col : assignment) {
+            assertNotEquals(true, taken[col], "column " + col + " assigned twice");
+            taken[col] = true;
+        }
+    }
+
+    private static double total(double[][] cost, int[] assignment) {
+        double sum = 0;
+        for (int row = 0; row < assignment.length; row++) {
+            sum += cost[row][assignment[row]];
+        }
+        return sum;
+    }
+
+    /**
+     * Cheapest injective row → column assignment by trying them all; infinite if none is finite.
+     */
+    private static double bruteForce(double[][] cost) {
+        return bruteForce(cost, 0, new boolean[cost[0].length]);
+    }
+
+    private static double bruteForce(double[][] cost, int row, boolean[] used) {
+        if (row == cost.length) return 0;
+        double best = INF;
+        for (int col = 0; col < used.length; col++) {
+            if (used[col] || cost[row][col] == INF) continue;
+            used[col] = true;
+            best = Math.min(best, cost[row][col] + bruteForce(cost, row + 1, used));
+            used[col] = false;
+        }
+        return best;
+    }
+}
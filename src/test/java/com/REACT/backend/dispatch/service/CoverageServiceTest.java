@@ -0,0 +1,120 @@
+package com.REACT.backend.dispatch.service;
+
+import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
+import com.REACT.backend.common.util.LocationUtils;
+import com.REACT.backend.dispatch.index.GeoGridIndex;
+import com.REACT.backend.fireService.repository.FireTruckRepository;
+import com.REACT.backend.locationService.model.UnitType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class CoverageServiceTest {
+
+    private static final UnitType TYPE = UnitType.AMBULANCE;
+    private static final double MIN_LAT = 18.4;
+    private static final double MIN_LNG = 73.7;
+    private static final double SPAN = 0.3;
+
+    private FleetIndexService fleet;
+    private CoverageService coverage;
+
+    @BeforeEach
+    void setUp() {
+        fleet = new FleetIndexService(mock(AmbulanceRepository.class), mock(FireTruckRepository.class),
+                mock(DispatchJournalService.class), mock(PartitionedDispatchService.class));
+        ReflectionTestUtils.setField(fleet, "cellSizeDeg", 0.01);
+        fleet.init();
+
+        coverage = new CoverageService(fleet);
+        ReflectionTestUtils.setField(coverage, "cellSizeDeg", 0.01);
+        ReflectionTestUtils.setField(coverage, "topK", 8);
+        ReflectionTestUtils.setField(coverage, "radiusMeters", 5000.0);
+        coverage.init();
+    }
+
+    @Test
+    void tileAnswersAreTheExactNearestUnits() {
+        Random random = new Random(7);
+        for (long id = 0; id < 400; id++) {
+            fleet.markAvailable(TYPE, id, MIN_LAT + random.nextDouble() * SPAN, MIN_LNG + random.nextDouble() * SPAN);
+        }
+        coverage.refresh();
+        int answered = checkIncidents(random, 20_000);
+        assertTrue(answered > 10_000, "most incidents are answered from their tile, got " + answered);
+
+        // moves inside and across tiles, units leaving service and coming back
+        for (int op = 0; op < 2000; op++) {
+            long id = random.nextInt(400);
+            double roll = random.nextDouble();
+            GeoGridIndex.UnitPosition at = fleet.position(TYPE, id);
+            if (at == null) {
+                fleet.markAvailable(TYPE, id, MIN_LAT + random.nextDouble() * SPAN, MIN_LNG + random.nextDouble() * SPAN);
+            } else if (roll < 0.3) {
+                fleet.updatePosition(TYPE, id, at.latitude() + (random.nextDouble() - 0.5) * 0.002,
+                        at.longitude() + (random.nextDouble() - 0.5) * 0.002);
+            } else if (roll < 0.6) {
+                fleet.updatePosition(TYPE, id, MIN_LAT + random.nextDouble() * SPAN, MIN_LNG + random.nextDouble() * SPAN);
+            } else {
+                fleet.markUnavailable(TYPE, id);
+            }
+            if (op % 100 == 99) coverage.refresh();
+        }
+        coverage.refresh();
+        checkIncidents(random, 5_000);
+    }
+
+    @Test
+    void unitLeavingServiceIsNeverACandidate() {
+        fleet.markAvailable(TYPE, 1L, 18.52, 73.85);
+        fleet.markAvailable(TYPE, 2L, 18.53, 73.86);
+        coverage.refresh();
+        assertEquals(1L, coverage.candidates(TYPE, 18.52, 73.85, 1, 50_000, Set.of()).get(0).unitId());
+
+        fleet.markUnavailable(TYPE, 1L);
+        coverage.refresh();
+        // unit 1 was listed in every tile around it; none may still offer it
+        for (double lat = 18.48; lat <= 18.56; lat += 0.005) {
+            for (double lng = 73.81; lng <= 73.89; lng += 0.005) {
+                List<GeoGridIndex.Neighbour> found = coverage.candidates(TYPE, lat, lng, 1, 50_000, Set.of());
+                assertFalse(found.stream().anyMatch(n -> n.unitId() == 1L));
+            }
+        }
+    }
+
+    /**
+     * @return incidents the tile answered; each answer must equal the brute-force nearest units
+     */
+    private int checkIncidents(Random random, int incidents) {
+        int answered = 0;
+        for (int i = 0; i < incidents; i++) {
+            double lat = MIN_LAT + random.nextDouble() * SPAN;
+            double lng = MIN_LNG + random.nextDouble() * SPAN;
+            int count = 1 + random.nextInt(3);
+            List<GeoGridIndex.Neighbour> found = coverage.candidates(TYPE, lat, lng, count, 50_000, Set.of());
+            if (found.isEmpty()) continue;
+            answered++;
+
+            List<Long> exact = fleet.index(TYPE).all().stream()
+                    .map(p -> new GeoGridIndex.Neighbour(p.unitId(), p.latitude(), p.longitude(),
+                            LocationUtils.distanceMeters(lat, lng, p.latitude(), p.longitude())))
+                    .sorted(Comparator.comparingDouble(GeoGridIndex.Neighbour::distanceMeters))
+                    .limit(count)
+                    .map(GeoGridIndex.Neighbour::unitId)
+                    .toList();
+            assertEquals(exact, found.stream().map(GeoGridIndex.Neighbour::unitId).toList(),
+                    "incident at " + lat + "," + lng + ", count " + count);
+        }
+        return answered;
+    }
+}
@@ -0,0 +1,83 @@
+package com.REACT.backend.dispatch.timer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedule + cancel cost of the acceptance timer with tens of thousands of deadlines pending,
+ * i.e. what a booking and the matching driver acceptance pay.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.REACT.backend.dispatch.timer.HashedWheelTimerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashedWheelTimerBenchmark {
+
+    @Param({"50000"})
+    public int pending;
+
+    private HashedWheelTimer timer;
+    private long delay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        timer = new HashedWheelTimer("bench-timer", 10, TimeUnit.MILLISECONDS, 1024, Runnable::run);
+
+        // never benchmark a timer that fires early or not at all
+        CountDownLatch fired = new CountDownLatch(100);
+        long started = System.nanoTime();
+        long[] earliest = {Long.MAX_VALUE};
+        for (int i = 0; i < 100; i++) {
+            timer.schedule(() -> {
+                earliest[0] = Math.min(earliest[0], System.nanoTime() - started);
+                fired.countDown();
+            }, 50 + i, TimeUnit.MILLISECONDS);
+        }
+        if (!fired.await(5, TimeUnit.SECONDS) || earliest[0] < TimeUnit.MILLISECONDS.toNanos(50)) {
+            throw new IllegalStateException("Timer fired early or missed deadlines");
+        }
+
+        for (int i = 0; i < pending; i++) {
+            timer.schedule(() -> { }, 60 + i % 60, TimeUnit.SECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        timer.close();
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> { }, 60_000 + (delay++ & 4095), TimeUnit.MILLISECONDS);
+        return timeout.cancel();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HashedWheelTimerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
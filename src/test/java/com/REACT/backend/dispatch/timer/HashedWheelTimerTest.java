@@ -0,0 +1,85 @@
+package com.REACT.backend.dispatch.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTest {
+
+    // 8 slots of 5 ms: one turn of the wheel is 40 ms
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-wheel", 5, TimeUnit.MILLISECONDS, 8, Runnable::run);
+
+    @AfterEach
+    void stop() {
+        timer.close();
+    }
+
+    @Test
+    void delaysLongerThanOneTurnWaitTheirRounds() throws InterruptedException {
+        // 20 ms and 60 ms hash to the same slot, 60 ms only after one more turn
+        long[] delaysMs = {0, 3, 20, 60, 95, 170, 250};
+        long scheduled = System.nanoTime();
+        AtomicLongArray firedAt = new AtomicLongArray(delaysMs.length);
+        CountDownLatch fired = new CountDownLatch(delaysMs.length);
+        for (int i = 0; i < delaysMs.length; i++) {
+            int index = i;
+            timer.schedule(() -> {
+                firedAt.set(index, System.nanoTime());
+                fired.countDown();
+            }, delaysMs[i], TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(fired.await(10, TimeUnit.SECONDS), "every timeout fires");
+        for (int i = 0; i < delaysMs.length; i++) {
+            long waitedMs = TimeUnit.NANOSECONDS.toMillis(firedAt.get(i) - scheduled);
+            assertTrue(waitedMs >= delaysMs[i], delaysMs[i] + " ms timeout fired early, after " + waitedMs + " ms");
+        }
+        assertTrue(firedAt.get(2) < firedAt.get(3), "the second-round timeout fires after the first-round one");
+        assertEquals(0, timer.pendingCount());
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> ran.set(true), 30, TimeUnit.MILLISECONDS);
+        CountDownLatch later = new CountDownLatch(1);
+        timer.schedule(later::countDown, 120, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel(), "second cancel is a no-op");
+        assertEquals(1, timer.pendingCount());
+
+        assertTrue(later.await(10, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+        assertFalse(timeout.isExpired());
+        assertEquals(0, timer.pendingCount());
+    }
+
+    @Test
+    void expiredTimeoutCannotBeCancelled() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = timer.schedule(fired::countDown, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(10, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isCancelled());
+    }
+
+    @Test
+    void stoppedTimerRejectsNewTimeouts() {
+        timer.close();
+        assertThrows(IllegalStateException.class, () -> timer.schedule(() -> {
+        }, 1, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,89 @@
+package com.REACT.backend.locationService.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrackCodecTest {
+
+    private record Point(long time, double latitude, double longitude) {
+    }
+
+    @Test
+    void roundTripsIrregularTracks() {
+        Random random = new Random(42);
+        List<Point> track = new ArrayList<>();
+        long time = 1_750_000_000_000L;
+        double lat = 18.52;
+        double lng = 73.85;
+        for (int i = 0; i < 2_000; i++) {
+            // mostly steady pings, sometimes a gap, a jump across the map or a sign change
+            time += i % 97 == 0 ? 3_600_000 : 1_000 + random.nextInt(200);
+            lat = i % 251 == 0 ? -lat : lat + (random.nextDouble() - 0.5) * 1e-3;
+            lng = i % 333 == 0 ? -lng : lng + (random.nextDouble() - 0.5) * 1e-3;
+            track.add(new Point(time, lat, lng));
+        }
+        TrackEncoder encoder = new TrackEncoder();
+        track.forEach(p -> encoder.append(p.time(), p.latitude(), p.longitude()));
+
+        List<Point> decoded = decode(encoder, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(track.size(), decoded.size());
+        for (int i = 0; i < track.size(); i++) {
+            assertEquals(track.get(i).time(), decoded.get(i).time());
+            assertEquals(fixed(track.get(i).latitude()), fixed(decoded.get(i).latitude()), "latitude of point " + i);
+            assertEquals(fixed(track.get(i).longitude()), fixed(decoded.get(i).longitude()), "longitude of point " + i);
+        }
+    }
+
+    @Test
+    void decodesOnlyTheRequestedRange() {
+        TrackEncoder encoder = new TrackEncoder();
+        for (int i = 0; i < 100; i++) {
+            encoder.append(i * 1_000L, 18.5 + i * 1e-5, 73.8);
+        }
+
+        List<Point> slice = decode(encoder, 10_000, 19_000);
+        assertEquals(10, slice.size());
+        assertEquals(10_000, slice.get(0).time());
+        assertEquals(19_000, slice.get(9).time());
+        assertEquals(0, decode(encoder, 200_000, 300_000).size());
+    }
+
+    @Test
+    void timeGoingBackwardsIsClampedToThePreviousPoint() {
+        TrackEncoder encoder = new TrackEncoder();
+        encoder.append(5_000, 18.5, 73.8);
+        encoder.append(4_000, 18.6, 73.9);
+
+        List<Point> decoded = decode(encoder, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(5_000, decoded.get(1).time());
+        assertEquals(5_000, encoder.lastTime());
+    }
+
+    @Test
+    void steadyTrackTakesAFewBitsPerPoint() {
+        TrackEncoder encoder = new TrackEncoder();
+        for (int i = 0; i < 1_000; i++) {
+            encoder.append(i * 1_000L, 18.5 + i * 1e-4, 73.8 + i * 5e-5);
+        }
+        // constant rate and speed: every delta of delta is 0, one bit each after the first points
+        assertTrue(encoder.sizeInBits() < 1_000 * 4, encoder.sizeInBits() + " bits");
+    }
+
+    private static List<Point> decode(TrackEncoder encoder, long from, long to) {
+        List<Point> points = new ArrayList<>();
+        new TrackDecoder().decode(ByteBuffer.wrap(encoder.toByteArray()), 0, encoder.firstTime(), encoder.count(),
+                from, to, (time, latitude, longitude) -> points.add(new Point(time, latitude, longitude)));
+        return points;
+    }
+
+    private static long fixed(double degrees) {
+        return Math.round(degrees * TrackEncoder.SCALE);
+    }
+}
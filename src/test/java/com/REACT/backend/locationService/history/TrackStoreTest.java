@@ -0,0 +1,142 @@
+package com.REACT.backend.locationService.history;
+
+import com.REACT.backend.locationService.model.UnitType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TrackStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void storedBlocksAreListedAndReadBackAfterReopening() throws IOException {
+        List<byte[]> payloads = new ArrayList<>();
+        try (TrackStore store = new TrackStore(dir)) {
+            for (int unit = 1; unit <= 3; unit++) {
+                TrackBlock block = block(unit, 10 * unit);
+                payloads.add(block.data());
+                store.append(block);
+                assertNull(block.data(), "written blocks are read from disk");
+            }
+            store.force();
+        }
+
+        List<TrackBlock> loaded = load();
+        assertEquals(3, loaded.size());
+        try (TrackStore store = new TrackStore(dir)) {
+            ByteBuffer buffer = null;
+            for (int i = 0; i < 3; i++) {
+                TrackBlock block = loaded.get(i);
+                assertEquals(UnitType.FIRE_TRUCK, block.unitType());
+                assertEquals(i + 1, block.unitId());
+                assertEquals(10 * (i + 1), block.count());
+                buffer = store.read(block, buffer);
+                byte[] bytes = new byte[block.length()];
+                buffer.get(bytes);
+                assertArrayEquals(payloads.get(i), bytes);
+            }
+        }
+    }
+
+    @Test
+    void corruptTailIsCutAtTheLastIntactRecord() throws IOException {
+        try (TrackStore store = new TrackStore(dir)) {
+            for (int unit = 1; unit <= 3; unit++) {
+                store.append(block(unit, 20));
+            }
+        }
+        Path segment = segment(today());
+        long intact;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            intact = size / 3 * 2; // the three records have the same length
+            // flip a payload byte of the last record, as a torn write would leave it
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, size - 10);
+            one.put(0, (byte) ~one.get(0)).rewind();
+            channel.write(one, size - 10);
+        }
+
+        assertEquals(List.of(1L, 2L), load().stream().map(TrackBlock::unitId).toList());
+        assertEquals(intact, Files.size(segment));
+
+        // appends continue after the last good record
+        try (TrackStore store = new TrackStore(dir)) {
+            store.append(block(4, 20));
+        }
+        assertEquals(List.of(1L, 2L, 4L), load().stream().map(TrackBlock::unitId).toList());
+    }
+
+    @Test
+    void recordCutShortIsDropped() throws IOException {
+        try (TrackStore store = new TrackStore(dir)) {
+            store.append(block(1, 20));
+            store.append(block(2, 20));
+        }
+        Path segment = segment(today());
+        long full = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(full - 5);
+        }
+
+        assertEquals(List.of(1L), load().stream().map(TrackBlock::unitId).toList());
+        assertEquals(full / 2, Files.size(segment));
+    }
+
+    @Test
+    void deletesDaysBeforeTheRetentionLimit() throws IOException {
+        try (TrackStore store = new TrackStore(dir)) {
+            store.append(block(1, 20));
+        }
+        long today = today();
+        Files.copy(segment(today), segment(today - 10));
+        Files.copy(segment(today), segment(today - 3));
+
+        try (TrackStore store = new TrackStore(dir)) {
+            assertEquals(1, store.deleteBefore(today - 7));
+        }
+        List<TrackBlock> kept = load();
+        assertEquals(List.of(today - 3, today), kept.stream().map(TrackBlock::segmentDay).toList());
+    }
+
+    private List<TrackBlock> load() throws IOException {
+        List<TrackBlock> blocks = new ArrayList<>();
+        try (TrackStore store = new TrackStore(dir)) {
+            store.load(blocks::add);
+        }
+        return blocks;
+    }
+
+    private static TrackBlock block(long unitId, int points) {
+        TrackEncoder encoder = new TrackEncoder();
+        for (int i = 0; i < points; i++) {
+            encoder.append(1_750_000_000_000L + i * 1_000L, 18.5 + unitId * 1e-3 + i * 1e-5, 73.8 - i * 2e-5);
+        }
+        return new TrackBlock(UnitType.FIRE_TRUCK, unitId, encoder.firstTime(), encoder.lastTime(), encoder.count(),
+                encoder.toByteArray());
+    }
+
+    private Path segment(long day) {
+        return dir.resolve(LocalDate.ofEpochDay(day) + ".track");
+    }
+
+    private static long today() {
+        return LocalDate.now(ZoneOffset.UTC).toEpochDay();
+    }
+}
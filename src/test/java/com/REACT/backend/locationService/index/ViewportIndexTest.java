@@ -0,0 +1,54 @@
+package com.REACT.backend.locationService.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ViewportIndexTest {
+
+    @Test
+    void boxRejectsInvertedNonFiniteAndOffGlobeCorners() {
+        assertThrows(IllegalArgumentException.class, () -> new ViewportIndex.Box(19, 73, 18, 74));
+        assertThrows(IllegalArgumentException.class, () -> new ViewportIndex.Box(18, 74, 19, 73));
+        assertThrows(IllegalArgumentException.class, () -> new ViewportIndex.Box(Double.NaN, 73, 19, 74));
+        assertThrows(IllegalArgumentException.class, () -> new ViewportIndex.Box(18, 73, 19, Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ViewportIndex.Box(Double.NEGATIVE_INFINITY, 73, Double.POSITIVE_INFINITY, 74));
+        assertThrows(IllegalArgumentException.class, () -> new ViewportIndex.Box(-91, 73, 19, 74));
+        assertThrows(IllegalArgumentException.class, () -> new ViewportIndex.Box(18, -180, 19, 181));
+    }
+
+    @Test
+    void wholeGlobeOnTinyCellsIsKeptWideInsteadOfOverflowing() {
+        // ~1.8e11 rows by 3.6e11 columns: the cell count only fits in a long
+        ViewportIndex<String> index = new ViewportIndex<>(1e-9, 4096);
+        index.put("world", new ViewportIndex.Box(-90, -180, 90, 180));
+        index.put("pune", new ViewportIndex.Box(18.5, 73.8, 18.5000001, 73.8000001));
+
+        List<String> seen = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> index.forEachMatch(18.50000005, 73.80000005, 18.50000005, 73.80000005, seen::add));
+        assertEquals(List.of("pune", "world"), seen.stream().sorted().toList());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> index.remove("world"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void viewportLeftBehindStillHearsTheMove() {
+        ViewportIndex<String> index = new ViewportIndex<>(0.01, 4096);
+        index.put("old", new ViewportIndex.Box(18.50, 73.80, 18.51, 73.81));
+        index.put("new", new ViewportIndex.Box(18.60, 73.90, 18.61, 73.91));
+        index.put("elsewhere", new ViewportIndex.Box(19.00, 72.80, 19.01, 72.81));
+
+        List<String> seen = new ArrayList<>();
+        index.forEachMatch(18.505, 73.805, 18.605, 73.905, seen::add);
+        assertEquals(List.of("new", "old"), seen.stream().sorted().toList());
+    }
+}
@@ -0,0 +1,131 @@
+package com.REACT.backend.routing;
+
+import com.REACT.backend.routing.graph.ContractionHierarchy;
+import com.REACT.backend.routing.graph.RoadGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the contraction hierarchy on a synthetic city, against plain Dijkstra.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.REACT.backend.routing.ContractionHierarchyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractionHierarchyBenchmark {
+
+    /**
+     * grid side; 200 gives 40k nodes, about a 20 km × 20 km city
+     */
+    @Param({"200"})
+    public int side;
+
+    private RoadGraph graph;
+    private ContractionHierarchy hierarchy;
+    private int[][] queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = SyntheticRoadGraph.city(side, side, 42);
+        long started = System.nanoTime();
+        hierarchy = ContractionHierarchy.build(graph);
+        System.out.printf("%n%d nodes, %d edges, %d shortcuts, contracted in %d ms%n", graph.nodeCount(),
+                graph.edgeCount(), hierarchy.shortcutCount(), (System.nanoTime() - started) / 1_000_000);
+
+        Random random = new Random(7);
+        queries = new int[1024][];
+        for (int i = 0; i < queries.length; i++) {
+            int[] query = new int[11]; // 10 sources, then the target
+            for (int j = 0; j < query.length; j++) query[j] = random.nextInt(graph.nodeCount());
+            queries[i] = query;
+        }
+
+        // never benchmark a wrong answer
+        for (int i = 0; i < 50; i++) {
+            int source = queries[i][0];
+            int target = queries[i][10];
+            int expected = dijkstra(graph, source, target);
+            int actual = hierarchy.travelMillis(source, target);
+            if (expected != actual) {
+                throw new IllegalStateException("CH " + actual + " ms != Dijkstra " + expected + " ms for "
+                        + source + " -> " + target);
+            }
+        }
+    }
+
+    private int[] next() {
+        cursor = (cursor + 1) & (queries.length - 1);
+        return queries[cursor];
+    }
+
+    @Benchmark
+    public int pointToPoint() {
+        int[] query = next();
+        return hierarchy.travelMillis(query[0], query[10]);
+    }
+
+    @Benchmark
+    public int[] tenToOne() {
+        int[] query = next();
+        return hierarchy.travelMillis(Arrays.copyOf(query, 10), query[10]);
+    }
+
+    @Benchmark
+    public int dijkstraPointToPoint() {
+        int[] query = next();
+        return dijkstra(graph, query[0], query[10]);
+    }
+
+    static int dijkstra(RoadGraph graph, int source, int target) {
+        int[] dist = new int[graph.nodeCount()];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[source] = 0;
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        queue.add(new long[]{0, source});
+        while (!queue.isEmpty()) {
+            long[] top = queue.poll();
+            int node = (int) top[1];
+            if (top[0] > dist[node]) continue;
+            if (node == target) return dist[node];
+            for (int e = graph.firstOut(node); e < graph.endOut(node); e++) {
+                int next = graph.head(e);
+                int candidate = dist[node] + graph.weightMillis(e);
+                if (candidate < dist[next]) {
+                    dist[next] = candidate;
+                    queue.add(new long[]{candidate, next});
+                }
+            }
+        }
+        return ContractionHierarchy.UNREACHABLE;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ContractionHierarchyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.REACT.backend.routing;
+
+import com.REACT.backend.routing.graph.RoadGraph;
+import com.REACT.backend.routing.graph.RoadGraphLoader;
+
+import java.util.Random;
+
+/**
+ * City-like grid for benchmarks: ~100 m blocks, faster arterials every tenth street,
+ * alternating one-way local streets and a river crossed only by a few bridges.
+ */
+public final class SyntheticRoadGraph {
+
+    public static final double ORIGIN_LAT = 18.45;
+    public static final double ORIGIN_LNG = 73.78;
+    public static final double BLOCK_DEG = 0.0009; // ~100 m
+
+    private SyntheticRoadGraph() {
+    }
+
+    public static RoadGraph city(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        RoadGraph.Builder builder = RoadGraph.builder(rows * cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                builder.addNode(ORIGIN_LAT + r * BLOCK_DEG + jitter(random), ORIGIN_LNG + c * BLOCK_DEG + jitter(random));
+            }
+        }
+
+        int river = rows / 2;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int node = r * cols + c;
+                if (c + 1 < cols) {
+                    // east-west street
+                    street(builder, node, node + 1, r % 10 == 0 ? 50 : 30, r % 10 != 0 && r % 2 == 1, r % 4 == 1);
+                }
+                if (r + 1 < rows && (r != river || c % 15 == 0)) {
+                    // north-south street; only bridges cross the river
+                    street(builder, node, node + cols, c % 10 == 0 ? 50 : 30, c % 10 != 0 && c % 2 == 1, c % 4 == 1);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static void street(RoadGraph.Builder builder, int a, int b, double speedKmh, boolean oneWay, boolean reversed) {
+        int millis = RoadGraphLoader.travelMillis(100, speedKmh);
+        if (!oneWay) {
+            builder.addEdge(a, b, millis).addEdge(b, a, millis);
+        } else if (reversed) {
+            builder.addEdge(b, a, millis);
+        } else {
+            builder.addEdge(a, b, millis);
+        }
+    }
+
+    private static double jitter(Random random) {
+        return (random.nextDouble() - 0.5) * BLOCK_DEG * 0.2;
+    }
+}
@@ -0,0 +1,97 @@
+package com.REACT.backend.routing.graph;
+
+import com.REACT.backend.routing.SyntheticRoadGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContractionHierarchyTest {
+
+    /**
+     * 0 → 1 → 2 → 3 is cheaper than the direct 0 → 3, 4 is a one-way dead end and 5 is cut off.
+     */
+    private static RoadGraph fixture() {
+        RoadGraph.Builder builder = RoadGraph.builder(6);
+        for (int i = 0; i < 6; i++) {
+            builder.addNode(18.5 + i * 0.001, 73.8);
+        }
+        return builder
+                .addEdge(0, 1, 1_000).addEdge(1, 0, 1_000)
+                .addEdge(1, 2, 2_000).addEdge(2, 1, 2_000)
+                .addEdge(2, 3, 1_500).addEdge(3, 2, 1_500)
+                .addEdge(0, 3, 6_000).addEdge(3, 0, 3_000)
+                .addEdge(3, 4, 500)
+                .build();
+    }
+
+    @Test
+    void fixtureMatchesDijkstra() {
+        RoadGraph graph = fixture();
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+        assertEquals(4_500, hierarchy.travelMillis(0, 3));
+        assertEquals(3_000, hierarchy.travelMillis(3, 0));
+        assertEquals(ContractionHierarchy.UNREACHABLE, hierarchy.travelMillis(4, 0));
+        assertEquals(ContractionHierarchy.UNREACHABLE, hierarchy.travelMillis(0, 5));
+        assertAllPairs(graph, hierarchy);
+    }
+
+    @Test
+    void syntheticCityMatchesDijkstra() {
+        RoadGraph graph = SyntheticRoadGraph.city(12, 12, 42);
+        assertAllPairs(graph, ContractionHierarchy.build(graph));
+    }
+
+    @Test
+    void manyToOneMatchesSingleQueries() {
+        RoadGraph graph = SyntheticRoadGraph.city(20, 20, 7);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            int target = random.nextInt(graph.nodeCount());
+            int[] sources = random.ints(8, 0, graph.nodeCount()).toArray();
+            int[] expected = Arrays.stream(sources).map(s -> hierarchy.travelMillis(s, target)).toArray();
+            assertArrayEquals(expected, hierarchy.travelMillis(sources, target));
+        }
+    }
+
+    private static void assertAllPairs(RoadGraph graph, ContractionHierarchy hierarchy) {
+        for (int source = 0; source < graph.nodeCount(); source++) {
+            int[] expected = dijkstra(graph, source);
+            for (int target = 0; target < graph.nodeCount(); target++) {
+                assertEquals(expected[target], hierarchy.travelMillis(source, target),
+                        "travel time " + source + " -> " + target);
+            }
+        }
+    }
+
+    private static int[] dijkstra(RoadGraph graph, int source) {
+        int[] dist = new int[graph.nodeCount()];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[source] = 0;
+        PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> Integer.compare(a[0], b[0]));
+        queue.add(new int[]{0, source});
+        while (!queue.isEmpty()) {
+            int[] top = queue.poll();
+            int node = top[1];
+            if (top[0] > dist[node]) continue;
+            for (int e = graph.firstOut(node); e < graph.endOut(node); e++) {
+                int next = graph.head(e);
+                int candidate = top[0] + graph.weightMillis(e);
+                if (candidate < dist[next]) {
+                    dist[next] = candidate;
+                    queue.add(new int[]{candidate, next});
+                }
+            }
+        }
+        for (int i = 0; i < dist.length; i++) {
+            if (dist[i] == Integer.MAX_VALUE) dist[i] = ContractionHierarchy.UNREACHABLE;
+        }
+        return dist;
+    }
+}
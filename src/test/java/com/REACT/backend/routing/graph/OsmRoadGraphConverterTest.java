@@ -0,0 +1,79 @@
+package com.REACT.backend.routing.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OsmRoadGraphConverterTest {
+
+    private static final String EXTRACT = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <osm version="0.6">
+              <node id="101" lat="18.5200" lon="73.8500"/>
+              <node id="102" lat="18.5210" lon="73.8500"/>
+              <node id="103" lat="18.5220" lon="73.8500"/>
+              <node id="104" lat="18.5220" lon="73.8510"/>
+              <node id="105" lat="18.5230" lon="73.8510"/>
+              <way id="1">
+                <nd ref="101"/><nd ref="102"/><nd ref="103"/>
+                <tag k="highway" v="residential"/>
+              </way>
+              <way id="2">
+                <nd ref="103"/><nd ref="104"/>
+                <tag k="highway" v="primary"/><tag k="oneway" v="yes"/><tag k="maxspeed" v="60"/>
+              </way>
+              <way id="3">
+                <nd ref="104"/><nd ref="105"/>
+                <tag k="highway" v="tertiary"/><tag k="oneway" v="-1"/>
+              </way>
+              <way id="4">
+                <nd ref="101"/><nd ref="105"/>
+                <tag k="highway" v="footway"/>
+              </way>
+              <way id="5">
+                <nd ref="105"/><nd ref="999"/>
+                <tag k="highway" v="service"/>
+              </way>
+            </osm>
+            """;
+
+    @Test
+    void keepsDrivableWaysWithDirectionAndSpeed(@TempDir Path dir) throws Exception {
+        StringWriter out = new StringWriter();
+        int edges = OsmRoadGraphConverter.convert(
+                new ByteArrayInputStream(EXTRACT.getBytes(StandardCharsets.UTF_8)), out);
+
+        // residential 101-102-103, primary 103→104, reversed tertiary 105→104; the footway is
+        // dropped and the service road ends outside the extract
+        assertEquals(4, edges);
+        String text = out.toString();
+        assertTrue(text.contains("E 103 104 "));
+        assertTrue(text.contains(" 60.0 1"));
+        assertTrue(text.contains("E 105 104 "));
+
+        Path file = dir.resolve("city.graph");
+        Files.writeString(file, text);
+        RoadGraph graph = RoadGraphLoader.load(file);
+        assertEquals(5, graph.nodeCount());
+        // two two-way residential segments, two one-way segments
+        assertEquals(6, graph.edgeCount());
+
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        // nodes are numbered in order of first use: 101, 102, 103, 104, 105
+        assertTrue(hierarchy.travelMillis(0, 3) > 0);
+        assertEquals(ContractionHierarchy.UNREACHABLE, hierarchy.travelMillis(3, 0));
+        assertEquals(ContractionHierarchy.UNREACHABLE, hierarchy.travelMillis(3, 4));
+        // the primary segment is driven at its maxspeed
+        String primary = text.lines().filter(line -> line.startsWith("E 103 104 ")).findFirst().orElseThrow();
+        double meters = Double.parseDouble(primary.split(" ")[3]);
+        assertEquals(RoadGraphLoader.travelMillis(meters, 60), hierarchy.travelMillis(2, 3));
+    }
+}
@@ -0,0 +1,218 @@
+package com.REACT.backend.simulator;
+
+import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
+import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
+import com.REACT.backend.fireService.model.FireStationEntity;
+import com.REACT.backend.fireService.model.FireTruckEntity;
+import com.REACT.backend.fireService.model.FireTruckStatus;
+import com.REACT.backend.hospitalService.model.Hospital;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.policeService.model.PoliceStationEntity;
+import com.REACT.backend.simulator.persistence.SimulatedDatabase;
+import com.REACT.backend.users.AppUser;
+import com.REACT.backend.users.Role;
+import com.REACT.backend.users.UserType;
+import com.REACT.backend.users.model.AmbulanceDriver;
+import com.REACT.backend.users.model.FireTruckDriver;
+import com.REACT.backend.users.model.PoliceOfficer;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A synthetic city: hospitals, fire and police stations scattered over a disc, each
+ * vehicle parked at its base with its own driver account, plus citizens who book.
+ * Everything is derived from the settings' seed, so runs are repeatable.
+ */
+public class CityModel {
+
+    private static final GeometryFactory GEOMETRY = new GeometryFactory(new PrecisionModel(), 4326);
+
+    /**
+     * A vehicle as the simulator drives it; position is simulator state, the backend
+     * only learns it from location pings.
+     */
+    public static final class Unit {
+        public final UnitType type;
+        public final Long id;
+        public final AppUser driver;
+        public final double baseLat;
+        public final double baseLng;
+        volatile double lat;
+        volatile double lng;
+
+        Unit(UnitType type, Long id, AppUser driver, double baseLat, double baseLng) {
+            this.type = type;
+            this.id = id;
+            this.driver = driver;
+            this.baseLat = baseLat;
+            this.baseLng = baseLng;
+            this.lat = baseLat;
+            this.lng = baseLng;
+        }
+    }
+
+    private final SimulationSettings settings;
+    private final SimulatedDatabase db;
+    private final Random random;
+    private final List<Unit> ambulances = new ArrayList<>();
+    private final List<Unit> fireTrucks = new ArrayList<>();
+    private final List<AppUser> citizens = new ArrayList<>();
+    private final Map<Long, AppUser> officers = new HashMap<>();
+
+    private CityModel(SimulationSettings settings, SimulatedDatabase db) {
+        this.settings = settings;
+        this.db = db;
+        this.random = new Random(settings.seed());
+    }
+
+    public static CityModel seed(SimulationSettings settings, SimulatedDatabase db) {
+        CityModel city = new CityModel(settings, db);
+        city.populate();
+        return city;
+    }
+
+    private void populate() {
+        List<Hospital> hospitals = new ArrayList<>();
+        for (int i = 0; i < settings.hospitals(); i++) {
+            hospitals.add(db.hospitals.save(Hospital.builder()
+                    .hospitalName("Sim Hospital " + (i + 1))
+                    .location(randomPoint())
+                    .bedCapacity(50 + random.nextInt(150))
+                    .build()));
+        }
+        for (int i = 0; i < settings.ambulances(); i++) {
+            Hospital hospital = hospitals.get(i % hospitals.size());
+            AppUser driver = db.users.save(user("ambulance" + i, Role.AMBULANCE_DRIVER, UserType.AMBULANCE_DRIVER));
+            AmbulanceEntity ambulance = db.ambulances.save(AmbulanceEntity.builder()
+                    .ambulanceRegNumber(String.format("SIM-AMB-%04d", i))
+                    .ambulanceDriverName(driver.getUserFullName())
+                    .status(AmbulanceStatus.AVAILABLE)
+                    .location(hospital.getLocation())
+                    .lastUpdated(Instant.now())
+                    .driver(driver)
+                    .hospital(hospital)
+                    .build());
+            db.ambulanceDrivers.save(AmbulanceDriver.builder()
+                    .driver(driver)
+                    .licenseNumber("SIM-LIC-A" + i)
+                    .ambulance(ambulance)
+                    .build());
+            ambulances.add(new Unit(UnitType.AMBULANCE, ambulance.getId(), driver,
+                    hospital.getLocation().getY(), hospital.getLocation().getX()));
+        }
+
+        List<FireStationEntity> fireStations = new ArrayList<>();
+        for (int i = 0; i < settings.fireStations(); i++) {
+            fireStations.add(db.fireStations.save(FireStationEntity.builder()
+                    .stationName("Sim Fire Station " + (i + 1))
+                    .location(randomPoint())
+                    .fireTruckEntities(new ArrayList<>())
+                    .build()));
+        }
+        for (int i = 0; i < settings.fireTrucks(); i++) {
+            FireStationEntity station = fireStations.get(i % fireStations.size());
+            AppUser driver = db.users.save(user("firetruck" + i, Role.FIRE_DRIVER, UserType.FIRE_DRIVER));
+            FireTruckEntity truck = db.fireTrucks.save(FireTruckEntity.builder()
+                    .driverName(driver.getUserFullName())
+                    .vehicleRegNumber(String.format("SIM-FIRE-%04d", i))
+                    .driverPhoneNumber(driver.getPhoneNumber())
+                    .status(FireTruckStatus.AVAILABLE)
+                    .location(station.getLocation())
+                    .lastUpdated(Instant.now())
+                    .fireStationEntity(station)
+                    .build());
+            FireTruckDriver truckDriver = db.fireTruckDrivers.save(FireTruckDriver.builder()
+                    .driver(driver)
+                    .licenseNumber("SIM-LIC-F" + i)
+                    .fireTruckEntity(truck)
+                    .build());
+            truck.setDriver(truckDriver);
+            station.getFireTruckEntities().add(truck);
+            fireTrucks.add(new Unit(UnitType.FIRE_TRUCK, truck.getFireTruckId(), driver,
+                    station.getLocation().getY(), station.getLocation().getX()));
+        }
+
+        for (int i = 0; i < settings.policeStations(); i++) {
+            PoliceStationEntity station = db.policeStations.save(PoliceStationEntity.builder()
+                    .stationName("Sim Police Station " + (i + 1))
+                    .location(randomPoint())
+                    .availableOfficers(settings.officersPerStation())
+                    .build());
+            // one officer account per station closes police-only bookings
+            AppUser officer = db.users.save(user("officer" + i, Role.POLICE_OFFICER, UserType.POLICE_OFFICER));
+            db.policeOfficers.save(PoliceOfficer.builder()
+                    .fullName(officer.getUserFullName())
+                    .policeStation(station)
+                    .policeOfficer(officer)
+                    .build());
+            officers.put(station.getId(), officer);
+        }
+
+        for (int i = 0; i < settings.citizens(); i++) {
+            citizens.add(db.users.save(user("citizen" + i, Role.USER, UserType.CITIZEN)));
+        }
+    }
+
+    private AppUser user(String handle, Role role, UserType type) {
+        return AppUser.builder()
+                .role(role)
+                .userType(type)
+                .userFullName("Sim " + handle)
+                .userEmail(handle + "@sim.react")
+                .phoneNumber(String.format("9%09d", Math.abs(handle.hashCode()) % 1_000_000_000))
+                .governmentId("SIM-" + handle)
+                .userPassword("{noop}sim")
+                .verified(true)
+                .build();
+    }
+
+    /**
+     * Uniform over the city disc.
+     */
+    public double[] randomLocation(Random random) {
+        double r = settings.cityRadiusKm() * 1000 * Math.sqrt(random.nextDouble());
+        double theta = 2 * Math.PI * random.nextDouble();
+        double lat = settings.centerLat() + Math.toDegrees(r * Math.cos(theta) / 6_371_008.8);
+        double lng = settings.centerLng() + Math.toDegrees(r * Math.sin(theta) / 6_371_008.8)
+                / Math.cos(Math.toRadians(settings.centerLat()));
+        return new double[]{lat, lng};
+    }
+
+    private Point randomPoint() {
+        double[] location = randomLocation(random);
+        return GEOMETRY.createPoint(new Coordinate(location[1], location[0]));
+    }
+
+    public List<Unit> ambulances() {
+        return ambulances;
+    }
+
+    public List<Unit> fireTrucks() {
+        return fireTrucks;
+    }
+
+    public List<AppUser> citizens() {
+        return citizens;
+    }
+
+    public AppUser officerOf(Long stationId) {
+        return officers.get(stationId);
+    }
+
+    public SimulationSettings settings() {
+        return settings;
+    }
+
+    public SimulatedDatabase database() {
+        return db;
+    }
+}
@@ -0,0 +1,499 @@
+package com.REACT.backend.simulator;
+
+import com.REACT.backend.BackendApplication;
+import com.REACT.backend.Jwt.JwtUtils;
+import com.REACT.backend.ambulanceService.dto.AmbulanceDto;
+import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
+import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
+import com.REACT.backend.booking.dto.BookingRequestDto;
+import com.REACT.backend.booking.dto.BookingResponseDto;
+import com.REACT.backend.booking.model.EmergencyRequestEntity;
+import com.REACT.backend.booking.model.EmergencyRequestStatus;
+import com.REACT.backend.common.util.LocationUtils;
+import com.REACT.backend.fireService.model.FireTruckEntity;
+import com.REACT.backend.fireService.model.FireTruckStatus;
+import com.REACT.backend.locationService.model.UnitType;
+import com.REACT.backend.simulator.persistence.SimulatedDatabase;
+import com.REACT.backend.simulator.persistence.SimulatedPersistenceConfig;
+import com.REACT.backend.users.AppUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load simulator: boots the real application (controllers, security, dispatch) on a
+ * random port over {@link SimulatedPersistenceConfig}, populates a {@link CityModel}
+ * and plays a city against it over HTTP:
+ * <ul>
+ *   <li>citizens book through {@code POST /booking/request} with open-loop Poisson
+ *       arrivals shaped by the scenario (steady, burst, ramp);</li>
+ *   <li>every vehicle pings {@code /ambulance/location/update} or
+ *       {@code /fire/location/update} while it drives to its incident and back to base;</li>
+ *   <li>drivers accept through {@code /driver/booking/accept} (some never do, which
+ *       exercises the acceptance timeout) and finish with {@code /driver/booking/complete}.</li>
+ * </ul>
+ * Prints a summary and writes the full report as JSON to {@code simulator.report-file}.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.REACT.backend.simulator.CitySimulator
+ * -Dexec.args="--simulator.scenario=burst --simulator.arrivals-per-second=20"
+ */
+public class CitySimulator {
+
+    private static final double ON_SCENE_METERS = 30;
+
+    /**
+     * Run-specific overrides; {@code --key=value} arguments and -D system properties win.
+     */
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("spring.autoconfigure.exclude", String.join(",",
+                    "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+                    "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration",
+                    "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+                    "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration")),
+            Map.entry("server.port", "0"),
+            // per-request INFO/DEBUG logging would dominate the measurement
+            Map.entry("logging.level.root", "WARN"),
+            Map.entry("logging.level.com.REACT.backend", "WARN"),
+            Map.entry("logging.level.com.REACT.backend.ambulanceService", "WARN"),
+            Map.entry("logging.level.com.REACT.backend.booking", "WARN"),
+            Map.entry("logging.level.com.REACT.backend.fireService", "WARN"),
+            Map.entry("spring.jpa.show-sql", "false"),
+            Map.entry("dispatch.acceptance.timeout-ms", "3000"));
+
+    private final SimulationSettings settings;
+    private final CityModel city;
+    private final SimulatedDatabase db;
+    private final SimulationReport report;
+    private final ObjectMapper objectMapper;
+    private final JwtUtils jwtUtils;
+    private final String baseUrl;
+
+    private final HttpClient http;
+    private final ExecutorService httpExecutor = Executors.newFixedThreadPool(32, daemon("sim-http"));
+    private final ScheduledExecutorService world = Executors.newSingleThreadScheduledExecutor(daemon("sim-world"));
+    private final Semaphore inFlight;
+    private final Random random;
+    private final Random driverRandom;
+
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Incident> incidentsByNote = new ConcurrentHashMap<>();
+    private final Map<Long, Incident> openIncidents = new ConcurrentHashMap<>();
+    /**
+     * ambulance id + claim time → already decided, so every assignment is answered exactly once
+     */
+    private final Set<String> decided = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private long lastRequestSeen;
+
+    /**
+     * One booking as the simulator follows it.
+     */
+    private static final class Incident {
+        final String note;
+        final AppUser citizen;
+        final double lat;
+        final double lng;
+        final long intendedAt;
+        volatile Long requestId;
+        long onSceneSince;
+        boolean completing;
+
+        Incident(String note, AppUser citizen, double lat, double lng, long intendedAt) {
+            this.note = note;
+            this.citizen = citizen;
+            this.lat = lat;
+            this.lng = lng;
+            this.intendedAt = intendedAt;
+        }
+    }
+
+    CitySimulator(ConfigurableApplicationContext context) {
+        this.settings = context.getBean(SimulationSettings.class);
+        this.city = context.getBean(CityModel.class);
+        this.db = city.database();
+        this.report = new SimulationReport(settings);
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.jwtUtils = context.getBean(JwtUtils.class);
+        this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(httpExecutor).connectTimeout(Duration.ofSeconds(5)).build();
+        this.inFlight = new Semaphore(settings.maxInFlight());
+        this.random = new Random(settings.seed() + 1);
+        this.driverRandom = new Random(settings.seed() + 2);
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (Map.Entry<String, String> d : DEFAULTS.entrySet()) {
+            boolean overridden = System.getProperty(d.getKey()) != null;
+            for (String arg : args) {
+                overridden |= arg.startsWith("--" + d.getKey() + "=");
+            }
+            if (!overridden) {
+                System.setProperty(d.getKey(), d.getValue());
+            }
+        }
+        if (System.getProperty("dispatch.journal.dir") == null) {
+            System.setProperty("dispatch.journal.dir", Files.createTempDirectory("sim-journal").toString());
+        }
+        if (System.getProperty("location.history.dir") == null) {
+            System.setProperty("location.history.dir", Files.createTempDirectory("sim-history").toString());
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                BackendApplication.class, SimulatedPersistenceConfig.class).run(args)) {
+            CitySimulator simulator = new CitySimulator(context);
+            simulator.run();
+        }
+    }
+
+    void run() throws Exception {
+        world.scheduleAtFixedRate(this::tick, 0, settings.pingIntervalMs(), TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        double peak = settings.peakRate();
+        double t = 0;
+        while (true) {
+            t += -Math.log(1 - random.nextDouble()) / peak;
+            if (t >= settings.durationSeconds()) break;
+            if (random.nextDouble() * peak > settings.rateAt(t)) continue; // thinning to the current rate
+            long intendedAt = start + (long) (t * 1e9);
+            long wait = intendedAt - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            book(intendedAt);
+        }
+
+        // let the last bookings come back before measuring
+        if (!inFlight.tryAcquire(settings.maxInFlight(), 30, TimeUnit.SECONDS)) {
+            System.err.println("Bookings still in flight after 30 s, reporting anyway");
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        world.shutdown();
+        world.awaitTermination(5, TimeUnit.SECONDS);
+        report.finish(elapsed, db.bookingLogRowsWritten.get());
+
+        System.out.println(report.summary());
+        report.write(objectMapper);
+        System.out.println("Report written to " + settings.reportFile());
+        httpExecutor.shutdownNow();
+    }
+
+    // ---- bookings -------------------------------------------------------------------
+
+    private void book(long intendedAt) throws Exception {
+        List<AppUser> citizens = city.citizens();
+        AppUser citizen = citizens.get(random.nextInt(citizens.size()));
+        double[] location = city.randomLocation(random);
+        int ambulances = random.nextDouble() < 0.1 ? 2 : 1;
+        int trucks = random.nextDouble() < settings.fireShare() ? 1 + random.nextInt(2) : 0;
+        int officers = random.nextDouble() < settings.policeShare() ? 2 + random.nextInt(3) : 0;
+        String note = "sim-" + sequence.incrementAndGet();
+
+        BookingRequestDto body = BookingRequestDto.builder()
+                .latitude(location[0])
+                .longitude(location[1])
+                .issueType(trucks > 0 ? "FIRE" : "MEDICAL")
+                .needAmbulance(true)
+                .requestedAmbulanceCount(ambulances)
+                .needFireBrigade(trucks > 0)
+                .requestedFireTruckCount(trucks)
+                .needPolice(officers > 0)
+                .requestedPoliceCount(officers)
+                .isForSelf(true)
+                .notes(note)
+                .build();
+
+        if (!inFlight.tryAcquire()) {
+            report.bookingShed();
+            return;
+        }
+        Incident incident = new Incident(note, citizen, location[0], location[1], intendedAt);
+        incidentsByNote.put(note, incident);
+        double nearestAvailable = nearestAvailableAmbulance(location[0], location[1]);
+
+        http.sendAsync(post("/booking/request", citizen, objectMapper.writeValueAsString(body)),
+                        HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    try {
+                        long latency = System.nanoTime() - intendedAt;
+                        if (error != null) {
+                            report.booking("error", latency);
+                        } else if (response.statusCode() != 200) {
+                            report.booking("http" + response.statusCode(), latency);
+                        } else {
+                            report.booking("ok", latency);
+                            recordAssignment(body, objectMapper.readValue(response.body(), BookingResponseDto.class),
+                                    nearestAvailable);
+                        }
+                    } catch (Exception e) {
+                        report.booking("unreadable", System.nanoTime() - intendedAt);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private void recordAssignment(BookingRequestDto request, BookingResponseDto response, double nearestAvailable) {
+        List<AmbulanceDto> ambulances = response.getAssignedAmbulances() == null ? List.of() : response.getAssignedAmbulances();
+        double assigned = ambulances.stream()
+                .mapToDouble(a -> LocationUtils.distanceMeters(request.getLatitude(), request.getLongitude(),
+                        a.getLatitude(), a.getLongitude()))
+                .min().orElse(Double.NaN);
+        int trucks = response.getAssignedFireTrucks() == null ? 0 : response.getAssignedFireTrucks().size();
+        int officers = response.getAssignedPoliceMap() == null ? 0
+                : response.getAssignedPoliceMap().values().stream().mapToInt(Integer::intValue).sum();
+        report.assignment(request.getRequestedAmbulanceCount(), ambulances.size(),
+                request.getRequestedFireTruckCount(), trucks,
+                request.getRequestedPoliceCount(), officers, nearestAvailable, assigned);
+    }
+
+    private double nearestAvailableAmbulance(double lat, double lng) {
+        double nearest = Double.NaN;
+        for (AmbulanceEntity a : db.ambulances.where(a -> a.getStatus() == AmbulanceStatus.AVAILABLE)) {
+            double d = LocationUtils.distanceMeters(lat, lng, a.getLocation().getY(), a.getLocation().getX());
+            if (Double.isNaN(nearest) || d < nearest) nearest = d;
+        }
+        return nearest;
+    }
+
+    // ---- the moving city, one tick per ping interval ----------------------------------
+
+    private void tick() {
+        try {
+            long now = System.nanoTime();
+            resolveNewRequests();
+
+            Map<Long, Incident> ambulanceTargets = new HashMap<>();
+            Map<Long, Incident> truckTargets = new HashMap<>();
+            Map<Long, Incident> ambulanceBookings = new HashMap<>();
+            for (Incident incident : openIncidents.values()) {
+                EmergencyRequestEntity request = db.requests.findById(incident.requestId).orElse(null);
+                if (request == null || finished(request)) continue;
+                for (AmbulanceEntity a : list(request.getAssignedAmbulances())) {
+                    // a unit stays listed on bookings it already finished; the newest one is current
+                    ambulanceBookings.merge(a.getId(), incident, (x, y) -> x.requestId > y.requestId ? x : y);
+                    if (a.getStatus() == AmbulanceStatus.EN_ROUTE) ambulanceTargets.put(a.getId(), incident);
+                }
+                for (FireTruckEntity f : list(request.getAssignedFireTruckEntities())) {
+                    if (f.getStatus() == FireTruckStatus.EN_ROUTE) truckTargets.put(f.getFireTruckId(), incident);
+                }
+            }
+
+            answerAssignments(ambulanceBookings);
+
+            double step = settings.speedKmh() / 3.6 * settings.timeScale() * settings.pingIntervalMs() / 1000.0;
+            for (CityModel.Unit unit : city.ambulances()) {
+                AmbulanceEntity entity = db.ambulances.findById(unit.id).orElseThrow();
+                Incident target = ambulanceTargets.get(unit.id);
+                if (target != null) {
+                    move(unit, target.lat, target.lng, step);
+                } else if (entity.getStatus() == AmbulanceStatus.AVAILABLE) {
+                    move(unit, unit.baseLat, unit.baseLng, step);
+                }
+                ping(unit, now);
+            }
+            for (CityModel.Unit unit : city.fireTrucks()) {
+                Incident target = truckTargets.get(unit.id);
+                if (target != null) {
+                    move(unit, target.lat, target.lng, step);
+                } else {
+                    move(unit, unit.baseLat, unit.baseLng, step);
+                }
+                ping(unit, now);
+            }
+
+            completeFinishedIncidents(now);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void resolveNewRequests() {
+        long seen = lastRequestSeen;
+        for (EmergencyRequestEntity request : db.requests.where(r -> r.getId() > seen)) {
+            lastRequestSeen = Math.max(lastRequestSeen, request.getId());
+            Incident incident = request.getNotes() == null ? null : incidentsByNote.remove(request.getNotes());
+            if (incident != null) {
+                incident.requestId = request.getId();
+                openIncidents.put(request.getId(), incident);
+            }
+        }
+    }
+
+    /**
+     * Each newly claimed ambulance gets one driver decision: accept after a short,
+     * exponentially distributed delay, or never.
+     */
+    private void answerAssignments(Map<Long, Incident> ambulanceBookings) {
+        for (AmbulanceEntity a : db.ambulances.where(a -> a.getStatus() == AmbulanceStatus.PENDING_ACCEPTANCE)) {
+            Incident incident = ambulanceBookings.get(a.getId());
+            if (incident == null || !decided.add(a.getId() + "@" + a.getLastUpdated())) continue;
+            if (driverRandom.nextDouble() >= settings.acceptProbability()) {
+                report.driver("ignored");
+                continue;
+            }
+            long delay = (long) (-Math.log(1 - driverRandom.nextDouble()) * settings.acceptDelayMs());
+            AppUser driver = a.getDriver();
+            world.schedule(() -> http.sendAsync(post("/driver/booking/accept?bookingId=" + incident.requestId
+                                    + "&driverId=" + driver.getUserId(), driver, ""), HttpResponse.BodyHandlers.discarding())
+                            .whenComplete((response, error) -> report.driver(error != null ? "acceptError"
+                                    : response.statusCode() == 200 ? "accepted" : "acceptRejected")),
+                    delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * A booking is done once every unit that is driving to it has been on scene for the
+     * service time; bookings nobody drives to (police only, unfilled, all timed out)
+     * are closed after the service time as well so their officers come back.
+     */
+    private void completeFinishedIncidents(long now) {
+        for (Incident incident : openIncidents.values()) {
+            if (incident.completing) continue;
+            EmergencyRequestEntity request = db.requests.findById(incident.requestId).orElse(null);
+            if (request == null || finished(request)) {
+                openIncidents.remove(incident.requestId);
+                continue;
+            }
+            List<CityModel.Unit> driving = new ArrayList<>();
+            boolean waitingForDriver = false;
+            for (AmbulanceEntity a : list(request.getAssignedAmbulances())) {
+                if (a.getStatus() == AmbulanceStatus.PENDING_ACCEPTANCE) waitingForDriver = true;
+                if (a.getStatus() == AmbulanceStatus.EN_ROUTE) driving.add(unit(city.ambulances(), a.getId()));
+            }
+            for (FireTruckEntity f : list(request.getAssignedFireTruckEntities())) {
+                if (f.getStatus() == FireTruckStatus.EN_ROUTE) driving.add(unit(city.fireTrucks(), f.getFireTruckId()));
+            }
+            if (waitingForDriver) continue;
+
+            boolean onScene = driving.stream().allMatch(u ->
+                    LocationUtils.distanceMeters(u.lat, u.lng, incident.lat, incident.lng) <= ON_SCENE_METERS);
+            if (!onScene) continue;
+            if (incident.onSceneSince == 0) incident.onSceneSince = now;
+            if (now - incident.onSceneSince < TimeUnit.MILLISECONDS.toNanos(settings.serviceTimeMs())) continue;
+
+            incident.completing = true;
+            AppUser caller = assignee(request, incident);
+            http.sendAsync(post("/driver/booking/complete?bookingId=" + incident.requestId, caller, ""),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        report.driver(error != null ? "completeError"
+                                : response.statusCode() == 200 ? "completed" : "completeRejected");
+                        openIncidents.remove(incident.requestId);
+                    });
+        }
+    }
+
+    private void move(CityModel.Unit unit, double lat, double lng, double stepMeters) {
+        double remaining = LocationUtils.distanceMeters(unit.lat, unit.lng, lat, lng);
+        if (remaining <= stepMeters) {
+            unit.lat = lat;
+            unit.lng = lng;
+        } else {
+            double f = stepMeters / remaining;
+            unit.lat += (lat - unit.lat) * f;
+            unit.lng += (lng - unit.lng) * f;
+        }
+    }
+
+    private void ping(CityModel.Unit unit, long intendedAt) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        String path;
+        if (unit.type == UnitType.AMBULANCE) {
+            path = "/ambulance/location/update";
+            body.put("ambulanceId", unit.id);
+        } else {
+            path = "/fire/location/update";
+            body.put("truckId", unit.id);
+        }
+        body.put("latitude", unit.lat);
+        body.put("longitude", unit.lng);
+        try {
+            http.sendAsync(post(path, unit.driver, objectMapper.writeValueAsString(body)),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> report.ping(
+                            error != null ? "error" : response.statusCode() == 200 ? "ok" : "http" + response.statusCode(),
+                            System.nanoTime() - intendedAt));
+        } catch (Exception e) {
+            report.ping("error", System.nanoTime() - intendedAt);
+        }
+    }
+
+    // ---- helpers ----------------------------------------------------------------------
+
+    private HttpRequest post(String path, AppUser user, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + tokens.computeIfAbsent(user.getUserId(),
+                        id -> jwtUtils.generateTokenFromEmail(user)))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static boolean finished(EmergencyRequestEntity request) {
+        return request.getEmergencyRequestStatus() == EmergencyRequestStatus.COMPLETED
+                || request.getEmergencyRequestStatus() == EmergencyRequestStatus.FAILED;
+    }
+
+    /**
+     * Someone the backend accepts a completion from: a driver of the booking's vehicles
+     * or an officer of one of its stations (the citizen only if nobody was assigned).
+     */
+    private AppUser assignee(EmergencyRequestEntity request, Incident incident) {
+        if (request.getDriver() != null) return request.getDriver();
+        for (AmbulanceEntity a : list(request.getAssignedAmbulances())) {
+            if (a.getDriver() != null) return a.getDriver();
+        }
+        List<FireTruckEntity> trucks = list(request.getAssignedFireTruckEntities());
+        if (!trucks.isEmpty()) return unit(city.fireTrucks(), trucks.get(0).getFireTruckId()).driver;
+        if (request.getAssignedPoliceMap() != null) {
+            for (var station : request.getAssignedPoliceMap().keySet()) {
+                AppUser officer = city.officerOf(station.getId());
+                if (officer != null) return officer;
+            }
+        }
+        return incident.citizen;
+    }
+
+    private static CityModel.Unit unit(List<CityModel.Unit> units, Long id) {
+        // ids are assigned in seeding order, starting at the first unit's id
+        return units.get((int) (id - units.get(0).id));
+    }
+
+    private static <T> List<T> list(List<T> values) {
+        return values == null ? List.of() : new ArrayList<>(values);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicLong count = new AtomicLong();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,225 @@
+package com.REACT.backend.simulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SynchronizedHistogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Everything one run measures. Latencies are taken from the time a request was
+ * scheduled to go out, not when it actually went out, so a stalled backend shows up
+ * in the percentiles instead of silently slowing the load down.
+ */
+public class SimulationReport {
+
+    private static final long MAX_LATENCY_MICROS = 120_000_000L;
+
+    private final SimulationSettings settings;
+    private final Histogram bookingLatency = new SynchronizedHistogram(MAX_LATENCY_MICROS, 3);
+    private final Histogram pingLatency = new SynchronizedHistogram(MAX_LATENCY_MICROS, 3);
+    private final Map<String, LongAdder> bookingOutcomes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> pingOutcomes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> driverActions = new ConcurrentHashMap<>();
+
+    private final LongAdder bookingsShed = new LongAdder();
+    private final LongAdder ambulancesRequested = new LongAdder();
+    private final LongAdder ambulancesAssigned = new LongAdder();
+    private final LongAdder fireTrucksRequested = new LongAdder();
+    private final LongAdder fireTrucksAssigned = new LongAdder();
+    private final LongAdder officersRequested = new LongAdder();
+    private final LongAdder officersAssigned = new LongAdder();
+    private final List<Double> ambulanceDistances = Collections.synchronizedList(new ArrayList<>());
+    private final List<Double> detourRatios = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong bookingLogRows = new AtomicLong();
+
+    private volatile double elapsedSeconds;
+
+    public SimulationReport(SimulationSettings settings) {
+        this.settings = settings;
+    }
+
+    public void booking(String outcome, long latencyNanos) {
+        increment(bookingOutcomes, outcome);
+        bookingLatency.recordValue(Math.min(MAX_LATENCY_MICROS, latencyNanos / 1000));
+    }
+
+    public void bookingShed() {
+        bookingsShed.increment();
+    }
+
+    public void ping(String outcome, long latencyNanos) {
+        increment(pingOutcomes, outcome);
+        pingLatency.recordValue(Math.min(MAX_LATENCY_MICROS, latencyNanos / 1000));
+    }
+
+    public void driver(String action) {
+        increment(driverActions, action);
+    }
+
+    /**
+     * @param nearestAvailableMeters distance of the nearest available ambulance when the booking went out
+     * @param assignedMeters         distance of the nearest ambulance the booking got, NaN if none
+     */
+    public void assignment(int ambulancesWanted, int ambulancesGot, int trucksWanted, int trucksGot,
+                           int officersWanted, int officersGot, double nearestAvailableMeters, double assignedMeters) {
+        ambulancesRequested.add(ambulancesWanted);
+        ambulancesAssigned.add(ambulancesGot);
+        fireTrucksRequested.add(trucksWanted);
+        fireTrucksAssigned.add(trucksGot);
+        officersRequested.add(officersWanted);
+        officersAssigned.add(officersGot);
+        if (!Double.isNaN(assignedMeters)) {
+            ambulanceDistances.add(assignedMeters);
+            if (nearestAvailableMeters > 1) {
+                detourRatios.add(assignedMeters / nearestAvailableMeters);
+            }
+        }
+    }
+
+    public void finish(double elapsedSeconds, long bookingLogRowsWritten) {
+        this.elapsedSeconds = elapsedSeconds;
+        this.bookingLogRows.set(bookingLogRowsWritten);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("scenario", settings.scenario().name());
+        run.put("arrivalsPerSecond", settings.arrivalsPerSecond());
+        run.put("burstFactor", settings.burstFactor());
+        run.put("durationSeconds", settings.durationSeconds());
+        run.put("elapsedSeconds", round(elapsedSeconds));
+        run.put("ambulances", settings.ambulances());
+        run.put("fireTrucks", settings.fireTrucks());
+        run.put("policeStations", settings.policeStations());
+        run.put("dbLatencyMicros", settings.dbLatencyMicros());
+        run.put("seed", settings.seed());
+
+        long bookingsOk = count(bookingOutcomes, "ok");
+        Map<String, Object> bookings = new LinkedHashMap<>();
+        bookings.put("sent", bookingLatency.getTotalCount());
+        bookings.put("shed", bookingsShed.sum());
+        bookings.put("outcomes", snapshot(bookingOutcomes));
+        bookings.put("throughputPerSecond", round(elapsedSeconds > 0 ? bookingsOk / elapsedSeconds : 0));
+        bookings.put("latencyMillis", percentiles(bookingLatency));
+        bookings.put("bookingLogRowsWritten", bookingLogRows.get());
+
+        Map<String, Object> pings = new LinkedHashMap<>();
+        pings.put("sent", pingLatency.getTotalCount());
+        pings.put("outcomes", snapshot(pingOutcomes));
+        pings.put("throughputPerSecond", round(elapsedSeconds > 0 ? pingLatency.getTotalCount() / elapsedSeconds : 0));
+        pings.put("latencyMillis", percentiles(pingLatency));
+
+        Map<String, Object> quality = new LinkedHashMap<>();
+        quality.put("ambulanceFillRate", ratio(ambulancesAssigned.sum(), ambulancesRequested.sum()));
+        quality.put("fireTruckFillRate", ratio(fireTrucksAssigned.sum(), fireTrucksRequested.sum()));
+        quality.put("officerFillRate", ratio(officersAssigned.sum(), officersRequested.sum()));
+        quality.put("ambulanceDistanceMeters", distribution(ambulanceDistances));
+        quality.put("detourRatio", distribution(detourRatios));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("run", run);
+        report.put("bookings", bookings);
+        report.put("locationPings", pings);
+        report.put("assignmentQuality", quality);
+        report.put("drivers", snapshot(driverActions));
+        return report;
+    }
+
+    public void write(ObjectMapper objectMapper) throws IOException {
+        Path file = Path.of(settings.reportFile());
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), toMap());
+    }
+
+    public String summary() {
+        Map<String, Object> latency = percentiles(bookingLatency);
+        Map<String, Object> pings = percentiles(pingLatency);
+        return String.format("""
+                        %s run: %.0f bookings/s offered for %d s (elapsed %.1f s)
+                          bookings   %s, shed %d, %.1f ok/s
+                          latency    p50 %s ms, p99 %s ms, p999 %s ms, max %s ms
+                          pings      %d sent, p50 %s ms, p99 %s ms, p999 %s ms
+                          fill       ambulances %s, fire trucks %s, officers %s
+                          distance   %s
+                          detour     %s
+                          drivers    %s""",
+                settings.scenario(), settings.arrivalsPerSecond(), settings.durationSeconds(), elapsedSeconds,
+                snapshot(bookingOutcomes), bookingsShed.sum(),
+                elapsedSeconds > 0 ? count(bookingOutcomes, "ok") / elapsedSeconds : 0,
+                latency.get("p50"), latency.get("p99"), latency.get("p999"), latency.get("max"),
+                pingLatency.getTotalCount(), pings.get("p50"), pings.get("p99"), pings.get("p999"),
+                ratio(ambulancesAssigned.sum(), ambulancesRequested.sum()),
+                ratio(fireTrucksAssigned.sum(), fireTrucksRequested.sum()),
+                ratio(officersAssigned.sum(), officersRequested.sum()),
+                distribution(ambulanceDistances), distribution(detourRatios), snapshot(driverActions));
+    }
+
+    private static Map<String, Object> percentiles(Histogram recorded) {
+        Histogram histogram = recorded.copy(); // late responses may still be recording
+        Map<String, Object> p = new LinkedHashMap<>();
+        p.put("p50", millis(histogram.getValueAtPercentile(50)));
+        p.put("p90", millis(histogram.getValueAtPercentile(90)));
+        p.put("p99", millis(histogram.getValueAtPercentile(99)));
+        p.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        p.put("max", millis(histogram.getMaxValue()));
+        p.put("mean", round(histogram.getMean() / 1000));
+        return p;
+    }
+
+    private static Map<String, Object> distribution(List<Double> values) {
+        List<Double> sorted;
+        synchronized (values) {
+            sorted = new ArrayList<>(values);
+        }
+        Collections.sort(sorted);
+        Map<String, Object> d = new LinkedHashMap<>();
+        d.put("count", sorted.size());
+        if (sorted.isEmpty()) return d;
+        d.put("mean", round(sorted.stream().mapToDouble(Double::doubleValue).average().orElse(0)));
+        d.put("p50", round(sorted.get((int) (sorted.size() * 0.5))));
+        d.put("p90", round(sorted.get((int) (sorted.size() * 0.9))));
+        d.put("max", round(sorted.get(sorted.size() - 1)));
+        return d;
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> copy = new LinkedHashMap<>();
+        counters.entrySet().stream().sorted(Map.Entry.comparingByKey())
+                .forEach(e -> copy.put(e.getKey(), e.getValue().sum()));
+        return copy;
+    }
+
+    private static void increment(Map<String, LongAdder> counters, String key) {
+        counters.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    private static long count(Map<String, LongAdder> counters, String key) {
+        LongAdder adder = counters.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static Object ratio(long part, long whole) {
+        return whole == 0 ? null : round((double) part / whole);
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
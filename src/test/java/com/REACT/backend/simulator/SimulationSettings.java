@@ -0,0 +1,94 @@
+package com.REACT.backend.simulator;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * One simulator run, read from {@code simulator.*} properties (pass them as
+ * {@code --simulator.arrivals-per-second=50} etc.).
+ *
+ * @param scenario          STEADY (constant rate), BURST (rate × burst-factor for burst-seconds
+ *                          every burst-every-seconds) or RAMP (linear climb to rate × burst-factor)
+ * @param timeScale         simulated seconds per wall-clock second for vehicle movement
+ * @param acceptProbability chance that a driver accepts at all; the rest run into the acceptance timeout
+ */
+public record SimulationSettings(
+        long seed,
+        double centerLat,
+        double centerLng,
+        double cityRadiusKm,
+        int hospitals,
+        int ambulances,
+        int fireStations,
+        int fireTrucks,
+        int policeStations,
+        int officersPerStation,
+        int citizens,
+        long dbLatencyMicros,
+        Scenario scenario,
+        double arrivalsPerSecond,
+        int durationSeconds,
+        double burstFactor,
+        int burstEverySeconds,
+        int burstSeconds,
+        int maxInFlight,
+        double fireShare,
+        double policeShare,
+        long pingIntervalMs,
+        double speedKmh,
+        double timeScale,
+        double acceptProbability,
+        long acceptDelayMs,
+        long serviceTimeMs,
+        String reportFile) {
+
+    public enum Scenario {
+        STEADY, BURST, RAMP
+    }
+
+    public static SimulationSettings from(Environment env) {
+        return new SimulationSettings(
+                env.getProperty("simulator.seed", Long.class, 42L),
+                env.getProperty("simulator.center-lat", Double.class, 18.5204),
+                env.getProperty("simulator.center-lng", Double.class, 73.8567),
+                env.getProperty("simulator.city-radius-km", Double.class, 12.0),
+                env.getProperty("simulator.hospitals", Integer.class, 12),
+                env.getProperty("simulator.ambulances", Integer.class, 150),
+                env.getProperty("simulator.fire-stations", Integer.class, 6),
+                env.getProperty("simulator.fire-trucks", Integer.class, 30),
+                env.getProperty("simulator.police-stations", Integer.class, 10),
+                env.getProperty("simulator.officers-per-station", Integer.class, 20),
+                env.getProperty("simulator.citizens", Integer.class, 200),
+                env.getProperty("simulator.db-latency-micros", Long.class, 200L),
+                Scenario.valueOf(env.getProperty("simulator.scenario", "STEADY").toUpperCase()),
+                env.getProperty("simulator.arrivals-per-second", Double.class, 10.0),
+                env.getProperty("simulator.duration-seconds", Integer.class, 30),
+                env.getProperty("simulator.burst-factor", Double.class, 5.0),
+                env.getProperty("simulator.burst-every-seconds", Integer.class, 10),
+                env.getProperty("simulator.burst-seconds", Integer.class, 2),
+                env.getProperty("simulator.max-in-flight", Integer.class, 256),
+                env.getProperty("simulator.fire-share", Double.class, 0.15),
+                env.getProperty("simulator.police-share", Double.class, 0.3),
+                env.getProperty("simulator.ping-interval-ms", Long.class, 1000L),
+                env.getProperty("simulator.speed-kmh", Double.class, 40.0),
+                env.getProperty("simulator.time-scale", Double.class, 20.0),
+                env.getProperty("simulator.accept-probability", Double.class, 0.95),
+                env.getProperty("simulator.accept-delay-ms", Long.class, 500L),
+                env.getProperty("simulator.service-time-ms", Long.class, 5000L),
+                env.getProperty("simulator.report-file", "target/simulator-report.json"));
+    }
+
+    /**
+     * Booking arrival rate at {@code second} seconds into the run.
+     */
+    public double rateAt(double second) {
+        return switch (scenario) {
+            case STEADY -> arrivalsPerSecond;
+            case BURST -> second % burstEverySeconds < burstSeconds ? arrivalsPerSecond * burstFactor : arrivalsPerSecond;
+            case RAMP -> arrivalsPerSecond * (1 + (burstFactor - 1) * Math.min(1, second / durationSeconds));
+        };
+    }
+
+    public double peakRate() {
+        return scenario == Scenario.STEADY ? arrivalsPerSecond : arrivalsPerSecond * burstFactor;
+    }
+}
@@ -0,0 +1,93 @@
+package com.REACT.backend.simulator.persistence;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Builds repository implementations out of plain objects.
+ *
+ * A call on the repository interface goes to the first handler with a public method of
+ * the same name and arity whose parameters accept the arguments, typically a
+ * repository-specific query object first and its {@link InMemoryTable} last for CRUD.
+ * Anything no handler implements fails loudly instead of returning a silent default.
+ * Every call can be delayed by a fixed latency to stand in for the database round-trip.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <R> R create(Class<R> repositoryType, long latencyMicros, Object... handlers) {
+        Map<Method, Target> dispatch = new ConcurrentHashMap<>();
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> "InMemory" + repositoryType.getSimpleName();
+                        };
+                    }
+                    Object[] arguments = args == null ? new Object[0] : args;
+                    Target target = dispatch.computeIfAbsent(method, m -> resolve(repositoryType, m, arguments, handlers));
+                    if (latencyMicros > 0) {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+                    }
+                    try {
+                        return target.method().invoke(target.handler(), arguments);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private record Target(Object handler, Method method) {
+    }
+
+    private static Target resolve(Class<?> repositoryType, Method method, Object[] args, Object[] handlers) {
+        for (Object handler : handlers) {
+            List<Method> candidates = new ArrayList<>();
+            for (Method m : handler.getClass().getMethods()) {
+                if (m.getName().equals(method.getName()) && m.getParameterCount() == method.getParameterCount()) {
+                    candidates.add(m);
+                }
+            }
+            for (Method m : candidates) {
+                if (accepts(m, args)) {
+                    m.setAccessible(true);
+                    return new Target(handler, m);
+                }
+            }
+        }
+        throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName()
+                + " is not simulated");
+    }
+
+    private static boolean accepts(Method m, Object[] args) {
+        Class<?>[] types = m.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (args[i] != null && !wrap(types[i]).isInstance(args[i])) return false;
+        }
+        return true;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == float.class) return Float.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        return Character.class;
+    }
+}
@@ -0,0 +1,140 @@
+package com.REACT.backend.simulator.persistence;
+
+import jakarta.persistence.Id;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Rows of one entity type, kept as the entity objects themselves (like managed
+ * entities, changes are visible without a save). Ids come from a per-table sequence
+ * and are written into the {@link Id} field. All access is synchronized on the table,
+ * which is also the lock simulated claim queries use for atomicity.
+ *
+ * Backs the CRUD methods of {@link org.springframework.data.jpa.repository.JpaRepository}
+ * for {@link InMemoryRepositories}.
+ */
+public class InMemoryTable<T> {
+
+    private final Field idField;
+    private final Map<Long, T> rows = new LinkedHashMap<>();
+    private long sequence;
+
+    public InMemoryTable(Class<T> entityType) {
+        this.idField = idField(entityType);
+    }
+
+    public synchronized <S extends T> S save(S entity) {
+        Long id = idOf(entity);
+        if (id == null) {
+            id = ++sequence;
+            setId(entity, id);
+        } else {
+            sequence = Math.max(sequence, id);
+        }
+        rows.put(id, entity);
+        return entity;
+    }
+
+    public synchronized <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    public <S extends T> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    public synchronized Optional<T> findById(Object id) {
+        return Optional.ofNullable(rows.get((Long) id));
+    }
+
+    public synchronized T getReferenceById(Object id) {
+        return rows.get((Long) id);
+    }
+
+    public synchronized boolean existsById(Object id) {
+        return rows.containsKey((Long) id);
+    }
+
+    public synchronized List<T> findAll() {
+        return new ArrayList<>(rows.values());
+    }
+
+    public synchronized List<T> findAllById(Iterable<?> ids) {
+        List<T> found = new ArrayList<>();
+        for (Object id : ids) {
+            T row = rows.get((Long) id);
+            if (row != null) found.add(row);
+        }
+        return found;
+    }
+
+    public synchronized long count() {
+        return rows.size();
+    }
+
+    public synchronized void deleteById(Object id) {
+        rows.remove((Long) id);
+    }
+
+    public synchronized void delete(T entity) {
+        rows.remove(idOf(entity));
+    }
+
+    public synchronized void deleteAll() {
+        rows.clear();
+    }
+
+    public void flush() {
+    }
+
+    public synchronized List<T> where(Predicate<? super T> condition) {
+        List<T> found = new ArrayList<>();
+        for (T row : rows.values()) {
+            if (condition.test(row)) found.add(row);
+        }
+        return found;
+    }
+
+    public synchronized Optional<T> first(Predicate<? super T> condition) {
+        for (T row : rows.values()) {
+            if (condition.test(row)) return Optional.of(row);
+        }
+        return Optional.empty();
+    }
+
+    public Long idOf(T entity) {
+        try {
+            return (Long) idField.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void setId(T entity, Long id) {
+        try {
+            idField.set(entity, id);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field idField(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    field.setAccessible(true);
+                    return field;
+                }
+            }
+        }
+        throw new IllegalArgumentException(type.getSimpleName() + " has no @Id field");
+    }
+}
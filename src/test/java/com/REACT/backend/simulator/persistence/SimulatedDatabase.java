@@ -0,0 +1,40 @@
+package com.REACT.backend.simulator.persistence;
+
+import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
+import com.REACT.backend.booking.model.BookingLogEntity;
+import com.REACT.backend.booking.model.EmergencyRequestEntity;
+import com.REACT.backend.fireService.model.FireStationEntity;
+import com.REACT.backend.fireService.model.FireTruckEntity;
+import com.REACT.backend.hospitalService.model.Hospital;
+import com.REACT.backend.policeService.model.PoliceStationEntity;
+import com.REACT.backend.users.AppUser;
+import com.REACT.backend.users.model.AmbulanceDriver;
+import com.REACT.backend.users.model.FireTruckDriver;
+import com.REACT.backend.users.model.PoliceOfficer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All tables of the simulated database. The simulator reads them directly to find
+ * what the backend decided (assignments, statuses) without going through the API.
+ */
+public class SimulatedDatabase {
+
+    public final InMemoryTable<AppUser> users = new InMemoryTable<>(AppUser.class);
+    public final InMemoryTable<Hospital> hospitals = new InMemoryTable<>(Hospital.class);
+    public final InMemoryTable<AmbulanceEntity> ambulances = new InMemoryTable<>(AmbulanceEntity.class);
+    public final InMemoryTable<AmbulanceDriver> ambulanceDrivers = new InMemoryTable<>(AmbulanceDriver.class);
+    public final InMemoryTable<FireStationEntity> fireStations = new InMemoryTable<>(FireStationEntity.class);
+    public final InMemoryTable<FireTruckEntity> fireTrucks = new InMemoryTable<>(FireTruckEntity.class);
+    public final InMemoryTable<FireTruckDriver> fireTruckDrivers = new InMemoryTable<>(FireTruckDriver.class);
+    public final InMemoryTable<PoliceStationEntity> policeStations = new InMemoryTable<>(PoliceStationEntity.class);
+    public final InMemoryTable<PoliceOfficer> policeOfficers = new InMemoryTable<>(PoliceOfficer.class);
+    public final InMemoryTable<EmergencyRequestEntity> requests = new InMemoryTable<>(EmergencyRequestEntity.class);
+    public final InMemoryTable<BookingLogEntity> bookingLogs = new InMemoryTable<>(BookingLogEntity.class);
+
+    /**
+     * booking_log rows written through JDBC by the batching log writer
+     */
+    public final AtomicLong bookingLogRowsWritten = new AtomicLong();
+    final AtomicLong bookingLogSequence = new AtomicLong();
+}
@@ -0,0 +1,228 @@
+package com.REACT.backend.simulator.persistence;
+
+import com.REACT.backend.ambulanceService.repository.AmbulanceRepository;
+import com.REACT.backend.booking.repository.BookingLogRepository;
+import com.REACT.backend.booking.repository.EmergencyRequestRepository;
+import com.REACT.backend.fireService.repository.FireStationRepository;
+import com.REACT.backend.fireService.repository.FireTruckRepository;
+import com.REACT.backend.hospitalService.repository.HospitalRepository;
+import com.REACT.backend.policeService.repository.PoliceStationRepository;
+import com.REACT.backend.simulator.CityModel;
+import com.REACT.backend.simulator.SimulationSettings;
+import com.REACT.backend.users.repository.AmbulanceDriverRepository;
+import com.REACT.backend.users.repository.FireTruckDriverRepository;
+import com.REACT.backend.users.repository.PoliceOfficerRepository;
+import com.REACT.backend.users.repository.UserRepository;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replaces PostgreSQL/PostGIS with {@link SimulatedDatabase} so the whole backend runs
+ * without a database. Start the application with the JPA and DataSource
+ * auto-configurations excluded (see {@link com.REACT.backend.simulator.CitySimulator}).
+ *
+ * Transactions are no-ops that still run synchronizations (after-commit hooks fire),
+ * and the JDBC template only understands the booking log writer's statements.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SimulatedPersistenceConfig {
+
+    private static final GeometryFactory GEOMETRY = new GeometryFactory(new PrecisionModel(), 4326);
+
+    /**
+     * {@code @PersistenceContext} fields (the location map repositories) would need an
+     * EntityManagerFactory; they are simply left unset.
+     */
+    @Bean
+    static BeanDefinitionRegistryPostProcessor withoutPersistenceContextInjection() {
+        return new BeanDefinitionRegistryPostProcessor() {
+            @Override
+            public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+                String name = AnnotationConfigUtils.PERSISTENCE_ANNOTATION_PROCESSOR_BEAN_NAME;
+                if (registry.containsBeanDefinition(name)) {
+                    registry.removeBeanDefinition(name);
+                }
+            }
+
+            @Override
+            public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+            }
+        };
+    }
+
+    @Bean
+    SimulationSettings simulationSettings(Environment env) {
+        return SimulationSettings.from(env);
+    }
+
+    @Bean
+    CityModel cityModel(SimulationSettings settings) {
+        return CityModel.seed(settings, new SimulatedDatabase());
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        };
+    }
+
+    @Bean
+    JdbcTemplate jdbcTemplate(CityModel city) {
+        SimulatedDatabase db = city.database();
+        return new JdbcTemplate() {
+            @Override
+            public void afterPropertiesSet() {
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+                if (!sql.contains("nextval") || elementType != Long.class) {
+                    throw new UnsupportedOperationException("Not simulated: " + sql);
+                }
+                int count = ((Number) args[0]).intValue();
+                List<T> ids = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    ids.add((T) Long.valueOf(db.bookingLogSequence.incrementAndGet()));
+                }
+                return ids;
+            }
+
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                if (sql.startsWith("INSERT INTO booking_log ")) {
+                    db.bookingLogRowsWritten.addAndGet(batchArgs.size());
+                } else if (sql.startsWith("UPDATE ambulance_entity SET location")) {
+                    batchArgs.forEach(row -> db.ambulances.findById(row[3]).ifPresent(a -> {
+                        a.setLocation(point(row));
+                        a.setLastUpdated(((Timestamp) row[2]).toInstant());
+                    }));
+                } else if (sql.startsWith("UPDATE fire_truck_entity SET location")) {
+                    batchArgs.forEach(row -> db.fireTrucks.findById(row[3]).ifPresent(t -> {
+                        t.setLocation(point(row));
+                        t.setLastUpdated(((Timestamp) row[2]).toInstant());
+                    }));
+                }
+                int[] counts = new int[batchArgs.size()];
+                Arrays.fill(counts, 1);
+                return counts;
+            }
+        };
+    }
+
+    /**
+     * (lng, lat, ...) row of the location write-behind
+     */
+    private static Point point(Object[] row) {
+        return GEOMETRY.createPoint(new Coordinate((Double) row[0], (Double) row[1]));
+    }
+
+    @Bean
+    AmbulanceRepository ambulanceRepository(CityModel city, SimulationSettings settings) {
+        SimulatedDatabase db = city.database();
+        return InMemoryRepositories.create(AmbulanceRepository.class, settings.dbLatencyMicros(),
+                new SimulatedQueries.Ambulances(db.ambulances), db.ambulances);
+    }
+
+    @Bean
+    FireTruckRepository fireTruckRepository(CityModel city, SimulationSettings settings) {
+        SimulatedDatabase db = city.database();
+        return InMemoryRepositories.create(FireTruckRepository.class, settings.dbLatencyMicros(),
+                new SimulatedQueries.FireTrucks(db.fireTrucks), db.fireTrucks);
+    }
+
+    @Bean
+    PoliceStationRepository policeStationRepository(CityModel city, SimulationSettings settings) {
+        SimulatedDatabase db = city.database();
+        return InMemoryRepositories.create(PoliceStationRepository.class, settings.dbLatencyMicros(),
+                new SimulatedQueries.PoliceStations(db.policeStations), db.policeStations);
+    }
+
+    @Bean
+    EmergencyRequestRepository emergencyRequestRepository(CityModel city, SimulationSettings settings) {
+        SimulatedDatabase db = city.database();
+        return InMemoryRepositories.create(EmergencyRequestRepository.class, settings.dbLatencyMicros(),
+                new SimulatedQueries.Requests(db.requests), db.requests);
+    }
+
+    @Bean
+    UserRepository userRepository(CityModel city, SimulationSettings settings) {
+        SimulatedDatabase db = city.database();
+        return InMemoryRepositories.create(UserRepository.class, settings.dbLatencyMicros(),
+                new SimulatedQueries.Users(db.users), db.users);
+    }
+
+    @Bean
+    FireTruckDriverRepository fireTruckDriverRepository(CityModel city, SimulationSettings settings) {
+        SimulatedDatabase db = city.database();
+        return InMemoryRepositories.create(FireTruckDriverRepository.class, settings.dbLatencyMicros(),
+                new SimulatedQueries.FireTruckDrivers(db.fireTruckDrivers), db.fireTruckDrivers);
+    }
+
+    @Bean
+    HospitalRepository hospitalRepository(CityModel city, SimulationSettings settings) {
+        SimulatedDatabase db = city.database();
+        return InMemoryRepositories.create(HospitalRepository.class, settings.dbLatencyMicros(),
+                new SimulatedQueries.Hospitals(db.hospitals), db.hospitals);
+    }
+
+    @Bean
+    FireStationRepository fireStationRepository(CityModel city, SimulationSettings settings) {
+        return InMemoryRepositories.create(FireStationRepository.class, settings.dbLatencyMicros(),
+                city.database().fireStations);
+    }
+
+    @Bean
+    AmbulanceDriverRepository ambulanceDriverRepository(CityModel city, SimulationSettings settings) {
+        return InMemoryRepositories.create(AmbulanceDriverRepository.class, settings.dbLatencyMicros(),
+                city.database().ambulanceDrivers);
+    }
+
+    @Bean
+    PoliceOfficerRepository policeOfficerRepository(CityModel city, SimulationSettings settings) {
+        SimulatedDatabase db = city.database();
+        return InMemoryRepositories.create(PoliceOfficerRepository.class, settings.dbLatencyMicros(),
+                new SimulatedQueries.PoliceOfficers(db.policeOfficers), db.policeOfficers);
+    }
+
+    @Bean
+    BookingLogRepository bookingLogRepository(CityModel city, SimulationSettings settings) {
+        return InMemoryRepositories.create(BookingLogRepository.class, settings.dbLatencyMicros(),
+                city.database().bookingLogs);
+    }
+}
@@ -0,0 +1,419 @@
+package com.REACT.backend.simulator.persistence;
+
+import com.REACT.backend.ambulanceService.model.AmbulanceEntity;
+import com.REACT.backend.ambulanceService.model.AmbulanceStatus;
+import com.REACT.backend.booking.dto.AssignedUnit;
+import com.REACT.backend.booking.dto.DemandHistoryCell;
+import com.REACT.backend.booking.dto.PendingAcceptance;
+import com.REACT.backend.booking.model.EmergencyRequestEntity;
+import com.REACT.backend.booking.model.EmergencyRequestStatus;
+import com.REACT.backend.common.util.LocationUtils;
+import com.REACT.backend.dispatch.index.DemandGrid;
+import com.REACT.backend.fireService.model.FireTruckEntity;
+import com.REACT.backend.fireService.model.FireTruckStatus;
+import com.REACT.backend.hospitalService.model.Hospital;
+import com.REACT.backend.policeService.dto.PoliceStationCandidate;
+import com.REACT.backend.policeService.model.PoliceStationEntity;
+import com.REACT.backend.users.AppUser;
+import com.REACT.backend.users.model.FireTruckDriver;
+import com.REACT.backend.users.model.PoliceOfficer;
+import org.locationtech.jts.geom.Point;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-memory versions of the custom repository queries, including the PostGIS ones.
+ * Claims and releases hold the table lock, which gives them the all-or-nothing
+ * behaviour of the {@code UPDATE ... FOR UPDATE SKIP LOCKED} statements they replace.
+ */
+public final class SimulatedQueries {
+
+    private SimulatedQueries() {
+    }
+
+    static double distance(Point location, double lat, double lng) {
+        return location == null ? Double.POSITIVE_INFINITY
+                : LocationUtils.distanceMeters(lat, lng, location.getY(), location.getX());
+    }
+
+    public static class Ambulances {
+        private final InMemoryTable<AmbulanceEntity> table;
+
+        public Ambulances(InMemoryTable<AmbulanceEntity> table) {
+            this.table = table;
+        }
+
+        public Optional<AmbulanceEntity> findNearestAvailable(double lat, double lng, double radius) {
+            return findAvailableWithinRadius(lat, lng, radius).stream().findFirst();
+        }
+
+        public List<AmbulanceEntity> findAvailableWithinRadius(double lat, double lng, double radius) {
+            List<AmbulanceEntity> found = table.where(a -> a.getStatus() == AmbulanceStatus.AVAILABLE
+                    && distance(a.getLocation(), lat, lng) <= radius);
+            found.sort(Comparator.comparingDouble(a -> distance(a.getLocation(), lat, lng)));
+            return found;
+        }
+
+        public List<AmbulanceEntity> findByHospitalId(Long hospitalId) {
+            return table.where(a -> a.getHospital() != null && Objects.equals(a.getHospital().getId(), hospitalId));
+        }
+
+        public List<AmbulanceEntity> findByStatus(AmbulanceStatus status) {
+            return table.where(a -> a.getStatus() == status);
+        }
+
+        public Optional<AmbulanceEntity> findByDriver_UserId(Long userId) {
+            return table.first(a -> a.getDriver() != null && Objects.equals(a.getDriver().getUserId(), userId));
+        }
+
+        public List<AmbulanceEntity> claimNearestAvailable(double lat, double lng, double radius, int n) {
+            synchronized (table) {
+                List<AmbulanceEntity> claimed = findAvailableWithinRadius(lat, lng, radius);
+                claimed = new ArrayList<>(claimed.subList(0, Math.min(n, claimed.size())));
+                claimed.forEach(Ambulances::claim);
+                return claimed;
+            }
+        }
+
+        public List<AmbulanceEntity> claimByIds(Collection<Long> ids) {
+            synchronized (table) {
+                List<AmbulanceEntity> claimed = table.findAllById(new HashSet<>(ids));
+                claimed.removeIf(a -> a.getStatus() != AmbulanceStatus.AVAILABLE);
+                claimed.forEach(Ambulances::claim);
+                return claimed;
+            }
+        }
+
+        public int releaseByIds(Collection<Long> ids) {
+            return transition(ids, Set.of(AmbulanceStatus.PENDING_ACCEPTANCE, AmbulanceStatus.EN_ROUTE),
+                    AmbulanceStatus.AVAILABLE);
+        }
+
+        public int acceptIfPending(Long id) {
+            return transition(List.of(id), Set.of(AmbulanceStatus.PENDING_ACCEPTANCE), AmbulanceStatus.EN_ROUTE);
+        }
+
+        public int releaseIfPending(Long id) {
+            return transition(List.of(id), Set.of(AmbulanceStatus.PENDING_ACCEPTANCE), AmbulanceStatus.AVAILABLE);
+        }
+
+        private int transition(Collection<Long> ids, Set<AmbulanceStatus> from, AmbulanceStatus to) {
+            synchronized (table) {
+                int changed = 0;
+                for (AmbulanceEntity a : table.findAllById(ids)) {
+                    if (from.contains(a.getStatus())) {
+                        setStatus(a, to);
+                        if (to == AmbulanceStatus.AVAILABLE) a.setDestinationHospital(null);
+                        changed++;
+                    }
+                }
+                return changed;
+            }
+        }
+
+        public int updateDestination(Long id, Long hospitalId) {
+            // the service sets the entity itself on the instance it holds, which is the table's
+            return table.existsById(id) ? 1 : 0;
+        }
+
+        private static void setStatus(AmbulanceEntity a, AmbulanceStatus status) {
+            a.setStatus(status);
+            a.setLastUpdated(Instant.now());
+        }
+
+        private static void claim(AmbulanceEntity a) {
+            setStatus(a, AmbulanceStatus.PENDING_ACCEPTANCE);
+            a.setAssignedAt(a.getLastUpdated());
+        }
+    }
+
+    public static class FireTrucks {
+        private final InMemoryTable<FireTruckEntity> table;
+
+        public FireTrucks(InMemoryTable<FireTruckEntity> table) {
+            this.table = table;
+        }
+
+        public List<FireTruckEntity> findAvailableWithinRadius(double lat, double lng, double radius) {
+            List<FireTruckEntity> found = table.where(t -> t.getStatus() == FireTruckStatus.AVAILABLE
+                    && distance(t.getLocation(), lat, lng) <= radius);
+            found.sort(Comparator.comparingDouble(t -> distance(t.getLocation(), lat, lng)));
+            return found;
+        }
+
+        public List<FireTruckEntity> findByFireStationEntityId(Long stationId) {
+            return table.where(t -> t.getFireStationEntity() != null
+                    && Objects.equals(t.getFireStationEntity().getId(), stationId));
+        }
+
+        public List<FireTruckEntity> findByStatus(FireTruckStatus status) {
+            return table.where(t -> t.getStatus() == status);
+        }
+
+        public List<FireTruckEntity> claimNearestAvailable(double lat, double lng, double radius, int n) {
+            synchronized (table) {
+                List<FireTruckEntity> claimed = findAvailableWithinRadius(lat, lng, radius);
+                claimed = new ArrayList<>(claimed.subList(0, Math.min(n, claimed.size())));
+                claimed.forEach(t -> setStatus(t, FireTruckStatus.EN_ROUTE));
+                return claimed;
+            }
+        }
+
+        public List<FireTruckEntity> claimByIds(Collection<Long> ids) {
+            synchronized (table) {
+                List<FireTruckEntity> claimed = table.findAllById(new HashSet<>(ids));
+                claimed.removeIf(t -> t.getStatus() != FireTruckStatus.AVAILABLE);
+                claimed.forEach(t -> setStatus(t, FireTruckStatus.EN_ROUTE));
+                return claimed;
+            }
+        }
+
+        public int releaseByIds(Collection<Long> ids) {
+            synchronized (table) {
+                int changed = 0;
+                for (FireTruckEntity t : table.findAllById(ids)) {
+                    if (t.getStatus() == FireTruckStatus.EN_ROUTE) {
+                        setStatus(t, FireTruckStatus.AVAILABLE);
+                        changed++;
+                    }
+                }
+                return changed;
+            }
+        }
+
+        private static void setStatus(FireTruckEntity t, FireTruckStatus status) {
+            t.setStatus(status);
+            t.setLastUpdated(Instant.now());
+        }
+    }
+
+    public static class PoliceStations {
+        private final InMemoryTable<PoliceStationEntity> table;
+
+        public PoliceStations(InMemoryTable<PoliceStationEntity> table) {
+            this.table = table;
+        }
+
+        public List<PoliceStationEntity> findAllByProximity(double lat, double lng) {
+            List<PoliceStationEntity> all = table.findAll();
+            all.sort(Comparator.comparingDouble(p -> distance(p.getLocation(), lat, lng)));
+            return all;
+        }
+
+        public List<PoliceStationCandidate> findNearestCovering(double lat, double lng, int needed,
+                                                                int maxStations, int skip) {
+            List<PoliceStationEntity> nearest = table.where(p -> p.getAvailableOfficers() > 0);
+            nearest.sort(Comparator.<PoliceStationEntity>comparingDouble(p -> distance(p.getLocation(), lat, lng))
+                    .thenComparing(PoliceStationEntity::getId));
+            List<PoliceStationCandidate> covering = new ArrayList<>();
+            int coveredBefore = 0;
+            for (int i = skip; i < Math.min(nearest.size(), skip + maxStations) && coveredBefore < needed; i++) {
+                PoliceStationEntity p = nearest.get(i);
+                double meters = distance(p.getLocation(), lat, lng);
+                covering.add(new PoliceStationCandidate() {
+                    public Long getId() { return p.getId(); }
+                    public String getStationName() { return p.getStationName(); }
+                    public int getAvailableOfficers() { return p.getAvailableOfficers(); }
+                    public double getDistanceMeters() { return meters; }
+                });
+                coveredBefore += p.getAvailableOfficers();
+            }
+            return covering;
+        }
+
+        public Optional<PoliceStationEntity> findByStationName(String stationName) {
+            return table.first(p -> Objects.equals(p.getStationName(), stationName));
+        }
+
+        public int updateAvailableOfficers(Long id, int available) {
+            return table.findById(id).map(p -> {
+                p.setAvailableOfficers(available);
+                return 1;
+            }).orElse(0);
+        }
+    }
+
+    public static class Requests {
+        private static final Comparator<EmergencyRequestEntity> NEWEST_FIRST = Comparator.comparing(
+                EmergencyRequestEntity::getCreatedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder())).reversed();
+
+        private final InMemoryTable<EmergencyRequestEntity> table;
+
+        public Requests(InMemoryTable<EmergencyRequestEntity> table) {
+            this.table = table;
+        }
+
+        public List<EmergencyRequestEntity> findAllByRequestedById(Long userId) {
+            List<EmergencyRequestEntity> found = table.where(r -> Objects.equals(r.getRequestedBy().getUserId(), userId));
+            found.sort(NEWEST_FIRST);
+            return found;
+        }
+
+        public List<EmergencyRequestEntity> findByDriver_UserIdAndEmergencyRequestStatus(Long driverId,
+                                                                                         EmergencyRequestStatus status) {
+            return table.where(r -> r.getDriver() != null && Objects.equals(r.getDriver().getUserId(), driverId)
+                    && r.getEmergencyRequestStatus() == status);
+        }
+
+        public List<EmergencyRequestEntity> findAwaitingDriver(Long driverId, AmbulanceStatus ambulanceStatus,
+                                                               Collection<EmergencyRequestStatus> requestStatuses) {
+            return table.where(r -> requestStatuses.contains(r.getEmergencyRequestStatus())
+                    && r.getAssignedAmbulances() != null
+                    && r.getAssignedAmbulances().stream().anyMatch(a -> a.getStatus() == ambulanceStatus
+                    && a.getDriver() != null && Objects.equals(a.getDriver().getUserId(), driverId)));
+        }
+
+        public List<EmergencyRequestEntity> findByRequestedBy_UserIdAndEmergencyRequestStatus(Long userId,
+                                                                                             EmergencyRequestStatus status) {
+            return table.where(r -> Objects.equals(r.getRequestedBy().getUserId(), userId)
+                    && r.getEmergencyRequestStatus() == status);
+        }
+
+        public int completeIfOpen(Long id, EmergencyRequestStatus completed, Instant now) {
+            synchronized (table) {
+                EmergencyRequestEntity r = table.findById(id).orElse(null);
+                if (r == null || r.getEmergencyRequestStatus() == completed) return 0;
+                r.setEmergencyRequestStatus(completed);
+                r.setCompletedAt(now);
+                return 1;
+            }
+        }
+
+        public List<PendingAcceptance> findAssignedAmbulancesInStatus(AmbulanceStatus ambulanceStatus,
+                                                                      Collection<EmergencyRequestStatus> requestStatuses) {
+            List<EmergencyRequestEntity> open = table.where(r -> requestStatuses.contains(r.getEmergencyRequestStatus()));
+            open.sort(NEWEST_FIRST);
+            List<PendingAcceptance> pending = new ArrayList<>();
+            for (EmergencyRequestEntity r : open) {
+                if (r.getAssignedAmbulances() == null) continue;
+                for (AmbulanceEntity a : r.getAssignedAmbulances()) {
+                    if (a.getStatus() != ambulanceStatus) continue;
+                    pending.add(new PendingAcceptance() {
+                        public Long getRequestId() { return r.getId(); }
+                        public Long getAmbulanceId() { return a.getId(); }
+                        public Instant getAssignedAt() { return a.getAssignedAt(); }
+                    });
+                }
+            }
+            return pending;
+        }
+
+        public List<AssignedUnit> findAssignedAmbulances(Collection<EmergencyRequestStatus> requestStatuses) {
+            List<AssignedUnit> assigned = new ArrayList<>();
+            for (EmergencyRequestEntity r : table.where(r -> requestStatuses.contains(r.getEmergencyRequestStatus()))) {
+                if (r.getAssignedAmbulances() == null) continue;
+                r.getAssignedAmbulances().forEach(a -> assigned.add(assignedUnit(r.getId(), a.getId())));
+            }
+            return assigned;
+        }
+
+        public List<AssignedUnit> findAssignedFireTrucks(Collection<EmergencyRequestStatus> requestStatuses) {
+            List<AssignedUnit> assigned = new ArrayList<>();
+            for (EmergencyRequestEntity r : table.where(r -> requestStatuses.contains(r.getEmergencyRequestStatus()))) {
+                if (r.getAssignedFireTruckEntities() == null) continue;
+                r.getAssignedFireTruckEntities().forEach(f -> assigned.add(assignedUnit(r.getId(), f.getFireTruckId())));
+            }
+            return assigned;
+        }
+
+        private static AssignedUnit assignedUnit(Long requestId, Long unitId) {
+            return new AssignedUnit() {
+                public Long getRequestId() { return requestId; }
+                public Long getUnitId() { return unitId; }
+            };
+        }
+
+        public List<DemandHistoryCell> findDemandHistory(double cellSizeDeg, String zone, Instant since) {
+            Map<List<Integer>, long[]> counts = new HashMap<>();
+            for (EmergencyRequestEntity r : table.where(r -> r.getCreatedAt() != null && !r.getCreatedAt().isBefore(since))) {
+                List<Integer> key = List.of((int) Math.floor(r.getLatitude() / cellSizeDeg),
+                        (int) Math.floor(r.getLongitude() / cellSizeDeg),
+                        DemandGrid.hourOfWeek(r.getCreatedAt(), ZoneId.of(zone)));
+                long[] c = counts.computeIfAbsent(key, k -> new long[2]);
+                if (r.isNeedAmbulance()) c[0]++;
+                if (r.isNeedFireBrigade()) c[1]++;
+            }
+            List<DemandHistoryCell> rows = new ArrayList<>();
+            counts.forEach((key, c) -> rows.add(new DemandHistoryCell() {
+                public Integer getLatCell() { return key.get(0); }
+                public Integer getLngCell() { return key.get(1); }
+                public Integer getHourOfWeek() { return key.get(2); }
+                public Long getAmbulanceRequests() { return c[0]; }
+                public Long getFireRequests() { return c[1]; }
+            }));
+            return rows;
+        }
+    }
+
+    public static class Hospitals {
+        private final InMemoryTable<Hospital> table;
+
+        public Hospitals(InMemoryTable<Hospital> table) {
+            this.table = table;
+        }
+
+        public int updateOccupiedBeds(Long id, int occupied) {
+            synchronized (table) {
+                return table.findById(id).map(h -> {
+                    h.setOccupiedBeds(occupied);
+                    return 1;
+                }).orElse(0);
+            }
+        }
+    }
+
+    public static class Users {
+        private final InMemoryTable<AppUser> table;
+
+        public Users(InMemoryTable<AppUser> table) {
+            this.table = table;
+        }
+
+        public AppUser findByUserEmail(String email) {
+            return table.first(u -> Objects.equals(u.getUserEmail(), email)).orElse(null);
+        }
+
+        public boolean existsByGovernmentId(String governmentId) {
+            return table.first(u -> Objects.equals(u.getGovernmentId(), governmentId)).isPresent();
+        }
+
+        public boolean existsByPhoneNumber(String phoneNumber) {
+            return table.first(u -> Objects.equals(u.getPhoneNumber(), phoneNumber)).isPresent();
+        }
+    }
+
+    public static class PoliceOfficers {
+        private final InMemoryTable<PoliceOfficer> table;
+
+        public PoliceOfficers(InMemoryTable<PoliceOfficer> table) {
+            this.table = table;
+        }
+
+        public Optional<PoliceOfficer> findByPoliceOfficer(AppUser user) {
+            return table.first(o -> Objects.equals(o.getPoliceOfficer().getUserId(), user.getUserId()));
+        }
+    }
+
+    public static class FireTruckDrivers {
+        private final InMemoryTable<FireTruckDriver> table;
+
+        public FireTruckDrivers(InMemoryTable<FireTruckDriver> table) {
+            this.table = table;
+        }
+
+        public Optional<FireTruckDriver> findByDriver(AppUser user) {
+            return table.first(d -> d.getDriver() == user);
+        }
+    }
+}